@@ -0,0 +1 @@
+memberSearchIndex = [{"p":"org.macroing.btc4j","c":"Scalar","l":"add(Scalar)","u":"add(org.macroing.btc4j.Scalar)"},{"p":"org.macroing.btc4j","c":"Address","l":"Address(AddressType, byte[])","u":"%3Cinit%3E(org.macroing.btc4j.AddressType,byte[])"},{"p":"org.macroing.btc4j","c":"Address","l":"Address(byte[])","u":"%3Cinit%3E(byte[])"},{"p":"org.macroing.btc4j","c":"KeyCache","l":"clear()"},{"p":"org.macroing.btc4j","c":"KeySlab","l":"clear(int, int)","u":"clear(int,int)"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"clearCache()"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"clearCache()"},{"p":"org.macroing.btc4j","c":"DerivationService","l":"close()"},{"p":"org.macroing.btc4j","c":"KeyClient","l":"close()"},{"p":"org.macroing.btc4j","c":"KeyServer","l":"close()"},{"p":"org.macroing.btc4j","c":"KeySlab","l":"close()"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"CompactSignature(BigInteger, BigInteger, int, boolean)","u":"%3Cinit%3E(java.math.BigInteger,java.math.BigInteger,int,boolean)"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"CompactSignature(BigInteger, BigInteger, int, boolean, AddressType)","u":"%3Cinit%3E(java.math.BigInteger,java.math.BigInteger,int,boolean,org.macroing.btc4j.AddressType)"},{"p":"org.macroing.btc4j","c":"KeyFile","l":"convert(Path, Path)","u":"convert(java.nio.file.Path,java.nio.file.Path)"},{"p":"org.macroing.btc4j","c":"KeyFile","l":"convert(Path, Path, long, long)","u":"convert(java.nio.file.Path,java.nio.file.Path,long,long)"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"create(Path, BigInteger, BigInteger, long)","u":"create(java.nio.file.Path,java.math.BigInteger,java.math.BigInteger,long)"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"create(Path, BigInteger, BigInteger, long, long, TimeUnit)","u":"create(java.nio.file.Path,java.math.BigInteger,java.math.BigInteger,long,long,java.util.concurrent.TimeUnit)"},{"p":"org.macroing.btc4j","c":"Bech32","l":"decodeSegWit(CharSequence, CharSequence, byte[], int)","u":"decodeSegWit(java.lang.CharSequence,java.lang.CharSequence,byte[],int)"},{"p":"org.macroing.btc4j","c":"DerivationService","l":"DerivationService()","u":"%3Cinit%3E()"},{"p":"org.macroing.btc4j","c":"DerivationService","l":"DerivationService(int, long, TimeUnit)","u":"%3Cinit%3E(int,long,java.util.concurrent.TimeUnit)"},{"p":"org.macroing.btc4j","c":"DerivationService","l":"DerivationService(int, long, TimeUnit, Executor)","u":"%3Cinit%3E(int,long,java.util.concurrent.TimeUnit,java.util.concurrent.Executor)"},{"p":"org.macroing.btc4j","c":"KeyClient","l":"derive(byte[], int, int, byte[], int)","u":"derive(byte[],int,int,byte[],int)"},{"p":"org.macroing.btc4j","c":"KeySlab","l":"derive(int, int, ByteBuffer)","u":"derive(int,int,java.nio.ByteBuffer)"},{"p":"org.macroing.btc4j","c":"KeyClient","l":"derive(PrivateKey)","u":"derive(org.macroing.btc4j.PrivateKey)"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"derive(String)","u":"derive(java.lang.String)"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"derive(String)","u":"derive(java.lang.String)"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"deriveChild(int)"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"deriveChild(int)"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"deriveChildren(int, int)","u":"deriveChildren(int,int)"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"deriveChildren(int, int)","u":"deriveChildren(int,int)"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"deriveChildren(String, int, int)","u":"deriveChildren(java.lang.String,int,int)"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"deriveChildren(String, int, int)","u":"deriveChildren(java.lang.String,int,int)"},{"p":"org.macroing.btc4j","c":"KeyClient","l":"encode(Address)","u":"encode(org.macroing.btc4j.Address)"},{"p":"org.macroing.btc4j","c":"Bech32","l":"encodeSegWit(CharSequence, int, byte[], int, int, char[], int)","u":"encodeSegWit(java.lang.CharSequence,int,byte[],int,int,char[],int)"},{"p":"org.macroing.btc4j","c":"Address","l":"equals(Object)","u":"equals(java.lang.Object)"},{"p":"org.macroing.btc4j","c":"Addresses","l":"equals(Object)","u":"equals(java.lang.Object)"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"equals(Object)","u":"equals(java.lang.Object)"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"equals(Object)","u":"equals(java.lang.Object)"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"equals(Object)","u":"equals(java.lang.Object)"},{"p":"org.macroing.btc4j","c":"Mnemonic","l":"equals(Object)","u":"equals(java.lang.Object)"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"equals(Object)","u":"equals(java.lang.Object)"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"equals(Object)","u":"equals(java.lang.Object)"},{"p":"org.macroing.btc4j","c":"Scalar","l":"equals(Object)","u":"equals(java.lang.Object)"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"ExtendedPrivateKey(PrivateKey, byte[], int, int, int, boolean)","u":"%3Cinit%3E(org.macroing.btc4j.PrivateKey,byte[],int,int,int,boolean)"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"ExtendedPublicKey(PublicKey, byte[], int, int, int, boolean)","u":"%3Cinit%3E(org.macroing.btc4j.PublicKey,byte[],int,int,int,boolean)"},{"p":"org.macroing.btc4j","c":"KeySlab","l":"fill(int, int, KeyGenerator)","u":"fill(int,int,org.macroing.btc4j.KeyGenerator)"},{"p":"org.macroing.btc4j","c":"Mnemonic","l":"fromEntropy(byte[])"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"fromSeed(byte[])"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"fromSeed(byte[], boolean)","u":"fromSeed(byte[],boolean)"},{"p":"org.macroing.btc4j","c":"KeySlab","l":"get(int)"},{"p":"org.macroing.btc4j","c":"KeySlab","l":"get(int, byte[], int)","u":"get(int,byte[],int)"},{"p":"org.macroing.btc4j","c":"Address","l":"getBytes()"},{"p":"org.macroing.btc4j","c":"KeyCache","l":"getCapacity()"},{"p":"org.macroing.btc4j","c":"KeySlab","l":"getCapacity()"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"getChainCode()"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"getChainCode()"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"getChildNumber()"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"getChildNumber()"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"getCompletedShardCount()"},{"p":"org.macroing.btc4j","c":"KeyGenerator","l":"getDefault()"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"getDepth()"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"getDepth()"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"getDirectory()"},{"p":"org.macroing.btc4j","c":"KangarooSolver","l":"getDistinguishedBits()"},{"p":"org.macroing.btc4j","c":"KangarooSolver","l":"getDistinguishedPointCount()"},{"p":"org.macroing.btc4j","c":"KeyCache","l":"getEvictionCount()"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"getFingerprint()"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"getFingerprint()"},{"p":"org.macroing.btc4j","c":"KangarooSolver","l":"getFrom()"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"getFrom()"},{"p":"org.macroing.btc4j","c":"KeyCache","l":"getGlobal()"},{"p":"org.macroing.btc4j","c":"KeyCache","l":"getHitCount()"},{"p":"org.macroing.btc4j","c":"KeyCache","l":"getHitRate()"},{"p":"org.macroing.btc4j","c":"KangarooSolver","l":"getJumpCount()"},{"p":"org.macroing.btc4j","c":"KangarooSolver","l":"getKangaroos()"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"getKeysPerSecond()"},{"p":"org.macroing.btc4j","c":"AddressType","l":"getLength()"},{"p":"org.macroing.btc4j","c":"KeyServer","l":"getLocalAddress()"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"getMatches()"},{"p":"org.macroing.btc4j","c":"KeyCache","l":"getMissCount()"},{"p":"org.macroing.btc4j","c":"Addresses","l":"getP2PKHCompressed()"},{"p":"org.macroing.btc4j","c":"Addresses","l":"getP2PKHUncompressed()"},{"p":"org.macroing.btc4j","c":"Addresses","l":"getP2SHP2WPKH()"},{"p":"org.macroing.btc4j","c":"Addresses","l":"getP2WPKH()"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"getParentFingerprint()"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"getParentFingerprint()"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"getPrivateKey()"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"getPublicKey()"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"getPublicKey()"},{"p":"org.macroing.btc4j","c":"KangarooSolver","l":"getPublicKey()"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"getR()"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"getRecoveryId()"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"getS()"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"getScannedKeyCount()"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"getShardCount()"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"getShardSize()"},{"p":"org.macroing.btc4j","c":"KangarooSolver","l":"getThreads()"},{"p":"org.macroing.btc4j","c":"KangarooSolver","l":"getTo()"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"getTo()"},{"p":"org.macroing.btc4j","c":"Address","l":"getType()"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"getType()"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"getValue()"},{"p":"org.macroing.btc4j","c":"Scalar","l":"getValue()"},{"p":"org.macroing.btc4j","c":"AddressType","l":"getVersion()"},{"p":"org.macroing.btc4j","c":"AddressType","l":"getWitnessVersion()"},{"p":"org.macroing.btc4j","c":"Mnemonic","l":"getWords()"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"getX()"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"getY()"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"HARDENED"},{"p":"org.macroing.btc4j","c":"Address","l":"hashCode()"},{"p":"org.macroing.btc4j","c":"Addresses","l":"hashCode()"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"hashCode()"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"hashCode()"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"hashCode()"},{"p":"org.macroing.btc4j","c":"Mnemonic","l":"hashCode()"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"hashCode()"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"hashCode()"},{"p":"org.macroing.btc4j","c":"Scalar","l":"hashCode()"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"hashMessage(String)","u":"hashMessage(java.lang.String)"},{"p":"org.macroing.btc4j","c":"KeyFile","l":"INPUT_RECORD_LENGTH"},{"p":"org.macroing.btc4j","c":"Scalar","l":"invert()"},{"p":"org.macroing.btc4j","c":"DerivationService","l":"isClosed()"},{"p":"org.macroing.btc4j","c":"KeyServer","l":"isClosed()"},{"p":"org.macroing.btc4j","c":"KeySlab","l":"isClosed()"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"isCompressed()"},{"p":"org.macroing.btc4j","c":"Memoization","l":"isEnabled()"},{"p":"org.macroing.btc4j","c":"Metrics","l":"isEnabled()"},{"p":"org.macroing.btc4j","c":"AddressType","l":"isSegWit()"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"isTestNet()"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"isTestNet()"},{"p":"org.macroing.btc4j","c":"Mnemonic","l":"isValid(String)","u":"isValid(java.lang.String)"},{"p":"org.macroing.btc4j","c":"Bech32","l":"isValidSegWit(CharSequence, CharSequence)","u":"isValidSegWit(java.lang.CharSequence,java.lang.CharSequence)"},{"p":"org.macroing.btc4j","c":"Scalar","l":"isZero()"},{"p":"org.macroing.btc4j","c":"KangarooSolver","l":"KangarooSolver(PublicKey, BigInteger, BigInteger)","u":"%3Cinit%3E(org.macroing.btc4j.PublicKey,java.math.BigInteger,java.math.BigInteger)"},{"p":"org.macroing.btc4j","c":"KangarooSolver","l":"KangarooSolver(PublicKey, BigInteger, BigInteger, int, int, int)","u":"%3Cinit%3E(org.macroing.btc4j.PublicKey,java.math.BigInteger,java.math.BigInteger,int,int,int)"},{"p":"org.macroing.btc4j","c":"KeyCache","l":"KeyCache(int)","u":"%3Cinit%3E(int)"},{"p":"org.macroing.btc4j","c":"KeyCache","l":"KeyCache(int, int)","u":"%3Cinit%3E(int,int)"},{"p":"org.macroing.btc4j","c":"KeyClient","l":"KeyClient(SocketAddress)","u":"%3Cinit%3E(java.net.SocketAddress)"},{"p":"org.macroing.btc4j","c":"KeyGenerator","l":"KeyGenerator()","u":"%3Cinit%3E()"},{"p":"org.macroing.btc4j","c":"KeyGenerator","l":"KeyGenerator(SecureRandom)","u":"%3Cinit%3E(java.security.SecureRandom)"},{"p":"org.macroing.btc4j","c":"KeyServer","l":"KeyServer(SocketAddress)","u":"%3Cinit%3E(java.net.SocketAddress)"},{"p":"org.macroing.btc4j","c":"KeyServer","l":"KeyServer(SocketAddress, int)","u":"%3Cinit%3E(java.net.SocketAddress,int)"},{"p":"org.macroing.btc4j","c":"KeySlab","l":"KeySlab(int)","u":"%3Cinit%3E(int)"},{"p":"org.macroing.btc4j","c":"KeyConverter","l":"main(String[])","u":"main(java.lang.String[])"},{"p":"org.macroing.btc4j","c":"KeyServer","l":"main(String[])","u":"main(java.lang.String[])"},{"p":"org.macroing.btc4j","c":"Main","l":"main(String[])","u":"main(java.lang.String[])"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"main(String[])","u":"main(java.lang.String[])"},{"p":"org.macroing.btc4j","c":"Bech32","l":"MAXIMUM_LENGTH"},{"p":"org.macroing.btc4j","c":"Scalar","l":"multiply(Scalar)","u":"multiply(org.macroing.btc4j.Scalar)"},{"p":"org.macroing.btc4j","c":"Scalar","l":"negate()"},{"p":"org.macroing.btc4j","c":"KeyGenerator","l":"next()"},{"p":"org.macroing.btc4j","c":"KeyGenerator","l":"next(int)"},{"p":"org.macroing.btc4j","c":"KeyGenerator","l":"nextBytes(byte[], int, int)","u":"nextBytes(byte[],int,int)"},{"p":"org.macroing.btc4j","c":"KeyGenerator","l":"nextLongs(long[], int, int)","u":"nextLongs(long[],int,int)"},{"p":"org.macroing.btc4j","c":"KeyFile","l":"OFFSET_HASH160_COMPRESSED"},{"p":"org.macroing.btc4j","c":"KeyFile","l":"OFFSET_HASH160_SCRIPT"},{"p":"org.macroing.btc4j","c":"KeyFile","l":"OFFSET_HASH160_UNCOMPRESSED"},{"p":"org.macroing.btc4j","c":"KeyFile","l":"OFFSET_PUBLIC_KEY"},{"p":"org.macroing.btc4j","c":"Scalar","l":"ONE"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"open(Path)","u":"open(java.nio.file.Path)"},{"p":"org.macroing.btc4j","c":"KeyFile","l":"OUTPUT_RECORD_LENGTH"},{"p":"org.macroing.btc4j","c":"AddressType","l":"P2PKH"},{"p":"org.macroing.btc4j","c":"AddressType","l":"P2SH"},{"p":"org.macroing.btc4j","c":"AddressType","l":"P2TR"},{"p":"org.macroing.btc4j","c":"AddressType","l":"P2WPKH"},{"p":"org.macroing.btc4j","c":"AddressType","l":"P2WSH"},{"p":"org.macroing.btc4j","c":"Address","l":"parseByteArray(AddressType, byte[], int)","u":"parseByteArray(org.macroing.btc4j.AddressType,byte[],int)"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"parseByteArray(byte[])"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"parseByteArray(byte[])"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"parseByteArray(byte[], int)","u":"parseByteArray(byte[],int)"},{"p":"org.macroing.btc4j","c":"Scalar","l":"parseByteArray(byte[], int)","u":"parseByteArray(byte[],int)"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"parseLongArray(long[], int)","u":"parseLongArray(long[],int)"},{"p":"org.macroing.btc4j","c":"Mnemonic","l":"parseString(String)","u":"parseString(java.lang.String)"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"parseStringBase58(String)","u":"parseStringBase58(java.lang.String)"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"parseStringBase58(String)","u":"parseStringBase58(java.lang.String)"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"parseStringBase64(String)","u":"parseStringBase64(java.lang.String)"},{"p":"org.macroing.btc4j","c":"Address","l":"parseStringBech32(String)","u":"parseStringBech32(java.lang.String)"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"parseStringDec(String)","u":"parseStringDec(java.lang.String)"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"parseStringHex(String)","u":"parseStringHex(java.lang.String)"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"parseStringWIF(String)","u":"parseStringWIF(java.lang.String)"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"PrivateKey(BigInteger)","u":"%3Cinit%3E(java.math.BigInteger)"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"PublicKey(BigInteger, BigInteger)","u":"%3Cinit%3E(java.math.BigInteger,java.math.BigInteger)"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"random()"},{"p":"org.macroing.btc4j","c":"Mnemonic","l":"random(int)"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"recover(byte[])"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"recover(CompactSignature[], byte[][])","u":"recover(org.macroing.btc4j.CompactSignature[],byte[][])"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"recoverAddress(byte[])"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"recoverAddresses(CompactSignature[], byte[][])","u":"recoverAddresses(org.macroing.btc4j.CompactSignature[],byte[][])"},{"p":"org.macroing.btc4j","c":"Scalar","l":"reduce(byte[], int)","u":"reduce(byte[],int)"},{"p":"org.macroing.btc4j","c":"Metrics","l":"reset()"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"run(Set<Address>)","u":"run(java.util.Set)"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"run(Set<Address>, int, BiConsumer<PrivateKey, Address>)","u":"run(java.util.Set,int,java.util.function.BiConsumer)"},{"p":"org.macroing.btc4j","c":"Scalar","l":"Scalar(BigInteger)","u":"%3Cinit%3E(java.math.BigInteger)"},{"p":"org.macroing.btc4j","c":"KeySlab","l":"set(int, byte[], int)","u":"set(int,byte[],int)"},{"p":"org.macroing.btc4j","c":"KeySlab","l":"set(int, PrivateKey)","u":"set(int,org.macroing.btc4j.PrivateKey)"},{"p":"org.macroing.btc4j","c":"Memoization","l":"setEnabled(boolean)"},{"p":"org.macroing.btc4j","c":"Metrics","l":"setEnabled(boolean)"},{"p":"org.macroing.btc4j","c":"KeyCache","l":"setGlobal(KeyCache)","u":"setGlobal(org.macroing.btc4j.KeyCache)"},{"p":"org.macroing.btc4j","c":"KeyCache","l":"size()"},{"p":"org.macroing.btc4j","c":"KeySlab","l":"SLOT_LENGTH"},{"p":"org.macroing.btc4j","c":"Metrics","l":"snapshot()"},{"p":"org.macroing.btc4j","c":"KangarooSolver","l":"solve()"},{"p":"org.macroing.btc4j","c":"KangarooSolver","l":"solve(Path, long, TimeUnit)","u":"solve(java.nio.file.Path,long,java.util.concurrent.TimeUnit)"},{"p":"org.macroing.btc4j","c":"KangarooSolver","l":"stop()"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"stop()"},{"p":"org.macroing.btc4j","c":"Scalar","l":"subtract(Scalar)","u":"subtract(org.macroing.btc4j.Scalar)"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"toAddress()"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"toAddress(boolean)"},{"p":"org.macroing.btc4j","c":"DerivationService","l":"toAddress(PrivateKey, boolean)","u":"toAddress(org.macroing.btc4j.PrivateKey,boolean)"},{"p":"org.macroing.btc4j","c":"KeyCache","l":"toAddress(PublicKey, boolean)","u":"toAddress(org.macroing.btc4j.PublicKey,boolean)"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"toAddresses()"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"toAddresses(byte[], int)","u":"toAddresses(byte[],int)"},{"p":"org.macroing.btc4j","c":"DerivationService","l":"toAddresses(PrivateKey)","u":"toAddresses(org.macroing.btc4j.PrivateKey)"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"toBigInteger()"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"toBigInteger(boolean)"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"toByteArray()"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"toByteArray()"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"toByteArray()"},{"p":"org.macroing.btc4j","c":"Scalar","l":"toByteArray()"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"toByteArray(boolean)"},{"p":"org.macroing.btc4j","c":"Mnemonic","l":"toEntropy()"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"toExtendedPublicKey()"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"toPublicKey()"},{"p":"org.macroing.btc4j","c":"DerivationService","l":"toPublicKey(PrivateKey)","u":"toPublicKey(org.macroing.btc4j.PrivateKey)"},{"p":"org.macroing.btc4j","c":"KeyCache","l":"toPublicKey(PrivateKey)","u":"toPublicKey(org.macroing.btc4j.PrivateKey)"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"toScalar()"},{"p":"org.macroing.btc4j","c":"Mnemonic","l":"toSeed()"},{"p":"org.macroing.btc4j","c":"Mnemonic","l":"toSeed(String)","u":"toSeed(java.lang.String)"},{"p":"org.macroing.btc4j","c":"Mnemonic","l":"toSeeds(Mnemonic[], String)","u":"toSeeds(org.macroing.btc4j.Mnemonic[],java.lang.String)"},{"p":"org.macroing.btc4j","c":"Address","l":"toString()"},{"p":"org.macroing.btc4j","c":"Addresses","l":"toString()"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"toString()"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"toString()"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"toString()"},{"p":"org.macroing.btc4j","c":"KeyCache","l":"toString()"},{"p":"org.macroing.btc4j","c":"Mnemonic","l":"toString()"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"toString()"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"toString()"},{"p":"org.macroing.btc4j","c":"Scalar","l":"toString()"},{"p":"org.macroing.btc4j","c":"ScanJob","l":"toString()"},{"p":"org.macroing.btc4j","c":"Address","l":"toStringBase58()"},{"p":"org.macroing.btc4j","c":"ExtendedPrivateKey","l":"toStringBase58()"},{"p":"org.macroing.btc4j","c":"ExtendedPublicKey","l":"toStringBase58()"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"toStringBase64()"},{"p":"org.macroing.btc4j","c":"Address","l":"toStringBech32()"},{"p":"org.macroing.btc4j","c":"Address","l":"toStringBech32(boolean)"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"toStringDec()"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"toStringDec()"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"toStringHex()"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"toStringHex()"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"toStringWIF()"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"toStringWIF(boolean)"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"toStringWIF(boolean, boolean)","u":"toStringWIF(boolean,boolean)"},{"p":"org.macroing.btc4j","c":"Metrics","l":"toText()"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"tweakAdd(Scalar)","u":"tweakAdd(org.macroing.btc4j.Scalar)"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"tweakAdd(Scalar)","u":"tweakAdd(org.macroing.btc4j.Scalar)"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"tweakMultiply(Scalar)","u":"tweakMultiply(org.macroing.btc4j.Scalar)"},{"p":"org.macroing.btc4j","c":"PublicKey","l":"tweakMultiply(Scalar)","u":"tweakMultiply(org.macroing.btc4j.Scalar)"},{"p":"org.macroing.btc4j","c":"Scalar","l":"valueOf(long)"},{"p":"org.macroing.btc4j","c":"AddressType","l":"valueOf(String)","u":"valueOf(java.lang.String)"},{"p":"org.macroing.btc4j","c":"AddressType","l":"values()"},{"p":"org.macroing.btc4j","c":"CompactSignature","l":"verifyMessage(Address, String, String)","u":"verifyMessage(org.macroing.btc4j.Address,java.lang.String,java.lang.String)"},{"p":"org.macroing.btc4j","c":"Address","l":"writeTo(byte[], int)","u":"writeTo(byte[],int)"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"writeTo(byte[], int)","u":"writeTo(byte[],int)"},{"p":"org.macroing.btc4j","c":"Scalar","l":"writeTo(byte[], int)","u":"writeTo(byte[],int)"},{"p":"org.macroing.btc4j","c":"PrivateKey","l":"writeTo(long[], int)","u":"writeTo(long[],int)"},{"p":"org.macroing.btc4j","c":"Scalar","l":"ZERO"}];updateSearchResults();
\ No newline at end of file
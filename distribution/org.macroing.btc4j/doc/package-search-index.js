@@ -0,0 +1 @@
+packageSearchIndex = [{"l":"All Packages","u":"allpackages-index.html"},{"l":"org.macroing.btc4j"}];updateSearchResults();
\ No newline at end of file
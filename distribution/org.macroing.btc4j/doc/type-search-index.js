@@ -0,0 +1 @@
+typeSearchIndex = [{"p":"org.macroing.btc4j","l":"Address"},{"p":"org.macroing.btc4j","l":"Addresses"},{"p":"org.macroing.btc4j","l":"AddressType"},{"l":"All Classes and Interfaces","u":"allclasses-index.html"},{"p":"org.macroing.btc4j","l":"Bech32"},{"p":"org.macroing.btc4j","l":"CompactSignature"},{"p":"org.macroing.btc4j","l":"DerivationService"},{"p":"org.macroing.btc4j","l":"ExtendedPrivateKey"},{"p":"org.macroing.btc4j","l":"ExtendedPublicKey"},{"p":"org.macroing.btc4j","l":"KangarooSolver"},{"p":"org.macroing.btc4j","l":"KeyCache"},{"p":"org.macroing.btc4j","l":"KeyClient"},{"p":"org.macroing.btc4j","l":"KeyConverter"},{"p":"org.macroing.btc4j","l":"KeyFile"},{"p":"org.macroing.btc4j","l":"KeyGenerator"},{"p":"org.macroing.btc4j","l":"KeyServer"},{"p":"org.macroing.btc4j","l":"KeySlab"},{"p":"org.macroing.btc4j","l":"Main"},{"p":"org.macroing.btc4j","l":"Memoization"},{"p":"org.macroing.btc4j","l":"Metrics"},{"p":"org.macroing.btc4j","l":"Mnemonic"},{"p":"org.macroing.btc4j","l":"PrivateKey"},{"p":"org.macroing.btc4j","l":"PublicKey"},{"p":"org.macroing.btc4j","l":"Scalar"},{"p":"org.macroing.btc4j","l":"ScanJob"}];updateSearchResults();
\ No newline at end of file
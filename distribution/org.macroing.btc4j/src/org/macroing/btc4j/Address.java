@@ -0,0 +1,379 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.util.Objects;
+
+/**
+ * An {@code Address} represents a Bitcoin address.
+ * <p>
+ * An {@code Address} consists of an {@link AddressType} and a {@code byte} array, which is either a hash or a witness program, depending on the {@code AddressType}.
+ * <p>
+ * The {@code byte} array is stored packed into four {@code long} fields, so an {@code Address} does not hold on to an array of its own. The methods {@link #parseByteArray(AddressType, byte[], int)} and {@link #writeTo(byte[], int)} convert between this representation and packed arrays without intermediate copies.
+ * <p>
+ * This class is immutable and thread-safe. The {@code String} representations for Mainnet are computed lazily and memoized, unless disabled using {@link Memoization}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Address {
+	private static final String HRP_MAIN_NET = "bc";
+	private static final String HRP_TEST_NET = "tb";
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final AddressType type;
+	private final long value0;
+	private final long value1;
+	private final long value2;
+	private final long value3;
+	private String string;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code Address} instance.
+	 * <p>
+	 * If {@code bytes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code bytes.length} is not equal to {@code 20}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * Modifications to {@code bytes} will not affect this {@code Address} instance.
+	 * <p>
+	 * The {@link AddressType} of this {@code Address} instance will be {@link AddressType#P2PKH}.
+	 * 
+	 * @param bytes a {@code byte} array representation of this {@code Address} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code bytes.length} is not equal to {@code 20}
+	 * @throws NullPointerException thrown if, and only if, {@code bytes} is {@code null}
+	 */
+	public Address(final byte[] bytes) {
+		this(AddressType.P2PKH, bytes);
+	}
+	
+	/**
+	 * Constructs a new {@code Address} instance.
+	 * <p>
+	 * If either {@code type} or {@code bytes} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code bytes.length} is not equal to {@code type.getLength()}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * Modifications to {@code bytes} will not affect this {@code Address} instance.
+	 * 
+	 * @param type the {@link AddressType} of this {@code Address} instance
+	 * @param bytes a {@code byte} array representation of this {@code Address} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code bytes.length} is not equal to {@code type.getLength()}
+	 * @throws NullPointerException thrown if, and only if, either {@code type} or {@code bytes} are {@code null}
+	 */
+	public Address(final AddressType type, final byte[] bytes) {
+		this(Objects.requireNonNull(type, "type == null"), doRequireLength(type, Objects.requireNonNull(bytes, "bytes == null")), 0);
+	}
+	
+	private Address(final AddressType type, final byte[] bytes, final int offset) {
+		final int length = type.getLength();
+		
+		this.type = type;
+		this.value0 = doGetLong(bytes, offset + 0, length - 0);
+		this.value1 = doGetLong(bytes, offset + 8, length - 8);
+		this.value2 = doGetLong(bytes, offset + 16, length - 16);
+		this.value3 = doGetLong(bytes, offset + 24, length - 24);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the {@link AddressType} of this {@code Address} instance.
+	 * 
+	 * @return the {@code AddressType} of this {@code Address} instance
+	 */
+	public AddressType getType() {
+		return this.type;
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code Address} instance.
+	 * <p>
+	 * If the {@link AddressType} of this {@code Address} instance is a SegWit address type, the Mainnet Bech32 or Bech32m representation is returned. Otherwise the Base 58 representation is returned.
+	 * 
+	 * @return a {@code String} representation of this {@code Address} instance
+	 */
+	@Override
+	public String toString() {
+		return this.type.isSegWit() ? toStringBech32() : toStringBase58();
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code Address} instance using Base 58.
+	 * <p>
+	 * If the {@link AddressType} of this {@code Address} instance is a SegWit address type, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @return a {@code String} representation of this {@code Address} instance using Base 58
+	 * @throws IllegalStateException thrown if, and only if, the {@code AddressType} of this {@code Address} instance is a SegWit address type
+	 */
+	public String toStringBase58() {
+		if(this.type.isSegWit()) {
+			throw new IllegalStateException(String.format("An Address of type %s cannot be encoded using Base 58", this.type));
+		}
+		
+		return doGetString();
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code Address} instance for Mainnet using Bech32 or Bech32m.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * address.toStringBech32(false);
+	 * }
+	 * </pre>
+	 * 
+	 * @return a {@code String} representation of this {@code Address} instance for Mainnet using Bech32 or Bech32m
+	 * @throws IllegalStateException thrown if, and only if, the {@code AddressType} of this {@code Address} instance is not a SegWit address type
+	 */
+	public String toStringBech32() {
+		return toStringBech32(false);
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code Address} instance using Bech32 or Bech32m.
+	 * <p>
+	 * If the {@link AddressType} of this {@code Address} instance is not a SegWit address type, an {@code IllegalStateException} will be thrown.
+	 * <p>
+	 * Witness version 0 is encoded using Bech32 and witness version 1 is encoded using Bech32m.
+	 * 
+	 * @param isTestNet {@code true} if, and only if, Testnet should be used, {@code false} otherwise
+	 * @return a {@code String} representation of this {@code Address} instance using Bech32 or Bech32m
+	 * @throws IllegalStateException thrown if, and only if, the {@code AddressType} of this {@code Address} instance is not a SegWit address type
+	 */
+	public String toStringBech32(final boolean isTestNet) {
+		if(!this.type.isSegWit()) {
+			throw new IllegalStateException(String.format("An Address of type %s cannot be encoded using Bech32", this.type));
+		}
+		
+		return isTestNet ? doToStringBech32(true) : doGetString();
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code Address} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code Address}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code Address} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code Address}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof Address)) {
+			return false;
+		} else if(this.type != Address.class.cast(object).type) {
+			return false;
+		} else if(this.value0 != Address.class.cast(object).value0) {
+			return false;
+		} else if(this.value1 != Address.class.cast(object).value1) {
+			return false;
+		} else if(this.value2 != Address.class.cast(object).value2) {
+			return false;
+		} else if(this.value3 != Address.class.cast(object).value3) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns a {@code byte} array representation of this {@code Address} instance.
+	 * <p>
+	 * Modifications to the returned {@code byte} array will not affect this {@code Address} instance.
+	 * 
+	 * @return a {@code byte} array representation of this {@code Address} instance
+	 */
+	public byte[] getBytes() {
+		final byte[] bytes = new byte[this.type.getLength()];
+		
+		writeTo(bytes, 0);
+		
+		return bytes;
+	}
+	
+	/**
+	 * Returns a hash code for this {@code Address} instance.
+	 * 
+	 * @return a hash code for this {@code Address} instance
+	 */
+	@Override
+	public int hashCode() {
+		return (((this.type.ordinal() * 31 + Long.hashCode(this.value0)) * 31 + Long.hashCode(this.value1)) * 31 + Long.hashCode(this.value2)) * 31 + Long.hashCode(this.value3);
+	}
+	
+	/**
+	 * Writes the {@code byte} array representation of this {@code Address} instance into {@code bytes}, starting at {@code offset}.
+	 * <p>
+	 * The number of bytes written is equal to {@code getType().getLength()}.
+	 * <p>
+	 * If {@code bytes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there is not enough room in {@code bytes}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param bytes the {@code byte} array to write to
+	 * @param offset the offset in {@code bytes} to start writing at
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there is not enough room in {@code bytes}
+	 * @throws NullPointerException thrown if, and only if, {@code bytes} is {@code null}
+	 */
+	public void writeTo(final byte[] bytes, final int offset) {
+		final int length = this.type.getLength();
+		
+		Utilities.requireRange(Objects.requireNonNull(bytes, "bytes == null").length, offset, length);
+		
+		doPutLong(bytes, offset + 0, length - 0, this.value0);
+		doPutLong(bytes, offset + 8, length - 8, this.value1);
+		doPutLong(bytes, offset + 16, length - 16, this.value2);
+		doPutLong(bytes, offset + 24, length - 24, this.value3);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Parses the {@code byte} array representation of an {@code Address} of type {@code type} in {@code bytes}, starting at {@code offset}.
+	 * <p>
+	 * Returns an {@code Address} instance.
+	 * <p>
+	 * If either {@code type} or {@code bytes} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there are less than {@code type.getLength()} bytes in {@code bytes} starting at {@code offset}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * Unlike the constructors, this method does not copy {@code bytes}. It reads the bytes directly into the packed representation.
+	 * 
+	 * @param type the {@link AddressType} of the {@code Address}
+	 * @param bytes the {@code byte} array to read from
+	 * @param offset the offset in {@code bytes} to start reading at
+	 * @return an {@code Address} instance
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there are less than {@code type.getLength()} bytes in {@code bytes} starting at {@code offset}
+	 * @throws NullPointerException thrown if, and only if, either {@code type} or {@code bytes} are {@code null}
+	 */
+	public static Address parseByteArray(final AddressType type, final byte[] bytes, final int offset) {
+		Utilities.requireRange(Objects.requireNonNull(bytes, "bytes == null").length, offset, Objects.requireNonNull(type, "type == null").getLength());
+		
+		return new Address(type, bytes, offset);
+	}
+	
+	/**
+	 * Parses a {@code String} that contains a SegWit address encoded using Bech32 or Bech32m.
+	 * <p>
+	 * Returns an {@code Address} instance.
+	 * <p>
+	 * If {@code stringBech32} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code stringBech32} is invalid or does not represent an address of type {@link AddressType#P2WPKH}, {@link AddressType#P2WSH} or {@link AddressType#P2TR}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * Both Mainnet and Testnet addresses are accepted.
+	 * 
+	 * @param stringBech32 a {@code String} that contains a SegWit address encoded using Bech32 or Bech32m
+	 * @return an {@code Address} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code stringBech32} is invalid or does not represent an address of type {@code AddressType.P2WPKH}, {@code AddressType.P2WSH} or {@code AddressType.P2TR}
+	 * @throws NullPointerException thrown if, and only if, {@code stringBech32} is {@code null}
+	 */
+	public static Address parseStringBech32(final String stringBech32) {
+		final byte[] program = new byte[40];
+		
+		int result = Bech32.decodeSegWit(HRP_MAIN_NET, Objects.requireNonNull(stringBech32, "stringBech32 == null"), program, 0);
+		
+		if(result < 0) {
+			result = Bech32.decodeSegWit(HRP_TEST_NET, stringBech32, program, 0);
+		}
+		
+		final int witnessVersion = result >>> 8;
+		final int programLength = result & 0xFF;
+		
+		if(result >= 0) {
+			for(final AddressType type : AddressType.values()) {
+				if(type.isSegWit() && type.getWitnessVersion() == witnessVersion && type.getLength() == programLength) {
+					return new Address(type, program, 0);
+				}
+			}
+		}
+		
+		throw new IllegalArgumentException("Invalid format: " + stringBech32);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private String doGetString() {
+		if(!Memoization.isEnabled()) {
+			return doToString();
+		}
+		
+		String string = this.string;
+		
+		if(string == null) {
+			this.string = string = doToString();
+		}
+		
+		return string;
+	}
+	
+	private String doToString() {
+		return this.type.isSegWit() ? doToStringBech32(false) : Utilities.base58EncodeChecked(this.type.getVersion(), getBytes());
+	}
+	
+	private String doToStringBech32(final boolean isTestNet) {
+		final char[] characters = new char[Bech32.MAXIMUM_LENGTH];
+		
+		final byte[] bytes = getBytes();
+		
+		final int length = Bech32.encodeSegWit(isTestNet ? HRP_TEST_NET : HRP_MAIN_NET, this.type.getWitnessVersion(), bytes, 0, bytes.length, characters, 0);
+		
+		return new String(characters, 0, length);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static byte[] doRequireLength(final AddressType type, final byte[] bytes) {
+		if(bytes.length != type.getLength()) {
+			throw new IllegalArgumentException(String.format("bytes.length != %d: bytes.length = %d", Integer.valueOf(type.getLength()), Integer.valueOf(bytes.length)));
+		}
+		
+		return bytes;
+	}
+	
+	private static long doGetLong(final byte[] bytes, final int offset, final int length) {
+		if(length >= 8) {
+			return Utilities.convertByteArrayToLong(bytes, offset);
+		}
+		
+		long value = 0L;
+		
+		for(int i = 0; i < length; i++) {
+			value |= (bytes[offset + i] & 0xFFL) << (56 - i * 8);
+		}
+		
+		return value;
+	}
+	
+	private static void doPutLong(final byte[] bytes, final int offset, final int length, final long value) {
+		if(length >= 8) {
+			Utilities.convertLongToByteArray(bytes, offset, value);
+		} else {
+			for(int i = 0; i < length; i++) {
+				bytes[offset + i] = (byte)(value >>> (56 - i * 8));
+			}
+		}
+	}
+}
\ No newline at end of file
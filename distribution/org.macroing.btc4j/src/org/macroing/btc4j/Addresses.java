@@ -0,0 +1,138 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An {@code Addresses} represents all common {@link Address} formats of a single {@link PublicKey}.
+ * <p>
+ * The formats are P2PKH for the compressed public key, P2PKH for the uncompressed public key, P2SH-P2WPKH and P2WPKH. They are all derived from three HASH160 values, which are stored in a single {@code byte} array.
+ * <p>
+ * An {@code Addresses} instance is returned by {@link PublicKey#toAddresses()}.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Addresses {
+	static final int LENGTH = 60;
+	static final int OFFSET_COMPRESSED = 0;
+	static final int OFFSET_SCRIPT = 40;
+	static final int OFFSET_UNCOMPRESSED = 20;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final byte[] hashes;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	Addresses(final byte[] hashes) {
+		this.hashes = Objects.requireNonNull(hashes, "hashes == null");
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the P2PKH {@link Address} of the compressed public key.
+	 * 
+	 * @return the P2PKH {@code Address} of the compressed public key
+	 */
+	public Address getP2PKHCompressed() {
+		return doCreateAddress(AddressType.P2PKH, OFFSET_COMPRESSED);
+	}
+	
+	/**
+	 * Returns the P2PKH {@link Address} of the uncompressed public key.
+	 * 
+	 * @return the P2PKH {@code Address} of the uncompressed public key
+	 */
+	public Address getP2PKHUncompressed() {
+		return doCreateAddress(AddressType.P2PKH, OFFSET_UNCOMPRESSED);
+	}
+	
+	/**
+	 * Returns the P2SH-P2WPKH {@link Address} of the compressed public key.
+	 * <p>
+	 * The returned {@code Address} is of type {@link AddressType#P2SH} and contains the HASH160 of the redeem script {@code 0x00 0x14 <HASH160 of the compressed public key>}.
+	 * 
+	 * @return the P2SH-P2WPKH {@code Address} of the compressed public key
+	 */
+	public Address getP2SHP2WPKH() {
+		return doCreateAddress(AddressType.P2SH, OFFSET_SCRIPT);
+	}
+	
+	/**
+	 * Returns the P2WPKH {@link Address} of the compressed public key.
+	 * 
+	 * @return the P2WPKH {@code Address} of the compressed public key
+	 */
+	public Address getP2WPKH() {
+		return doCreateAddress(AddressType.P2WPKH, OFFSET_COMPRESSED);
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code Addresses} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code Addresses} instance
+	 */
+	@Override
+	public String toString() {
+		return String.format("[%s,%s,%s,%s]", getP2PKHCompressed(), getP2PKHUncompressed(), getP2SHP2WPKH(), getP2WPKH());
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code Addresses} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code Addresses}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code Addresses} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code Addresses}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof Addresses)) {
+			return false;
+		} else if(!Arrays.equals(this.hashes, Addresses.class.cast(object).hashes)) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns a hash code for this {@code Addresses} instance.
+	 * 
+	 * @return a hash code for this {@code Addresses} instance
+	 */
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(this.hashes);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Address doCreateAddress(final AddressType type, final int offset) {
+		return Address.parseByteArray(type, this.hashes, offset);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Category("BTC4J")
+@Description("Batch operation over many keys")
+@Label("Batch")
+@Name("org.macroing.btc4j.Batch")
+final class BatchEvent extends Event {
+	@Label("Operation")
+	String operation;
+	
+	@Label("Size")
+	int size;
+}
\ No newline at end of file
@@ -0,0 +1,361 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@code Bech32} is used for encoding and decoding SegWit addresses using Bech32, as specified by BIP-173, and Bech32m, as specified by BIP-350.
+ * <p>
+ * Witness version 0 uses Bech32 and witness versions 1 to 16 use Bech32m.
+ * <p>
+ * The methods in this class write into caller-supplied buffers and validate their input without allocating intermediate objects, so they can be used in bulk. The checksum is computed using a table-driven polymod.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Bech32 {
+	/**
+	 * The maximum length of a SegWit address.
+	 */
+	public static final int MAXIMUM_LENGTH = 90;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final char[] ALPHABET = "qpzry9x8gf2tvdw0s3jn54khce6mua7l".toCharArray();
+	private static final int CONSTANT_BECH32 = 1;
+	private static final int CONSTANT_BECH32M = 0x2BC830A3;
+	private static final int[] GENERATOR = {0x3B6A57B2, 0x26508E6D, 0x1EA119FA, 0x3D4233DD, 0x2A1462B3};
+	private static final int[] INDICES = doCreateIndices();
+	private static final int[] TABLE = doCreateTable();
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Bech32() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns {@code true} if, and only if, {@code input} is a valid SegWit address with the human-readable part {@code hrp}, {@code false} otherwise.
+	 * <p>
+	 * If either {@code hrp} or {@code input} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param hrp the expected human-readable part, such as {@code "bc"} or {@code "tb"}
+	 * @param input the {@code CharSequence} to validate
+	 * @return {@code true} if, and only if, {@code input} is a valid SegWit address with the human-readable part {@code hrp}, {@code false} otherwise
+	 * @throws NullPointerException thrown if, and only if, either {@code hrp} or {@code input} are {@code null}
+	 */
+	public static boolean isValidSegWit(final CharSequence hrp, final CharSequence input) {
+		return doDecodeSegWit(hrp, input, null, 0) >= 0;
+	}
+	
+	/**
+	 * Decodes the SegWit address {@code input} with the human-readable part {@code hrp} and writes its witness program into {@code program}, starting at {@code programOffset}.
+	 * <p>
+	 * Returns {@code (witnessVersion << 8) | programLength} if {@code input} is valid, or {@code -1} otherwise.
+	 * <p>
+	 * If either {@code hrp}, {@code input} or {@code program} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If there is not enough room in {@code program} for the witness program that {@code input} may contain, an {@code IndexOutOfBoundsException} will be thrown. A witness program consists of at most 40 bytes.
+	 * <p>
+	 * If {@code input} is invalid, the content of {@code program} is unspecified.
+	 * 
+	 * @param hrp the expected human-readable part, such as {@code "bc"} or {@code "tb"}
+	 * @param input the {@code CharSequence} to decode
+	 * @param program the {@code byte} array to write the witness program to
+	 * @param programOffset the offset in {@code program} to start writing at
+	 * @return {@code (witnessVersion << 8) | programLength} if {@code input} is valid, or {@code -1} otherwise
+	 * @throws IndexOutOfBoundsException thrown if, and only if, there is not enough room in {@code program}
+	 * @throws NullPointerException thrown if, and only if, either {@code hrp}, {@code input} or {@code program} are {@code null}
+	 */
+	public static int decodeSegWit(final CharSequence hrp, final CharSequence input, final byte[] program, final int programOffset) {
+		Objects.requireNonNull(program, "program == null");
+		
+		final int programLength = (input.length() - hrp.length() - 8) * 5 / 8;
+		
+		if(programLength < 2 || programLength > 40) {
+			return -1;
+		}
+		
+		if(programOffset < 0 || programOffset + programLength > program.length) {
+			throw new IndexOutOfBoundsException(String.format("Not enough room: program.length = %d, programOffset = %d, programLength = %d", Integer.valueOf(program.length), Integer.valueOf(programOffset), Integer.valueOf(programLength)));
+		}
+		
+		return doDecodeSegWit(hrp, input, program, programOffset);
+	}
+	
+	/**
+	 * Encodes a SegWit address with the human-readable part {@code hrp}, the witness version {@code witnessVersion} and the witness program in {@code program}, and writes it into {@code output}, starting at {@code outputOffset}.
+	 * <p>
+	 * Returns the number of {@code char}s written.
+	 * <p>
+	 * If either {@code hrp}, {@code program} or {@code output} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code hrp} is invalid, {@code witnessVersion} is not in the range [0, 16] or the witness program is invalid for {@code witnessVersion}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If {@code programOffset} and {@code programLength} do not denote a range in {@code program} or there is not enough room in {@code output}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * The encoded address is written in lowercase.
+	 * 
+	 * @param hrp the human-readable part, such as {@code "bc"} or {@code "tb"}
+	 * @param witnessVersion the witness version
+	 * @param program the {@code byte} array that contains the witness program
+	 * @param programOffset the offset in {@code program} to start reading at
+	 * @param programLength the length of the witness program
+	 * @param output the {@code char} array to write to
+	 * @param outputOffset the offset in {@code output} to start writing at
+	 * @return the number of {@code char}s written
+	 * @throws IllegalArgumentException thrown if, and only if, {@code hrp} is invalid, {@code witnessVersion} is not in the range [0, 16] or the witness program is invalid for {@code witnessVersion}
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code programOffset} and {@code programLength} do not denote a range in {@code program} or there is not enough room in {@code output}
+	 * @throws NullPointerException thrown if, and only if, either {@code hrp}, {@code program} or {@code output} are {@code null}
+	 */
+	public static int encodeSegWit(final CharSequence hrp, final int witnessVersion, final byte[] program, final int programOffset, final int programLength, final char[] output, final int outputOffset) {
+		final int hrpLength = hrp.length();
+		
+		if(!doIsValidProgram(witnessVersion, programLength)) {
+			throw new IllegalArgumentException(String.format("Invalid witness program: witnessVersion = %d, programLength = %d", Integer.valueOf(witnessVersion), Integer.valueOf(programLength)));
+		}
+		
+		if(programOffset < 0 || programOffset + programLength > program.length) {
+			throw new IndexOutOfBoundsException(String.format("Invalid range: program.length = %d, programOffset = %d, programLength = %d", Integer.valueOf(program.length), Integer.valueOf(programOffset), Integer.valueOf(programLength)));
+		}
+		
+		final int length = hrpLength + 1 + 1 + (programLength * 8 + 4) / 5 + 6;
+		
+		if(hrpLength < 1 || length > MAXIMUM_LENGTH) {
+			throw new IllegalArgumentException("Invalid human-readable part: " + hrp);
+		}
+		
+		if(outputOffset < 0 || outputOffset + length > output.length) {
+			throw new IndexOutOfBoundsException(String.format("Not enough room: output.length = %d, outputOffset = %d, length = %d", Integer.valueOf(output.length), Integer.valueOf(outputOffset), Integer.valueOf(length)));
+		}
+		
+		int checksum = 1;
+		
+		for(int i = 0; i < hrpLength; i++) {
+			final char character = hrp.charAt(i);
+			
+			if(character < 33 || character > 126 || character >= 'A' && character <= 'Z') {
+				throw new IllegalArgumentException("Invalid human-readable part: " + hrp);
+			}
+			
+			checksum = doPolymod(checksum, character >>> 5);
+		}
+		
+		checksum = doPolymod(checksum, 0);
+		
+		for(int i = 0; i < hrpLength; i++) {
+			final char character = hrp.charAt(i);
+			
+			checksum = doPolymod(checksum, character & 31);
+			
+			output[outputOffset + i] = character;
+		}
+		
+		int index = outputOffset + hrpLength;
+		
+		output[index++] = '1';
+		output[index++] = ALPHABET[witnessVersion];
+		
+		checksum = doPolymod(checksum, witnessVersion);
+		
+		int accumulator = 0;
+		int bits = 0;
+		
+		for(int i = 0; i < programLength; i++) {
+			accumulator = (accumulator << 8) | (program[programOffset + i] & 0xFF);
+			
+			bits += 8;
+			
+			while(bits >= 5) {
+				bits -= 5;
+				
+				final int value = (accumulator >>> bits) & 31;
+				
+				checksum = doPolymod(checksum, value);
+				
+				output[index++] = ALPHABET[value];
+			}
+		}
+		
+		if(bits > 0) {
+			final int value = (accumulator << (5 - bits)) & 31;
+			
+			checksum = doPolymod(checksum, value);
+			
+			output[index++] = ALPHABET[value];
+		}
+		
+		for(int i = 0; i < 6; i++) {
+			checksum = doPolymod(checksum, 0);
+		}
+		
+		checksum ^= witnessVersion == 0 ? CONSTANT_BECH32 : CONSTANT_BECH32M;
+		
+		for(int i = 0; i < 6; i++) {
+			output[index++] = ALPHABET[(checksum >>> (5 * (5 - i))) & 31];
+		}
+		
+		return length;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static boolean doIsValidProgram(final int witnessVersion, final int programLength) {
+		if(witnessVersion < 0 || witnessVersion > 16 || programLength < 2 || programLength > 40) {
+			return false;
+		}
+		
+		return witnessVersion != 0 || programLength == 20 || programLength == 32;
+	}
+	
+	private static int doDecodeSegWit(final CharSequence hrp, final CharSequence input, final byte[] program, final int programOffset) {
+		final int hrpLength = hrp.length();
+		final int length = input.length();
+		
+		if(length > MAXIMUM_LENGTH || hrpLength < 1 || length < hrpLength + 1 + 1 + 6 || input.charAt(hrpLength) != '1') {
+			return -1;
+		}
+		
+		boolean hasLowerCase = false;
+		boolean hasUpperCase = false;
+		
+		int checksum = 1;
+		
+		for(int i = 0; i < hrpLength; i++) {
+			final char character = input.charAt(i);
+			final char characterLowerCase = doToLowerCase(character);
+			
+			hasLowerCase |= character >= 'a' && character <= 'z';
+			hasUpperCase |= character >= 'A' && character <= 'Z';
+			
+			if(character < 33 || character > 126 || characterLowerCase != doToLowerCase(hrp.charAt(i))) {
+				return -1;
+			}
+			
+			checksum = doPolymod(checksum, characterLowerCase >>> 5);
+		}
+		
+		checksum = doPolymod(checksum, 0);
+		
+		for(int i = 0; i < hrpLength; i++) {
+			checksum = doPolymod(checksum, doToLowerCase(input.charAt(i)) & 31);
+		}
+		
+		int witnessVersion = -1;
+		int accumulator = 0;
+		int bits = 0;
+		int programLength = 0;
+		
+		final int dataEnd = length - 6;
+		
+		for(int i = hrpLength + 1; i < length; i++) {
+			final char character = input.charAt(i);
+			
+			hasLowerCase |= character >= 'a' && character <= 'z';
+			hasUpperCase |= character >= 'A' && character <= 'Z';
+			
+			final int value = character < 128 ? INDICES[character] : -1;
+			
+			if(value < 0) {
+				return -1;
+			}
+			
+			checksum = doPolymod(checksum, value);
+			
+			if(i >= dataEnd) {
+				continue;
+			}
+			
+			if(witnessVersion < 0) {
+				witnessVersion = value;
+				
+				continue;
+			}
+			
+			accumulator = (accumulator << 5) | value;
+			
+			bits += 5;
+			
+			if(bits >= 8) {
+				bits -= 8;
+				
+				if(programLength >= 40) {
+					return -1;
+				}
+				
+				if(program != null) {
+					program[programOffset + programLength] = (byte)(accumulator >>> bits);
+				}
+				
+				programLength++;
+			}
+		}
+		
+		if(hasLowerCase && hasUpperCase || witnessVersion < 0 || bits >= 5 || (accumulator & ((1 << bits) - 1)) != 0) {
+			return -1;
+		}
+		
+		if(checksum != (witnessVersion == 0 ? CONSTANT_BECH32 : CONSTANT_BECH32M) || !doIsValidProgram(witnessVersion, programLength)) {
+			return -1;
+		}
+		
+		return (witnessVersion << 8) | programLength;
+	}
+	
+	private static char doToLowerCase(final char character) {
+		return character >= 'A' && character <= 'Z' ? (char)(character + ('a' - 'A')) : character;
+	}
+	
+	private static int doPolymod(final int checksum, final int value) {
+		return ((checksum & 0x1FFFFFF) << 5) ^ value ^ TABLE[checksum >>> 25];
+	}
+	
+	private static int[] doCreateIndices() {
+		final int[] indices = new int[128];
+		
+		Arrays.fill(indices, -1);
+		
+		for(int i = 0; i < ALPHABET.length; i++) {
+			indices[ALPHABET[i]] = i;
+			indices[Character.toUpperCase(ALPHABET[i])] = i;
+		}
+		
+		return indices;
+	}
+	
+	private static int[] doCreateTable() {
+		final int[] table = new int[32];
+		
+		for(int i = 0; i < table.length; i++) {
+			for(int j = 0; j < GENERATOR.length; j++) {
+				if(((i >>> j) & 1) != 0) {
+					table[i] ^= GENERATOR[j];
+				}
+			}
+		}
+		
+		return table;
+	}
+}
@@ -0,0 +1,578 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * A {@code CompactSignature} represents a compact ECDSA signature with a recovery ID, as used by Bitcoin signed messages.
+ * <p>
+ * A {@code CompactSignature} consists of the values r and s of the signature, a recovery ID in the range [0, 3] and the format of the address of the signer. The serialized form is 65 bytes long. The first byte is a header that encodes the recovery ID and the address format as described in BIP 137, and it is followed by r and s as 32 byte unsigned big-endian values.
+ * <p>
+ * Given the hash of the signed message, the public key of the signer can be recovered. The value r is lifted to the curve point R using a single modular exponentiation as the square root, and the public key is computed as r^-1(sR - eG), where e is the hash, using one simultaneous multiplication of G and R. The methods {@link #recover(CompactSignature[], byte[][])} and {@link #recoverAddresses(CompactSignature[], byte[][])} recover the public keys of many signatures at once and share the field inversions across all of them.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class CompactSignature {
+	private static final BigInteger N = PrivateKey.N;
+	private static final BigInteger P = PrivateKey.CURVE.getP();
+	private static final BigInteger X = PrivateKey.POINT.getX();
+	private static final BigInteger Y = PrivateKey.POINT.getY();
+	private static final byte[] MESSAGE_PREFIX = "\u0018Bitcoin Signed Message:\n".getBytes(StandardCharsets.UTF_8);
+	private static final int HEADER_P2PKH = 27;
+	private static final int HEADER_P2SH = 35;
+	private static final int HEADER_P2WPKH = 39;
+	private static final int LENGTH = 65;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final AddressType type;
+	private final BigInteger r;
+	private final BigInteger s;
+	private final boolean isCompressed;
+	private final int recoveryId;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code CompactSignature} instance for a P2PKH address.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new CompactSignature(r, s, recoveryId, isCompressed, AddressType.P2PKH);
+	 * }
+	 * </pre>
+	 * 
+	 * @param r the value r of the signature
+	 * @param s the value s of the signature
+	 * @param recoveryId the recovery ID
+	 * @param isCompressed {@code true} if, and only if, the address of the signer uses a compressed public key, {@code false} otherwise
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code r} or {@code s} are not in the range [1, n - 1] or {@code recoveryId} is not in the range [0, 3]
+	 * @throws NullPointerException thrown if, and only if, either {@code r} or {@code s} are {@code null}
+	 */
+	public CompactSignature(final BigInteger r, final BigInteger s, final int recoveryId, final boolean isCompressed) {
+		this(r, s, recoveryId, isCompressed, AddressType.P2PKH);
+	}
+	
+	/**
+	 * Constructs a new {@code CompactSignature} instance.
+	 * <p>
+	 * If either {@code r}, {@code s} or {@code type} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code r} or {@code s} are not in the range [1, n - 1], where n is the order of the generator point of secp256k1, {@code recoveryId} is not in the range [0, 3], {@code type} is not {@link AddressType#P2PKH}, {@link AddressType#P2SH} or {@link AddressType#P2WPKH}, or {@code type} is not {@code AddressType.P2PKH} and {@code isCompressed} is {@code false}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The type {@code AddressType.P2SH} denotes a P2SH-P2WPKH address.
+	 * 
+	 * @param r the value r of the signature
+	 * @param s the value s of the signature
+	 * @param recoveryId the recovery ID
+	 * @param isCompressed {@code true} if, and only if, the address of the signer uses a compressed public key, {@code false} otherwise
+	 * @param type the {@link AddressType} of the address of the signer
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code r} or {@code s} are not in the range [1, n - 1], {@code recoveryId} is not in the range [0, 3], {@code type} is not {@code AddressType.P2PKH}, {@code AddressType.P2SH} or {@code AddressType.P2WPKH}, or {@code type} is not {@code AddressType.P2PKH} and {@code isCompressed} is {@code false}
+	 * @throws NullPointerException thrown if, and only if, either {@code r}, {@code s} or {@code type} are {@code null}
+	 */
+	public CompactSignature(final BigInteger r, final BigInteger s, final int recoveryId, final boolean isCompressed, final AddressType type) {
+		this.r = doRequireRange(Objects.requireNonNull(r, "r == null"), "r");
+		this.s = doRequireRange(Objects.requireNonNull(s, "s == null"), "s");
+		this.recoveryId = recoveryId;
+		this.isCompressed = isCompressed;
+		this.type = Objects.requireNonNull(type, "type == null");
+		
+		if(recoveryId < 0 || recoveryId > 3) {
+			throw new IllegalArgumentException(String.format("The recovery ID %d is not in the range [0, 3]", Integer.valueOf(recoveryId)));
+		}
+		
+		if(type != AddressType.P2PKH && type != AddressType.P2SH && type != AddressType.P2WPKH) {
+			throw new IllegalArgumentException(String.format("An Address of type %s cannot be used with a CompactSignature", type));
+		}
+		
+		if(type != AddressType.P2PKH && !isCompressed) {
+			throw new IllegalArgumentException(String.format("An Address of type %s requires a compressed public key", type));
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the {@link AddressType} of the address of the signer.
+	 * 
+	 * @return the {@code AddressType} of the address of the signer
+	 */
+	public AddressType getType() {
+		return this.type;
+	}
+	
+	/**
+	 * Returns the {@link Address} of the signer of the message with hash {@code hash}.
+	 * <p>
+	 * If {@code hash} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code hash.length} is not equal to {@code 32} or the public key cannot be recovered, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The returned {@code Address} has the format given by {@link #getType()} and {@link #isCompressed()}.
+	 * 
+	 * @param hash the 32 byte hash of the signed message
+	 * @return the {@code Address} of the signer of the message with hash {@code hash}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code hash.length} is not equal to {@code 32} or the public key cannot be recovered
+	 * @throws NullPointerException thrown if, and only if, {@code hash} is {@code null}
+	 */
+	public Address recoverAddress(final byte[] hash) {
+		return doToAddress(recover(hash));
+	}
+	
+	/**
+	 * Returns the value r of this {@code CompactSignature} instance.
+	 * 
+	 * @return the value r of this {@code CompactSignature} instance
+	 */
+	public BigInteger getR() {
+		return this.r;
+	}
+	
+	/**
+	 * Returns the value s of this {@code CompactSignature} instance.
+	 * 
+	 * @return the value s of this {@code CompactSignature} instance
+	 */
+	public BigInteger getS() {
+		return this.s;
+	}
+	
+	/**
+	 * Returns the {@link PublicKey} of the signer of the message with hash {@code hash}.
+	 * <p>
+	 * If {@code hash} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code hash.length} is not equal to {@code 32} or the public key cannot be recovered, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param hash the 32 byte hash of the signed message
+	 * @return the {@code PublicKey} of the signer of the message with hash {@code hash}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code hash.length} is not equal to {@code 32} or the public key cannot be recovered
+	 * @throws NullPointerException thrown if, and only if, {@code hash} is {@code null}
+	 */
+	public PublicKey recover(final byte[] hash) {
+		final PublicKey publicKey = recover(new CompactSignature[] {this}, new byte[][] {hash})[0];
+		
+		if(publicKey == null) {
+			throw new IllegalArgumentException("The public key cannot be recovered");
+		}
+		
+		return publicKey;
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code CompactSignature} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code CompactSignature} instance
+	 */
+	@Override
+	public String toString() {
+		return toStringBase64();
+	}
+	
+	/**
+	 * Returns a Base 64 {@code String} representation of the serialized form of this {@code CompactSignature} instance.
+	 * <p>
+	 * This is the format used by Bitcoin signed messages.
+	 * 
+	 * @return a Base 64 {@code String} representation of the serialized form of this {@code CompactSignature} instance
+	 */
+	public String toStringBase64() {
+		return Base64.getEncoder().encodeToString(toByteArray());
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code CompactSignature} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code CompactSignature}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code CompactSignature} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code CompactSignature}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof CompactSignature)) {
+			return false;
+		} else if(this.type != CompactSignature.class.cast(object).type) {
+			return false;
+		} else if(!Objects.equals(this.r, CompactSignature.class.cast(object).r)) {
+			return false;
+		} else if(!Objects.equals(this.s, CompactSignature.class.cast(object).s)) {
+			return false;
+		} else if(this.isCompressed != CompactSignature.class.cast(object).isCompressed) {
+			return false;
+		} else if(this.recoveryId != CompactSignature.class.cast(object).recoveryId) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, the address of the signer uses a compressed public key, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, the address of the signer uses a compressed public key, {@code false} otherwise
+	 */
+	public boolean isCompressed() {
+		return this.isCompressed;
+	}
+	
+	/**
+	 * Returns the serialized form of this {@code CompactSignature} instance.
+	 * <p>
+	 * The returned {@code byte} array is 65 bytes long and consists of the header, r and s.
+	 * 
+	 * @return the serialized form of this {@code CompactSignature} instance
+	 */
+	public byte[] toByteArray() {
+		final byte[] bytes = new byte[LENGTH];
+		
+		bytes[0] = (byte)(doGetHeader());
+		
+		Utilities.convertBigIntegerToByteArray(this.r, bytes,  1, 32);
+		Utilities.convertBigIntegerToByteArray(this.s, bytes, 33, 32);
+		
+		return bytes;
+	}
+	
+	/**
+	 * Returns the recovery ID of this {@code CompactSignature} instance.
+	 * <p>
+	 * The recovery ID is in the range [0, 3]. Bit 0 is the parity of the y-coordinate of R, and bit 1 is set if the x-coordinate of R is r + n.
+	 * 
+	 * @return the recovery ID of this {@code CompactSignature} instance
+	 */
+	public int getRecoveryId() {
+		return this.recoveryId;
+	}
+	
+	/**
+	 * Returns a hash code for this {@code CompactSignature} instance.
+	 * 
+	 * @return a hash code for this {@code CompactSignature} instance
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.type, this.r, this.s, Boolean.valueOf(this.isCompressed), Integer.valueOf(this.recoveryId));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the {@link Address} instances of the signers of the messages with hashes {@code hashes}.
+	 * <p>
+	 * The {@code Address} at index {@code i} of the returned array is the {@code Address} of the signer of {@code signatures[i]}, given {@code hashes[i]}, or {@code null} if the public key cannot be recovered.
+	 * <p>
+	 * If either {@code signatures}, {@code hashes} or any of their elements are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code signatures.length} is not equal to {@code hashes.length}, or the length of any element of {@code hashes} is not equal to {@code 32}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param signatures the {@code CompactSignature} instances
+	 * @param hashes the 32 byte hashes of the signed messages
+	 * @return the {@code Address} instances of the signers of the messages with hashes {@code hashes}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code signatures.length} is not equal to {@code hashes.length}, or the length of any element of {@code hashes} is not equal to {@code 32}
+	 * @throws NullPointerException thrown if, and only if, either {@code signatures}, {@code hashes} or any of their elements are {@code null}
+	 */
+	public static Address[] recoverAddresses(final CompactSignature[] signatures, final byte[][] hashes) {
+		final PublicKey[] publicKeys = recover(signatures, hashes);
+		
+		final Address[] addresses = new Address[publicKeys.length];
+		
+		for(int i = 0; i < publicKeys.length; i++) {
+			addresses[i] = publicKeys[i] != null ? signatures[i].doToAddress(publicKeys[i]) : null;
+		}
+		
+		return addresses;
+	}
+	
+	/**
+	 * Parses the serialized form of a {@code CompactSignature} in {@code bytes}.
+	 * <p>
+	 * Returns a {@code CompactSignature} instance.
+	 * <p>
+	 * If {@code bytes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code bytes} is invalid, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param bytes a {@code byte} array with the serialized form of a {@code CompactSignature}
+	 * @return a {@code CompactSignature} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code bytes} is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code bytes} is {@code null}
+	 */
+	public static CompactSignature parseByteArray(final byte[] bytes) {
+		if(Objects.requireNonNull(bytes, "bytes == null").length != LENGTH) {
+			throw new IllegalArgumentException(String.format("bytes.length != %d: bytes.length = %d", Integer.valueOf(LENGTH), Integer.valueOf(bytes.length)));
+		}
+		
+		final int header = bytes[0] & 0xFF;
+		
+		final BigInteger r = new BigInteger(1, Arrays.copyOfRange(bytes,  1, 33));
+		final BigInteger s = new BigInteger(1, Arrays.copyOfRange(bytes, 33, 65));
+		
+		if(header >= HEADER_P2PKH && header < HEADER_P2SH) {
+			return new CompactSignature(r, s, (header - HEADER_P2PKH) & 3, header - HEADER_P2PKH >= 4, AddressType.P2PKH);
+		}
+		
+		if(header >= HEADER_P2SH && header < HEADER_P2WPKH) {
+			return new CompactSignature(r, s, header - HEADER_P2SH, true, AddressType.P2SH);
+		}
+		
+		if(header >= HEADER_P2WPKH && header < HEADER_P2WPKH + 4) {
+			return new CompactSignature(r, s, header - HEADER_P2WPKH, true, AddressType.P2WPKH);
+		}
+		
+		throw new IllegalArgumentException(String.format("Invalid header: %d", Integer.valueOf(header)));
+	}
+	
+	/**
+	 * Parses a Base 64 {@code String} with the serialized form of a {@code CompactSignature}.
+	 * <p>
+	 * Returns a {@code CompactSignature} instance.
+	 * <p>
+	 * If {@code stringBase64} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code stringBase64} is invalid, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param stringBase64 a Base 64 {@code String} with the serialized form of a {@code CompactSignature}
+	 * @return a {@code CompactSignature} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code stringBase64} is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code stringBase64} is {@code null}
+	 */
+	public static CompactSignature parseStringBase64(final String stringBase64) {
+		return parseByteArray(Base64.getDecoder().decode(Objects.requireNonNull(stringBase64, "stringBase64 == null").trim()));
+	}
+	
+	/**
+	 * Returns the {@link PublicKey} instances of the signers of the messages with hashes {@code hashes}.
+	 * <p>
+	 * The {@code PublicKey} at index {@code i} of the returned array is the {@code PublicKey} of the signer of {@code signatures[i]}, given {@code hashes[i]}, or {@code null} if it cannot be recovered.
+	 * <p>
+	 * If either {@code signatures}, {@code hashes} or any of their elements are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code signatures.length} is not equal to {@code hashes.length}, or the length of any element of {@code hashes} is not equal to {@code 32}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The inversions of r modulo n and the inversions of the z-coordinates of the recovered public keys are computed using one modular inversion each for all signatures.
+	 * 
+	 * @param signatures the {@code CompactSignature} instances
+	 * @param hashes the 32 byte hashes of the signed messages
+	 * @return the {@code PublicKey} instances of the signers of the messages with hashes {@code hashes}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code signatures.length} is not equal to {@code hashes.length}, or the length of any element of {@code hashes} is not equal to {@code 32}
+	 * @throws NullPointerException thrown if, and only if, either {@code signatures}, {@code hashes} or any of their elements are {@code null}
+	 */
+	public static PublicKey[] recover(final CompactSignature[] signatures, final byte[][] hashes) {
+		Objects.requireNonNull(signatures, "signatures == null");
+		Objects.requireNonNull(hashes, "hashes == null");
+		
+		if(signatures.length != hashes.length) {
+			throw new IllegalArgumentException(String.format("signatures.length != hashes.length: signatures.length = %d, hashes.length = %d", Integer.valueOf(signatures.length), Integer.valueOf(hashes.length)));
+		}
+		
+		final int count = signatures.length;
+		
+		for(int i = 0; i < count; i++) {
+			Objects.requireNonNull(signatures[i], String.format("signatures[%d] == null", Integer.valueOf(i)));
+			
+			if(Objects.requireNonNull(hashes[i], String.format("hashes[%d] == null", Integer.valueOf(i))).length != 32) {
+				throw new IllegalArgumentException(String.format("hashes[%d].length != 32: hashes[%d].length = %d", Integer.valueOf(i), Integer.valueOf(i), Integer.valueOf(hashes[i].length)));
+			}
+		}
+		
+		final Object event = Events.beginBatch("CompactSignature.recover", count);
+		
+		final BigInteger[] rInverses = doInvert(signatures);
+		final BigInteger[] xs = new BigInteger[count];
+		final BigInteger[] ys = new BigInteger[count];
+		final BigInteger[] zs = new BigInteger[count];
+		
+		final PointAccumulator pointAccumulator = new PointAccumulator();
+		
+		for(int i = 0; i < count; i++) {
+			final CompactSignature signature = signatures[i];
+			
+			final BigInteger x = (signature.recoveryId & 2) != 0 ? signature.r.add(N) : signature.r;
+			final BigInteger y = x.compareTo(P) < 0 ? CurveContext.SECP256K1.computeY(x, (signature.recoveryId & 1) != 0) : null;
+			
+			if(y == null) {
+				continue;
+			}
+			
+			final BigInteger e = new BigInteger(1, hashes[i]).mod(N);
+			final BigInteger u1 = e.multiply(rInverses[i]).negate().mod(N);
+			final BigInteger u2 = signature.s.multiply(rInverses[i]).mod(N);
+			
+			pointAccumulator.setInfinity();
+			
+			for(int bit = Math.max(u1.bitLength(), u2.bitLength()) - 1; bit >= 0; bit--) {
+				pointAccumulator.multiplyByTwo();
+				
+				if(u1.testBit(bit)) {
+					pointAccumulator.add(X, Y);
+				}
+				
+				if(u2.testBit(bit)) {
+					pointAccumulator.add(x, y);
+				}
+			}
+			
+			xs[i] = pointAccumulator.getX();
+			ys[i] = pointAccumulator.getY();
+			zs[i] = pointAccumulator.getZ();
+		}
+		
+		GeneratorTable.normalize(xs, ys, zs, count);
+		
+		final PublicKey[] publicKeys = new PublicKey[count];
+		
+		for(int i = 0; i < count; i++) {
+			publicKeys[i] = zs[i] != null ? new PublicKey(xs[i], ys[i]) : null;
+		}
+		
+		Events.commit(event);
+		
+		return publicKeys;
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, {@code stringBase64} is a valid signature of {@code message} by {@code address}, {@code false} otherwise.
+	 * <p>
+	 * If either {@code address}, {@code message} or {@code stringBase64} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * The message is hashed using {@link #hashMessage(String)}, and the {@link Address} of the signer is recovered from the signature and compared to {@code address}. If {@code stringBase64} cannot be parsed or the public key cannot be recovered, {@code false} is returned.
+	 * 
+	 * @param address the {@code Address} of the expected signer
+	 * @param message the signed message
+	 * @param stringBase64 the Base 64 encoded {@code CompactSignature}
+	 * @return {@code true} if, and only if, {@code stringBase64} is a valid signature of {@code message} by {@code address}, {@code false} otherwise
+	 * @throws NullPointerException thrown if, and only if, either {@code address}, {@code message} or {@code stringBase64} are {@code null}
+	 */
+	public static boolean verifyMessage(final Address address, final String message, final String stringBase64) {
+		Objects.requireNonNull(address, "address == null");
+		Objects.requireNonNull(message, "message == null");
+		Objects.requireNonNull(stringBase64, "stringBase64 == null");
+		
+		try {
+			return address.equals(parseStringBase64(stringBase64).recoverAddress(hashMessage(message)));
+		} catch(final IllegalArgumentException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Returns the hash of {@code message} as used by Bitcoin signed messages.
+	 * <p>
+	 * If {@code message} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * The hash is the double SHA-256 of the prefix {@code "\u0018Bitcoin Signed Message:\n"}, the length of the UTF-8 encoded message as a variable length integer and the UTF-8 encoded message.
+	 * 
+	 * @param message the message to hash
+	 * @return the hash of {@code message} as used by Bitcoin signed messages
+	 * @throws NullPointerException thrown if, and only if, {@code message} is {@code null}
+	 */
+	public static byte[] hashMessage(final String message) {
+		final byte[] bytes = Objects.requireNonNull(message, "message == null").getBytes(StandardCharsets.UTF_8);
+		
+		return Utilities.computeHashUsingSHA256(Utilities.computeHashUsingSHA256(Utilities.arrayConcatenate(MESSAGE_PREFIX, doToVarInt(bytes.length), bytes)));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Address doToAddress(final PublicKey publicKey) {
+		switch(this.type) {
+			case P2SH:
+				return publicKey.toAddresses().getP2SHP2WPKH();
+			case P2WPKH:
+				return publicKey.toAddresses().getP2WPKH();
+			default:
+				return publicKey.toAddress(this.isCompressed);
+		}
+	}
+	
+	private int doGetHeader() {
+		switch(this.type) {
+			case P2SH:
+				return HEADER_P2SH + this.recoveryId;
+			case P2WPKH:
+				return HEADER_P2WPKH + this.recoveryId;
+			default:
+				return HEADER_P2PKH + this.recoveryId + (this.isCompressed ? 4 : 0);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static BigInteger doRequireRange(final BigInteger value, final String name) {
+		if(value.signum() <= 0 || value.compareTo(N) >= 0) {
+			throw new IllegalArgumentException(String.format("The value %s of %s is not in the range [1, n - 1]", value.toString(16), name));
+		}
+		
+		return value;
+	}
+	
+	private static BigInteger[] doInvert(final CompactSignature[] signatures) {
+		final int count = signatures.length;
+		
+		final BigInteger[] inverses = new BigInteger[count];
+		
+		if(count == 0) {
+			return inverses;
+		}
+		
+		BigInteger product = BigInteger.ONE;
+		
+		for(int i = 0; i < count; i++) {
+			inverses[i] = product;
+			
+			product = product.multiply(signatures[i].r).mod(N);
+		}
+		
+		Metrics.incrementInversions();
+		
+		BigInteger inverse = CurveContext.SECP256K1.invertScalar(product);
+		
+		for(int i = count - 1; i >= 0; i--) {
+			inverses[i] = inverses[i].multiply(inverse).mod(N);
+			
+			inverse = inverse.multiply(signatures[i].r).mod(N);
+		}
+		
+		return inverses;
+	}
+	
+	private static byte[] doToVarInt(final int value) {
+		if(value < 0xFD) {
+			return Utilities.array(value);
+		}
+		
+		if(value <= 0xFFFF) {
+			return new byte[] {(byte)(0xFD), (byte)(value), (byte)(value >>> 8)};
+		}
+		
+		return new byte[] {(byte)(0xFE), (byte)(value), (byte)(value >>> 8), (byte)(value >>> 16), (byte)(value >>> 24)};
+	}
+}
\ No newline at end of file
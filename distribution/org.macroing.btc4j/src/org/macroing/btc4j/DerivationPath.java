@@ -0,0 +1,155 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.util.Objects;
+
+final class DerivationPath {
+	public static final int HARDENED = 0x80000000;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final Object root;
+	private final int hashCode;
+	private final int length;
+	private final int[] indices;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public DerivationPath(final Object root, final int[] indices, final int length) {
+		this.root = Objects.requireNonNull(root, "root == null");
+		this.indices = Objects.requireNonNull(indices, "indices == null");
+		this.length = length;
+		this.hashCode = doComputeHashCode(root, indices, length);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof DerivationPath)) {
+			return false;
+		} else if(this.hashCode != DerivationPath.class.cast(object).hashCode) {
+			return false;
+		} else if(!doEquals(this.indices, this.length, DerivationPath.class.cast(object).indices, DerivationPath.class.cast(object).length)) {
+			return false;
+		} else if(!Objects.equals(this.root, DerivationPath.class.cast(object).root)) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static int[] parse(final String path) {
+		final String[] elements = Objects.requireNonNull(path, "path == null").split("/", -1);
+		
+		if(!elements[0].equals("m") && !elements[0].equals("M")) {
+			throw new IllegalArgumentException("Invalid path: " + path);
+		}
+		
+		final int[] indices = new int[elements.length - 1];
+		
+		for(int i = 0; i < indices.length; i++) {
+			final String element = elements[i + 1];
+			
+			final boolean isHardened = element.endsWith("'") || element.endsWith("h") || element.endsWith("H");
+			
+			final String digits = isHardened ? element.substring(0, element.length() - 1) : element;
+			
+			if(digits.isEmpty() || digits.charAt(0) == '+' || digits.charAt(0) == '-') {
+				throw new IllegalArgumentException("Invalid path: " + path);
+			}
+			
+			try {
+				final int index = Integer.parseInt(digits);
+				
+				if(index < 0) {
+					throw new IllegalArgumentException("Invalid path: " + path);
+				}
+				
+				indices[i] = isHardened ? index | HARDENED : index;
+			} catch(final NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid path: " + path, e);
+			}
+		}
+		
+		return indices;
+	}
+	
+	public static byte[] requireChainCode(final byte[] chainCode) {
+		if(chainCode.length != 32) {
+			throw new IllegalArgumentException(String.format("chainCode.length != 32: chainCode.length = %d", Integer.valueOf(chainCode.length)));
+		}
+		
+		return chainCode;
+	}
+	
+	public static int requireDepth(final int depth) {
+		if(depth < 0 || depth > 255) {
+			throw new IllegalArgumentException(String.format("depth is not in the range [0, 255]: depth = %d", Integer.valueOf(depth)));
+		}
+		
+		return depth;
+	}
+	
+	public static void requireRange(final int index, final int count) {
+		if(count < 0) {
+			throw new IllegalArgumentException(String.format("count < 0: count = %d", Integer.valueOf(count)));
+		}
+		
+		if(count > 0 && ((index ^ (index + count - 1)) & HARDENED) != 0 || Integer.toUnsignedLong(index) + count > 0x100000000L) {
+			throw new IllegalArgumentException(String.format("The child indices cross the boundary between normal and hardened child indices: index = %d, count = %d", Integer.valueOf(index), Integer.valueOf(count)));
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static boolean doEquals(final int[] indicesA, final int lengthA, final int[] indicesB, final int lengthB) {
+		if(lengthA != lengthB) {
+			return false;
+		}
+		
+		for(int i = 0; i < lengthA; i++) {
+			if(indicesA[i] != indicesB[i]) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	private static int doComputeHashCode(final Object root, final int[] indices, final int length) {
+		int hashCode = root.hashCode();
+		
+		for(int i = 0; i < length; i++) {
+			hashCode = 31 * hashCode + indices[i];
+		}
+		
+		return hashCode;
+	}
+}
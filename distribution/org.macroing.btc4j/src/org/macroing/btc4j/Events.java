@@ -0,0 +1,69 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+final class Events {
+	private static final EventRecorder EVENT_RECORDER = doCreateEventRecorder();
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Events() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static Object beginBase58Check(final int length) {
+		return EVENT_RECORDER != null ? EVENT_RECORDER.beginBase58Check(length) : null;
+	}
+	
+	public static Object beginBatch(final String operation, final int size) {
+		return EVENT_RECORDER != null ? EVENT_RECORDER.beginBatch(operation, size) : null;
+	}
+	
+	public static Object beginHash160(final int length) {
+		return EVENT_RECORDER != null ? EVENT_RECORDER.beginHash160(length) : null;
+	}
+	
+	public static Object beginScalarMultiplication() {
+		return EVENT_RECORDER != null ? EVENT_RECORDER.beginScalarMultiplication() : null;
+	}
+	
+	public static void commit(final Object event) {
+		if(event != null) {
+			EVENT_RECORDER.commit(event);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static EventRecorder doCreateEventRecorder() {
+		if(Boolean.getBoolean("org.macroing.btc4j.jfr.disabled")) {
+			return null;
+		}
+		
+		try {
+			Class.forName("jdk.jfr.Event");
+			
+			return EventRecorder.class.cast(Class.forName("org.macroing.btc4j.JFREventRecorder").getConstructor().newInstance());
+		} catch(final ReflectiveOperationException | LinkageError e) {
+			return null;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,431 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An {@code ExtendedPublicKey} represents an extended public key for Bitcoin, as specified by BIP-32.
+ * <p>
+ * An extended public key consists of a {@link PublicKey} and a chain code, and can be used to derive normal, but not hardened, child keys in a hierarchical deterministic wallet.
+ * <p>
+ * Intermediate nodes that are derived by {@link #derive(String)} are kept in a bounded LRU cache that belongs to the {@code ExtendedPublicKey} instance the path is followed from, so deriving many children of the same parent only has to derive the parent once. The cache is released together with that instance and can be cleared earlier using {@link #clearCache()}.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class ExtendedPublicKey {
+	private static final int CACHE_CAPACITY = 256;
+	private static final int MAIN_NET_VERSION = 0x0488B21E;
+	private static final int TEST_NET_VERSION = 0x043587CF;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final PublicKey publicKey;
+	private volatile LRUCache<DerivationPath, ExtendedPublicKey> cache;
+	private final boolean isTestNet;
+	private final byte[] chainCode;
+	private final int childNumber;
+	private final int depth;
+	private final int parentFingerprint;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code ExtendedPublicKey} instance.
+	 * <p>
+	 * If either {@code publicKey} or {@code chainCode} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code chainCode.length} is not {@code 32} or {@code depth} is not in the range [0, 255], an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * Modifications to {@code chainCode} will not affect this {@code ExtendedPublicKey} instance.
+	 * 
+	 * @param publicKey the {@link PublicKey} instance
+	 * @param chainCode the chain code
+	 * @param depth the depth, where {@code 0} denotes the master key
+	 * @param parentFingerprint the fingerprint of the parent key, or {@code 0} for the master key
+	 * @param childNumber the child number, where hardened child numbers have the bit {@link ExtendedPrivateKey#HARDENED} set
+	 * @param isTestNet {@code true} if, and only if, Testnet should be used, {@code false} otherwise
+	 * @throws IllegalArgumentException thrown if, and only if, {@code chainCode.length} is not {@code 32} or {@code depth} is not in the range [0, 255]
+	 * @throws NullPointerException thrown if, and only if, either {@code publicKey} or {@code chainCode} are {@code null}
+	 */
+	public ExtendedPublicKey(final PublicKey publicKey, final byte[] chainCode, final int depth, final int parentFingerprint, final int childNumber, final boolean isTestNet) {
+		this.publicKey = Objects.requireNonNull(publicKey, "publicKey == null");
+		this.chainCode = DerivationPath.requireChainCode(Objects.requireNonNull(chainCode, "chainCode == null").clone());
+		this.depth = DerivationPath.requireDepth(depth);
+		this.parentFingerprint = parentFingerprint;
+		this.childNumber = childNumber;
+		this.isTestNet = isTestNet;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the child {@code ExtendedPublicKey} instance with the child index {@code index}.
+	 * <p>
+	 * If the bit {@link ExtendedPrivateKey#HARDENED} is set in {@code index} or the child key is invalid, an {@code IllegalArgumentException} will be thrown. A child key is invalid with a probability lower than 1 in 2<sup>127</sup>. In that case the next child index should be used.
+	 * 
+	 * @param index the child index
+	 * @return the child {@code ExtendedPublicKey} instance with the child index {@code index}
+	 * @throws IllegalArgumentException thrown if, and only if, the bit {@code ExtendedPrivateKey.HARDENED} is set in {@code index} or the child key is invalid
+	 */
+	public ExtendedPublicKey deriveChild(final int index) {
+		return doDeriveChild(index, doCreateData(index), getFingerprint());
+	}
+	
+	/**
+	 * Returns the {@code ExtendedPublicKey} instance that is found by following {@code path} from this {@code ExtendedPublicKey} instance.
+	 * <p>
+	 * If {@code path} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code path} is invalid, contains a hardened child index or a child key along the path is invalid, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The path consists of the letter {@code M} or {@code m}, followed by zero or more child indices separated by {@code /}. An example is {@code M/0/0}.
+	 * <p>
+	 * The intermediate nodes along the path are cached, so deriving a sibling of a previously derived key only requires a single child derivation.
+	 * 
+	 * @param path the path to follow
+	 * @return the {@code ExtendedPublicKey} instance that is found by following {@code path} from this {@code ExtendedPublicKey} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code path} is invalid, contains a hardened child index or a child key along the path is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code path} is {@code null}
+	 */
+	public ExtendedPublicKey derive(final String path) {
+		final int[] indices = DerivationPath.parse(path);
+		
+		return indices.length == 0 ? this : doDeriveCached(indices, indices.length - 1).deriveChild(indices[indices.length - 1]);
+	}
+	
+	/**
+	 * Returns the {@link PublicKey} instance associated with this {@code ExtendedPublicKey} instance.
+	 * 
+	 * @return the {@code PublicKey} instance associated with this {@code ExtendedPublicKey} instance
+	 */
+	public PublicKey getPublicKey() {
+		return this.publicKey;
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code ExtendedPublicKey} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code ExtendedPublicKey} instance
+	 */
+	@Override
+	public String toString() {
+		return toStringBase58();
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code ExtendedPublicKey} instance using Base 58.
+	 * <p>
+	 * The returned {@code String} starts with {@code xpub} for Mainnet and {@code tpub} for Testnet.
+	 * 
+	 * @return a {@code String} representation of this {@code ExtendedPublicKey} instance using Base 58
+	 */
+	public String toStringBase58() {
+		final byte[] bytes = new byte[78];
+		
+		Utilities.convertIntToByteArray(bytes, 0, this.isTestNet ? TEST_NET_VERSION : MAIN_NET_VERSION);
+		
+		bytes[4] = (byte)(this.depth);
+		
+		Utilities.convertIntToByteArray(bytes, 5, this.parentFingerprint);
+		Utilities.convertIntToByteArray(bytes, 9, this.childNumber);
+		
+		System.arraycopy(this.chainCode, 0, bytes, 13, 32);
+		System.arraycopy(this.publicKey.toByteArray(true), 0, bytes, 45, 33);
+		
+		return Utilities.base58EncodeChecked(bytes);
+	}
+	
+	/**
+	 * Clears the cache of intermediate nodes that are derived from this {@code ExtendedPublicKey} instance.
+	 */
+	public void clearCache() {
+		final LRUCache<DerivationPath, ExtendedPublicKey> cache = this.cache;
+		
+		if(cache != null) {
+			cache.clear();
+		}
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code ExtendedPublicKey} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code ExtendedPublicKey}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code ExtendedPublicKey} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code ExtendedPublicKey}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof ExtendedPublicKey)) {
+			return false;
+		} else if(!Objects.equals(this.publicKey, ExtendedPublicKey.class.cast(object).publicKey)) {
+			return false;
+		} else if(this.isTestNet != ExtendedPublicKey.class.cast(object).isTestNet) {
+			return false;
+		} else if(!Arrays.equals(this.chainCode, ExtendedPublicKey.class.cast(object).chainCode)) {
+			return false;
+		} else if(this.childNumber != ExtendedPublicKey.class.cast(object).childNumber) {
+			return false;
+		} else if(this.depth != ExtendedPublicKey.class.cast(object).depth) {
+			return false;
+		} else if(this.parentFingerprint != ExtendedPublicKey.class.cast(object).parentFingerprint) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, this {@code ExtendedPublicKey} instance is for Testnet, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, this {@code ExtendedPublicKey} instance is for Testnet, {@code false} otherwise
+	 */
+	public boolean isTestNet() {
+		return this.isTestNet;
+	}
+	
+	/**
+	 * Returns the chain code associated with this {@code ExtendedPublicKey} instance.
+	 * <p>
+	 * Modifications to the returned {@code byte} array will not affect this {@code ExtendedPublicKey} instance.
+	 * 
+	 * @return the chain code associated with this {@code ExtendedPublicKey} instance
+	 */
+	public byte[] getChainCode() {
+		return this.chainCode.clone();
+	}
+	
+	/**
+	 * Returns {@code count} child {@code ExtendedPublicKey} instances with the contiguous child indices starting at {@code index}.
+	 * <p>
+	 * If {@code count} is less than {@code 0}, the bit {@link ExtendedPrivateKey#HARDENED} is set in any of the child indices or a child key is invalid, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The serialized public key and fingerprint of this {@code ExtendedPublicKey} instance are computed once for all children.
+	 * 
+	 * @param index the first child index
+	 * @param count the number of children
+	 * @return {@code count} child {@code ExtendedPublicKey} instances with the contiguous child indices starting at {@code index}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code count} is less than {@code 0}, the bit {@code ExtendedPrivateKey.HARDENED} is set in any of the child indices or a child key is invalid
+	 */
+	public ExtendedPublicKey[] deriveChildren(final int index, final int count) {
+		DerivationPath.requireRange(index, count);
+		
+		final ExtendedPublicKey[] children = new ExtendedPublicKey[count];
+		
+		if(count > 0) {
+			final Object event = Events.beginBatch("ExtendedPublicKey.deriveChildren", count);
+			
+			final byte[] data = doCreateData(index);
+			
+			final int fingerprint = getFingerprint();
+			
+			for(int i = 0; i < count; i++) {
+				children[i] = doDeriveChild(index + i, data, fingerprint);
+			}
+			
+			Events.commit(event);
+		}
+		
+		return children;
+	}
+	
+	/**
+	 * Returns {@code count} child {@code ExtendedPublicKey} instances of the node at {@code path}, with the contiguous child indices starting at {@code index}.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * extendedPublicKey.derive(path).deriveChildren(index, count);
+	 * }
+	 * </pre>
+	 * 
+	 * @param path the path to follow
+	 * @param index the first child index
+	 * @param count the number of children
+	 * @return {@code count} child {@code ExtendedPublicKey} instances of the node at {@code path}, with the contiguous child indices starting at {@code index}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code path} is invalid, {@code count} is less than {@code 0}, a hardened child index is used or a child key is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code path} is {@code null}
+	 */
+	public ExtendedPublicKey[] deriveChildren(final String path, final int index, final int count) {
+		final int[] indices = DerivationPath.parse(path);
+		
+		return doDeriveCached(indices, indices.length).deriveChildren(index, count);
+	}
+	
+	/**
+	 * Returns the child number of this {@code ExtendedPublicKey} instance.
+	 * 
+	 * @return the child number of this {@code ExtendedPublicKey} instance
+	 */
+	public int getChildNumber() {
+		return this.childNumber;
+	}
+	
+	/**
+	 * Returns the depth of this {@code ExtendedPublicKey} instance.
+	 * 
+	 * @return the depth of this {@code ExtendedPublicKey} instance
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+	
+	/**
+	 * Returns the fingerprint of this {@code ExtendedPublicKey} instance.
+	 * <p>
+	 * The fingerprint consists of the first four bytes of the HASH160 of the compressed public key.
+	 * 
+	 * @return the fingerprint of this {@code ExtendedPublicKey} instance
+	 */
+	public int getFingerprint() {
+		return Utilities.convertByteArrayToInt(Utilities.computeHash160(this.publicKey.toByteArray(true)), 0);
+	}
+	
+	/**
+	 * Returns the fingerprint of the parent of this {@code ExtendedPublicKey} instance.
+	 * 
+	 * @return the fingerprint of the parent of this {@code ExtendedPublicKey} instance
+	 */
+	public int getParentFingerprint() {
+		return this.parentFingerprint;
+	}
+	
+	/**
+	 * Returns a hash code for this {@code ExtendedPublicKey} instance.
+	 * 
+	 * @return a hash code for this {@code ExtendedPublicKey} instance
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.publicKey, Boolean.valueOf(this.isTestNet), Integer.valueOf(Arrays.hashCode(this.chainCode)), Integer.valueOf(this.childNumber), Integer.valueOf(this.depth), Integer.valueOf(this.parentFingerprint));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Parses a {@code String} in Base 58, starting with {@code xpub} or {@code tpub}.
+	 * <p>
+	 * Returns an {@code ExtendedPublicKey} instance.
+	 * <p>
+	 * If {@code stringBase58} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code stringBase58} is invalid, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param stringBase58 a {@code String} in Base 58
+	 * @return an {@code ExtendedPublicKey} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code stringBase58} is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code stringBase58} is {@code null}
+	 */
+	public static ExtendedPublicKey parseStringBase58(final String stringBase58) {
+		final byte[] bytes = Utilities.base58DecodeChecked(Objects.requireNonNull(stringBase58, "stringBase58 == null"));
+		
+		if(bytes.length != 78) {
+			throw new IllegalArgumentException("Invalid format: " + stringBase58);
+		}
+		
+		final int version = Utilities.convertByteArrayToInt(bytes, 0);
+		
+		if(version != MAIN_NET_VERSION && version != TEST_NET_VERSION) {
+			throw new IllegalArgumentException("Invalid format: " + stringBase58);
+		}
+		
+		final PublicKey publicKey = PublicKey.parseByteArray(Arrays.copyOfRange(bytes, 45, 78));
+		
+		final byte[] chainCode = Arrays.copyOfRange(bytes, 13, 45);
+		
+		final int depth = bytes[4] & 0xFF;
+		final int parentFingerprint = Utilities.convertByteArrayToInt(bytes, 5);
+		final int childNumber = Utilities.convertByteArrayToInt(bytes, 9);
+		
+		if(depth == 0 && (parentFingerprint != 0 || childNumber != 0)) {
+			throw new IllegalArgumentException("Invalid format: " + stringBase58);
+		}
+		
+		return new ExtendedPublicKey(publicKey, chainCode, depth, parentFingerprint, childNumber, version == TEST_NET_VERSION);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private ExtendedPublicKey doDeriveCached(final int[] indices, final int length) {
+		if(length == 0) {
+			return this;
+		}
+		
+		final LRUCache<DerivationPath, ExtendedPublicKey> cache = doGetCache();
+		
+		final DerivationPath derivationPath = new DerivationPath(this, indices, length);
+		
+		ExtendedPublicKey extendedPublicKey = cache.get(derivationPath);
+		
+		if(extendedPublicKey == null) {
+			extendedPublicKey = doDeriveCached(indices, length - 1).deriveChild(indices[length - 1]);
+			
+			cache.put(derivationPath, extendedPublicKey);
+		}
+		
+		return extendedPublicKey;
+	}
+	
+	private ExtendedPublicKey doDeriveChild(final int index, final byte[] data, final int fingerprint) {
+		Utilities.convertIntToByteArray(data, 33, index);
+		
+		final byte[] i = Utilities.computeHMACUsingSHA512(this.chainCode, data);
+		
+		if(!Scalar.isReduced(i, 0)) {
+			throw new IllegalArgumentException(String.format("Invalid child key: index = %d", Integer.valueOf(index)));
+		}
+		
+		final PublicKey publicKey = this.publicKey.computeTweakAdd(Scalar.parseByteArray(i, 0));
+		
+		if(publicKey == null) {
+			throw new IllegalArgumentException(String.format("Invalid child key: index = %d", Integer.valueOf(index)));
+		}
+		
+		return new ExtendedPublicKey(publicKey, Arrays.copyOfRange(i, 32, 64), this.depth + 1, fingerprint, index, this.isTestNet);
+	}
+	
+	private LRUCache<DerivationPath, ExtendedPublicKey> doGetCache() {
+		LRUCache<DerivationPath, ExtendedPublicKey> cache = this.cache;
+		
+		if(cache == null) {
+			this.cache = cache = new LRUCache<>(CACHE_CAPACITY);
+		}
+		
+		return cache;
+	}
+	
+	private byte[] doCreateData(final int index) {
+		if((index & ExtendedPrivateKey.HARDENED) != 0) {
+			throw new IllegalArgumentException(String.format("Hardened child keys cannot be derived from a public key: index = %d", Integer.valueOf(index)));
+		}
+		
+		final byte[] data = new byte[37];
+		
+		System.arraycopy(this.publicKey.toByteArray(true), 0, data, 0, 33);
+		
+		return data;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.math.BigInteger;
+
+final class GeneratorTable {
+	private static final BigInteger P = CurveContext.SECP256K1.getP();
+	private static final int WINDOW_BITS = CurveContext.WINDOW_BITS;
+	private static final int WINDOW_COUNT = 256 / WINDOW_BITS;
+	private static final int WINDOW_SIZE = CurveContext.WINDOW_SIZE;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private GeneratorTable() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static Point multiply(final BigInteger scalar) {
+		final BigInteger[] xs = new BigInteger[1];
+		final BigInteger[] ys = new BigInteger[1];
+		
+		final boolean isMeasuring = Metrics.isEnabled();
+		
+		final long start = isMeasuring ? System.nanoTime() : 0L;
+		
+		doMultiply(Utilities.convertBigIntegerToByteArray(scalar, 32), 0, 1, xs, ys);
+		
+		if(isMeasuring) {
+			Metrics.recordPointMultiplication(System.nanoTime() - start);
+		}
+		
+		return new Point(CurveContext.SECP256K1.getCurve(), xs[0], ys[0]);
+	}
+	
+	public static void multiply(final byte[] scalars, final int offset, final int count, final BigInteger[] xs, final BigInteger[] ys) {
+		doMultiply(scalars, offset, count, xs, ys);
+		
+		Metrics.addPointMultiplications(count);
+	}
+	
+	public static void normalize(final BigInteger[] xs, final BigInteger[] ys, final BigInteger[] zs, final int count) {
+		final BigInteger[] products = new BigInteger[count];
+		
+		BigInteger product = BigInteger.ONE;
+		
+		boolean isEmpty = true;
+		
+		for(int i = 0; i < count; i++) {
+			if(zs[i] != null) {
+				product = product.multiply(zs[i]).mod(P);
+				
+				isEmpty = false;
+			}
+			
+			products[i] = product;
+		}
+		
+		if(isEmpty) {
+			return;
+		}
+		
+		Metrics.incrementInversions();
+		
+		BigInteger inverse = CurveContext.SECP256K1.invert(product);
+		
+		for(int i = count - 1; i >= 0; i--) {
+			if(zs[i] == null) {
+				continue;
+			}
+			
+			final BigInteger zInverse = i > 0 ? inverse.multiply(products[i - 1]).mod(P) : inverse;
+			final BigInteger zInverseSquared = zInverse.multiply(zInverse).mod(P);
+			
+			inverse = inverse.multiply(zs[i]).mod(P);
+			
+			xs[i] = xs[i].multiply(zInverseSquared).mod(P);
+			ys[i] = ys[i].multiply(zInverseSquared).mod(P).multiply(zInverse).mod(P);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static void doMultiply(final byte[] scalars, final int offset, final int count, final BigInteger[] xs, final BigInteger[] ys) {
+		final BigInteger[] zs = new BigInteger[count];
+		
+		final PrecomputedTable table = CurveContext.SECP256K1.getTable();
+		
+		final PointAccumulator pointAccumulator = new PointAccumulator();
+		
+		for(int i = 0; i < count; i++) {
+			pointAccumulator.setInfinity();
+			
+			for(int window = 0; window < WINDOW_COUNT; window++) {
+				final int index = (scalars[offset + i * 32 + 31 - window / 2] >>> ((window & 1) * WINDOW_BITS)) & WINDOW_SIZE;
+				
+				if(index != 0) {
+					pointAccumulator.add(table.getX(window * WINDOW_SIZE + index - 1), table.getY(window * WINDOW_SIZE + index - 1));
+				}
+			}
+			
+			xs[i] = pointAccumulator.getX();
+			ys[i] = pointAccumulator.getY();
+			zs[i] = pointAccumulator.getZ();
+		}
+		
+		normalize(xs, ys, zs, count);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,885 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@code KangarooSolver} finds the private key of a public key, given an interval that the private key is known to be in, using the parallel version of Pollard's kangaroo method.
+ * <p>
+ * Half of the kangaroos are tame and start at known multiples of the generator point in the interval. The other half are wild and start at the public key plus known multiples of the generator point. All kangaroos jump by multiples of the generator point, where the jump only depends on the current point. When a kangaroo lands on a distinguished point, that is, a point whose x-coordinate has a given number of trailing zero bits, the point and the distance travelled are stored in a table that is shared by all threads. When a tame and a wild kangaroo have landed on the same distinguished point, the private key is the difference between their distances. For an interval of width w, the expected number of jumps is about 2 times the square root of w.
+ * <p>
+ * Each thread moves many kangaroos in lockstep. The points are kept in affine coordinates, and the inversions needed for all kangaroos of a thread in one step are shared, so that each step costs a single field inversion per thread.
+ * <p>
+ * The progress can be written to a checkpoint file periodically, so that a long run can be stopped and resumed later, possibly with a different number of threads.
+ * <p>
+ * The method {@link #solve()} and its overloads should not be called concurrently on the same {@code KangarooSolver} instance. All other methods are thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class KangarooSolver {
+	private static final BigInteger P = PrivateKey.CURVE.getP();
+	private static final BigInteger MASK_64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+	private static final BigInteger TWO = BigInteger.valueOf(2L);
+	private static final int CHECKPOINT_MAGIC = 0x4B4E4752;
+	private static final int CHECKPOINT_VERSION = 1;
+	private static final int MAXIMUM_DISTINGUISHED_BITS = 30;
+	private static final int MAXIMUM_JUMP_BITS = 62;
+	private static final int MAXIMUM_WIDTH_BITS = 120;
+	private static final int MINIMUM_WIDTH_BITS = 16;
+	private static final int STEPS = 16;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final BigInteger from;
+	private final BigInteger to;
+	private final BigInteger width;
+	private final BigInteger[] jumpXs;
+	private final BigInteger[] jumpYs;
+	private final Object lock;
+	private final PublicKey publicKey;
+	private final int distinguishedBits;
+	private final int kangaroos;
+	private final int threads;
+	private final long distinguishedMask;
+	private final long[] jumpDistances;
+	private volatile State state;
+	private volatile boolean isStopped;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code KangarooSolver} instance.
+	 * <p>
+	 * If either {@code publicKey}, {@code from} or {@code to} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code from} is less than {@code 1}, {@code to} is less than {@code from} or greater than or equal to n, where n is the order of the generator point of secp256k1, or the width of the interval is {@code 2^120} or greater, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * One thread per available processor and 512 kangaroos per thread are used. The number of distinguished bits is chosen so that the work spent after the last distinguished point of each kangaroo is small compared to the expected total work.
+	 * 
+	 * @param publicKey the {@link PublicKey} to find the private key of
+	 * @param from the lower bound of the interval, inclusive
+	 * @param to the upper bound of the interval, inclusive
+	 * @throws IllegalArgumentException thrown if, and only if, {@code from} is less than {@code 1}, {@code to} is less than {@code from} or greater than or equal to n, or the width of the interval is {@code 2^120} or greater
+	 * @throws NullPointerException thrown if, and only if, either {@code publicKey}, {@code from} or {@code to} are {@code null}
+	 */
+	public KangarooSolver(final PublicKey publicKey, final BigInteger from, final BigInteger to) {
+		this(publicKey, from, to, Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors() * 512, doComputeDistinguishedBits(from, to, Runtime.getRuntime().availableProcessors() * 512));
+	}
+	
+	/**
+	 * Constructs a new {@code KangarooSolver} instance.
+	 * <p>
+	 * If either {@code publicKey}, {@code from} or {@code to} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code from} is less than {@code 1}, {@code to} is less than {@code from} or greater than or equal to n, where n is the order of the generator point of secp256k1, the width of the interval is {@code 2^120} or greater, {@code threads} is less than {@code 1}, {@code kangaroos} is less than {@code 2} or {@code distinguishedBits} is not in the range [0, 30], an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The kangaroos are divided as evenly as possible between the threads. If {@code threads} is greater than {@code kangaroos}, only {@code kangaroos} threads are used.
+	 * 
+	 * @param publicKey the {@link PublicKey} to find the private key of
+	 * @param from the lower bound of the interval, inclusive
+	 * @param to the upper bound of the interval, inclusive
+	 * @param threads the number of threads to use
+	 * @param kangaroos the total number of kangaroos
+	 * @param distinguishedBits the number of trailing zero bits in the x-coordinate of a distinguished point
+	 * @throws IllegalArgumentException thrown if, and only if, {@code from} is less than {@code 1}, {@code to} is less than {@code from} or greater than or equal to n, the width of the interval is {@code 2^120} or greater, {@code threads} is less than {@code 1}, {@code kangaroos} is less than {@code 2} or {@code distinguishedBits} is not in the range [0, 30]
+	 * @throws NullPointerException thrown if, and only if, either {@code publicKey}, {@code from} or {@code to} are {@code null}
+	 */
+	public KangarooSolver(final PublicKey publicKey, final BigInteger from, final BigInteger to, final int threads, final int kangaroos, final int distinguishedBits) {
+		this.publicKey = Objects.requireNonNull(publicKey, "publicKey == null");
+		this.from = Objects.requireNonNull(from, "from == null");
+		this.to = Objects.requireNonNull(to, "to == null");
+		this.width = doComputeWidth(from, to);
+		
+		if(threads < 1) {
+			throw new IllegalArgumentException(String.format("threads < 1: threads = %d", Integer.valueOf(threads)));
+		}
+		
+		if(kangaroos < 2) {
+			throw new IllegalArgumentException(String.format("kangaroos < 2: kangaroos = %d", Integer.valueOf(kangaroos)));
+		}
+		
+		if(distinguishedBits < 0 || distinguishedBits > MAXIMUM_DISTINGUISHED_BITS) {
+			throw new IllegalArgumentException(String.format("The number of distinguished bits %d is not in the range [0, %d]", Integer.valueOf(distinguishedBits), Integer.valueOf(MAXIMUM_DISTINGUISHED_BITS)));
+		}
+		
+		this.threads = Math.min(threads, kangaroos);
+		this.kangaroos = kangaroos;
+		this.distinguishedBits = distinguishedBits;
+		this.distinguishedMask = (1L << distinguishedBits) - 1L;
+		this.jumpDistances = doCreateJumpDistances(this.width, kangaroos);
+		this.jumpXs = new BigInteger[this.jumpDistances.length];
+		this.jumpYs = new BigInteger[this.jumpDistances.length];
+		this.lock = new Object();
+		
+		for(int i = 0; i < this.jumpDistances.length; i++) {
+			final Point point = GeneratorTable.multiply(BigInteger.valueOf(this.jumpDistances[i]));
+			
+			this.jumpXs[i] = point.getX();
+			this.jumpYs[i] = point.getY();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the lower bound of the interval, inclusive.
+	 * 
+	 * @return the lower bound of the interval, inclusive
+	 */
+	public BigInteger getFrom() {
+		return this.from;
+	}
+	
+	/**
+	 * Returns the upper bound of the interval, inclusive.
+	 * 
+	 * @return the upper bound of the interval, inclusive
+	 */
+	public BigInteger getTo() {
+		return this.to;
+	}
+	
+	/**
+	 * Finds the private key of the public key in the interval.
+	 * <p>
+	 * Returns the {@link PrivateKey}, or {@code null} if {@link #stop()} was called before it was found.
+	 * <p>
+	 * If the current thread is interrupted while waiting, an {@code InterruptedException} will be thrown.
+	 * <p>
+	 * If the private key is not in the interval, this method does not return until {@code stop()} is called or the current thread is interrupted.
+	 * 
+	 * @return the {@code PrivateKey}, or {@code null} if {@code stop()} was called before it was found
+	 * @throws InterruptedException thrown if, and only if, the current thread is interrupted while waiting
+	 */
+	public PrivateKey solve() throws InterruptedException {
+		try {
+			return doSolve(null, 0L);
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Finds the private key of the public key in the interval, and writes the progress to {@code checkpoint} periodically.
+	 * <p>
+	 * Returns the {@link PrivateKey}, or {@code null} if {@link #stop()} was called before it was found.
+	 * <p>
+	 * If either {@code checkpoint} or {@code timeUnit} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code interval} is less than {@code 1}, or {@code checkpoint} exists but was not written by a {@code KangarooSolver} with the same public key, interval, number of kangaroos and number of distinguished bits, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * <p>
+	 * If the current thread is interrupted while waiting, an {@code InterruptedException} will be thrown.
+	 * <p>
+	 * If {@code checkpoint} exists, the run is resumed from it. The checkpoint is replaced atomically every {@code interval}, and once more when this method returns without having found the private key, including when it is interrupted. When the private key is found, {@code checkpoint} is deleted.
+	 * 
+	 * @param checkpoint the {@code Path} of the checkpoint file
+	 * @param interval the time between two checkpoints
+	 * @param timeUnit the {@code TimeUnit} of {@code interval}
+	 * @return the {@code PrivateKey}, or {@code null} if {@code stop()} was called before it was found
+	 * @throws IllegalArgumentException thrown if, and only if, {@code interval} is less than {@code 1}, or {@code checkpoint} exists but does not match this {@code KangarooSolver} instance
+	 * @throws InterruptedException thrown if, and only if, the current thread is interrupted while waiting
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws NullPointerException thrown if, and only if, either {@code checkpoint} or {@code timeUnit} are {@code null}
+	 */
+	public PrivateKey solve(final Path checkpoint, final long interval, final TimeUnit timeUnit) throws InterruptedException, IOException {
+		Objects.requireNonNull(checkpoint, "checkpoint == null");
+		Objects.requireNonNull(timeUnit, "timeUnit == null");
+		
+		if(interval < 1L) {
+			throw new IllegalArgumentException(String.format("interval < 1: interval = %d", Long.valueOf(interval)));
+		}
+		
+		return doSolve(checkpoint, timeUnit.toNanos(interval));
+	}
+	
+	/**
+	 * Returns the {@link PublicKey} to find the private key of.
+	 * 
+	 * @return the {@code PublicKey} to find the private key of
+	 */
+	public PublicKey getPublicKey() {
+		return this.publicKey;
+	}
+	
+	/**
+	 * Returns the number of distinguished bits.
+	 * 
+	 * @return the number of distinguished bits
+	 */
+	public int getDistinguishedBits() {
+		return this.distinguishedBits;
+	}
+	
+	/**
+	 * Returns the total number of kangaroos.
+	 * 
+	 * @return the total number of kangaroos
+	 */
+	public int getKangaroos() {
+		return this.kangaroos;
+	}
+	
+	/**
+	 * Returns the number of threads.
+	 * 
+	 * @return the number of threads
+	 */
+	public int getThreads() {
+		return this.threads;
+	}
+	
+	/**
+	 * Returns the number of distinguished points stored by the current or last run.
+	 * 
+	 * @return the number of distinguished points stored by the current or last run
+	 */
+	public long getDistinguishedPointCount() {
+		final State state = this.state;
+		
+		if(state == null) {
+			return 0L;
+		}
+		
+		synchronized(state.table) {
+			return state.table.size();
+		}
+	}
+	
+	/**
+	 * Returns the number of jumps made by the current or last run, including the jumps restored from a checkpoint.
+	 * 
+	 * @return the number of jumps made by the current or last run, including the jumps restored from a checkpoint
+	 */
+	public long getJumpCount() {
+		final State state = this.state;
+		
+		return state != null ? state.jumps.sum() : 0L;
+	}
+	
+	/**
+	 * Stops the current run.
+	 * <p>
+	 * The method {@link #solve()}, or one of its overloads, that is currently running will return {@code null} as soon as possible, unless the private key has already been found. If no run is in progress, nothing happens.
+	 */
+	public void stop() {
+		synchronized(this.lock) {
+			this.isStopped = true;
+			
+			this.lock.notifyAll();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private PrivateKey doSearchLinearly() {
+		final Point target = this.publicKey.toPoint();
+		
+		Point point = GeneratorTable.multiply(this.from);
+		
+		for(BigInteger value = this.from; value.compareTo(this.to) <= 0; value = value.add(BigInteger.ONE)) {
+			if(point.getX().equals(target.getX()) && point.getY().equals(target.getY())) {
+				return new PrivateKey(value);
+			}
+			
+			point = Point.add(point, PrivateKey.POINT);
+		}
+		
+		return null;
+	}
+	
+	private PrivateKey doSolve(final Path checkpoint, final long interval) throws InterruptedException, IOException {
+		synchronized(this.lock) {
+			this.isStopped = false;
+		}
+		
+		if(this.width.bitLength() <= MINIMUM_WIDTH_BITS) {
+			return doSearchLinearly();
+		}
+		
+		final State state = checkpoint != null && Files.exists(checkpoint) ? doRead(checkpoint) : doCreateState();
+		
+		this.state = state;
+		
+		final Worker[] workers = new Worker[this.threads];
+		
+		final Thread[] threads = new Thread[this.threads];
+		
+		for(int i = 0; i < threads.length; i++) {
+			workers[i] = new Worker(state, this.kangaroos * i / threads.length, this.kangaroos * (i + 1) / threads.length);
+			
+			threads[i] = new Thread(workers[i], "KangarooSolver-Worker-" + i);
+			threads[i].setDaemon(true);
+			threads[i].start();
+		}
+		
+		try {
+			long next = System.nanoTime() + interval;
+			
+			while(!doIsFinished(state)) {
+				if(checkpoint != null && next - System.nanoTime() <= 0L) {
+					doWrite(checkpoint, state, workers);
+					
+					next = System.nanoTime() + interval;
+				}
+				
+				synchronized(this.lock) {
+					if(doIsFinished(state)) {
+						break;
+					} else if(checkpoint == null) {
+						this.lock.wait();
+					} else {
+						TimeUnit.NANOSECONDS.timedWait(this.lock, Math.max(1L, next - System.nanoTime()));
+					}
+				}
+			}
+		} finally {
+			state.isDone = true;
+			
+			for(final Thread thread : threads) {
+				thread.join();
+			}
+			
+			if(checkpoint != null && state.privateKey == null && state.failure == null) {
+				doWrite(checkpoint, state, workers);
+			}
+		}
+		
+		if(state.failure != null) {
+			throw state.failure;
+		}
+		
+		if(checkpoint != null && state.privateKey != null) {
+			Files.deleteIfExists(checkpoint);
+		}
+		
+		return state.privateKey;
+	}
+	
+	private boolean doIsFinished(final State state) {
+		return state.privateKey != null || state.failure != null || this.isStopped;
+	}
+	
+	private State doCreateState() {
+		final State state = new State(this.kangaroos);
+		
+		for(int i = 0; i < this.kangaroos; i++) {
+			state.isTame[i] = (i & 1) == 0;
+			
+			doRandomize(state, i);
+		}
+		
+		doComputePoints(state);
+		
+		return state;
+	}
+	
+	private State doRead(final Path checkpoint) throws IOException {
+		try(final DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpoint)))) {
+			final int magic = dataInputStream.readInt();
+			final int version = dataInputStream.readInt();
+			
+			if(magic != CHECKPOINT_MAGIC || version != CHECKPOINT_VERSION) {
+				throw new IllegalArgumentException(String.format("The file %s is not a checkpoint", checkpoint));
+			}
+			
+			final byte[] publicKey = new byte[33];
+			final byte[] from = new byte[32];
+			final byte[] to = new byte[32];
+			
+			dataInputStream.readFully(publicKey);
+			dataInputStream.readFully(from);
+			dataInputStream.readFully(to);
+			
+			final int distinguishedBits = dataInputStream.readInt();
+			final int kangaroos = dataInputStream.readInt();
+			
+			if(!Arrays.equals(publicKey, this.publicKey.toByteArray(true)) || !new BigInteger(1, from).equals(this.from) || !new BigInteger(1, to).equals(this.to) || distinguishedBits != this.distinguishedBits || kangaroos != this.kangaroos) {
+				throw new IllegalArgumentException(String.format("The checkpoint %s does not match this KangarooSolver", checkpoint));
+			}
+			
+			final State state = new State(kangaroos);
+			
+			state.jumps.add(dataInputStream.readLong());
+			
+			for(int i = 0; i < kangaroos; i++) {
+				state.isTame[i] = dataInputStream.readBoolean();
+				state.highs[i] = dataInputStream.readLong();
+				state.lows[i] = dataInputStream.readLong();
+			}
+			
+			final int size = dataInputStream.readInt();
+			
+			for(int i = 0; i < size; i++) {
+				state.table.put(dataInputStream.readLong(), dataInputStream.readLong(), dataInputStream.readLong());
+			}
+			
+			doComputePoints(state);
+			
+			return state;
+		}
+	}
+	
+	private void doComputePoints(final State state) {
+		final byte[] scalars = new byte[state.xs.length * 32];
+		
+		for(int i = 0; i < state.xs.length; i++) {
+			Utilities.convertLongToByteArray(scalars, i * 32 + 16, state.highs[i]);
+			Utilities.convertLongToByteArray(scalars, i * 32 + 24, state.lows[i]);
+		}
+		
+		GeneratorTable.multiply(scalars, 0, state.xs.length, state.xs, state.ys);
+		
+		for(int i = 0; i < state.xs.length; i++) {
+			if(!state.isTame[i]) {
+				doAddTarget(state, i);
+			}
+		}
+	}
+	
+	private void doAddTarget(final State state, final int index) {
+		final Point point = Point.add(new Point(PrivateKey.CURVE, state.xs[index], state.ys[index]), state.target);
+		
+		state.xs[index] = point.getX();
+		state.ys[index] = point.getY();
+	}
+	
+	private void doRandomize(final State state, final int index) {
+		final BigInteger bound = state.isTame[index] ? this.width : this.width.shiftRight(1);
+		
+		BigInteger distance;
+		
+		do {
+			distance = new BigInteger(bound.bitLength(), ThreadLocalRandom.current());
+		} while(distance.compareTo(bound) >= 0);
+		
+		distance = distance.add(BigInteger.ONE);
+		
+		state.highs[index] = distance.shiftRight(64).longValue();
+		state.lows[index] = distance.longValue();
+	}
+	
+	private void doReset(final State state, final int index) {
+		doRandomize(state, index);
+		
+		final Point point = GeneratorTable.multiply(doToBigInteger(state.highs[index], state.lows[index]));
+		
+		state.xs[index] = point.getX();
+		state.ys[index] = point.getY();
+		
+		if(!state.isTame[index]) {
+			doAddTarget(state, index);
+		}
+	}
+	
+	private void doReport(final State state, final int index) {
+		final long key = state.xs[index].shiftRight(this.distinguishedBits).longValue();
+		final long high = state.isTame[index] ? state.highs[index] | Long.MIN_VALUE : state.highs[index];
+		final long low = state.lows[index];
+		
+		final long otherHigh;
+		final long otherLow;
+		
+		synchronized(state.table) {
+			final int slot = state.table.put(key, high, low);
+			
+			if(slot < 0) {
+				return;
+			}
+			
+			otherHigh = state.table.getHigh(slot);
+			otherLow = state.table.getLow(slot);
+		}
+		
+		if(otherHigh == high && otherLow == low) {
+			return;
+		}
+		
+		if((otherHigh < 0L) == (high < 0L)) {
+			doReset(state, index);
+			
+			return;
+		}
+		
+		final BigInteger distance = doToBigInteger(high & Long.MAX_VALUE, low);
+		final BigInteger otherDistance = doToBigInteger(otherHigh & Long.MAX_VALUE, otherLow);
+		final BigInteger value = this.from.add(high < 0L ? distance.subtract(otherDistance) : otherDistance.subtract(distance));
+		
+		if(value.compareTo(this.from) >= 0 && value.compareTo(this.to) <= 0) {
+			final PrivateKey privateKey = new PrivateKey(value);
+			
+			if(privateKey.toPublicKey().equals(this.publicKey)) {
+				synchronized(this.lock) {
+					state.privateKey = privateKey;
+					
+					this.lock.notifyAll();
+				}
+			}
+		}
+	}
+	
+	private void doWrite(final Path checkpoint, final State state, final Worker[] workers) throws IOException {
+		final Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+		
+		final boolean[] isTame = new boolean[this.kangaroos];
+		
+		final long[] highs = new long[this.kangaroos];
+		final long[] lows = new long[this.kangaroos];
+		
+		for(final Worker worker : workers) {
+			synchronized(worker) {
+				System.arraycopy(state.isTame, worker.start, isTame, worker.start, worker.end - worker.start);
+				System.arraycopy(state.highs, worker.start, highs, worker.start, worker.end - worker.start);
+				System.arraycopy(state.lows, worker.start, lows, worker.start, worker.end - worker.start);
+			}
+		}
+		
+		final long[] entries;
+		
+		synchronized(state.table) {
+			entries = state.table.toArray();
+		}
+		
+		try(final DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+			dataOutputStream.writeInt(CHECKPOINT_MAGIC);
+			dataOutputStream.writeInt(CHECKPOINT_VERSION);
+			dataOutputStream.write(this.publicKey.toByteArray(true));
+			dataOutputStream.write(Utilities.convertBigIntegerToByteArray(this.from, 32));
+			dataOutputStream.write(Utilities.convertBigIntegerToByteArray(this.to, 32));
+			dataOutputStream.writeInt(this.distinguishedBits);
+			dataOutputStream.writeInt(this.kangaroos);
+			dataOutputStream.writeLong(state.jumps.sum());
+			
+			for(int i = 0; i < this.kangaroos; i++) {
+				dataOutputStream.writeBoolean(isTame[i]);
+				dataOutputStream.writeLong(highs[i]);
+				dataOutputStream.writeLong(lows[i]);
+			}
+			
+			dataOutputStream.writeInt(entries.length / 3);
+			
+			for(final long entry : entries) {
+				dataOutputStream.writeLong(entry);
+			}
+		}
+		
+		Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static BigInteger doComputeWidth(final BigInteger from, final BigInteger to) {
+		if(from.signum() <= 0 || to.compareTo(from) < 0 || to.compareTo(PrivateKey.N) >= 0) {
+			throw new IllegalArgumentException(String.format("Illegal interval: from = %s, to = %s", from.toString(16), to.toString(16)));
+		}
+		
+		final BigInteger width = to.subtract(from);
+		
+		if(width.bitLength() > MAXIMUM_WIDTH_BITS) {
+			throw new IllegalArgumentException(String.format("The width of the interval is 2^%d or greater: width = %s", Integer.valueOf(MAXIMUM_WIDTH_BITS), width.toString(16)));
+		}
+		
+		return width;
+	}
+	
+	private static BigInteger doToBigInteger(final long high, final long low) {
+		return BigInteger.valueOf(high).shiftLeft(64).or(BigInteger.valueOf(low).and(MASK_64));
+	}
+	
+	private static int doComputeDistinguishedBits(final BigInteger from, final BigInteger to, final int kangaroos) {
+		final int bits = doComputeWidth(Objects.requireNonNull(from, "from == null"), Objects.requireNonNull(to, "to == null")).bitLength() / 2 - (32 - Integer.numberOfLeadingZeros(kangaroos)) - 3;
+		
+		return Math.max(0, Math.min(MAXIMUM_DISTINGUISHED_BITS, bits));
+	}
+	
+	private static long[] doCreateJumpDistances(final BigInteger width, final int kangaroos) {
+		final BigInteger mean = BigInteger.valueOf(kangaroos).shiftLeft((width.bitLength() + 1) / 2).shiftRight(2);
+		
+		int count = 1;
+		
+		while(count < MAXIMUM_JUMP_BITS && TWO.pow(count).subtract(BigInteger.ONE).compareTo(mean.multiply(BigInteger.valueOf(count))) < 0) {
+			count++;
+		}
+		
+		final long[] jumpDistances = new long[count];
+		
+		for(int i = 0; i < count; i++) {
+			jumpDistances[i] = 1L << i;
+		}
+		
+		return jumpDistances;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final class State {
+		private final BigInteger[] xs;
+		private final BigInteger[] ys;
+		private final LongAdder jumps;
+		private final Point target;
+		private final Table table;
+		private final boolean[] isTame;
+		private final long[] highs;
+		private final long[] lows;
+		private volatile PrivateKey privateKey;
+		private volatile RuntimeException failure;
+		private volatile boolean isDone;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public State(final int kangaroos) {
+			final Point point = KangarooSolver.this.publicKey.toPoint();
+			final Point origin = GeneratorTable.multiply(KangarooSolver.this.from);
+			
+			this.xs = new BigInteger[kangaroos];
+			this.ys = new BigInteger[kangaroos];
+			this.jumps = new LongAdder();
+			this.target = Point.add(point, origin.negate());
+			this.table = new Table();
+			this.isTame = new boolean[kangaroos];
+			this.highs = new long[kangaroos];
+			this.lows = new long[kangaroos];
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final class Worker implements Runnable {
+		private final BigInteger[] differences;
+		private final BigInteger[] products;
+		private final State state;
+		private final int end;
+		private final int start;
+		private final int[] indices;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Worker(final State state, final int start, final int end) {
+			this.state = state;
+			this.start = start;
+			this.end = end;
+			this.differences = new BigInteger[end - start];
+			this.products = new BigInteger[end - start];
+			this.indices = new int[end - start];
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		@Override
+		public void run() {
+			try {
+				while(!this.state.isDone && this.state.privateKey == null) {
+					synchronized(this) {
+						for(int step = 0; step < STEPS; step++) {
+							doStep();
+						}
+					}
+					
+					this.state.jumps.add((long)(STEPS) * (this.end - this.start));
+				}
+			} catch(final RuntimeException e) {
+				synchronized(KangarooSolver.this.lock) {
+					this.state.failure = e;
+					
+					KangarooSolver.this.lock.notifyAll();
+				}
+			}
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private void doStep() {
+			final State state = this.state;
+			
+			final BigInteger[] jumpXs = KangarooSolver.this.jumpXs;
+			final BigInteger[] jumpYs = KangarooSolver.this.jumpYs;
+			
+			final long[] jumpDistances = KangarooSolver.this.jumpDistances;
+			
+			BigInteger product = BigInteger.ONE;
+			
+			for(int i = this.start; i < this.end; i++) {
+				final int j = (int)((state.xs[i].longValue() >>> 32) % jumpDistances.length);
+				
+				final BigInteger difference = jumpXs[j].subtract(state.xs[i]).mod(P);
+				
+				this.indices[i - this.start] = j;
+				this.differences[i - this.start] = difference.signum() != 0 ? difference : null;
+				this.products[i - this.start] = product;
+				
+				if(difference.signum() != 0) {
+					product = product.multiply(difference).mod(P);
+				}
+			}
+			
+			Metrics.incrementInversions();
+			
+			BigInteger inverse = CurveContext.SECP256K1.invert(product);
+			
+			for(int i = this.end - 1; i >= this.start; i--) {
+				final BigInteger difference = this.differences[i - this.start];
+				
+				if(difference == null) {
+					doReset(state, i);
+					
+					continue;
+				}
+				
+				final int j = this.indices[i - this.start];
+				
+				final BigInteger x = state.xs[i];
+				final BigInteger y = state.ys[i];
+				final BigInteger differenceInverse = inverse.multiply(this.products[i - this.start]).mod(P);
+				
+				inverse = inverse.multiply(difference).mod(P);
+				
+				final BigInteger l = jumpYs[j].subtract(y).multiply(differenceInverse).mod(P);
+				final BigInteger newX = l.multiply(l).subtract(x).subtract(jumpXs[j]).mod(P);
+				final BigInteger newY = l.multiply(x.subtract(newX)).subtract(y).mod(P);
+				
+				final long low = state.lows[i] + jumpDistances[j];
+				
+				state.xs[i] = newX;
+				state.ys[i] = newY;
+				state.highs[i] += Long.compareUnsigned(low, state.lows[i]) < 0 ? 1L : 0L;
+				state.lows[i] = low;
+				
+				if((newX.longValue() & KangarooSolver.this.distinguishedMask) == 0L) {
+					doReport(state, i);
+				}
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Table {
+		private long[] highs;
+		private long[] keys;
+		private long[] lows;
+		private int size;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Table() {
+			this.highs = new long[1024];
+			this.keys = new long[1024];
+			this.lows = new long[1024];
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public int put(final long key, final long high, final long low) {
+			final long k = key != 0L ? key : 1L;
+			
+			final int mask = this.keys.length - 1;
+			
+			int slot = doHash(k) & mask;
+			
+			while(this.keys[slot] != 0L) {
+				if(this.keys[slot] == k) {
+					return slot;
+				}
+				
+				slot = (slot + 1) & mask;
+			}
+			
+			this.keys[slot] = k;
+			this.highs[slot] = high;
+			this.lows[slot] = low;
+			this.size++;
+			
+			if(this.size * 2 > this.keys.length) {
+				doResize();
+			}
+			
+			return -1;
+		}
+		
+		public int size() {
+			return this.size;
+		}
+		
+		public long getHigh(final int slot) {
+			return this.highs[slot];
+		}
+		
+		public long getLow(final int slot) {
+			return this.lows[slot];
+		}
+		
+		public long[] toArray() {
+			final long[] array = new long[this.size * 3];
+			
+			for(int slot = 0, i = 0; slot < this.keys.length; slot++) {
+				if(this.keys[slot] != 0L) {
+					array[i++] = this.keys[slot];
+					array[i++] = this.highs[slot];
+					array[i++] = this.lows[slot];
+				}
+			}
+			
+			return array;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private void doResize() {
+			final long[] highs = this.highs;
+			final long[] keys = this.keys;
+			final long[] lows = this.lows;
+			
+			this.highs = new long[keys.length * 2];
+			this.keys = new long[keys.length * 2];
+			this.lows = new long[keys.length * 2];
+			this.size = 0;
+			
+			for(int slot = 0; slot < keys.length; slot++) {
+				if(keys[slot] != 0L) {
+					put(keys[slot], highs[slot], lows[slot]);
+				}
+			}
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private static int doHash(final long key) {
+			final long hash = key * 0x9E3779B97F4A7C15L;
+			
+			return (int)(hash ^ (hash >>> 32));
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+final class KeyBatch {
+	public static final int SIZE = 1024;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final BigInteger[] xs;
+	private final BigInteger[] ys;
+	private final String operation;
+	private final byte[] bytes;
+	private final byte[] hashes;
+	private final byte[] scalars;
+	private final boolean[] isValid;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public KeyBatch(final String operation) {
+		this.xs = new BigInteger[SIZE];
+		this.ys = new BigInteger[SIZE];
+		this.operation = operation;
+		this.bytes = new byte[65];
+		this.hashes = new byte[Addresses.LENGTH];
+		this.scalars = new byte[SIZE * KeyFile.INPUT_RECORD_LENGTH];
+		this.isValid = new boolean[SIZE];
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public int convert(final int count, final ByteBuffer output) {
+		final Object event = Events.beginBatch(this.operation, count);
+		
+		int invalid = 0;
+		
+		for(int i = 0; i < count; i++) {
+			this.isValid[i] = Scalar.isInRange(this.scalars, i * KeyFile.INPUT_RECORD_LENGTH);
+			
+			if(!this.isValid[i]) {
+				Arrays.fill(this.scalars, i * KeyFile.INPUT_RECORD_LENGTH, (i + 1) * KeyFile.INPUT_RECORD_LENGTH, (byte)(0));
+				
+				invalid++;
+			}
+		}
+		
+		GeneratorTable.multiply(this.scalars, 0, count, this.xs, this.ys);
+		
+		for(int i = 0; i < count; i++) {
+			if(!this.isValid[i]) {
+				for(int j = 0; j < KeyFile.OUTPUT_RECORD_LENGTH; j++) {
+					output.put((byte)(0));
+				}
+				
+				continue;
+			}
+			
+			this.bytes[0] = 0x04;
+			
+			Utilities.convertBigIntegerToByteArray(this.xs[i], this.bytes,  1, 32);
+			Utilities.convertBigIntegerToByteArray(this.ys[i], this.bytes, 33, 32);
+			
+			output.put((this.bytes[64] & 1) == 0 ? (byte)(0x02) : (byte)(0x03));
+			output.put(this.bytes, 1, 32);
+			
+			PublicKey.computeHashes(this.bytes, this.hashes, 0);
+			
+			output.put(this.hashes, Addresses.OFFSET_COMPRESSED, 20);
+			output.put(this.hashes, Addresses.OFFSET_UNCOMPRESSED, 20);
+			output.put(this.hashes, Addresses.OFFSET_SCRIPT, 20);
+		}
+		
+		Events.commit(event);
+		
+		return invalid;
+	}
+	
+	public void clear() {
+		Arrays.fill(this.scalars, (byte)(0));
+		Arrays.fill(this.xs, null);
+		Arrays.fill(this.ys, null);
+	}
+	
+	public void read(final ByteBuffer input, final int count) {
+		input.get(this.scalars, 0, count * KeyFile.INPUT_RECORD_LENGTH);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,246 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.util.Objects;
+
+/**
+ * A {@code KeyCache} is a bounded concurrent cache for the derivations {@link PrivateKey} to {@link PublicKey} and {@code PublicKey} to {@link Address}.
+ * <p>
+ * The cache is split into stripes, where each stripe is locked independently. Each stripe uses segmented LRU eviction. A new entry is put into a probationary segment. If it is requested again, it is promoted to a protected segment that holds up to 80% of the capacity of the stripe. The least recently used entries of the protected segment are demoted back to the probationary segment, and the least recently used entries of the probationary segment are evicted. Entries that are only seen once, as in a linear scan, therefore do not evict the entries that are requested repeatedly.
+ * <p>
+ * The capacity applies to each derivation separately, so a {@code KeyCache} holds at most {@code capacity} public keys and at most {@code capacity} addresses of each format.
+ * <p>
+ * A {@code KeyCache} can be used explicitly, by calling {@link #toPublicKey(PrivateKey)} or {@link #toAddress(PublicKey, boolean)}, or globally, by calling {@link #setGlobal(KeyCache)}. When a global {@code KeyCache} has been set, it is consulted by {@link PrivateKey#toPublicKey()} and {@link PublicKey#toAddress(boolean)}. By default, no global {@code KeyCache} is set.
+ * <p>
+ * Note that a {@code KeyCache} keeps strong references to the {@code PrivateKey} instances it has seen, until they are evicted or {@link #clear()} is called.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class KeyCache {
+	private static volatile KeyCache global;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final SegmentedLRUCache<PrivateKey, PublicKey> publicKeys;
+	private final SegmentedLRUCache<PublicKey, Address> addressesCompressed;
+	private final SegmentedLRUCache<PublicKey, Address> addressesUncompressed;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code KeyCache} instance.
+	 * <p>
+	 * If {@code capacity} is less than {@code 1}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The number of stripes is based on the number of available processors.
+	 * 
+	 * @param capacity the maximum number of entries per derivation
+	 * @throws IllegalArgumentException thrown if, and only if, {@code capacity} is less than {@code 1}
+	 */
+	public KeyCache(final int capacity) {
+		this(capacity, doGetStripes(capacity));
+	}
+	
+	/**
+	 * Constructs a new {@code KeyCache} instance.
+	 * <p>
+	 * The capacity is divided among the stripes, so that the capacities of all stripes add up to {@code capacity}.
+	 * <p>
+	 * If either {@code capacity} is less than {@code 1}, {@code stripes} is not a positive power of two or {@code stripes} is greater than {@code capacity}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param capacity the maximum number of entries per derivation
+	 * @param stripes the number of independently locked stripes
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code capacity} is less than {@code 1}, {@code stripes} is not a positive power of two or {@code stripes} is greater than {@code capacity}
+	 */
+	public KeyCache(final int capacity, final int stripes) {
+		this.publicKeys = new SegmentedLRUCache<>(capacity, stripes);
+		this.addressesCompressed = new SegmentedLRUCache<>(capacity, stripes);
+		this.addressesUncompressed = new SegmentedLRUCache<>(capacity, stripes);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the {@link Address} associated with {@code publicKey}.
+	 * <p>
+	 * If {@code publicKey} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the {@code Address} is not present in this {@code KeyCache}, it will be derived and put into it.
+	 * 
+	 * @param publicKey a {@link PublicKey} instance
+	 * @param isCompressed {@code true} if, and only if, compression should be used, {@code false} otherwise
+	 * @return the {@code Address} associated with {@code publicKey}
+	 * @throws NullPointerException thrown if, and only if, {@code publicKey} is {@code null}
+	 */
+	public Address toAddress(final PublicKey publicKey, final boolean isCompressed) {
+		Objects.requireNonNull(publicKey, "publicKey == null");
+		
+		final SegmentedLRUCache<PublicKey, Address> addresses = isCompressed ? this.addressesCompressed : this.addressesUncompressed;
+		
+		Address address = addresses.get(publicKey);
+		
+		if(address == null) {
+			address = publicKey.computeAddress(isCompressed);
+			
+			addresses.put(publicKey, address);
+		}
+		
+		return address;
+	}
+	
+	/**
+	 * Returns the {@link PublicKey} associated with {@code privateKey}.
+	 * <p>
+	 * If {@code privateKey} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the {@code PublicKey} is not present in this {@code KeyCache}, it will be derived and put into it.
+	 * 
+	 * @param privateKey a {@link PrivateKey} instance
+	 * @return the {@code PublicKey} associated with {@code privateKey}
+	 * @throws NullPointerException thrown if, and only if, {@code privateKey} is {@code null}
+	 */
+	public PublicKey toPublicKey(final PrivateKey privateKey) {
+		Objects.requireNonNull(privateKey, "privateKey == null");
+		
+		PublicKey publicKey = this.publicKeys.get(privateKey);
+		
+		if(publicKey == null) {
+			publicKey = privateKey.computePublicKey();
+			
+			this.publicKeys.put(privateKey, publicKey);
+		}
+		
+		return publicKey;
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code KeyCache} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code KeyCache} instance
+	 */
+	@Override
+	public String toString() {
+		return String.format("KeyCache[capacity=%d, size=%d, hits=%d, misses=%d, evictions=%d]", Integer.valueOf(getCapacity()), Integer.valueOf(size()), Long.valueOf(getHitCount()), Long.valueOf(getMissCount()), Long.valueOf(getEvictionCount()));
+	}
+	
+	/**
+	 * Returns the hit rate of this {@code KeyCache} instance.
+	 * <p>
+	 * The hit rate is in the range [0.0, 1.0]. If no lookups have been made, {@code 0.0} will be returned.
+	 * 
+	 * @return the hit rate of this {@code KeyCache} instance
+	 */
+	public double getHitRate() {
+		final long hitCount = getHitCount();
+		final long missCount = getMissCount();
+		
+		return hitCount + missCount > 0L ? (double)(hitCount) / (hitCount + missCount) : 0.0D;
+	}
+	
+	/**
+	 * Returns the maximum number of entries per derivation.
+	 * 
+	 * @return the maximum number of entries per derivation
+	 */
+	public int getCapacity() {
+		return this.publicKeys.getCapacity();
+	}
+	
+	/**
+	 * Returns the total number of entries currently present in this {@code KeyCache} instance.
+	 * 
+	 * @return the total number of entries currently present in this {@code KeyCache} instance
+	 */
+	public int size() {
+		return this.publicKeys.size() + this.addressesCompressed.size() + this.addressesUncompressed.size();
+	}
+	
+	/**
+	 * Returns the total number of entries that have been evicted from this {@code KeyCache} instance.
+	 * 
+	 * @return the total number of entries that have been evicted from this {@code KeyCache} instance
+	 */
+	public long getEvictionCount() {
+		return this.publicKeys.getEvictionCount() + this.addressesCompressed.getEvictionCount() + this.addressesUncompressed.getEvictionCount();
+	}
+	
+	/**
+	 * Returns the total number of lookups that found an entry in this {@code KeyCache} instance.
+	 * 
+	 * @return the total number of lookups that found an entry in this {@code KeyCache} instance
+	 */
+	public long getHitCount() {
+		return this.publicKeys.getHitCount() + this.addressesCompressed.getHitCount() + this.addressesUncompressed.getHitCount();
+	}
+	
+	/**
+	 * Returns the total number of lookups that did not find an entry in this {@code KeyCache} instance.
+	 * 
+	 * @return the total number of lookups that did not find an entry in this {@code KeyCache} instance
+	 */
+	public long getMissCount() {
+		return this.publicKeys.getMissCount() + this.addressesCompressed.getMissCount() + this.addressesUncompressed.getMissCount();
+	}
+	
+	/**
+	 * Removes all entries from this {@code KeyCache} instance.
+	 * <p>
+	 * The statistics are not reset.
+	 */
+	public void clear() {
+		this.publicKeys.clear();
+		this.addressesCompressed.clear();
+		this.addressesUncompressed.clear();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the global {@code KeyCache} instance, or {@code null} if no global {@code KeyCache} has been set.
+	 * 
+	 * @return the global {@code KeyCache} instance, or {@code null} if no global {@code KeyCache} has been set
+	 */
+	public static KeyCache getGlobal() {
+		return global;
+	}
+	
+	/**
+	 * Sets the global {@code KeyCache} instance.
+	 * <p>
+	 * If {@code keyCache} is {@code null}, the global {@code KeyCache} will be removed.
+	 * 
+	 * @param keyCache the {@code KeyCache} instance to use globally, or {@code null} to disable global caching
+	 */
+	public static void setGlobal(final KeyCache keyCache) {
+		global = keyCache;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static int doGetStripes(final int capacity) {
+		final int stripes = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 8 - 1);
+		final int stripesMaximum = Integer.highestOneBit(Math.max(capacity / 16, 1));
+		
+		return Math.min(stripes, stripesMaximum);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,287 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@code KeyClient} is a client for a {@link KeyServer}.
+ * <p>
+ * The requests made by the bulk methods of this class are pipelined. Up to 1024 requests are written before the responses to them are read, so the round-trip time is shared by all of them.
+ * <p>
+ * This class is thread-safe. Concurrent calls on the same {@code KeyClient} are serialized, so each thread that wants its own pipeline should use its own {@code KeyClient}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class KeyClient implements AutoCloseable {
+	private static final int WINDOW = 1024;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final ByteBuffer input;
+	private final ByteBuffer output;
+	private final SocketChannel socketChannel;
+	private final byte[] payload;
+	private byte status;
+	private int id;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code KeyClient} instance that is connected to {@code socketAddress}.
+	 * <p>
+	 * If {@code socketAddress} is an {@code InetSocketAddress}, TCP is used. Otherwise {@code socketAddress} is assumed to be a Unix domain socket address.
+	 * <p>
+	 * If {@code socketAddress} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @param socketAddress the {@code SocketAddress} of the {@code KeyServer}
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws NullPointerException thrown if, and only if, {@code socketAddress} is {@code null}
+	 */
+	public KeyClient(final SocketAddress socketAddress) throws IOException {
+		this.socketChannel = KeyProtocol.openSocketChannel(Objects.requireNonNull(socketAddress, "socketAddress == null"));
+		
+		try {
+			this.socketChannel.connect(socketAddress);
+		} catch(final IOException e) {
+			this.socketChannel.close();
+			
+			throw e;
+		}
+		
+		this.input = ByteBuffer.allocateDirect(1 << 16);
+		this.output = ByteBuffer.allocateDirect(WINDOW * (KeyProtocol.HEADER_LENGTH + 32));
+		this.payload = new byte[KeyProtocol.MAXIMUM_FRAME_LENGTH];
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the {@link Addresses} associated with {@code privateKey}, as derived by the {@link KeyServer}.
+	 * <p>
+	 * If {@code privateKey} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code privateKey} is not in the range [1, n - 1], where n is the order of the generator point of secp256k1, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @param privateKey a {@link PrivateKey} instance
+	 * @return the {@code Addresses} associated with {@code privateKey}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code privateKey} is not in the range [1, n - 1]
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws NullPointerException thrown if, and only if, {@code privateKey} is {@code null}
+	 */
+	public Addresses derive(final PrivateKey privateKey) throws IOException {
+		final byte[] scalar = new byte[32];
+		final byte[] record = new byte[KeyFile.OUTPUT_RECORD_LENGTH];
+		
+		try {
+			Objects.requireNonNull(privateKey, "privateKey == null").writeTo(scalar, 0);
+			
+			if(derive(scalar, 0, 1, record, 0) > 0) {
+				throw new IllegalArgumentException("The private key is not in the range [1, n - 1]");
+			}
+			
+			return new Addresses(Arrays.copyOfRange(record, KeyFile.OFFSET_HASH160_COMPRESSED, KeyFile.OUTPUT_RECORD_LENGTH));
+		} finally {
+			Arrays.fill(scalar, (byte)(0));
+		}
+	}
+	
+	/**
+	 * Returns the Mainnet {@code String} representation of {@code address}, as encoded by the {@link KeyServer}.
+	 * <p>
+	 * If {@code address} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @param address an {@link Address} instance
+	 * @return the Mainnet {@code String} representation of {@code address}
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws NullPointerException thrown if, and only if, {@code address} is {@code null}
+	 */
+	public synchronized String encode(final Address address) throws IOException {
+		final int length = Objects.requireNonNull(address, "address == null").getType().getLength();
+		
+		this.output.clear();
+		this.output.putInt(KeyProtocol.HEADER_LENGTH - 4 + 1 + length);
+		this.output.putInt(this.id);
+		this.output.put(KeyProtocol.OPERATION_ENCODE);
+		this.output.put((byte)(KeyProtocol.getTypeCode(address.getType())));
+		this.output.put(address.getBytes());
+		
+		doFlush();
+		
+		final int payloadLength = doReceive(this.id++);
+		
+		final String string = new String(this.payload, 0, payloadLength, StandardCharsets.UTF_8);
+		
+		if(this.status != KeyProtocol.STATUS_OK) {
+			throw new IOException(string);
+		}
+		
+		return string;
+	}
+	
+	/**
+	 * Closes this {@code KeyClient} instance.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		this.socketChannel.close();
+	}
+	
+	/**
+	 * Derives the public keys and HASH160 values of {@code count} private keys in {@code scalars}, starting at {@code offset}, and writes them to {@code records}, starting at {@code recordsOffset}.
+	 * <p>
+	 * Returns the number of private keys that were not in the range [1, n - 1], where n is the order of the generator point of secp256k1.
+	 * <p>
+	 * Each private key is read as a 32 byte unsigned big-endian record. Each result is written as a record of {@link KeyFile#OUTPUT_RECORD_LENGTH} bytes, in the format described by {@link KeyFile}. If a private key is not in the range [1, n - 1], its record consists of zeroes only.
+	 * <p>
+	 * If either {@code scalars} or {@code records} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code count} is less than {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If there is not enough data in {@code scalars} or not enough room in {@code records}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @param scalars the {@code byte} array to read the private keys from
+	 * @param offset the offset in {@code scalars} to start reading at
+	 * @param count the number of private keys
+	 * @param records the {@code byte} array to write the records to
+	 * @param recordsOffset the offset in {@code records} to start writing at
+	 * @return the number of private keys that were not in the range [1, n - 1]
+	 * @throws IllegalArgumentException thrown if, and only if, {@code count} is less than {@code 0}
+	 * @throws IndexOutOfBoundsException thrown if, and only if, there is not enough data in {@code scalars} or not enough room in {@code records}
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws NullPointerException thrown if, and only if, either {@code scalars} or {@code records} are {@code null}
+	 */
+	public synchronized int derive(final byte[] scalars, final int offset, final int count, final byte[] records, final int recordsOffset) throws IOException {
+		Objects.requireNonNull(scalars, "scalars == null");
+		Objects.requireNonNull(records, "records == null");
+		
+		if(count < 0) {
+			throw new IllegalArgumentException(String.format("count < 0: count = %d", Integer.valueOf(count)));
+		}
+		
+		if(offset < 0 || recordsOffset < 0 || (long)(count) * 32 > scalars.length - offset || (long)(count) * KeyFile.OUTPUT_RECORD_LENGTH > records.length - recordsOffset) {
+			throw new IndexOutOfBoundsException(String.format("Illegal range: offset = %d, count = %d, recordsOffset = %d", Integer.valueOf(offset), Integer.valueOf(count), Integer.valueOf(recordsOffset)));
+		}
+		
+		int invalid = 0;
+		
+		for(int i = 0; i < count; i += WINDOW) {
+			final int window = Math.min(WINDOW, count - i);
+			
+			final int id = this.id;
+			
+			this.output.clear();
+			
+			for(int j = 0; j < window; j++) {
+				this.output.putInt(KeyProtocol.HEADER_LENGTH - 4 + 32);
+				this.output.putInt(id + j);
+				this.output.put(KeyProtocol.OPERATION_DERIVE);
+				this.output.put(scalars, offset + (i + j) * 32, 32);
+			}
+			
+			this.id += window;
+			
+			doFlush();
+			
+			for(int j = 0; j < window; j++) {
+				final int payloadLength = doReceive(id + j);
+				
+				final int recordOffset = recordsOffset + (i + j) * KeyFile.OUTPUT_RECORD_LENGTH;
+				
+				if(this.status == KeyProtocol.STATUS_OK && payloadLength == KeyFile.OUTPUT_RECORD_LENGTH) {
+					System.arraycopy(this.payload, 0, records, recordOffset, KeyFile.OUTPUT_RECORD_LENGTH);
+				} else {
+					Arrays.fill(records, recordOffset, recordOffset + KeyFile.OUTPUT_RECORD_LENGTH, (byte)(0));
+					
+					invalid++;
+				}
+			}
+		}
+		
+		return invalid;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private int doReceive(final int id) throws IOException {
+		this.input.clear();
+		this.input.limit(KeyProtocol.HEADER_LENGTH);
+		
+		doFill();
+		
+		this.status = this.input.get(8);
+		
+		final int length = this.input.getInt(0) - (KeyProtocol.HEADER_LENGTH - 4);
+		final int responseId = this.input.getInt(4);
+		
+		if(length < 0 || length > this.payload.length) {
+			throw new IOException(String.format("Illegal frame length: %d", Integer.valueOf(length + KeyProtocol.HEADER_LENGTH - 4)));
+		}
+		
+		if(responseId != id) {
+			throw new IOException(String.format("Unexpected response id: expected %d, got %d", Integer.valueOf(id), Integer.valueOf(responseId)));
+		}
+		
+		this.input.clear();
+		this.input.limit(length);
+		
+		doFill();
+		
+		this.input.flip();
+		this.input.get(this.payload, 0, length);
+		
+		return length;
+	}
+	
+	private void doFill() throws IOException {
+		while(this.input.hasRemaining()) {
+			if(this.socketChannel.read(this.input) < 0) {
+				throw new EOFException("The connection was closed by the server");
+			}
+		}
+	}
+	
+	private void doFlush() throws IOException {
+		this.output.flip();
+		
+		while(this.output.hasRemaining()) {
+			this.socketChannel.write(this.output);
+		}
+	}
+}
\ No newline at end of file
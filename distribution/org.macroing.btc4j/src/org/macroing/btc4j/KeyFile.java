@@ -0,0 +1,196 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * The class {@code KeyFile} converts files of raw private keys into files of packed public keys and HASH160 values.
+ * <p>
+ * The input file consists of 32 byte records, each containing a private key as an unsigned big-endian scalar. The input file is memory-mapped in segments, and the scalars are fed directly into a batch derivation of the public keys, without creating any {@link PrivateKey} instances.
+ * <p>
+ * The output file consists of 93 byte records, one for each input record and in the same order. Each record contains the following fields:
+ * <ul>
+ * <li>{@link #OFFSET_PUBLIC_KEY}: the 33 byte compressed public key in SEC1 format.</li>
+ * <li>{@link #OFFSET_HASH160_COMPRESSED}: the 20 byte HASH160 of the compressed public key, used by P2PKH and P2WPKH.</li>
+ * <li>{@link #OFFSET_HASH160_UNCOMPRESSED}: the 20 byte HASH160 of the uncompressed public key, used by P2PKH.</li>
+ * <li>{@link #OFFSET_HASH160_SCRIPT}: the 20 byte HASH160 of the P2WPKH redeem script, used by P2SH-P2WPKH.</li>
+ * </ul>
+ * If an input record is not in the range [1, n - 1], where n is the order of the generator point of secp256k1, its output record consists of zeroes only.
+ * <p>
+ * The output records are written through a direct {@code ByteBuffer}, so both files are processed as sequential I/O and the memory usage does not depend on the size of the files.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class KeyFile {
+	/**
+	 * The length of an input record in bytes.
+	 */
+	public static final int INPUT_RECORD_LENGTH = 32;
+	
+	/**
+	 * The offset of the HASH160 of the compressed public key in an output record.
+	 */
+	public static final int OFFSET_HASH160_COMPRESSED = 33;
+	
+	/**
+	 * The offset of the HASH160 of the P2WPKH redeem script in an output record.
+	 */
+	public static final int OFFSET_HASH160_SCRIPT = 73;
+	
+	/**
+	 * The offset of the HASH160 of the uncompressed public key in an output record.
+	 */
+	public static final int OFFSET_HASH160_UNCOMPRESSED = 53;
+	
+	/**
+	 * The offset of the compressed public key in an output record.
+	 */
+	public static final int OFFSET_PUBLIC_KEY = 0;
+	
+	/**
+	 * The length of an output record in bytes.
+	 */
+	public static final int OUTPUT_RECORD_LENGTH = 93;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final long SEGMENT_SIZE = 1L << 26;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private KeyFile() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Converts all records in {@code input} and writes the result to {@code output}.
+	 * <p>
+	 * Returns the number of input records that were not in the range [1, n - 1].
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * KeyFile.convert(input, output, 0L, Long.MAX_VALUE);
+	 * }
+	 * </pre>
+	 * 
+	 * @param input the {@code Path} of the input file
+	 * @param output the {@code Path} of the output file
+	 * @return the number of input records that were not in the range [1, n - 1]
+	 * @throws IllegalArgumentException thrown if, and only if, the length of {@code input} is not a multiple of {@code 32}
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws NullPointerException thrown if, and only if, either {@code input} or {@code output} are {@code null}
+	 */
+	public static long convert(final Path input, final Path output) throws IOException {
+		return convert(input, output, 0L, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Converts the records in the range [{@code fromRecord}, {@code toRecord}) in {@code input} and writes the result to {@code output}.
+	 * <p>
+	 * Returns the number of input records that were not in the range [1, n - 1].
+	 * <p>
+	 * If {@code toRecord} is greater than the number of records in {@code input}, it is clamped. This method can be used to split a large input file into independent jobs, each writing its own output file.
+	 * <p>
+	 * If either {@code input} or {@code output} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the length of {@code input} is not a multiple of {@code 32}, or {@code fromRecord} is less than {@code 0} or greater than {@code toRecord}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @param input the {@code Path} of the input file
+	 * @param output the {@code Path} of the output file
+	 * @param fromRecord the index of the first record to convert, inclusive
+	 * @param toRecord the index of the last record to convert, exclusive
+	 * @return the number of input records that were not in the range [1, n - 1]
+	 * @throws IllegalArgumentException thrown if, and only if, the length of {@code input} is not a multiple of {@code 32}, or {@code fromRecord} is less than {@code 0} or greater than {@code toRecord}
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws NullPointerException thrown if, and only if, either {@code input} or {@code output} are {@code null}
+	 */
+	public static long convert(final Path input, final Path output, final long fromRecord, final long toRecord) throws IOException {
+		Objects.requireNonNull(input, "input == null");
+		Objects.requireNonNull(output, "output == null");
+		
+		if(fromRecord < 0L || fromRecord > toRecord) {
+			throw new IllegalArgumentException(String.format("Illegal range: fromRecord = %d, toRecord = %d", Long.valueOf(fromRecord), Long.valueOf(toRecord)));
+		}
+		
+		try(final FileChannel inputChannel = FileChannel.open(input, StandardOpenOption.READ)) {
+			final long size = inputChannel.size();
+			
+			if(size % INPUT_RECORD_LENGTH != 0L) {
+				throw new IllegalArgumentException(String.format("The length of the input is not a multiple of %d: length = %d", Integer.valueOf(INPUT_RECORD_LENGTH), Long.valueOf(size)));
+			}
+			
+			final long start = Math.min(fromRecord, size / INPUT_RECORD_LENGTH) * INPUT_RECORD_LENGTH;
+			final long end = Math.min(toRecord, size / INPUT_RECORD_LENGTH) * INPUT_RECORD_LENGTH;
+			
+			try(final FileChannel outputChannel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				return doConvert(inputChannel, outputChannel, start, end);
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static long doConvert(final FileChannel inputChannel, final FileChannel outputChannel, final long start, final long end) throws IOException {
+		final KeyBatch keyBatch = new KeyBatch("KeyFile.convert");
+		
+		final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(KeyBatch.SIZE * OUTPUT_RECORD_LENGTH);
+		
+		long invalid = 0L;
+		
+		try {
+			for(long position = start; position < end; position += SEGMENT_SIZE) {
+				final MappedByteBuffer mappedByteBuffer = inputChannel.map(MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, end - position));
+				
+				while(mappedByteBuffer.hasRemaining()) {
+					final int count = Math.min(KeyBatch.SIZE, mappedByteBuffer.remaining() / INPUT_RECORD_LENGTH);
+					
+					keyBatch.read(mappedByteBuffer, count);
+					
+					byteBuffer.clear();
+					
+					invalid += keyBatch.convert(count, byteBuffer);
+					
+					byteBuffer.flip();
+					
+					while(byteBuffer.hasRemaining()) {
+						outputChannel.write(byteBuffer);
+					}
+				}
+			}
+		} finally {
+			keyBatch.clear();
+		}
+		
+		return invalid;
+	}
+}
\ No newline at end of file
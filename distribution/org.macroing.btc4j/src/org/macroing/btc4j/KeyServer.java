@@ -0,0 +1,626 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A {@code KeyServer} exposes the bulk derivation of this library over a socket, using a pipelined binary protocol.
+ * <p>
+ * The server listens on a TCP address, such as a port on localhost, or on a Unix domain socket, if the running Java version supports it. All connections are served by a single selector thread. The requests that are available on a connection are parsed as a batch of up to 1024 requests, and the batch is processed by a pool of worker threads, where the public keys of all private keys in the batch are derived together, sharing a single field inversion. The responses are written in the same order as the requests. While a batch of a connection is processed, or too much output is pending, no more requests are read from it.
+ * <p>
+ * The protocol consists of frames. All integers are big-endian. A request frame consists of the following fields:
+ * <ul>
+ * <li>length: a 4 byte integer with the number of bytes that follow it, which is {@code 5} plus the length of the payload.</li>
+ * <li>id: a 4 byte integer chosen by the client. It is copied into the response.</li>
+ * <li>operation: a 1 byte operation code.</li>
+ * <li>payload: the payload of the operation.</li>
+ * </ul>
+ * A response frame has the same layout, except that the operation code is replaced by a status, which is {@code 0} on success and {@code 1} on error. On error, the payload is a UTF-8 encoded message. The following operations are supported:
+ * <ul>
+ * <li>{@code 1} (derive): the payload is a 32 byte unsigned big-endian private key. The response payload is a 93 byte record in the format described by {@link KeyFile}, containing the compressed public key and three HASH160 values. If the private key is not in the range [1, n - 1], an error is returned.</li>
+ * <li>{@code 2} (encode): the payload is a 1 byte address type followed by the hash or witness program of the address. The address types are {@code 0} for P2PKH, {@code 1} for P2SH, {@code 2} for P2WPKH, {@code 3} for P2WSH and {@code 4} for P2TR. The response payload is the ASCII encoded Mainnet address.</li>
+ * </ul>
+ * Frames longer than 65536 bytes close the connection. When the client shuts down its output, the requests that have already been received are still processed, and the connection is closed once all responses have been written.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class KeyServer implements AutoCloseable {
+	private static final int BUFFER_SIZE = 1 << 18;
+	private static final int OUTPUT_LIMIT = 1 << 22;
+	private static final int RESPONSE_LENGTH_DERIVE = KeyProtocol.HEADER_LENGTH + KeyFile.OUTPUT_RECORD_LENGTH;
+	private static final int RESPONSE_LENGTH_MAXIMUM = KeyProtocol.HEADER_LENGTH + 128;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final ExecutorService executorService;
+	private final Path path;
+	private final Queue<Connection> completions;
+	private final Selector selector;
+	private final ServerSocketChannel serverSocketChannel;
+	private final Thread thread;
+	private final ThreadLocal<KeyBatch> keyBatch;
+	private volatile boolean isClosed;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code KeyServer} instance that listens on {@code socketAddress}.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new KeyServer(socketAddress, Runtime.getRuntime().availableProcessors());
+	 * }
+	 * </pre>
+	 * 
+	 * @param socketAddress the {@code SocketAddress} to listen on
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws NullPointerException thrown if, and only if, {@code socketAddress} is {@code null}
+	 */
+	public KeyServer(final SocketAddress socketAddress) throws IOException {
+		this(socketAddress, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Constructs a new {@code KeyServer} instance that listens on {@code socketAddress}.
+	 * <p>
+	 * If {@code socketAddress} is an {@code InetSocketAddress}, TCP is used. Otherwise {@code socketAddress} is assumed to be a Unix domain socket address. If a socket file is left at its path by a server that is no longer running, it is deleted before binding. The socket file is deleted again when this {@code KeyServer} instance is closed.
+	 * <p>
+	 * If {@code socketAddress} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code threads} is less than {@code 1}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @param socketAddress the {@code SocketAddress} to listen on
+	 * @param threads the number of worker threads
+	 * @throws IllegalArgumentException thrown if, and only if, {@code threads} is less than {@code 1}
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws NullPointerException thrown if, and only if, {@code socketAddress} is {@code null}
+	 */
+	public KeyServer(final SocketAddress socketAddress, final int threads) throws IOException {
+		Objects.requireNonNull(socketAddress, "socketAddress == null");
+		
+		if(threads < 1) {
+			throw new IllegalArgumentException(String.format("threads < 1: threads = %d", Integer.valueOf(threads)));
+		}
+		
+		this.path = KeyProtocol.getUnixDomainSocketPath(socketAddress);
+		
+		if(this.path != null) {
+			doDeleteStaleSocket(socketAddress, this.path);
+		}
+		
+		this.serverSocketChannel = KeyProtocol.openServerSocketChannel(socketAddress);
+		
+		try {
+			this.serverSocketChannel.bind(socketAddress);
+		} catch(final IOException e) {
+			this.serverSocketChannel.close();
+			
+			throw e;
+		}
+		
+		try {
+			this.serverSocketChannel.configureBlocking(false);
+			
+			this.selector = Selector.open();
+			
+			this.serverSocketChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+		} catch(final IOException e) {
+			this.serverSocketChannel.close();
+			
+			doDeleteQuietly(this.path);
+			
+			throw e;
+		}
+		
+		this.executorService = Executors.newFixedThreadPool(threads, runnable -> doCreateThread(runnable, "KeyServer-Worker"));
+		this.completions = new ConcurrentLinkedQueue<>();
+		this.keyBatch = ThreadLocal.withInitial(() -> new KeyBatch("KeyServer.derive"));
+		this.thread = doCreateThread(this::doRun, "KeyServer-Selector");
+		this.thread.start();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the {@code SocketAddress} this {@code KeyServer} instance is listening on.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @return the {@code SocketAddress} this {@code KeyServer} instance is listening on
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 */
+	public SocketAddress getLocalAddress() throws IOException {
+		return this.serverSocketChannel.getLocalAddress();
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, this {@code KeyServer} instance is closed, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, this {@code KeyServer} instance is closed, {@code false} otherwise
+	 */
+	public boolean isClosed() {
+		return this.isClosed;
+	}
+	
+	/**
+	 * Closes this {@code KeyServer} instance and all of its connections.
+	 * <p>
+	 * If this {@code KeyServer} instance listens on a Unix domain socket, its socket file is deleted.
+	 * <p>
+	 * If this {@code KeyServer} instance is already closed, nothing happens.
+	 */
+	@Override
+	public void close() {
+		this.isClosed = true;
+		this.selector.wakeup();
+		
+		try {
+			this.thread.join();
+		} catch(final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Starts a {@code KeyServer} from the command line.
+	 * <p>
+	 * The usage is as follows:
+	 * <pre>
+	 * {@code
+	 * KeyServer [--host <host>] [--port <port>] [--unix <path>] [--threads <count>]
+	 * }
+	 * </pre>
+	 * By default, the server listens on port {@code 8333} of the loopback address. If {@code --unix} is given, the server listens on a Unix domain socket at the given path instead. The server runs until the process is terminated.
+	 * 
+	 * @param args the parameter arguments
+	 */
+	public static void main(final String[] args) {
+		String host = "127.0.0.1";
+		String unix = null;
+		
+		int port = 8333;
+		int threads = Runtime.getRuntime().availableProcessors();
+		
+		try {
+			for(int i = 0; i < args.length; i++) {
+				switch(args[i]) {
+					case "--host":
+						host = args[++i];
+						
+						break;
+					case "--port":
+						port = Integer.parseInt(args[++i]);
+						
+						break;
+					case "--threads":
+						threads = Integer.parseInt(args[++i]);
+						
+						break;
+					case "--unix":
+						unix = args[++i];
+						
+						break;
+					default:
+						throw new IllegalArgumentException("Unknown argument: " + args[i]);
+				}
+			}
+		} catch(final ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+			System.err.println("Usage: KeyServer [--host <host>] [--port <port>] [--unix <path>] [--threads <count>]");
+			System.exit(2);
+			
+			return;
+		}
+		
+		try {
+			final KeyServer keyServer = new KeyServer(unix != null ? KeyProtocol.createUnixDomainSocketAddress(unix) : new InetSocketAddress(host, port), threads);
+			
+			Runtime.getRuntime().addShutdownHook(new Thread(keyServer::close, "KeyServer-Shutdown"));
+			
+			System.err.println("KeyServer listening on " + keyServer.getLocalAddress());
+			
+			keyServer.thread.join();
+		} catch(final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch(final IOException | IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.exit(2);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private ByteBuffer doProcess(final List<byte[]> frames) {
+		final int count = frames.size();
+		
+		final byte[] scalars = new byte[count * 32];
+		final byte[] records = new byte[count * KeyFile.OUTPUT_RECORD_LENGTH];
+		
+		final int[] indices = new int[count];
+		
+		final ByteBuffer output = ByteBuffer.allocate(count * Math.max(RESPONSE_LENGTH_DERIVE, RESPONSE_LENGTH_MAXIMUM));
+		
+		int derivations = 0;
+		
+		for(int i = 0; i < count; i++) {
+			final byte[] frame = frames.get(i);
+			
+			indices[i] = -1;
+			
+			if(frame[8] == KeyProtocol.OPERATION_DERIVE && frame.length == KeyProtocol.HEADER_LENGTH + 32 && Scalar.isInRange(frame, KeyProtocol.HEADER_LENGTH)) {
+				System.arraycopy(frame, KeyProtocol.HEADER_LENGTH, scalars, derivations * 32, 32);
+				
+				indices[i] = derivations++;
+			}
+		}
+		
+		final KeyBatch keyBatch = this.keyBatch.get();
+		
+		try {
+			if(derivations > 0) {
+				keyBatch.read(ByteBuffer.wrap(scalars), derivations);
+				keyBatch.convert(derivations, ByteBuffer.wrap(records));
+			}
+		} finally {
+			keyBatch.clear();
+			
+			Arrays.fill(scalars, (byte)(0));
+		}
+		
+		for(int i = 0; i < count; i++) {
+			final byte[] frame = frames.get(i);
+			
+			final int id = Utilities.convertByteArrayToInt(frame, 4);
+			
+			if(indices[i] >= 0) {
+				doPut(output, id, KeyProtocol.STATUS_OK, records, indices[i] * KeyFile.OUTPUT_RECORD_LENGTH, KeyFile.OUTPUT_RECORD_LENGTH);
+			} else if(frame[8] == KeyProtocol.OPERATION_DERIVE) {
+				doPut(output, id, "The private key is not a 32 byte value in the range [1, n - 1]");
+			} else if(frame[8] == KeyProtocol.OPERATION_ENCODE) {
+				doPutEncode(output, id, frame);
+			} else {
+				doPut(output, id, String.format("Unknown operation: %d", Integer.valueOf(frame[8])));
+			}
+			
+			Arrays.fill(frame, (byte)(0));
+		}
+		
+		output.flip();
+		
+		return output;
+	}
+	
+	private void doAccept() throws IOException {
+		final SocketChannel socketChannel = this.serverSocketChannel.accept();
+		
+		if(socketChannel != null) {
+			socketChannel.configureBlocking(false);
+			
+			final Connection connection = new Connection(socketChannel);
+			
+			connection.selectionKey = socketChannel.register(this.selector, SelectionKey.OP_READ, connection);
+		}
+	}
+	
+	private void doComplete(final Connection connection) throws IOException {
+		if(connection.completed == null) {
+			throw new IOException("The batch could not be processed");
+		}
+		
+		connection.outputs.add(connection.completed);
+		connection.outputLength += connection.completed.remaining();
+		connection.completed = null;
+		connection.isProcessing = false;
+		
+		doWrite(connection);
+	}
+	
+	private void doParse(final Connection connection) throws IOException {
+		if(connection.isProcessing || connection.outputLength > OUTPUT_LIMIT) {
+			return;
+		}
+		
+		final ByteBuffer input = connection.input;
+		
+		final List<byte[]> frames = new ArrayList<>();
+		
+		input.flip();
+		
+		while(input.remaining() >= 4 && frames.size() < KeyBatch.SIZE) {
+			final int length = input.getInt(input.position());
+			
+			if(length < KeyProtocol.HEADER_LENGTH - 4 || length > KeyProtocol.MAXIMUM_FRAME_LENGTH) {
+				throw new IOException(String.format("Illegal frame length: %d", Integer.valueOf(length)));
+			}
+			
+			if(input.remaining() < length + 4) {
+				break;
+			}
+			
+			final byte[] frame = new byte[length + 4];
+			
+			input.get(frame);
+			
+			frames.add(frame);
+		}
+		
+		input.compact();
+		
+		if(frames.isEmpty() && connection.isEndOfInput && connection.outputs.isEmpty()) {
+			doClose(connection);
+			
+			return;
+		}
+		
+		if(!frames.isEmpty()) {
+			connection.isProcessing = true;
+			
+			this.executorService.execute(() -> {
+				try {
+					connection.completed = doProcess(frames);
+				} catch(final RuntimeException e) {
+					connection.completed = null;
+				}
+				
+				this.completions.add(connection);
+				this.selector.wakeup();
+			});
+		}
+		
+		doUpdate(connection);
+	}
+	
+	private void doRead(final Connection connection) throws IOException {
+		if(connection.channel.read(connection.input) < 0) {
+			connection.isEndOfInput = true;
+		}
+		
+		doParse(connection);
+	}
+	
+	private void doRun() {
+		try {
+			while(!this.isClosed) {
+				this.selector.select();
+				
+				for(Connection connection = this.completions.poll(); connection != null; connection = this.completions.poll()) {
+					if(connection.channel.isOpen()) {
+						try {
+							doComplete(connection);
+						} catch(final IOException e) {
+							doClose(connection);
+						}
+					}
+				}
+				
+				final Iterator<SelectionKey> iterator = this.selector.selectedKeys().iterator();
+				
+				while(iterator.hasNext()) {
+					final SelectionKey selectionKey = iterator.next();
+					
+					iterator.remove();
+					
+					if(!selectionKey.isValid()) {
+						continue;
+					}
+					
+					if(selectionKey.isAcceptable()) {
+						try {
+							doAccept();
+						} catch(final IOException e) {
+							
+						}
+						
+						continue;
+					}
+					
+					final Connection connection = Connection.class.cast(selectionKey.attachment());
+					
+					try {
+						if(selectionKey.isReadable()) {
+							doRead(connection);
+						}
+						
+						if(selectionKey.isValid() && selectionKey.isWritable()) {
+							doWrite(connection);
+						}
+					} catch(final IOException e) {
+						doClose(connection);
+					}
+				}
+			}
+		} catch(final IOException e) {
+			this.isClosed = true;
+		} finally {
+			for(final SelectionKey selectionKey : this.selector.keys()) {
+				doCloseQuietly(selectionKey.channel());
+			}
+			
+			doCloseQuietly(this.selector);
+			doCloseQuietly(this.serverSocketChannel);
+			doDeleteQuietly(this.path);
+			
+			this.executorService.shutdownNow();
+		}
+	}
+	
+	private void doUpdate(final Connection connection) {
+		final boolean isReading = !connection.isEndOfInput && !connection.isProcessing && connection.outputLength <= OUTPUT_LIMIT;
+		final boolean isWriting = !connection.outputs.isEmpty();
+		
+		connection.selectionKey.interestOps((isReading ? SelectionKey.OP_READ : 0) | (isWriting ? SelectionKey.OP_WRITE : 0));
+	}
+	
+	private void doWrite(final Connection connection) throws IOException {
+		while(!connection.outputs.isEmpty()) {
+			final ByteBuffer output = connection.outputs.peek();
+			
+			connection.outputLength -= connection.channel.write(output);
+			
+			if(output.hasRemaining()) {
+				break;
+			}
+			
+			connection.outputs.poll();
+		}
+		
+		doParse(connection);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Thread doCreateThread(final Runnable runnable, final String name) {
+		final Thread thread = new Thread(runnable, name);
+		
+		thread.setDaemon(true);
+		
+		return thread;
+	}
+	
+	private static void doClose(final Connection connection) {
+		connection.selectionKey.cancel();
+		
+		doCloseQuietly(connection.channel);
+	}
+	
+	private static void doDeleteQuietly(final Path path) {
+		if(path != null) {
+			try {
+				Files.deleteIfExists(path);
+			} catch(final IOException e) {
+				
+			}
+		}
+	}
+	
+	private static void doDeleteStaleSocket(final SocketAddress socketAddress, final Path path) throws IOException {
+		final BasicFileAttributes basicFileAttributes;
+		
+		try {
+			basicFileAttributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+		} catch(final IOException e) {
+			return;
+		}
+		
+		if(!basicFileAttributes.isOther()) {
+			throw new IOException(String.format("The path %s exists and is not a socket", path));
+		}
+		
+		boolean isListening = false;
+		
+		try(final SocketChannel socketChannel = KeyProtocol.openSocketChannel(socketAddress)) {
+			isListening = socketChannel.connect(socketAddress);
+		} catch(final IOException e) {
+			
+		}
+		
+		if(isListening) {
+			throw new IOException(String.format("A server is already listening on %s", path));
+		}
+		
+		Files.deleteIfExists(path);
+	}
+	
+	private static void doCloseQuietly(final AutoCloseable autoCloseable) {
+		try {
+			autoCloseable.close();
+		} catch(final Exception e) {
+			
+		}
+	}
+	
+	private static void doPut(final ByteBuffer output, final int id, final String message) {
+		final byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+		
+		doPut(output, id, KeyProtocol.STATUS_ERROR, bytes, 0, Math.min(bytes.length, RESPONSE_LENGTH_MAXIMUM - KeyProtocol.HEADER_LENGTH));
+	}
+	
+	private static void doPut(final ByteBuffer output, final int id, final byte status, final byte[] payload, final int offset, final int length) {
+		output.putInt(length + KeyProtocol.HEADER_LENGTH - 4);
+		output.putInt(id);
+		output.put(status);
+		output.put(payload, offset, length);
+	}
+	
+	private static void doPutEncode(final ByteBuffer output, final int id, final byte[] frame) {
+		final int typeCode = frame.length > KeyProtocol.HEADER_LENGTH ? frame[KeyProtocol.HEADER_LENGTH] : -1;
+		
+		if(typeCode < 0 || typeCode >= KeyProtocol.TYPES.length) {
+			doPut(output, id, String.format("Unknown address type: %d", Integer.valueOf(typeCode)));
+		} else if(frame.length != KeyProtocol.HEADER_LENGTH + 1 + KeyProtocol.TYPES[typeCode].getLength()) {
+			doPut(output, id, String.format("The address of type %s must be %d bytes", KeyProtocol.TYPES[typeCode], Integer.valueOf(KeyProtocol.TYPES[typeCode].getLength())));
+		} else {
+			final byte[] bytes = Address.parseByteArray(KeyProtocol.TYPES[typeCode], frame, KeyProtocol.HEADER_LENGTH + 1).toString().getBytes(StandardCharsets.US_ASCII);
+			
+			doPut(output, id, KeyProtocol.STATUS_OK, bytes, 0, bytes.length);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Connection {
+		private final ByteBuffer input;
+		private final Deque<ByteBuffer> outputs;
+		private final SocketChannel channel;
+		private SelectionKey selectionKey;
+		private volatile ByteBuffer completed;
+		private boolean isEndOfInput;
+		private boolean isProcessing;
+		private long outputLength;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Connection(final SocketChannel channel) {
+			this.input = ByteBuffer.allocate(BUFFER_SIZE);
+			this.outputs = new ArrayDeque<>();
+			this.channel = channel;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,362 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@code KeySlab} stores private keys contiguously in off-heap memory.
+ * <p>
+ * A {@code KeySlab} consists of a fixed number of slots, each holding a private key as a 32 byte unsigned big-endian record, in a single direct {@code ByteBuffer}. Private keys in a {@code KeySlab} are not {@code Object}s, so they do not add to the work of the garbage collector, and they are not copied around by it.
+ * <p>
+ * The public keys and HASH160 values of a range of slots can be derived using {@link #derive(int, int, ByteBuffer)}. The derivation writes records in the format described by {@link KeyFile} into an output {@code ByteBuffer}, which should be direct as well if the output is to be kept off-heap.
+ * <p>
+ * When a {@code KeySlab} is closed, all slots are overwritten with zeroes before the method returns. The native memory itself is released when the {@code KeySlab} becomes unreachable, but it does not contain any private keys at that point. The temporary heap buffers used by the methods of this class are zeroized before they return as well. Private keys that are copied out of a {@code KeySlab}, such as by {@link #get(int)}, are not affected.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class KeySlab implements AutoCloseable {
+	/**
+	 * The length of a slot in bytes.
+	 */
+	public static final int SLOT_LENGTH = 32;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final ByteBuffer byteBuffer;
+	private final int capacity;
+	private boolean isClosed;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code KeySlab} instance with {@code capacity} slots.
+	 * <p>
+	 * All slots are initially zero.
+	 * <p>
+	 * If {@code capacity} is less than {@code 0} or greater than {@code Integer.MAX_VALUE / 32}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param capacity the number of slots
+	 * @throws IllegalArgumentException thrown if, and only if, {@code capacity} is less than {@code 0} or greater than {@code Integer.MAX_VALUE / 32}
+	 */
+	public KeySlab(final int capacity) {
+		if(capacity < 0 || capacity > Integer.MAX_VALUE / SLOT_LENGTH) {
+			throw new IllegalArgumentException(String.format("Illegal capacity: capacity = %d", Integer.valueOf(capacity)));
+		}
+		
+		this.byteBuffer = ByteBuffer.allocateDirect(capacity * SLOT_LENGTH);
+		this.capacity = capacity;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@link PrivateKey} instance with the private key in slot {@code index}.
+	 * <p>
+	 * If {@code index} is less than {@code 0} or greater than or equal to {@code getCapacity()}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * If this {@code KeySlab} instance is closed, an {@code IllegalStateException} will be thrown.
+	 * <p>
+	 * Note that the returned {@code PrivateKey} is an on-heap copy that is not zeroized when this {@code KeySlab} instance is closed.
+	 * 
+	 * @param index the index of the slot
+	 * @return a {@code PrivateKey} instance with the private key in slot {@code index}
+	 * @throws IllegalStateException thrown if, and only if, this {@code KeySlab} instance is closed
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code index} is less than {@code 0} or greater than or equal to {@code getCapacity()}
+	 */
+	public PrivateKey get(final int index) {
+		final byte[] bytes = new byte[SLOT_LENGTH];
+		
+		try {
+			get(index, bytes, 0);
+			
+			return PrivateKey.parseByteArray(bytes, 0);
+		} finally {
+			Arrays.fill(bytes, (byte)(0));
+		}
+	}
+	
+	/**
+	 * Returns the number of slots in this {@code KeySlab} instance.
+	 * 
+	 * @return the number of slots in this {@code KeySlab} instance
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, this {@code KeySlab} instance is closed, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, this {@code KeySlab} instance is closed, {@code false} otherwise
+	 */
+	public synchronized boolean isClosed() {
+		return this.isClosed;
+	}
+	
+	/**
+	 * Derives the public keys and HASH160 values of the private keys in the slots [{@code fromIndex}, {@code fromIndex + count}) and writes them to {@code output}.
+	 * <p>
+	 * Returns the number of slots whose private key was not in the range [1, n - 1], where n is the order of the generator point of secp256k1.
+	 * <p>
+	 * The output consists of {@code count} records of {@link KeyFile#OUTPUT_RECORD_LENGTH} bytes, in the format described by {@link KeyFile}, written at the current position of {@code output}. The position of {@code output} is advanced by {@code count * KeyFile.OUTPUT_RECORD_LENGTH}. If a private key is not in the range [1, n - 1], its output record consists of zeroes only.
+	 * <p>
+	 * The private keys are read from the slots in batches, and the public keys are derived using a shared inversion per batch.
+	 * <p>
+	 * If {@code output} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code fromIndex} or {@code count} are less than {@code 0}, or {@code fromIndex + count} is greater than {@code getCapacity()}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * If {@code output.remaining()} is less than {@code count * KeyFile.OUTPUT_RECORD_LENGTH}, a {@code BufferOverflowException} will be thrown and nothing will be written.
+	 * <p>
+	 * If {@code output} is read-only, a {@code ReadOnlyBufferException} will be thrown.
+	 * <p>
+	 * If this {@code KeySlab} instance is closed, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param fromIndex the index of the first slot
+	 * @param count the number of slots
+	 * @param output the {@code ByteBuffer} to write to
+	 * @return the number of slots whose private key was not in the range [1, n - 1]
+	 * @throws BufferOverflowException thrown if, and only if, {@code output.remaining()} is less than {@code count * KeyFile.OUTPUT_RECORD_LENGTH}
+	 * @throws IllegalStateException thrown if, and only if, this {@code KeySlab} instance is closed
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code fromIndex} or {@code count} are less than {@code 0}, or {@code fromIndex + count} is greater than {@code getCapacity()}
+	 * @throws NullPointerException thrown if, and only if, {@code output} is {@code null}
+	 * @throws ReadOnlyBufferException thrown if, and only if, {@code output} is read-only
+	 */
+	public int derive(final int fromIndex, final int count, final ByteBuffer output) {
+		Objects.requireNonNull(output, "output == null");
+		
+		doRequireRange(fromIndex, count);
+		
+		if(output.isReadOnly()) {
+			throw new ReadOnlyBufferException();
+		}
+		
+		if((long)(count) * KeyFile.OUTPUT_RECORD_LENGTH > output.remaining()) {
+			throw new BufferOverflowException();
+		}
+		
+		final KeyBatch keyBatch = new KeyBatch("KeySlab.derive");
+		
+		int invalid = 0;
+		
+		try {
+			for(int index = fromIndex; index < fromIndex + count; index += KeyBatch.SIZE) {
+				final int batchCount = Math.min(KeyBatch.SIZE, fromIndex + count - index);
+				
+				synchronized(this) {
+					doRequireOpen();
+					
+					keyBatch.read(doSlice(index, batchCount), batchCount);
+				}
+				
+				invalid += keyBatch.convert(batchCount, output);
+			}
+		} finally {
+			keyBatch.clear();
+		}
+		
+		return invalid;
+	}
+	
+	/**
+	 * Overwrites all slots in this {@code KeySlab} instance with zeroes and closes it.
+	 * <p>
+	 * If this {@code KeySlab} instance is already closed, nothing happens.
+	 */
+	@Override
+	public synchronized void close() {
+		if(!this.isClosed) {
+			doZeroize(0, this.capacity);
+			
+			this.isClosed = true;
+		}
+	}
+	
+	/**
+	 * Overwrites the slots [{@code fromIndex}, {@code fromIndex + count}) with zeroes.
+	 * <p>
+	 * If {@code fromIndex} or {@code count} are less than {@code 0}, or {@code fromIndex + count} is greater than {@code getCapacity()}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * If this {@code KeySlab} instance is closed, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param fromIndex the index of the first slot
+	 * @param count the number of slots
+	 * @throws IllegalStateException thrown if, and only if, this {@code KeySlab} instance is closed
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code fromIndex} or {@code count} are less than {@code 0}, or {@code fromIndex + count} is greater than {@code getCapacity()}
+	 */
+	public synchronized void clear(final int fromIndex, final int count) {
+		doRequireRange(fromIndex, count);
+		doRequireOpen();
+		doZeroize(fromIndex, count);
+	}
+	
+	/**
+	 * Fills the slots [{@code fromIndex}, {@code fromIndex + count}) with random private keys generated by {@code keyGenerator}.
+	 * <p>
+	 * If {@code keyGenerator} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code fromIndex} or {@code count} are less than {@code 0}, or {@code fromIndex + count} is greater than {@code getCapacity()}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * If this {@code KeySlab} instance is closed, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param fromIndex the index of the first slot
+	 * @param count the number of slots
+	 * @param keyGenerator the {@link KeyGenerator} to generate private keys with
+	 * @throws IllegalStateException thrown if, and only if, this {@code KeySlab} instance is closed
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code fromIndex} or {@code count} are less than {@code 0}, or {@code fromIndex + count} is greater than {@code getCapacity()}
+	 * @throws NullPointerException thrown if, and only if, {@code keyGenerator} is {@code null}
+	 */
+	public void fill(final int fromIndex, final int count, final KeyGenerator keyGenerator) {
+		Objects.requireNonNull(keyGenerator, "keyGenerator == null");
+		
+		doRequireRange(fromIndex, count);
+		
+		final byte[] bytes = new byte[KeyBatch.SIZE * SLOT_LENGTH];
+		
+		try {
+			for(int index = fromIndex; index < fromIndex + count; index += KeyBatch.SIZE) {
+				final int batchCount = Math.min(KeyBatch.SIZE, fromIndex + count - index);
+				
+				keyGenerator.nextBytes(bytes, 0, batchCount);
+				
+				synchronized(this) {
+					doRequireOpen();
+					
+					doSlice(index, batchCount).put(bytes, 0, batchCount * SLOT_LENGTH);
+				}
+			}
+		} finally {
+			Arrays.fill(bytes, (byte)(0));
+		}
+	}
+	
+	/**
+	 * Copies the private key in slot {@code index} into {@code bytes}, starting at {@code offset}.
+	 * <p>
+	 * If {@code bytes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code index} is less than {@code 0} or greater than or equal to {@code getCapacity()}, or there is not enough room in {@code bytes}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * If this {@code KeySlab} instance is closed, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param index the index of the slot
+	 * @param bytes the {@code byte} array to write to
+	 * @param offset the offset in {@code bytes} to start writing at
+	 * @throws IllegalStateException thrown if, and only if, this {@code KeySlab} instance is closed
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code index} is less than {@code 0} or greater than or equal to {@code getCapacity()}, or there is not enough room in {@code bytes}
+	 * @throws NullPointerException thrown if, and only if, {@code bytes} is {@code null}
+	 */
+	public synchronized void get(final int index, final byte[] bytes, final int offset) {
+		Objects.requireNonNull(bytes, "bytes == null");
+		
+		doRequireRange(index, 1);
+		doRequireOpen();
+		
+		doSlice(index, 1).get(bytes, offset, SLOT_LENGTH);
+	}
+	
+	/**
+	 * Copies the private key represented by {@code privateKey} into slot {@code index}.
+	 * <p>
+	 * If {@code privateKey} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code index} is less than {@code 0} or greater than or equal to {@code getCapacity()}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * If this {@code KeySlab} instance is closed, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param index the index of the slot
+	 * @param privateKey the {@link PrivateKey} to copy
+	 * @throws IllegalStateException thrown if, and only if, this {@code KeySlab} instance is closed
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code index} is less than {@code 0} or greater than or equal to {@code getCapacity()}
+	 * @throws NullPointerException thrown if, and only if, {@code privateKey} is {@code null}
+	 */
+	public void set(final int index, final PrivateKey privateKey) {
+		final byte[] bytes = new byte[SLOT_LENGTH];
+		
+		try {
+			Objects.requireNonNull(privateKey, "privateKey == null").writeTo(bytes, 0);
+			
+			set(index, bytes, 0);
+		} finally {
+			Arrays.fill(bytes, (byte)(0));
+		}
+	}
+	
+	/**
+	 * Copies a 32 byte unsigned big-endian private key in {@code bytes}, starting at {@code offset}, into slot {@code index}.
+	 * <p>
+	 * If {@code bytes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code index} is less than {@code 0} or greater than or equal to {@code getCapacity()}, or there are less than 32 bytes in {@code bytes} starting at {@code offset}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * If this {@code KeySlab} instance is closed, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param index the index of the slot
+	 * @param bytes the {@code byte} array to read from
+	 * @param offset the offset in {@code bytes} to start reading at
+	 * @throws IllegalStateException thrown if, and only if, this {@code KeySlab} instance is closed
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code index} is less than {@code 0} or greater than or equal to {@code getCapacity()}, or there are less than 32 bytes in {@code bytes} starting at {@code offset}
+	 * @throws NullPointerException thrown if, and only if, {@code bytes} is {@code null}
+	 */
+	public synchronized void set(final int index, final byte[] bytes, final int offset) {
+		Objects.requireNonNull(bytes, "bytes == null");
+		
+		doRequireRange(index, 1);
+		doRequireOpen();
+		
+		doSlice(index, 1).put(bytes, offset, SLOT_LENGTH);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private ByteBuffer doSlice(final int index, final int count) {
+		final ByteBuffer byteBuffer = this.byteBuffer.duplicate();
+		
+		byteBuffer.limit((index + count) * SLOT_LENGTH);
+		byteBuffer.position(index * SLOT_LENGTH);
+		
+		return byteBuffer;
+	}
+	
+	private void doRequireOpen() {
+		if(this.isClosed) {
+			throw new IllegalStateException("The KeySlab is closed");
+		}
+	}
+	
+	private void doRequireRange(final int fromIndex, final int count) {
+		if(fromIndex < 0 || count < 0 || fromIndex > this.capacity - count) {
+			throw new IndexOutOfBoundsException(String.format("Illegal range: capacity = %d, fromIndex = %d, count = %d", Integer.valueOf(this.capacity), Integer.valueOf(fromIndex), Integer.valueOf(count)));
+		}
+	}
+	
+	private void doZeroize(final int fromIndex, final int count) {
+		for(int i = fromIndex * SLOT_LENGTH; i < (fromIndex + count) * SLOT_LENGTH; i += 8) {
+			this.byteBuffer.putLong(i, 0L);
+		}
+	}
+}
\ No newline at end of file
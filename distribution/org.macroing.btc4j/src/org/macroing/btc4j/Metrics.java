@@ -0,0 +1,231 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class {@code Metrics} is a registry of runtime metrics for this library.
+ * <p>
+ * The metrics consist of counters for point multiplications, modular inversions, hashes, Base58 encodes and decodes and cache hits and misses, as well as latency histograms for point multiplications and Base58 encodes and decodes.
+ * <p>
+ * The metrics are disabled by default. They can be enabled using {@link #setEnabled(boolean)} or by setting the system property {@code org.macroing.btc4j.metrics} to {@code true}. When disabled, the cost for the instrumented operations is a single read of a {@code volatile} field.
+ * <p>
+ * The counters are based on {@code LongAdder}, so they scale with the number of threads that update them. The latency histograms are HDR-style histograms with a relative error of at most 6.25%. All latencies are recorded in nanoseconds.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Metrics {
+	private static final Histogram LATENCY_BASE58_DECODE = new Histogram();
+	private static final Histogram LATENCY_BASE58_ENCODE = new Histogram();
+	private static final Histogram LATENCY_POINT_MULTIPLICATION = new Histogram();
+	private static final LongAdder BASE58_DECODES = new LongAdder();
+	private static final LongAdder BASE58_ENCODES = new LongAdder();
+	private static final LongAdder CACHE_HITS = new LongAdder();
+	private static final LongAdder CACHE_MISSES = new LongAdder();
+	private static final LongAdder HASHES_HMAC_SHA_512 = new LongAdder();
+	private static final LongAdder HASHES_RIPEMD_160 = new LongAdder();
+	private static final LongAdder HASHES_SHA_256 = new LongAdder();
+	private static final LongAdder INVERSIONS = new LongAdder();
+	private static final LongAdder POINT_MULTIPLICATIONS = new LongAdder();
+	private static final double[] PERCENTILES = {50.0D, 90.0D, 99.0D, 99.9D};
+	private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static volatile boolean isEnabled = Boolean.getBoolean("org.macroing.btc4j.metrics");
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Metrics() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a snapshot of all metrics as a {@code Map}.
+	 * <p>
+	 * The returned {@code Map} cannot be modified and has a predictable iteration order. The keys are names such as {@code point.multiplications} or {@code point.multiplication.latency.p99}. Each latency histogram contributes the keys {@code count}, {@code mean}, {@code max}, {@code p50}, {@code p90}, {@code p99} and {@code p999}, with all latencies in nanoseconds.
+	 * <p>
+	 * The snapshot is not atomic with respect to concurrent updates, but each value is consistent on its own.
+	 * 
+	 * @return a snapshot of all metrics as a {@code Map}
+	 */
+	public static Map<String, Long> snapshot() {
+		final Map<String, Long> map = new LinkedHashMap<>();
+		
+		map.put("base58.decodes", Long.valueOf(BASE58_DECODES.sum()));
+		map.put("base58.encodes", Long.valueOf(BASE58_ENCODES.sum()));
+		map.put("cache.hits", Long.valueOf(CACHE_HITS.sum()));
+		map.put("cache.misses", Long.valueOf(CACHE_MISSES.sum()));
+		map.put("hash.hmac-sha512", Long.valueOf(HASHES_HMAC_SHA_512.sum()));
+		map.put("hash.ripemd160", Long.valueOf(HASHES_RIPEMD_160.sum()));
+		map.put("hash.sha256", Long.valueOf(HASHES_SHA_256.sum()));
+		map.put("inversions", Long.valueOf(INVERSIONS.sum()));
+		map.put("point.multiplications", Long.valueOf(POINT_MULTIPLICATIONS.sum()));
+		
+		doPut(map, "base58.decode.latency", LATENCY_BASE58_DECODE);
+		doPut(map, "base58.encode.latency", LATENCY_BASE58_ENCODE);
+		doPut(map, "point.multiplication.latency", LATENCY_POINT_MULTIPLICATION);
+		
+		return Collections.unmodifiableMap(map);
+	}
+	
+	/**
+	 * Returns a snapshot of all metrics in a plain text format.
+	 * <p>
+	 * Each metric is written on its own line as a name followed by a space and a value. The names are those returned by {@link #snapshot()}, prefixed with {@code btc4j_} and with all characters that are not letters or digits replaced by {@code _}. This is compatible with the Prometheus text exposition format.
+	 * 
+	 * @return a snapshot of all metrics in a plain text format
+	 */
+	public static String toText() {
+		final StringBuilder stringBuilder = new StringBuilder();
+		
+		for(final Entry<String, Long> entry : snapshot().entrySet()) {
+			stringBuilder.append("btc4j_");
+			stringBuilder.append(entry.getKey().replaceAll("[^A-Za-z0-9]", "_"));
+			stringBuilder.append(' ');
+			stringBuilder.append(entry.getValue());
+			stringBuilder.append('\n');
+		}
+		
+		return stringBuilder.toString();
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, the metrics are enabled, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, the metrics are enabled, {@code false} otherwise
+	 */
+	public static boolean isEnabled() {
+		return isEnabled;
+	}
+	
+	/**
+	 * Resets all metrics to zero.
+	 */
+	public static void reset() {
+		BASE58_DECODES.reset();
+		BASE58_ENCODES.reset();
+		CACHE_HITS.reset();
+		CACHE_MISSES.reset();
+		HASHES_HMAC_SHA_512.reset();
+		HASHES_RIPEMD_160.reset();
+		HASHES_SHA_256.reset();
+		INVERSIONS.reset();
+		POINT_MULTIPLICATIONS.reset();
+		
+		LATENCY_BASE58_DECODE.reset();
+		LATENCY_BASE58_ENCODE.reset();
+		LATENCY_POINT_MULTIPLICATION.reset();
+	}
+	
+	/**
+	 * Sets whether the metrics are enabled or not.
+	 * <p>
+	 * Disabling the metrics does not reset them.
+	 * 
+	 * @param isEnabled {@code true} if, and only if, the metrics should be enabled, {@code false} otherwise
+	 */
+	public static void setEnabled(final boolean isEnabled) {
+		Metrics.isEnabled = isEnabled;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	static void addPointMultiplications(final int count) {
+		if(isEnabled) {
+			POINT_MULTIPLICATIONS.add(count);
+		}
+	}
+	
+	static void incrementCacheHits() {
+		if(isEnabled) {
+			CACHE_HITS.increment();
+		}
+	}
+	
+	static void incrementCacheMisses() {
+		if(isEnabled) {
+			CACHE_MISSES.increment();
+		}
+	}
+	
+	static void incrementHashesHMACSHA512() {
+		if(isEnabled) {
+			HASHES_HMAC_SHA_512.increment();
+		}
+	}
+	
+	static void incrementHashesRIPEMD160() {
+		if(isEnabled) {
+			HASHES_RIPEMD_160.increment();
+		}
+	}
+	
+	static void incrementHashesSHA256() {
+		if(isEnabled) {
+			HASHES_SHA_256.increment();
+		}
+	}
+	
+	static void incrementInversions() {
+		if(isEnabled) {
+			INVERSIONS.increment();
+		}
+	}
+	
+	static void recordBase58Decode(final long nanoseconds) {
+		BASE58_DECODES.increment();
+		
+		LATENCY_BASE58_DECODE.record(nanoseconds);
+	}
+	
+	static void recordBase58Encode(final long nanoseconds) {
+		BASE58_ENCODES.increment();
+		
+		LATENCY_BASE58_ENCODE.record(nanoseconds);
+	}
+	
+	static void recordPointMultiplication(final long nanoseconds) {
+		POINT_MULTIPLICATIONS.increment();
+		
+		LATENCY_POINT_MULTIPLICATION.record(nanoseconds);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static void doPut(final Map<String, Long> map, final String name, final Histogram histogram) {
+		map.put(name + ".count", Long.valueOf(histogram.getCount()));
+		map.put(name + ".mean", Long.valueOf(histogram.getMean()));
+		map.put(name + ".max", Long.valueOf(histogram.getMaximum()));
+		
+		for(int i = 0; i < PERCENTILES.length; i++) {
+			map.put(name + "." + PERCENTILE_NAMES[i], Long.valueOf(histogram.getValueAtPercentile(PERCENTILES[i])));
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+final class Point {
+	public static final Point INFINITY = new Point();
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final BigInteger THREE = new BigInteger("3");
+	private static final BigInteger TWO = new BigInteger("2");
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final BigInteger x;
+	private final BigInteger y;
+	private final Curve curve;
+	private final boolean isInfinity;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public Point(final Curve curve, final BigInteger x, final BigInteger y) {
+		this.curve = Objects.requireNonNull(curve, "curve == null");
+		this.x = Objects.requireNonNull(x, "x == null");
+		this.y = Objects.requireNonNull(y, "y == null");
+		this.isInfinity = false;
+	}
+	
+	private Point() {
+		this.curve = new Curve(BigInteger.ZERO, BigInteger.ZERO, BigInteger.ZERO);
+		this.x = BigInteger.ZERO;
+		this.y = BigInteger.ZERO;
+		this.isInfinity = true;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public BigInteger getX() {
+		return this.x;
+	}
+	
+	public BigInteger getY() {
+		return this.y;
+	}
+	
+	public Curve getCurve() {
+		return this.curve;
+	}
+	
+	public Point negate() {
+		return this.isInfinity || this.y.signum() == 0 ? this : new Point(this.curve, this.x, this.curve.getP().subtract(this.y));
+	}
+	
+	@Override
+	public String toString() {
+		return this.isInfinity ? "infinity" : String.format("(%s,%s)", this.x.toString(), this.y.toString());
+	}
+	
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof Point)) {
+			return false;
+		} else if(this.isInfinity != Point.class.cast(object).isInfinity) {
+			return false;
+		} else if(this.isInfinity) {
+			return true;
+		} else if(!Objects.equals(this.x, Point.class.cast(object).x)) {
+			return false;
+		} else if(!Objects.equals(this.y, Point.class.cast(object).y)) {
+			return false;
+		} else if(!Objects.equals(this.curve, Point.class.cast(object).curve)) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	public boolean isInfinity() {
+		return this.isInfinity;
+	}
+	
+	@Override
+	public int hashCode() {
+		return this.isInfinity ? 0 : Objects.hash(this.x, this.y, this.curve);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static Point add(final Point pointLHS, final Point pointRHS) {
+		if(pointRHS.isInfinity) {
+			return pointLHS;
+		}
+		
+		if(pointLHS.isInfinity) {
+			return pointRHS;
+		}
+		
+		if(pointLHS.x.equals(pointRHS.x)) {
+			if(pointLHS.y.add(pointRHS.y).mod(pointLHS.curve.getP()).compareTo(BigInteger.ZERO) == 0) {
+				return INFINITY;
+			}
+			
+			return multiplyByTwo(pointLHS);
+		}
+		
+		Metrics.incrementInversions();
+		
+		final CurveContext curveContext = CurveContext.get(pointLHS.curve);
+		
+		final BigInteger p = curveContext.getP();
+		final BigInteger oldX = pointLHS.x;
+		final BigInteger oldY = pointLHS.y;
+		final BigInteger l = (pointRHS.y.subtract(oldY).multiply(curveContext.invert(pointRHS.x.subtract(oldX)))).mod(p);
+		final BigInteger newX = l.multiply(l).subtract(oldX).subtract(pointRHS.x).mod(p);
+		final BigInteger newY = l.multiply(oldX.subtract(newX)).subtract(oldY).mod(p);
+		
+		return new Point(pointLHS.curve, newX, newY);
+	}
+	
+	public static Point multiply(final Point pointLHS, final BigInteger valueRHS) {
+		if(!Metrics.isEnabled()) {
+			return doMultiply(pointLHS, valueRHS);
+		}
+		
+		final long start = System.nanoTime();
+		
+		final Point point = doMultiply(pointLHS, valueRHS);
+		
+		Metrics.recordPointMultiplication(System.nanoTime() - start);
+		
+		return point;
+	}
+	
+	public static Point multiplyByTwo(final Point pointLHS) {
+		if(pointLHS.isInfinity || pointLHS.y.signum() == 0) {
+			return INFINITY;
+		}
+		
+		Metrics.incrementInversions();
+		
+		final CurveContext curveContext = CurveContext.get(pointLHS.curve);
+		
+		final BigInteger p = curveContext.getP();
+		final BigInteger oldX = pointLHS.x;
+		final BigInteger oldY = pointLHS.y;
+		final BigInteger oldXSquaredTimesThree = THREE.multiply(oldX).multiply(oldX);
+		final BigInteger l = (curveContext.isAZero() ? oldXSquaredTimesThree : oldXSquaredTimesThree.add(pointLHS.curve.getA())).multiply(curveContext.invert(TWO.multiply(oldY))).mod(p);
+		final BigInteger newX = l.multiply(l).subtract(TWO.multiply(oldX)).mod(p);
+		final BigInteger newY = l.multiply(oldX.subtract(newX)).subtract(oldY).mod(p);
+		
+		return new Point(pointLHS.curve, newX, newY);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static BigInteger doLeftMostBit(final BigInteger x) {
+		BigInteger result = BigInteger.ONE;
+		
+		while(result.compareTo(x) <= 0) {
+			result = TWO.multiply(result);
+		}
+		
+		return result.divide(TWO);
+	}
+	
+	private static Point doMultiply(final Point pointLHS, final BigInteger valueRHS) {
+		final BigInteger e1 = valueRHS;
+		
+		if(e1.signum() == 0 || pointLHS.isInfinity) {
+			return INFINITY;
+		}
+		
+		final BigInteger e3 = THREE.multiply(e1);
+		
+		final Point pointLHSNegatedY = pointLHS.negate();
+		
+		final PointAccumulator pointAccumulator = new PointAccumulator(CurveContext.get(pointLHS.curve));
+		
+		pointAccumulator.set(pointLHS);
+		
+		BigInteger i = doLeftMostBit(e3).divide(TWO);
+		
+		while(i.compareTo(BigInteger.ONE) > 0) {
+			pointAccumulator.multiplyByTwo();
+			
+			if(e3.and(i).compareTo(BigInteger.ZERO) != 0 && e1.and(i).compareTo(BigInteger.ZERO) == 0) {
+				pointAccumulator.add(pointLHS);
+			}
+			
+			if(e3.and(i).compareTo(BigInteger.ZERO) == 0 && e1.and(i).compareTo(BigInteger.ZERO) != 0) {
+				pointAccumulator.add(pointLHSNegatedY);
+			}
+			
+			i = i.divide(TWO);
+		}
+		
+		return pointAccumulator.toPoint();
+	}
+}
\ No newline at end of file
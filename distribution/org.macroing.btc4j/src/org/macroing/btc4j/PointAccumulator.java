@@ -0,0 +1,187 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+final class PointAccumulator {
+	private static final BigInteger EIGHT = BigInteger.valueOf(8L);
+	private static final BigInteger THREE = BigInteger.valueOf(3L);
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final BigInteger a;
+	private final BigInteger p;
+	private final CurveContext curveContext;
+	private BigInteger x;
+	private BigInteger y;
+	private BigInteger z;
+	private boolean isInfinity;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public PointAccumulator() {
+		this(CurveContext.SECP256K1);
+	}
+	
+	public PointAccumulator(final CurveContext curveContext) {
+		this.curveContext = Objects.requireNonNull(curveContext, "curveContext == null");
+		this.a = curveContext.isAZero() ? null : curveContext.getCurve().getA();
+		this.p = curveContext.getP();
+		this.isInfinity = true;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public BigInteger getX() {
+		return this.x;
+	}
+	
+	public BigInteger getY() {
+		return this.y;
+	}
+	
+	public BigInteger getZ() {
+		return this.z;
+	}
+	
+	public Point toPoint() {
+		if(this.isInfinity) {
+			return Point.INFINITY;
+		}
+		
+		Metrics.incrementInversions();
+		
+		final BigInteger p = this.p;
+		final BigInteger zInverse = this.curveContext.invert(this.z);
+		final BigInteger zInverseSquared = zInverse.multiply(zInverse).mod(p);
+		
+		return new Point(this.curveContext.getCurve(), this.x.multiply(zInverseSquared).mod(p), this.y.multiply(zInverseSquared).mod(p).multiply(zInverse).mod(p));
+	}
+	
+	public boolean isInfinity() {
+		return this.isInfinity;
+	}
+	
+	public void add(final BigInteger x, final BigInteger y) {
+		if(this.isInfinity) {
+			this.x = x;
+			this.y = y;
+			this.z = BigInteger.ONE;
+			this.isInfinity = false;
+			
+			return;
+		}
+		
+		final BigInteger p = this.p;
+		final BigInteger x1 = this.x;
+		final BigInteger y1 = this.y;
+		final BigInteger z1 = this.z;
+		
+		final BigInteger z1Z1 = z1.multiply(z1).mod(p);
+		final BigInteger u2 = x.multiply(z1Z1).mod(p);
+		final BigInteger s2 = y.multiply(z1).mod(p).multiply(z1Z1).mod(p);
+		final BigInteger h = u2.subtract(x1).mod(p);
+		final BigInteger r = s2.subtract(y1).mod(p);
+		
+		if(h.signum() == 0) {
+			if(r.signum() == 0) {
+				multiplyByTwo();
+			} else {
+				setInfinity();
+			}
+			
+			return;
+		}
+		
+		final BigInteger hH = h.multiply(h).mod(p);
+		final BigInteger hHH = h.multiply(hH).mod(p);
+		final BigInteger v = x1.multiply(hH).mod(p);
+		final BigInteger x3 = r.multiply(r).subtract(hHH).subtract(v.shiftLeft(1)).mod(p);
+		final BigInteger y3 = r.multiply(v.subtract(x3)).subtract(y1.multiply(hHH)).mod(p);
+		final BigInteger z3 = z1.multiply(h).mod(p);
+		
+		this.x = x3;
+		this.y = y3;
+		this.z = z3;
+	}
+	
+	public void add(final Point point) {
+		if(!point.isInfinity()) {
+			add(point.getX(), point.getY());
+		}
+	}
+	
+	public void multiplyByTwo() {
+		if(this.isInfinity) {
+			return;
+		}
+		
+		final BigInteger p = this.p;
+		final BigInteger x1 = this.x;
+		final BigInteger y1 = this.y;
+		final BigInteger z1 = this.z;
+		
+		if(y1.signum() == 0) {
+			setInfinity();
+			
+			return;
+		}
+		
+		final BigInteger a = x1.multiply(x1).mod(p);
+		final BigInteger b = y1.multiply(y1).mod(p);
+		final BigInteger c = b.multiply(b).mod(p);
+		final BigInteger xB = x1.add(b);
+		final BigInteger d = xB.multiply(xB).subtract(a).subtract(c).shiftLeft(1).mod(p);
+		final BigInteger e = this.a != null ? THREE.multiply(a).add(this.a.multiply(doSquare(doSquare(z1)))).mod(p) : THREE.multiply(a).mod(p);
+		final BigInteger f = e.multiply(e).mod(p);
+		final BigInteger x3 = f.subtract(d.shiftLeft(1)).mod(p);
+		final BigInteger y3 = e.multiply(d.subtract(x3)).subtract(EIGHT.multiply(c)).mod(p);
+		final BigInteger z3 = y1.multiply(z1).shiftLeft(1).mod(p);
+		
+		this.x = x3;
+		this.y = y3;
+		this.z = z3;
+	}
+	
+	public void set(final Point point) {
+		if(point.isInfinity()) {
+			setInfinity();
+		} else {
+			this.x = point.getX();
+			this.y = point.getY();
+			this.z = BigInteger.ONE;
+			this.isInfinity = false;
+		}
+	}
+	
+	public void setInfinity() {
+		this.x = null;
+		this.y = null;
+		this.z = null;
+		this.isInfinity = true;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private BigInteger doSquare(final BigInteger value) {
+		return value.multiply(value).mod(this.p);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,195 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+final class PrecomputedTable {
+	public static final String SECP256K1 = "secp256k1.table";
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final int CHECKSUM_LENGTH = 4;
+	private static final int ENTRY_LENGTH = 64;
+	private static final int HEADER_LENGTH = 208;
+	private static final int MAGIC = 0x42544354;
+	private static final int VERSION = 2;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final BigInteger[] x;
+	private final BigInteger[] y;
+	private final byte[] bytes;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public PrecomputedTable(final BigInteger[] x, final BigInteger[] y) {
+		this.x = x;
+		this.y = y;
+		this.bytes = null;
+	}
+	
+	private PrecomputedTable(final byte[] bytes, final int count) {
+		this.x = new BigInteger[count];
+		this.y = new BigInteger[count];
+		this.bytes = bytes;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public BigInteger getX(final int index) {
+		final BigInteger x = this.x[index];
+		
+		return x != null ? x : (this.x[index] = doDecode(index, 0));
+	}
+	
+	public BigInteger getY(final int index) {
+		final BigInteger y = this.y[index];
+		
+		return y != null ? y : (this.y[index] = doDecode(index, 32));
+	}
+	
+	public byte[] toByteArray(final CurveContext curveContext) {
+		final int count = this.x.length;
+		
+		final byte[] bytes = new byte[HEADER_LENGTH + count * ENTRY_LENGTH + CHECKSUM_LENGTH];
+		
+		System.arraycopy(doCreateHeader(curveContext), 0, bytes, 0, HEADER_LENGTH);
+		
+		for(int i = 0, offset = HEADER_LENGTH; i < count; i++, offset += ENTRY_LENGTH) {
+			Utilities.convertBigIntegerToByteArray(getX(i), bytes, offset, 32);
+			Utilities.convertBigIntegerToByteArray(getY(i), bytes, offset + 32, 32);
+		}
+		
+		Utilities.convertIntToByteArray(bytes, bytes.length - CHECKSUM_LENGTH, doComputeChecksum(bytes, bytes.length - CHECKSUM_LENGTH));
+		
+		return bytes;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static PrecomputedTable read(final CurveContext curveContext, final String name) {
+		final int count = curveContext.getWindowCount() * CurveContext.WINDOW_SIZE;
+		
+		final byte[] bytes = new byte[HEADER_LENGTH + count * ENTRY_LENGTH + CHECKSUM_LENGTH];
+		
+		try(final InputStream inputStream = PrecomputedTable.class.getResourceAsStream(name)) {
+			if(inputStream == null) {
+				return null;
+			}
+			
+			final DataInputStream dataInputStream = new DataInputStream(inputStream);
+			
+			dataInputStream.readFully(bytes);
+			
+			if(dataInputStream.read() != -1) {
+				return null;
+			}
+		} catch(final IOException e) {
+			return null;
+		}
+		
+		if(!Arrays.equals(doCreateHeader(curveContext), Arrays.copyOf(bytes, HEADER_LENGTH)) || doComputeChecksum(bytes, bytes.length - CHECKSUM_LENGTH) != Utilities.convertByteArrayToInt(bytes, bytes.length - CHECKSUM_LENGTH)) {
+			return null;
+		}
+		
+		final PrecomputedTable precomputedTable = new PrecomputedTable(bytes, count);
+		
+		final Point generator = curveContext.getGenerator();
+		
+		if(!precomputedTable.getX(0).equals(generator.getX()) || !precomputedTable.getY(0).equals(generator.getY())) {
+			return null;
+		}
+		
+		return precomputedTable;
+	}
+	
+	public static void main(final String[] args) {
+		if(args.length != 1) {
+			System.err.println("Usage: PrecomputedTable <file>");
+			System.exit(2);
+			
+			return;
+		}
+		
+		final CurveContext curveContext = CurveContext.SECP256K1;
+		
+		final Path path = Paths.get(args[0]).toAbsolutePath();
+		final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+		
+		try {
+			Files.createDirectories(path.getParent());
+			Files.write(temporary, curveContext.computeTable().toByteArray(curveContext));
+			Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch(final IOException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private BigInteger doDecode(final int index, final int offset) {
+		final int start = HEADER_LENGTH + index * ENTRY_LENGTH + offset;
+		
+		return new BigInteger(1, Arrays.copyOfRange(this.bytes, start, start + 32));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static byte[] doCreateHeader(final CurveContext curveContext) {
+		final BigInteger p = curveContext.getP();
+		
+		final Curve curve = curveContext.getCurve();
+		
+		final Point generator = curveContext.getGenerator();
+		
+		final byte[] header = new byte[HEADER_LENGTH];
+		
+		Utilities.convertIntToByteArray(header, 0, MAGIC);
+		Utilities.convertIntToByteArray(header, 4, VERSION);
+		Utilities.convertIntToByteArray(header, 8, CurveContext.WINDOW_BITS);
+		Utilities.convertIntToByteArray(header, 12, curveContext.getWindowCount());
+		Utilities.convertBigIntegerToByteArray(p, header, 16, 32);
+		Utilities.convertBigIntegerToByteArray(curve.getA().mod(p), header, 48, 32);
+		Utilities.convertBigIntegerToByteArray(curve.getB().mod(p), header, 80, 32);
+		Utilities.convertBigIntegerToByteArray(generator.getX(), header, 112, 32);
+		Utilities.convertBigIntegerToByteArray(generator.getY(), header, 144, 32);
+		Utilities.convertBigIntegerToByteArray(curveContext.getN(), header, 176, 32);
+		
+		return header;
+	}
+	
+	private static int doComputeChecksum(final byte[] bytes, final int length) {
+		final CRC32 crc32 = new CRC32();
+		
+		crc32.update(bytes, 0, length);
+		
+		return (int)(crc32.getValue());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,626 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * A {@code PrivateKey} represents a private key for Bitcoin.
+ * <p>
+ * The value of a {@code PrivateKey} is stored as four 64-bit limbs, so a {@code PrivateKey} can represent values in the range [0, 2^256 - 1]. The methods {@link #parseByteArray(byte[], int)}, {@link #parseLongArray(long[], int)}, {@link #writeTo(byte[], int)} and {@link #writeTo(long[], int)} convert between this representation and packed arrays without going through {@code BigInteger}.
+ * <p>
+ * This class is immutable and thread-safe. The public key and the WIF representations for Mainnet are computed lazily and memoized, unless disabled using {@link Memoization}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class PrivateKey {
+	static final BigInteger N = CurveContext.SECP256K1.getN();
+	static final Curve CURVE = CurveContext.SECP256K1.getCurve();
+	static final Point POINT = CurveContext.SECP256K1.getGenerator();
+	private static final byte BOTH_NET_0_1 = (byte)(0x01);
+	private static final byte MAIN_NET_8_0 = (byte)(0x80);
+	private static final byte TEST_NET_E_F = (byte)(0xEF);
+	private static final char MAIN_NET_K = 'K';
+	private static final char MAIN_NET_L = 'L';
+	private static final char MAIN_NET_5 = '5';
+	private static final char TEST_NET_C = 'c';
+	private static final char TEST_NET_9 = '9';
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final long value0;
+	private final long value1;
+	private final long value2;
+	private final long value3;
+	private PublicKey publicKey;
+	private String stringWIFCompressed;
+	private String stringWIFUncompressed;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code PrivateKey} instance.
+	 * <p>
+	 * If {@code value} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code value} is not in the range [0, 2^256 - 1], an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param value a {@code BigInteger} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code value} is not in the range [0, 2^256 - 1]
+	 * @throws NullPointerException thrown if, and only if, {@code value} is {@code null}
+	 */
+	public PrivateKey(final BigInteger value) {
+		this(Utilities.convertBigIntegerToByteArray(doRequireRange(Objects.requireNonNull(value, "value == null")), 32), 0);
+	}
+	
+	private PrivateKey(final byte[] bytes, final int offset) {
+		this(Utilities.convertByteArrayToLong(bytes, offset + 0), Utilities.convertByteArrayToLong(bytes, offset + 8), Utilities.convertByteArrayToLong(bytes, offset + 16), Utilities.convertByteArrayToLong(bytes, offset + 24));
+	}
+	
+	PrivateKey(final long value0, final long value1, final long value2, final long value3) {
+		this.value0 = value0;
+		this.value1 = value1;
+		this.value2 = value2;
+		this.value3 = value3;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the {@code BigInteger} instance associated with this {@code PrivateKey} instance.
+	 * 
+	 * @return the {@code BigInteger} instance associated with this {@code PrivateKey} instance
+	 */
+	public BigInteger getValue() {
+		return new BigInteger(1, doToByteArray());
+	}
+	
+	/**
+	 * Returns a {@link PublicKey} instance that represents the public key associated with the private key represented by this {@code PrivateKey} instance.
+	 * <p>
+	 * If a global {@link KeyCache} has been set, it will be consulted before the public key is derived.
+	 * 
+	 * @return a {@code PublicKey} instance that represents the public key associated with the private key represented by this {@code PrivateKey} instance
+	 */
+	public PublicKey toPublicKey() {
+		if(!Memoization.isEnabled()) {
+			return doToPublicKey();
+		}
+		
+		PublicKey publicKey = this.publicKey;
+		
+		if(publicKey == null) {
+			this.publicKey = publicKey = doToPublicKey();
+		}
+		
+		return publicKey;
+	}
+	
+	/**
+	 * Returns a {@code PrivateKey} that represents the value of this {@code PrivateKey} instance plus {@code tweak}, modulo n.
+	 * <p>
+	 * If {@code tweak} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the value of this {@code PrivateKey} instance is not in the range [0, n - 1], where n is the order of the generator point of secp256k1, or the result is zero, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * This is the private key of the public key returned by {@link PublicKey#tweakAdd(Scalar)}. No {@code BigInteger} is created by this method.
+	 * 
+	 * @param tweak a {@link Scalar} instance
+	 * @return a {@code PrivateKey} that represents the value of this {@code PrivateKey} instance plus {@code tweak}, modulo n
+	 * @throws IllegalArgumentException thrown if, and only if, the value of this {@code PrivateKey} instance is not in the range [0, n - 1] or the result is zero
+	 * @throws NullPointerException thrown if, and only if, {@code tweak} is {@code null}
+	 */
+	public PrivateKey tweakAdd(final Scalar tweak) {
+		return doRequireNonZero(toScalar().add(Objects.requireNonNull(tweak, "tweak == null"))).toPrivateKey();
+	}
+	
+	/**
+	 * Returns a {@code PrivateKey} that represents the value of this {@code PrivateKey} instance multiplied by {@code tweak}, modulo n.
+	 * <p>
+	 * If {@code tweak} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the value of this {@code PrivateKey} instance is not in the range [0, n - 1], where n is the order of the generator point of secp256k1, or the result is zero, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * This is the private key of the public key returned by {@link PublicKey#tweakMultiply(Scalar)}. No {@code BigInteger} is created by this method.
+	 * 
+	 * @param tweak a {@link Scalar} instance
+	 * @return a {@code PrivateKey} that represents the value of this {@code PrivateKey} instance multiplied by {@code tweak}, modulo n
+	 * @throws IllegalArgumentException thrown if, and only if, the value of this {@code PrivateKey} instance is not in the range [0, n - 1] or the result is zero
+	 * @throws NullPointerException thrown if, and only if, {@code tweak} is {@code null}
+	 */
+	public PrivateKey tweakMultiply(final Scalar tweak) {
+		return doRequireNonZero(toScalar().multiply(Objects.requireNonNull(tweak, "tweak == null"))).toPrivateKey();
+	}
+	
+	/**
+	 * Returns a {@link Scalar} that represents the value of this {@code PrivateKey} instance.
+	 * <p>
+	 * If the value of this {@code PrivateKey} instance is not in the range [0, n - 1], where n is the order of the generator point of secp256k1, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @return a {@code Scalar} that represents the value of this {@code PrivateKey} instance
+	 * @throws IllegalArgumentException thrown if, and only if, the value of this {@code PrivateKey} instance is not in the range [0, n - 1]
+	 */
+	public Scalar toScalar() {
+		if(!Scalar.isReduced(this.value0, this.value1, this.value2, this.value3)) {
+			throw new IllegalArgumentException("The private key is not in the range [0, n - 1]");
+		}
+		
+		return new Scalar(this.value0, this.value1, this.value2, this.value3);
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code PrivateKey} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code PrivateKey} instance
+	 */
+	@Override
+	public String toString() {
+		return toStringHex();
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code PrivateKey} instance in decimal format.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * privateKey.getValue().toString(10);
+	 * }
+	 * </pre>
+	 * 
+	 * @return a {@code String} representation of this {@code PrivateKey} instance in decimal format
+	 */
+	public String toStringDec() {
+		return getValue().toString(10);
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code PrivateKey} instance in hexadecimal format.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * privateKey.getValue().toString(16);
+	 * }
+	 * </pre>
+	 * 
+	 * @return a {@code String} representation of this {@code PrivateKey} instance in hexadecimal format
+	 */
+	public String toStringHex() {
+		return getValue().toString(16);
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code PrivateKey} instance in Wallet Import Format (WIF).
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * privateKey.toStringWIF(false);
+	 * }
+	 * </pre>
+	 * 
+	 * @return a {@code String} representation of this {@code PrivateKey} instance in Wallet Import Format (WIF)
+	 */
+	public String toStringWIF() {
+		return toStringWIF(false);
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code PrivateKey} instance in Wallet Import Format (WIF).
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * privateKey.toStringWIF(isCompressed, false);
+	 * }
+	 * </pre>
+	 * 
+	 * @param isCompressed {@code true} if, and only if, compression should be used, {@code false} otherwise
+	 * @return a {@code String} representation of this {@code PrivateKey} instance in Wallet Import Format (WIF)
+	 */
+	public String toStringWIF(final boolean isCompressed) {
+		return toStringWIF(isCompressed, false);
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code PrivateKey} instance in Wallet Import Format (WIF).
+	 * 
+	 * @param isCompressed {@code true} if, and only if, compression should be used, {@code false} otherwise
+	 * @param isTestNet {@code true} if, and only if, Testnet should be used, {@code false} otherwise
+	 * @return a {@code String} representation of this {@code PrivateKey} instance in Wallet Import Format (WIF)
+	 */
+	public String toStringWIF(final boolean isCompressed, final boolean isTestNet) {
+		if(isTestNet || !Memoization.isEnabled()) {
+			return doToStringWIF(isCompressed, isTestNet);
+		}
+		
+		if(isCompressed) {
+			String stringWIFCompressed = this.stringWIFCompressed;
+			
+			if(stringWIFCompressed == null) {
+				this.stringWIFCompressed = stringWIFCompressed = doToStringWIF(true, false);
+			}
+			
+			return stringWIFCompressed;
+		}
+		
+		String stringWIFUncompressed = this.stringWIFUncompressed;
+		
+		if(stringWIFUncompressed == null) {
+			this.stringWIFUncompressed = stringWIFUncompressed = doToStringWIF(false, false);
+		}
+		
+		return stringWIFUncompressed;
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code PrivateKey} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code PrivateKey}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code PrivateKey} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code PrivateKey}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof PrivateKey)) {
+			return false;
+		} else if(this.value0 != PrivateKey.class.cast(object).value0) {
+			return false;
+		} else if(this.value1 != PrivateKey.class.cast(object).value1) {
+			return false;
+		} else if(this.value2 != PrivateKey.class.cast(object).value2) {
+			return false;
+		} else if(this.value3 != PrivateKey.class.cast(object).value3) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns a {@code byte} array representation of this {@code PrivateKey} instance.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * privateKey.getValue().toByteArray();
+	 * }
+	 * </pre>
+	 * 
+	 * @return a {@code byte} array representation of this {@code PrivateKey} instance
+	 */
+	public byte[] toByteArray() {
+		return getValue().toByteArray();
+	}
+	
+	/**
+	 * Returns a hash code for this {@code PrivateKey} instance.
+	 * 
+	 * @return a hash code for this {@code PrivateKey} instance
+	 */
+	@Override
+	public int hashCode() {
+		return ((Long.hashCode(this.value0) * 31 + Long.hashCode(this.value1)) * 31 + Long.hashCode(this.value2)) * 31 + Long.hashCode(this.value3);
+	}
+	
+	/**
+	 * Writes the value of this {@code PrivateKey} instance into {@code bytes}, starting at {@code offset}.
+	 * <p>
+	 * The value is written as a 32 byte unsigned big-endian record.
+	 * <p>
+	 * If {@code bytes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there is not enough room in {@code bytes}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param bytes the {@code byte} array to write to
+	 * @param offset the offset in {@code bytes} to start writing at
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there is not enough room in {@code bytes}
+	 * @throws NullPointerException thrown if, and only if, {@code bytes} is {@code null}
+	 */
+	public void writeTo(final byte[] bytes, final int offset) {
+		Utilities.requireRange(Objects.requireNonNull(bytes, "bytes == null").length, offset, 32);
+		
+		Utilities.convertLongToByteArray(bytes, offset + 0, this.value0);
+		Utilities.convertLongToByteArray(bytes, offset + 8, this.value1);
+		Utilities.convertLongToByteArray(bytes, offset + 16, this.value2);
+		Utilities.convertLongToByteArray(bytes, offset + 24, this.value3);
+	}
+	
+	/**
+	 * Writes the value of this {@code PrivateKey} instance into {@code longs}, starting at {@code offset}.
+	 * <p>
+	 * The value is written as four 64-bit limbs, with the most significant limb first.
+	 * <p>
+	 * If {@code longs} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there is not enough room in {@code longs}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param longs the {@code long} array to write to
+	 * @param offset the offset in {@code longs} to start writing at
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there is not enough room in {@code longs}
+	 * @throws NullPointerException thrown if, and only if, {@code longs} is {@code null}
+	 */
+	public void writeTo(final long[] longs, final int offset) {
+		Utilities.requireRange(Objects.requireNonNull(longs, "longs == null").length, offset, 4);
+		
+		longs[offset + 0] = this.value0;
+		longs[offset + 1] = this.value1;
+		longs[offset + 2] = this.value2;
+		longs[offset + 3] = this.value3;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Parses a 32 byte unsigned big-endian record in {@code bytes}, starting at {@code offset}.
+	 * <p>
+	 * Returns a {@code PrivateKey} instance.
+	 * <p>
+	 * If {@code bytes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there are less than 32 bytes in {@code bytes} starting at {@code offset}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * No {@code BigInteger} is created by this method.
+	 * 
+	 * @param bytes the {@code byte} array to read from
+	 * @param offset the offset in {@code bytes} to start reading at
+	 * @return a {@code PrivateKey} instance
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there are less than 32 bytes in {@code bytes} starting at {@code offset}
+	 * @throws NullPointerException thrown if, and only if, {@code bytes} is {@code null}
+	 */
+	public static PrivateKey parseByteArray(final byte[] bytes, final int offset) {
+		Utilities.requireRange(Objects.requireNonNull(bytes, "bytes == null").length, offset, 32);
+		
+		return new PrivateKey(bytes, offset);
+	}
+	
+	/**
+	 * Parses four 64-bit limbs in {@code longs}, starting at {@code offset}, with the most significant limb first.
+	 * <p>
+	 * Returns a {@code PrivateKey} instance.
+	 * <p>
+	 * If {@code longs} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there are less than four limbs in {@code longs} starting at {@code offset}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * No {@code BigInteger} is created by this method.
+	 * 
+	 * @param longs the {@code long} array to read from
+	 * @param offset the offset in {@code longs} to start reading at
+	 * @return a {@code PrivateKey} instance
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there are less than four limbs in {@code longs} starting at {@code offset}
+	 * @throws NullPointerException thrown if, and only if, {@code longs} is {@code null}
+	 */
+	public static PrivateKey parseLongArray(final long[] longs, final int offset) {
+		Utilities.requireRange(Objects.requireNonNull(longs, "longs == null").length, offset, 4);
+		
+		return new PrivateKey(longs[offset + 0], longs[offset + 1], longs[offset + 2], longs[offset + 3]);
+	}
+	
+	/**
+	 * Parses a {@code String} in decimal format.
+	 * <p>
+	 * Returns a {@code PrivateKey} instance.
+	 * <p>
+	 * If {@code stringDec} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code stringDec} is invalid, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param stringDec a {@code String} in decimal format
+	 * @return a {@code PrivateKey} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code stringDec} is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code stringDec} is {@code null}
+	 */
+	public static PrivateKey parseStringDec(final String stringDec) {
+		return new PrivateKey(new BigInteger(Objects.requireNonNull(stringDec, "stringDec == null"), 10));
+	}
+	
+	/**
+	 * Parses a {@code String} in hexadecimal format.
+	 * <p>
+	 * Returns a {@code PrivateKey} instance.
+	 * <p>
+	 * If {@code stringHex} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code stringHex} is invalid, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param stringHex a {@code String} in hexadecimal format
+	 * @return a {@code PrivateKey} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code stringHex} is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code stringHex} is {@code null}
+	 */
+	public static PrivateKey parseStringHex(final String stringHex) {
+		return new PrivateKey(new BigInteger(Objects.requireNonNull(stringHex, "stringHex == null"), 16));
+	}
+	
+	/**
+	 * Parses a {@code String} in the format Wallet Import Format (WIF).
+	 * <p>
+	 * Returns a {@code PrivateKey} instance.
+	 * <p>
+	 * If {@code stringWIF} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code stringWIF} is invalid, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param stringWIF a {@code String} in the format Wallet Import Format (WIF)
+	 * @return a {@code PrivateKey} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code stringWIF} is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code stringWIF} is {@code null}
+	 */
+	public static PrivateKey parseStringWIF(final String stringWIF) {
+		final boolean isCompressed = doIsCompressed(stringWIF);
+		final boolean isMainNet = doIsMainNet(stringWIF);
+		final boolean isTestNet = doIsTestNet(stringWIF);
+		
+		if(isMainNet && isCompressed) {
+			final byte[] a = Utilities.base58DecodeChecked(stringWIF);
+			final byte[] b = Utilities.arrayTrimLHS(a);
+			final byte[] c = Utilities.arrayTrimRHS(b);
+			
+			final String stringHex = Utilities.convertByteArrayToHexString(c);
+			
+			return new PrivateKey(new BigInteger(stringHex, 16));
+		}
+		
+		if(isTestNet && isCompressed) {
+			final byte[] a = Utilities.base58DecodeChecked(stringWIF);
+			final byte[] b = Utilities.arrayTrimLHS(a);
+			final byte[] c = Utilities.arrayTrimRHS(b);
+			
+			final String stringHex = Utilities.convertByteArrayToHexString(c);
+			
+			return new PrivateKey(new BigInteger(stringHex, 16));
+		}
+		
+		if(isMainNet) {
+			final byte[] a = Utilities.base58DecodeChecked(stringWIF);
+			final byte[] b = Utilities.arrayTrimLHS(a);
+			
+			final String stringHex = Utilities.convertByteArrayToHexString(b);
+			
+			return new PrivateKey(new BigInteger(stringHex, 16));
+		}
+		
+		if(isTestNet) {
+			final byte[] a = Utilities.base58DecodeChecked(stringWIF);
+			final byte[] b = Utilities.arrayTrimLHS(a);
+			
+			final String stringHex = Utilities.convertByteArrayToHexString(b);
+			
+			return new PrivateKey(new BigInteger(stringHex, 16));
+		}
+		
+		throw new IllegalArgumentException("Invalid format: " + stringWIF);
+	}
+	
+	/**
+	 * Returns a random {@code PrivateKey} instance.
+	 * <p>
+	 * The returned {@code PrivateKey} instance is generated by a cryptographically secure random number generator and its value is in the range [1, n - 1], where n is the order of the generator point.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * KeyGenerator.getDefault().next();
+	 * }
+	 * </pre>
+	 * 
+	 * @return a random {@code PrivateKey} instance
+	 */
+	public static PrivateKey random() {
+		return KeyGenerator.getDefault().next();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	PublicKey computePublicKey() {
+		final BigInteger value = getValue();
+		
+		final Object event = Events.beginScalarMultiplication();
+		
+		final Point point = CurveContext.SECP256K1.multiply(value);
+		
+		Events.commit(event);
+		
+		final BigInteger x = point.getX();
+		final BigInteger y = point.getY();
+		
+		return new PublicKey(x, y);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private PublicKey doToPublicKey() {
+		final KeyCache keyCache = KeyCache.getGlobal();
+		
+		return keyCache != null ? keyCache.toPublicKey(this) : computePublicKey();
+	}
+	
+	private byte[] doToByteArray() {
+		final byte[] bytes = new byte[32];
+		
+		writeTo(bytes, 0);
+		
+		return bytes;
+	}
+	
+	private String doToStringWIF(final boolean isCompressed, final boolean isTestNet) {
+		final int value0 = isTestNet ? TEST_NET_E_F & 0xFF : MAIN_NET_8_0 & 0xFF;
+		final int valueN = BOTH_NET_0_1 & 0xFF;
+		
+		final byte[] a = doToByteArray();
+		final byte[] b = isCompressed ? Utilities.array(valueN) : Utilities.array();
+		final byte[] c = Utilities.arrayConcatenate(a, b);
+		
+		return Utilities.base58EncodeChecked(value0, c);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static BigInteger doRequireRange(final BigInteger value) {
+		if(value.signum() < 0 || value.bitLength() > 256) {
+			throw new IllegalArgumentException(String.format("The value %s is not in the range [0, 2^256 - 1]", value.toString(16)));
+		}
+		
+		return value;
+	}
+	
+	private static Scalar doRequireNonZero(final Scalar scalar) {
+		if(scalar.isZero()) {
+			throw new IllegalArgumentException("The tweaked private key is zero");
+		}
+		
+		return scalar;
+	}
+	
+	private static boolean doIsCompressed(final String stringWIF) {
+		final char character = stringWIF.charAt(0);
+		
+		final boolean isMainNetK = character == MAIN_NET_K;
+		final boolean isMainNetL = character == MAIN_NET_L;
+		final boolean isTestNetC = character == TEST_NET_C;
+		
+		return isMainNetK || isMainNetL || isTestNetC;
+	}
+	
+	private static boolean doIsMainNet(final String stringWIF) {
+		final char character = stringWIF.charAt(0);
+		
+		final boolean isK = character == MAIN_NET_K;
+		final boolean isL = character == MAIN_NET_L;
+		final boolean is5 = character == MAIN_NET_5;
+		
+		return isK || isL || is5;
+	}
+	
+	private static boolean doIsTestNet(final String stringWIF) {
+		final char character = stringWIF.charAt(0);
+		
+		final boolean isC = character == TEST_NET_C;
+		final boolean is9 = character == TEST_NET_9;
+		
+		return isC || is9;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,300 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.apache.commons.math3.distribution.TDistribution;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * A {@code BenchmarkRegression} stores JMH benchmark results as JSON baselines and compares new runs against them.
+ * <p>
+ * The following commands are supported:
+ * <pre>
+ * {@code
+ * record  <baseline.json> [JMH options]                 Runs the benchmarks and stores the result as a baseline.
+ * check   <baseline.json> <result.json> [JMH options]   Runs the benchmarks, stores the result and compares it against the baseline.
+ * compare <baseline.json> <result.json>                 Compares two stored results.
+ * }
+ * </pre>
+ * If no benchmarks are included by the JMH options, the benchmarks for {@code PrivateKey.toPublicKey()}, {@code PublicKey.toAddress(boolean)}, {@code PrivateKey.toStringWIF(boolean)} and {@code PrivateKey.parseStringWIF(String)} are run. The GC profiler is always enabled, so that the number of bytes allocated per operation is recorded.
+ * <p>
+ * The baseline files use the JSON format produced by JMH itself.
+ * <p>
+ * For each benchmark, a confidence interval for the mean is computed from the raw iteration data using Student's t-distribution. A regression is reported if, and only if, the confidence intervals of the baseline and the result do not overlap and the relative change exceeds a threshold. This is done both for the throughput in operations per second and for the number of bytes allocated per operation. The confidence level and the threshold can be specified using the system properties {@code btc4j.benchmark.confidence} (default {@code 0.99}) and {@code btc4j.benchmark.threshold} (default {@code 0.05}).
+ * <p>
+ * The process exits with status {@code 1} if a regression was found.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class BenchmarkRegression {
+	private static final String DEFAULT_INCLUDE = "org\\.macroing\\.btc4j\\.KeyBenchmark\\.(parseStringWIF|toAddressCompressed|toAddressUncompressed|toPublicKey|toStringWIF)$";
+	private static final String METRIC_ALLOCATION = "gc.alloc.rate.norm";
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private BenchmarkRegression() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * The entry point of this program.
+	 * 
+	 * @param args the command and its arguments
+	 * @throws CommandLineOptionException thrown if, and only if, the JMH options are illegal
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws RunnerException thrown if, and only if, JMH fails to run the benchmarks
+	 */
+	public static void main(final String[] args) throws CommandLineOptionException, IOException, RunnerException {
+		final String command = args.length > 0 ? args[0] : "";
+		
+		final double confidence = Double.parseDouble(System.getProperty("btc4j.benchmark.confidence", "0.99"));
+		final double threshold = Double.parseDouble(System.getProperty("btc4j.benchmark.threshold", "0.05"));
+		
+		if(command.equals("record") && args.length >= 2) {
+			doRun(new File(args[1]), Arrays.copyOfRange(args, 2, args.length));
+		} else if(command.equals("check") && args.length >= 3) {
+			doRun(new File(args[2]), Arrays.copyOfRange(args, 3, args.length));
+			
+			doExit(doCompare(doLoad(new File(args[1])), doLoad(new File(args[2])), confidence, threshold));
+		} else if(command.equals("compare") && args.length == 3) {
+			doExit(doCompare(doLoad(new File(args[1])), doLoad(new File(args[2])), confidence, threshold));
+		} else {
+			System.err.println("Usage: BenchmarkRegression record <baseline.json> [JMH options]");
+			System.err.println("       BenchmarkRegression check <baseline.json> <result.json> [JMH options]");
+			System.err.println("       BenchmarkRegression compare <baseline.json> <result.json>");
+			
+			System.exit(2);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@SuppressWarnings("unchecked")
+	private static Map<String, Result> doLoad(final File file) throws IOException {
+		final Map<String, Result> results = new LinkedHashMap<>();
+		
+		for(final Object object : List.class.cast(JSONParser.parse(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8)))) {
+			final Map<String, Object> benchmark = Map.class.cast(object);
+			final Map<String, Object> params = benchmark.containsKey("params") ? Map.class.cast(benchmark.get("params")) : null;
+			final Map<String, Object> primaryMetric = Map.class.cast(benchmark.get("primaryMetric"));
+			final Map<String, Object> secondaryMetrics = benchmark.containsKey("secondaryMetrics") ? Map.class.cast(benchmark.get("secondaryMetrics")) : null;
+			
+			final StringBuilder name = new StringBuilder(String.class.cast(benchmark.get("benchmark")));
+			
+			if(params != null && !params.isEmpty()) {
+				name.append(new TreeMap<>(params));
+			}
+			
+			double[] allocation = new double[0];
+			
+			if(secondaryMetrics != null) {
+				for(final Entry<String, Object> entry : secondaryMetrics.entrySet()) {
+					if(entry.getKey().endsWith(METRIC_ALLOCATION)) {
+						allocation = doGetRawData(Map.class.cast(entry.getValue()));
+					}
+				}
+			}
+			
+			results.put(name.toString(), new Result(doGetRawData(primaryMetric), allocation, String.class.cast(primaryMetric.get("scoreUnit"))));
+		}
+		
+		return results;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static double[] doGetRawData(final Map<String, Object> metric) {
+		final List<Object> forks = List.class.cast(metric.get("rawData"));
+		
+		return forks.stream().flatMap(fork -> List.class.cast(fork).stream()).mapToDouble(JSONParser::toDouble).filter(value -> !Double.isNaN(value)).toArray();
+	}
+	
+	private static int doCompare(final Map<String, Result> baseline, final Map<String, Result> current, final double confidence, final double threshold) {
+		int regressions = 0;
+		
+		System.out.printf("Confidence level: %.1f%%, threshold: %.1f%%%n%n", Double.valueOf(confidence * 100.0D), Double.valueOf(threshold * 100.0D));
+		
+		for(final Entry<String, Result> entry : baseline.entrySet()) {
+			final String name = entry.getKey();
+			
+			final Result resultBaseline = entry.getValue();
+			final Result resultCurrent = current.get(name);
+			
+			if(resultCurrent == null) {
+				System.out.printf("%s: MISSING%n", name);
+				
+				continue;
+			}
+			
+			final Estimate throughputBaseline = Estimate.of(resultBaseline.throughput, confidence);
+			final Estimate throughputCurrent = Estimate.of(resultCurrent.throughput, confidence);
+			
+			final double throughputChange = doComputeChange(throughputBaseline.mean, throughputCurrent.mean);
+			
+			final String throughputStatus = doGetStatus(throughputCurrent.upper < throughputBaseline.lower && throughputChange < -threshold, throughputCurrent.lower > throughputBaseline.upper && throughputChange > threshold);
+			
+			System.out.printf("%s%n", name);
+			System.out.printf("    %-12s %s -> %s %s (%+.2f%%) %s%n", "Throughput:", throughputBaseline, throughputCurrent, resultCurrent.unit, Double.valueOf(throughputChange * 100.0D), throughputStatus);
+			
+			if(throughputStatus.equals("REGRESSION")) {
+				regressions++;
+			}
+			
+			if(resultBaseline.allocation.length > 0 && resultCurrent.allocation.length > 0) {
+				final Estimate allocationBaseline = Estimate.of(resultBaseline.allocation, confidence);
+				final Estimate allocationCurrent = Estimate.of(resultCurrent.allocation, confidence);
+				
+				final double allocationChange = doComputeChange(Math.max(allocationBaseline.mean, 1.0D), Math.max(allocationCurrent.mean, 1.0D));
+				
+				final String allocationStatus = doGetStatus(allocationCurrent.lower > allocationBaseline.upper && allocationChange > threshold, allocationCurrent.upper < allocationBaseline.lower && allocationChange < -threshold);
+				
+				System.out.printf("    %-12s %s -> %s B/op (%+.2f%%) %s%n", "Allocation:", allocationBaseline, allocationCurrent, Double.valueOf(allocationChange * 100.0D), allocationStatus);
+				
+				if(allocationStatus.equals("REGRESSION")) {
+					regressions++;
+				}
+			}
+		}
+		
+		System.out.printf("%n%d regression(s) found.%n", Integer.valueOf(regressions));
+		
+		return regressions;
+	}
+	
+	private static String doGetStatus(final boolean isRegression, final boolean isImprovement) {
+		return isRegression ? "REGRESSION" : isImprovement ? "IMPROVEMENT" : "OK";
+	}
+	
+	private static double doComputeChange(final double baseline, final double current) {
+		return baseline == 0.0D ? 0.0D : (current - baseline) / baseline;
+	}
+	
+	private static void doExit(final int regressions) {
+		if(regressions > 0) {
+			System.exit(1);
+		}
+	}
+	
+	private static void doRun(final File file, final String[] args) throws CommandLineOptionException, RunnerException {
+		final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		
+		final OptionsBuilder optionsBuilder = new OptionsBuilder();
+		
+		optionsBuilder.parent(commandLineOptions);
+		optionsBuilder.result(file.getPath());
+		optionsBuilder.resultFormat(ResultFormatType.JSON);
+		
+		if(commandLineOptions.getIncludes().isEmpty()) {
+			optionsBuilder.include(DEFAULT_INCLUDE);
+		}
+		
+		if(commandLineOptions.getProfilers().stream().map(ProfilerConfig::getKlass).noneMatch(klass -> klass.equals("gc") || klass.equals(GCProfiler.class.getName()))) {
+			optionsBuilder.addProfiler(GCProfiler.class);
+		}
+		
+		final File parentFile = file.getAbsoluteFile().getParentFile();
+		
+		if(parentFile != null) {
+			parentFile.mkdirs();
+		}
+		
+		new Runner(optionsBuilder.build()).run();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Estimate {
+		public final double lower;
+		public final double mean;
+		public final double upper;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Estimate(final double lower, final double mean, final double upper) {
+			this.lower = lower;
+			this.mean = mean;
+			this.upper = upper;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		@Override
+		public String toString() {
+			return String.format("%.3f [%.3f, %.3f]", Double.valueOf(this.mean), Double.valueOf(this.lower), Double.valueOf(this.upper));
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public static Estimate of(final double[] values, final double confidence) {
+			final int n = values.length;
+			
+			if(n == 0) {
+				return new Estimate(Double.NaN, Double.NaN, Double.NaN);
+			}
+			
+			final double mean = Arrays.stream(values).average().getAsDouble();
+			
+			if(n == 1) {
+				return new Estimate(mean, mean, mean);
+			}
+			
+			final double variance = Arrays.stream(values).map(value -> (value - mean) * (value - mean)).sum() / (n - 1);
+			final double t = new TDistribution(n - 1).inverseCumulativeProbability(0.5D + confidence / 2.0D);
+			final double halfWidth = t * Math.sqrt(variance / n);
+			
+			return new Estimate(mean - halfWidth, mean, mean + halfWidth);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Result {
+		public final String unit;
+		public final double[] allocation;
+		public final double[] throughput;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Result(final double[] throughput, final double[] allocation, final String unit) {
+			this.throughput = throughput;
+			this.allocation = allocation;
+			this.unit = unit;
+		}
+	}
+}
\ No newline at end of file
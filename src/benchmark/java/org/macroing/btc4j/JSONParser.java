@@ -0,0 +1,260 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+final class JSONParser {
+	private final String string;
+	private int index;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private JSONParser(final String string) {
+		this.string = Objects.requireNonNull(string, "string == null");
+		this.index = 0;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static Object parse(final String string) {
+		final JSONParser jSONParser = new JSONParser(string);
+		
+		final Object value = jSONParser.doParseValue();
+		
+		jSONParser.doSkipWhitespace();
+		
+		if(jSONParser.index != jSONParser.string.length()) {
+			throw jSONParser.doCreateException("Trailing characters");
+		}
+		
+		return value;
+	}
+	
+	public static double toDouble(final Object value) {
+		if(value instanceof Number) {
+			return Number.class.cast(value).doubleValue();
+		} else if(value instanceof String) {
+			return Double.parseDouble(String.class.cast(value));
+		} else {
+			return Double.NaN;
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private IllegalArgumentException doCreateException(final String message) {
+		return new IllegalArgumentException(String.format("%s at index %d", message, Integer.valueOf(this.index)));
+	}
+	
+	private List<Object> doParseArray() {
+		final List<Object> list = new ArrayList<>();
+		
+		doExpect('[');
+		doSkipWhitespace();
+		
+		if(doPeek() == ']') {
+			this.index++;
+			
+			return list;
+		}
+		
+		while(true) {
+			list.add(doParseValue());
+			
+			doSkipWhitespace();
+			
+			if(doPeek() == ',') {
+				this.index++;
+			} else {
+				doExpect(']');
+				
+				return list;
+			}
+		}
+	}
+	
+	private Map<String, Object> doParseObject() {
+		final Map<String, Object> map = new LinkedHashMap<>();
+		
+		doExpect('{');
+		doSkipWhitespace();
+		
+		if(doPeek() == '}') {
+			this.index++;
+			
+			return map;
+		}
+		
+		while(true) {
+			doSkipWhitespace();
+			
+			final String key = doParseString();
+			
+			doSkipWhitespace();
+			doExpect(':');
+			
+			map.put(key, doParseValue());
+			
+			doSkipWhitespace();
+			
+			if(doPeek() == ',') {
+				this.index++;
+			} else {
+				doExpect('}');
+				
+				return map;
+			}
+		}
+	}
+	
+	private Object doParseLiteral(final String literal, final Object value) {
+		if(!this.string.startsWith(literal, this.index)) {
+			throw doCreateException("Unexpected literal");
+		}
+		
+		this.index += literal.length();
+		
+		return value;
+	}
+	
+	private Object doParseNumber() {
+		final int start = this.index;
+		
+		while(this.index < this.string.length() && "+-0123456789.eE".indexOf(this.string.charAt(this.index)) >= 0) {
+			this.index++;
+		}
+		
+		try {
+			return Double.valueOf(this.string.substring(start, this.index));
+		} catch(final NumberFormatException e) {
+			throw doCreateException("Illegal number");
+		}
+	}
+	
+	private Object doParseValue() {
+		doSkipWhitespace();
+		
+		switch(doPeek()) {
+			case '{':
+				return doParseObject();
+			case '[':
+				return doParseArray();
+			case '"':
+				return doParseString();
+			case 't':
+				return doParseLiteral("true", Boolean.TRUE);
+			case 'f':
+				return doParseLiteral("false", Boolean.FALSE);
+			case 'n':
+				return doParseLiteral("null", null);
+			default:
+				return doParseNumber();
+		}
+	}
+	
+	private String doParseString() {
+		final StringBuilder stringBuilder = new StringBuilder();
+		
+		doExpect('"');
+		
+		while(true) {
+			final char character = doNext();
+			
+			if(character == '"') {
+				return stringBuilder.toString();
+			} else if(character == '\\') {
+				final char escape = doNext();
+				
+				switch(escape) {
+					case 'b':
+						stringBuilder.append('\b');
+						
+						break;
+					case 'f':
+						stringBuilder.append('\f');
+						
+						break;
+					case 'n':
+						stringBuilder.append('\n');
+						
+						break;
+					case 'r':
+						stringBuilder.append('\r');
+						
+						break;
+					case 't':
+						stringBuilder.append('\t');
+						
+						break;
+					case 'u':
+						if(this.index + 4 > this.string.length()) {
+							throw doCreateException("Illegal escape sequence");
+						}
+						
+						stringBuilder.append((char)(Integer.parseInt(this.string.substring(this.index, this.index + 4), 16)));
+						
+						this.index += 4;
+						
+						break;
+					default:
+						stringBuilder.append(escape);
+						
+						break;
+				}
+			} else {
+				stringBuilder.append(character);
+			}
+		}
+	}
+	
+	private char doNext() {
+		if(this.index >= this.string.length()) {
+			throw doCreateException("Unexpected end of input");
+		}
+		
+		return this.string.charAt(this.index++);
+	}
+	
+	private char doPeek() {
+		if(this.index >= this.string.length()) {
+			throw doCreateException("Unexpected end of input");
+		}
+		
+		return this.string.charAt(this.index);
+	}
+	
+	private void doExpect(final char character) {
+		if(doNext() != character) {
+			this.index--;
+			
+			throw doCreateException(String.format("Expected '%c'", Character.valueOf(character)));
+		}
+	}
+	
+	private void doSkipWhitespace() {
+		while(this.index < this.string.length() && Character.isWhitespace(this.string.charAt(this.index))) {
+			this.index++;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,208 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * A {@code KeyBenchmark} measures the public operations of {@link PrivateKey}, {@link PublicKey} and {@link Address}.
+ * <p>
+ * The derived representations of these classes are memoized by default, so repeated calls on the same instance would only measure a field read. Therefore {@link Memoization} is disabled for all benchmarks, except for those whose names end with {@code Memoized}, which measure the memoized path.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+public class KeyBenchmark {
+	private Address address;
+	private PrivateKey privateKey;
+	private PublicKey publicKey;
+	private String stringWIF;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Sets up the keys used by the benchmarks.
+	 * 
+	 * @param benchmarkParams the parameters of the current benchmark
+	 */
+	@Setup
+	public void setup(final BenchmarkParams benchmarkParams) {
+		Memoization.setEnabled(benchmarkParams.getBenchmark().endsWith("Memoized"));
+		
+		this.privateKey = new PrivateKey(new BigInteger(256, new Random(1L)).mod(PrivateKey.N));
+		this.publicKey = this.privateKey.toPublicKey();
+		this.address = this.publicKey.toAddress(true);
+		this.stringWIF = this.privateKey.toStringWIF(true);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Benchmarks {@link PrivateKey#parseStringWIF(String)}.
+	 * 
+	 * @return the parsed {@code PrivateKey}
+	 */
+	@Benchmark
+	public PrivateKey parseStringWIF() {
+		return PrivateKey.parseStringWIF(this.stringWIF);
+	}
+	
+	/**
+	 * Benchmarks {@link PublicKey#toAddress(boolean)} with compression.
+	 * 
+	 * @return the {@code Address}
+	 */
+	@Benchmark
+	public Address toAddressCompressed() {
+		return this.publicKey.toAddress(true);
+	}
+	
+	/**
+	 * Benchmarks {@link PublicKey#toAddress(boolean)} with compression, when the result is memoized.
+	 * 
+	 * @return the {@code Address}
+	 */
+	@Benchmark
+	public Address toAddressCompressedMemoized() {
+		return this.publicKey.toAddress(true);
+	}
+	
+	/**
+	 * Benchmarks {@link PublicKey#toAddress(boolean)} with compression on all available processors.
+	 * 
+	 * @return the {@code Address}
+	 */
+	@Benchmark
+	@Threads(Threads.MAX)
+	public Address toAddressCompressedMultiThreaded() {
+		return this.publicKey.toAddress(true);
+	}
+	
+	/**
+	 * Benchmarks {@link PublicKey#toAddress(boolean)} without compression.
+	 * 
+	 * @return the {@code Address}
+	 */
+	@Benchmark
+	public Address toAddressUncompressed() {
+		return this.publicKey.toAddress(false);
+	}
+	
+	/**
+	 * Benchmarks {@link PublicKey#toAddresses()}.
+	 * 
+	 * @return the {@code Addresses}
+	 */
+	@Benchmark
+	public Addresses toAddresses() {
+		return this.publicKey.toAddresses();
+	}
+	
+	/**
+	 * Benchmarks {@link PrivateKey#toPublicKey()}.
+	 * 
+	 * @return the {@code PublicKey}
+	 */
+	@Benchmark
+	public PublicKey toPublicKey() {
+		return this.privateKey.toPublicKey();
+	}
+	
+	/**
+	 * Benchmarks {@link PrivateKey#toPublicKey()}, when the result is memoized.
+	 * 
+	 * @return the {@code PublicKey}
+	 */
+	@Benchmark
+	public PublicKey toPublicKeyMemoized() {
+		return this.privateKey.toPublicKey();
+	}
+	
+	/**
+	 * Benchmarks {@link PrivateKey#toPublicKey()} on all available processors.
+	 * 
+	 * @return the {@code PublicKey}
+	 */
+	@Benchmark
+	@Threads(Threads.MAX)
+	public PublicKey toPublicKeyMultiThreaded() {
+		return this.privateKey.toPublicKey();
+	}
+	
+	/**
+	 * Benchmarks {@link Address#toStringBase58()}.
+	 * 
+	 * @return the {@code String} representation
+	 */
+	@Benchmark
+	public String toStringBase58() {
+		return this.address.toStringBase58();
+	}
+	
+	/**
+	 * Benchmarks {@link Address#toStringBase58()}, when the result is memoized.
+	 * 
+	 * @return the {@code String} representation
+	 */
+	@Benchmark
+	public String toStringBase58Memoized() {
+		return this.address.toStringBase58();
+	}
+	
+	/**
+	 * Benchmarks {@link PrivateKey#toStringWIF(boolean)}.
+	 * 
+	 * @return the {@code String} representation
+	 */
+	@Benchmark
+	public String toStringWIF() {
+		return this.privateKey.toStringWIF(true);
+	}
+	
+	/**
+	 * Benchmarks {@link PrivateKey#toStringWIF(boolean)}, when the result is memoized.
+	 * 
+	 * @return the {@code String} representation
+	 */
+	@Benchmark
+	public String toStringWIFMemoized() {
+		return this.privateKey.toStringWIF(true);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A {@code KeyGeneratorBenchmark} measures the number of private keys per second that {@link KeyGenerator} can generate.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+public class KeyGeneratorBenchmark {
+	private static final int COUNT = 1024;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final KeyGenerator keyGenerator = new KeyGenerator();
+	private final byte[] bytes = new byte[COUNT * 32];
+	private final long[] longs = new long[COUNT * 4];
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Benchmarks {@link KeyGenerator#next()}.
+	 * 
+	 * @return a new {@code PrivateKey}
+	 */
+	@Benchmark
+	public PrivateKey next() {
+		return this.keyGenerator.next();
+	}
+	
+	/**
+	 * Benchmarks {@link KeyGenerator#next()} on all available processors.
+	 * 
+	 * @return a new {@code PrivateKey}
+	 */
+	@Benchmark
+	@Threads(Threads.MAX)
+	public PrivateKey nextMultiThreaded() {
+		return this.keyGenerator.next();
+	}
+	
+	/**
+	 * Benchmarks {@link KeyGenerator#nextBytes(byte[], int, int)}.
+	 * <p>
+	 * The score is reported in private keys per second.
+	 * 
+	 * @return the {@code byte} array containing the private keys
+	 */
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public byte[] nextBytes() {
+		this.keyGenerator.nextBytes(this.bytes, 0, COUNT);
+		
+		return this.bytes;
+	}
+	
+	/**
+	 * Benchmarks {@link KeyGenerator#nextLongs(long[], int, int)}.
+	 * <p>
+	 * The score is reported in private keys per second.
+	 * 
+	 * @return the {@code long} array containing the private keys
+	 */
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public long[] nextLongs() {
+		this.keyGenerator.nextLongs(this.longs, 0, COUNT);
+		
+		return this.longs;
+	}
+	
+	/**
+	 * Benchmarks {@link PrivateKey#random()}, which uses the shared default {@code KeyGenerator}.
+	 * 
+	 * @return a new {@code PrivateKey}
+	 */
+	@Benchmark
+	public PrivateKey random() {
+		return PrivateKey.random();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,196 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@code KeyLoadGenerator} measures the throughput and latency of a {@link KeyServer}.
+ * <p>
+ * The usage is as follows:
+ * <pre>
+ * {@code
+ * KeyLoadGenerator [--host <host>] [--port <port>] [--unix <path>] [--connections <count>] [--window <count>] [--duration <seconds>] [--threads <count>]
+ * }
+ * </pre>
+ * Each connection is driven by its own thread, which repeatedly sends a pipelined window of derive requests using a {@link KeyClient} and waits for the responses. If neither {@code --port} nor {@code --unix} is given, an embedded {@code KeyServer} with {@code --threads} worker threads is started on an ephemeral port of the loopback address.
+ * <p>
+ * The number of requests per second and the percentiles of the latency of a window are printed when the run is done.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class KeyLoadGenerator {
+	private KeyLoadGenerator() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Called when this program is executed.
+	 * 
+	 * @param args the parameter arguments
+	 */
+	public static void main(final String[] args) {
+		String host = "127.0.0.1";
+		String unix = null;
+		
+		int connections = 4;
+		int duration = 10;
+		int port = -1;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int window = 256;
+		
+		try {
+			for(int i = 0; i < args.length; i++) {
+				switch(args[i]) {
+					case "--connections":
+						connections = Integer.parseInt(args[++i]);
+						
+						break;
+					case "--duration":
+						duration = Integer.parseInt(args[++i]);
+						
+						break;
+					case "--host":
+						host = args[++i];
+						
+						break;
+					case "--port":
+						port = Integer.parseInt(args[++i]);
+						
+						break;
+					case "--threads":
+						threads = Integer.parseInt(args[++i]);
+						
+						break;
+					case "--unix":
+						unix = args[++i];
+						
+						break;
+					case "--window":
+						window = Integer.parseInt(args[++i]);
+						
+						break;
+					default:
+						throw new IllegalArgumentException("Unknown argument: " + args[i]);
+				}
+			}
+			
+			if(connections < 1 || duration < 1 || window < 1) {
+				throw new IllegalArgumentException("The connections, duration and window must be positive");
+			}
+		} catch(final ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+			System.err.println("Usage: KeyLoadGenerator [--host <host>] [--port <port>] [--unix <path>] [--connections <count>] [--window <count>] [--duration <seconds>] [--threads <count>]");
+			System.exit(2);
+			
+			return;
+		}
+		
+		try {
+			final boolean isEmbedded = unix == null && port < 0;
+			
+			final KeyServer keyServer = isEmbedded ? new KeyServer(new InetSocketAddress(host, 0), threads) : null;
+			
+			final SocketAddress socketAddress = isEmbedded ? keyServer.getLocalAddress() : unix != null ? KeyProtocol.createUnixDomainSocketAddress(unix) : new InetSocketAddress(host, port);
+			
+			try {
+				doRun(socketAddress, connections, window, duration * 1000000000L);
+			} finally {
+				if(keyServer != null) {
+					keyServer.close();
+				}
+			}
+		} catch(final IOException e) {
+			System.err.println(e.getMessage());
+			System.exit(2);
+		} catch(final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static void doRun(final SocketAddress socketAddress, final int connections, final int window, final long duration) throws IOException, InterruptedException {
+		final AtomicReference<IOException> exception = new AtomicReference<>();
+		
+		final Histogram histogram = new Histogram();
+		
+		final LongAdder requests = new LongAdder();
+		
+		final List<Thread> threads = new ArrayList<>();
+		
+		final long deadline = System.nanoTime() + duration;
+		
+		for(int i = 0; i < connections; i++) {
+			final Thread thread = new Thread(() -> {
+				final byte[] scalars = new byte[window * 32];
+				final byte[] records = new byte[window * KeyFile.OUTPUT_RECORD_LENGTH];
+				
+				KeyGenerator.getDefault().nextBytes(scalars, 0, window);
+				
+				try(final KeyClient keyClient = new KeyClient(socketAddress)) {
+					while(System.nanoTime() < deadline) {
+						final long start = System.nanoTime();
+						
+						keyClient.derive(scalars, 0, window, records, 0);
+						
+						histogram.record(System.nanoTime() - start);
+						
+						requests.add(window);
+					}
+				} catch(final IOException e) {
+					exception.compareAndSet(null, e);
+				}
+			}, "KeyLoadGenerator-" + i);
+			
+			thread.start();
+			
+			threads.add(thread);
+		}
+		
+		final long start = System.nanoTime();
+		
+		for(final Thread thread : threads) {
+			thread.join();
+		}
+		
+		final long elapsed = System.nanoTime() - start;
+		
+		if(exception.get() != null) {
+			throw exception.get();
+		}
+		
+		System.out.printf("Address:       %s%n", socketAddress);
+		System.out.printf("Connections:   %d%n", Integer.valueOf(connections));
+		System.out.printf("Window:        %d%n", Integer.valueOf(window));
+		System.out.printf("Requests:      %d%n", Long.valueOf(requests.sum()));
+		System.out.printf("Requests/s:    %.1f%n", Double.valueOf(requests.sum() * 1.0e9D / elapsed));
+		System.out.printf("Window p50 us: %d%n", Long.valueOf(histogram.getValueAtPercentile(50.0D) / 1000L));
+		System.out.printf("Window p99 us: %d%n", Long.valueOf(histogram.getValueAtPercentile(99.0D) / 1000L));
+		System.out.printf("Window max us: %d%n", Long.valueOf(histogram.getMaximum() / 1000L));
+	}
+}
\ No newline at end of file
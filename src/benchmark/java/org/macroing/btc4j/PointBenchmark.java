@@ -0,0 +1,150 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A {@code PointBenchmark} measures the elliptic curve point arithmetic in {@link Point}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+public class PointBenchmark {
+	private static final int BATCH_SIZE = 64;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private BigInteger scalar;
+	private BigInteger[] xs;
+	private BigInteger[] ys;
+	private Point pointA;
+	private Point pointB;
+	private byte[] scalars;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Sets up the points and the scalar used by the benchmarks.
+	 */
+	@Setup
+	public void setup() {
+		final Random random = new Random(1L);
+		
+		this.scalar = new BigInteger(256, random).mod(PrivateKey.N);
+		this.pointA = Point.multiply(PrivateKey.POINT, new BigInteger(256, random).mod(PrivateKey.N));
+		this.pointB = Point.multiply(PrivateKey.POINT, new BigInteger(256, random).mod(PrivateKey.N));
+		this.scalars = new byte[BATCH_SIZE * 32];
+		this.xs = new BigInteger[BATCH_SIZE];
+		this.ys = new BigInteger[BATCH_SIZE];
+		
+		for(int i = 0; i < BATCH_SIZE; i++) {
+			Utilities.convertBigIntegerToByteArray(new BigInteger(256, random).mod(PrivateKey.N), this.scalars, i * 32, 32);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Benchmarks {@link Point#add(Point, Point)}.
+	 * 
+	 * @return the sum of two points
+	 */
+	@Benchmark
+	public Point add() {
+		return Point.add(this.pointA, this.pointB);
+	}
+	
+	/**
+	 * Benchmarks {@link Point#multiply(Point, BigInteger)} with an arbitrary point.
+	 * 
+	 * @return the product of a point and a scalar
+	 */
+	@Benchmark
+	public Point multiply() {
+		return Point.multiply(this.pointA, this.scalar);
+	}
+	
+	/**
+	 * Benchmarks {@link Point#multiply(Point, BigInteger)} with an arbitrary point on all available processors.
+	 * 
+	 * @return the product of a point and a scalar
+	 */
+	@Benchmark
+	@Threads(Threads.MAX)
+	public Point multiplyMultiThreaded() {
+		return Point.multiply(this.pointA, this.scalar);
+	}
+	
+	/**
+	 * Benchmarks {@link GeneratorTable#multiply(byte[], int, int, BigInteger[], BigInteger[])}, which shares a single inversion across the batch.
+	 * <p>
+	 * The score is reported in point multiplications per second.
+	 * 
+	 * @return the X-coordinates of the products
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public BigInteger[] multiplyGeneratorBatch() {
+		GeneratorTable.multiply(this.scalars, 0, BATCH_SIZE, this.xs, this.ys);
+		
+		return this.xs;
+	}
+	
+	/**
+	 * Benchmarks {@link GeneratorTable#multiply(BigInteger)}.
+	 * 
+	 * @return the product of the generator point and a scalar
+	 */
+	@Benchmark
+	public Point multiplyGenerator() {
+		return GeneratorTable.multiply(this.scalar);
+	}
+	
+	/**
+	 * Benchmarks {@link Point#multiplyByTwo(Point)}.
+	 * 
+	 * @return the double of a point
+	 */
+	@Benchmark
+	public Point multiplyByTwo() {
+		return Point.multiplyByTwo(this.pointA);
+	}
+}
\ No newline at end of file
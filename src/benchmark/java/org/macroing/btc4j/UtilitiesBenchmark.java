@@ -0,0 +1,145 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A {@code UtilitiesBenchmark} measures the hash functions and the Base58Check encoding in {@link Utilities}.
+ * <p>
+ * The input sizes are those seen in practice. A size of 20 corresponds to a HASH160, 32 to a private key or a SHA-256 digest, 33 to a compressed public key and 65 to an uncompressed public key.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+public class UtilitiesBenchmark {
+	/**
+	 * The size of the input in bytes.
+	 */
+	@Param({"20", "32", "33", "65"})
+	public int size;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private String string;
+	private byte[] bytes;
+	private byte[] result;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Sets up the input used by the benchmarks.
+	 */
+	@Setup
+	public void setup() {
+		this.bytes = new byte[this.size];
+		this.result = new byte[20];
+		
+		new Random(1L).nextBytes(this.bytes);
+		
+		this.string = Utilities.base58EncodeChecked(this.bytes);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Benchmarks {@link Utilities#base58DecodeChecked(String)}.
+	 * 
+	 * @return the decoded {@code byte} array
+	 */
+	@Benchmark
+	public byte[] base58DecodeChecked() {
+		return Utilities.base58DecodeChecked(this.string);
+	}
+	
+	/**
+	 * Benchmarks {@link Utilities#base58EncodeChecked(byte[])}.
+	 * 
+	 * @return the encoded {@code String}
+	 */
+	@Benchmark
+	public String base58EncodeChecked() {
+		return Utilities.base58EncodeChecked(this.bytes);
+	}
+	
+	/**
+	 * Benchmarks {@link Utilities#computeHash160(byte[], int, int, byte[], int)}, which does not allocate a result.
+	 * 
+	 * @return the {@code byte} array containing the HASH160
+	 */
+	@Benchmark
+	public byte[] computeHash160() {
+		Utilities.computeHash160(this.bytes, 0, this.bytes.length, this.result, 0);
+		
+		return this.result;
+	}
+	
+	/**
+	 * Benchmarks {@link Utilities#computeHash160(byte[], int, int, byte[], int)} on all available processors.
+	 * 
+	 * @return the {@code byte} array containing the HASH160
+	 */
+	@Benchmark
+	@Threads(Threads.MAX)
+	public byte[] computeHash160MultiThreaded() {
+		Utilities.computeHash160(this.bytes, 0, this.bytes.length, this.result, 0);
+		
+		return this.result;
+	}
+	
+	/**
+	 * Benchmarks {@link Utilities#computeHashUsingRIPEMD160(byte[])}.
+	 * 
+	 * @return the RIPEMD-160 digest
+	 */
+	@Benchmark
+	public byte[] computeHashUsingRIPEMD160() {
+		return Utilities.computeHashUsingRIPEMD160(this.bytes);
+	}
+	
+	/**
+	 * Benchmarks {@link Utilities#computeHashUsingSHA256(byte[])}.
+	 * 
+	 * @return the SHA-256 digest
+	 */
+	@Benchmark
+	public byte[] computeHashUsingSHA256() {
+		return Utilities.computeHashUsingSHA256(this.bytes);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+
+final class JFREventRecorder implements EventRecorder {
+	public JFREventRecorder() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@Override
+	public Object beginBase58Check(final int length) {
+		if(!FlightRecorder.isInitialized()) {
+			return null;
+		}
+		
+		final Base58CheckEvent base58CheckEvent = new Base58CheckEvent();
+		
+		if(!base58CheckEvent.isEnabled()) {
+			return null;
+		}
+		
+		base58CheckEvent.length = length;
+		base58CheckEvent.begin();
+		
+		return base58CheckEvent;
+	}
+	
+	@Override
+	public Object beginBatch(final String operation, final int size) {
+		if(!FlightRecorder.isInitialized()) {
+			return null;
+		}
+		
+		final BatchEvent batchEvent = new BatchEvent();
+		
+		if(!batchEvent.isEnabled()) {
+			return null;
+		}
+		
+		batchEvent.operation = operation;
+		batchEvent.size = size;
+		batchEvent.begin();
+		
+		return batchEvent;
+	}
+	
+	@Override
+	public Object beginHash160(final int length) {
+		if(!FlightRecorder.isInitialized()) {
+			return null;
+		}
+		
+		final Hash160Event hash160Event = new Hash160Event();
+		
+		if(!hash160Event.isEnabled()) {
+			return null;
+		}
+		
+		hash160Event.length = length;
+		hash160Event.begin();
+		
+		return hash160Event;
+	}
+	
+	@Override
+	public Object beginScalarMultiplication() {
+		if(!FlightRecorder.isInitialized()) {
+			return null;
+		}
+		
+		final ScalarMultiplicationEvent scalarMultiplicationEvent = new ScalarMultiplicationEvent();
+		
+		if(!scalarMultiplicationEvent.isEnabled()) {
+			return null;
+		}
+		
+		scalarMultiplicationEvent.begin();
+		
+		return scalarMultiplicationEvent;
+	}
+	
+	@Override
+	public void commit(final Object event) {
+		Event.class.cast(event).commit();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+/**
+ * An {@code AddressType} represents the type of an {@link Address}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public enum AddressType {
+	/**
+	 * The {@code AddressType} for Pay to Public Key Hash (P2PKH).
+	 * <p>
+	 * The address consists of the 20 byte HASH160 of a public key and is encoded using Base 58.
+	 */
+	P2PKH(20, 0x00, -1),
+	
+	/**
+	 * The {@code AddressType} for Pay to Script Hash (P2SH).
+	 * <p>
+	 * The address consists of the 20 byte HASH160 of a script and is encoded using Base 58. It is used for P2SH-wrapped SegWit addresses, such as P2SH-P2WPKH.
+	 */
+	P2SH(20, 0x05, -1),
+	
+	/**
+	 * The {@code AddressType} for Pay to Taproot (P2TR).
+	 * <p>
+	 * The address consists of a 32 byte witness program with witness version 1 and is encoded using Bech32m.
+	 */
+	P2TR(32, -1, 1),
+	
+	/**
+	 * The {@code AddressType} for Pay to Witness Public Key Hash (P2WPKH).
+	 * <p>
+	 * The address consists of the 20 byte HASH160 of a compressed public key with witness version 0 and is encoded using Bech32.
+	 */
+	P2WPKH(20, -1, 0),
+	
+	/**
+	 * The {@code AddressType} for Pay to Witness Script Hash (P2WSH).
+	 * <p>
+	 * The address consists of the 32 byte SHA-256 hash of a script with witness version 0 and is encoded using Bech32.
+	 */
+	P2WSH(32, -1, 0);
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final int length;
+	private final int version;
+	private final int witnessVersion;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private AddressType(final int length, final int version, final int witnessVersion) {
+		this.length = length;
+		this.version = version;
+		this.witnessVersion = witnessVersion;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns {@code true} if, and only if, this {@code AddressType} is a SegWit address type, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, this {@code AddressType} is a SegWit address type, {@code false} otherwise
+	 */
+	public boolean isSegWit() {
+		return this.witnessVersion >= 0;
+	}
+	
+	/**
+	 * Returns the length of the {@code byte} array representation of an {@link Address} of this {@code AddressType}.
+	 * 
+	 * @return the length of the {@code byte} array representation of an {@code Address} of this {@code AddressType}
+	 */
+	public int getLength() {
+		return this.length;
+	}
+	
+	/**
+	 * Returns the Mainnet version byte that is used when encoding an {@link Address} of this {@code AddressType} using Base 58, or {@code -1} if it is a SegWit address type.
+	 * 
+	 * @return the Mainnet version byte that is used when encoding an {@code Address} of this {@code AddressType} using Base 58, or {@code -1} if it is a SegWit address type
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+	
+	/**
+	 * Returns the witness version of this {@code AddressType}, or {@code -1} if it is not a SegWit address type.
+	 * 
+	 * @return the witness version of this {@code AddressType}, or {@code -1} if it is not a SegWit address type
+	 */
+	public int getWitnessVersion() {
+		return this.witnessVersion;
+	}
+}
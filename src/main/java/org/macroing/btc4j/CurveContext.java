@@ -0,0 +1,337 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class CurveContext {
+	public static final int WINDOW_BITS = 4;
+	public static final int WINDOW_SIZE = (1 << WINDOW_BITS) - 1;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final BigInteger SECP256K1_P = new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16);
+	private static final BigInteger SECP256K1_A = new BigInteger("0");
+	private static final BigInteger SECP256K1_B = new BigInteger("7");
+	private static final BigInteger SECP256K1_X = new BigInteger("79BE667EF9DCBBAC55A06295CE870B07029BFCDB2DCE28D959F2815B16F81798", 16);
+	private static final BigInteger SECP256K1_Y = new BigInteger("483ADA7726A3C4655DA4FBFC0E1108A8FD17B448A68554199C47D08FFB10D4B8", 16);
+	private static final BigInteger SECP256K1_N = new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141", 16);
+	private static final Map<Curve, CurveContext> CONTEXTS = new ConcurrentHashMap<>();
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static final CurveContext SECP256K1 = doRegister(new CurveContext(new Curve(SECP256K1_P, SECP256K1_A, SECP256K1_B), SECP256K1_X, SECP256K1_Y, SECP256K1_N, true));
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final BigInteger n;
+	private final BigInteger p;
+	private final BigInteger squareRootExponent;
+	private final Curve curve;
+	private final Point generator;
+	private final SafeGCD engineN;
+	private final SafeGCD engineP;
+	private final boolean isAZero;
+	private final boolean isSpecialized;
+	private volatile PrecomputedTable table;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private CurveContext(final Curve curve, final BigInteger x, final BigInteger y, final BigInteger n, final boolean isSpecialized) {
+		this.n = n;
+		this.p = curve.getP();
+		this.squareRootExponent = this.p.testBit(0) && this.p.testBit(1) ? this.p.add(BigInteger.ONE).shiftRight(2) : null;
+		this.curve = curve;
+		this.generator = x != null && y != null ? new Point(curve, x, y) : null;
+		this.engineN = n != null ? doCreateEngine(n) : null;
+		this.engineP = doCreateEngine(this.p);
+		this.isAZero = curve.getA().signum() == 0;
+		this.isSpecialized = isSpecialized;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public PrecomputedTable computeTable() {
+		final int windowCount = getWindowCount();
+		
+		final BigInteger[] x = new BigInteger[windowCount * WINDOW_SIZE];
+		final BigInteger[] y = new BigInteger[windowCount * WINDOW_SIZE];
+		
+		Point base = this.generator;
+		
+		for(int window = 0; window < windowCount; window++) {
+			Point point = base;
+			
+			for(int index = 0; index < WINDOW_SIZE; index++) {
+				x[window * WINDOW_SIZE + index] = point.getX();
+				y[window * WINDOW_SIZE + index] = point.getY();
+				
+				point = Point.add(point, base);
+			}
+			
+			base = point;
+		}
+		
+		return new PrecomputedTable(x, y);
+	}
+	
+	public BigInteger computeY(final BigInteger x, final boolean isOdd) {
+		final BigInteger ySquared = computeYSquared(x);
+		
+		if(jacobi(ySquared) < 0) {
+			return null;
+		}
+		
+		final BigInteger y = this.squareRootExponent != null ? ySquared.modPow(this.squareRootExponent, this.p) : doSquareRoot(ySquared);
+		
+		return y.testBit(0) == isOdd || y.signum() == 0 ? y : this.p.subtract(y);
+	}
+	
+	public BigInteger computeYSquared(final BigInteger x) {
+		final BigInteger xCubed = x.multiply(x).mod(this.p).multiply(x);
+		
+		return (this.isAZero ? xCubed : xCubed.add(this.curve.getA().multiply(x))).add(this.curve.getB()).mod(this.p);
+	}
+	
+	public BigInteger getN() {
+		return this.n;
+	}
+	
+	public BigInteger getP() {
+		return this.p;
+	}
+	
+	public BigInteger invert(final BigInteger value) {
+		return this.engineP != null ? this.engineP.invert(value) : value.modInverse(this.p);
+	}
+	
+	public BigInteger invertScalar(final BigInteger value) {
+		return this.engineN != null ? this.engineN.invert(value) : value.modInverse(doRequireGenerator().n);
+	}
+	
+	public Curve getCurve() {
+		return this.curve;
+	}
+	
+	public Point getGenerator() {
+		return this.generator;
+	}
+	
+	public PrecomputedTable getTable() {
+		PrecomputedTable table = this.table;
+		
+		if(table == null) {
+			synchronized(this) {
+				table = this.table;
+				
+				if(table == null) {
+					table = this.isSpecialized ? PrecomputedTable.read(this, PrecomputedTable.SECP256K1) : null;
+					table = table != null ? table : computeTable();
+					
+					this.table = table;
+				}
+			}
+		}
+		
+		return table;
+	}
+	
+	public Point multiply(final BigInteger scalar) {
+		final BigInteger value = scalar.mod(doRequireGenerator().n);
+		
+		if(value.signum() == 0) {
+			return Point.INFINITY;
+		}
+		
+		if(this.isSpecialized) {
+			return GeneratorTable.multiply(value);
+		}
+		
+		final PrecomputedTable table = getTable();
+		
+		final PointAccumulator pointAccumulator = new PointAccumulator(this);
+		
+		for(int window = 0; window * WINDOW_BITS < value.bitLength(); window++) {
+			int index = 0;
+			
+			for(int bit = WINDOW_BITS - 1; bit >= 0; bit--) {
+				index = (index << 1) | (value.testBit(window * WINDOW_BITS + bit) ? 1 : 0);
+			}
+			
+			if(index != 0) {
+				pointAccumulator.add(table.getX(window * WINDOW_SIZE + index - 1), table.getY(window * WINDOW_SIZE + index - 1));
+			}
+		}
+		
+		return pointAccumulator.toPoint();
+	}
+	
+	public boolean isAZero() {
+		return this.isAZero;
+	}
+	
+	public boolean isQuadraticResidue(final BigInteger value) {
+		return jacobi(value) == 1;
+	}
+	
+	public boolean isSpecialized() {
+		return this.isSpecialized;
+	}
+	
+	public int getWindowCount() {
+		return (doRequireGenerator().n.bitLength() + WINDOW_BITS - 1) / WINDOW_BITS;
+	}
+	
+	public int jacobi(final BigInteger value) {
+		if(this.engineP != null) {
+			return this.engineP.jacobi(value);
+		}
+		
+		final BigInteger reduced = value.mod(this.p);
+		
+		if(reduced.signum() == 0) {
+			return 0;
+		}
+		
+		return reduced.modPow(this.p.shiftRight(1), this.p).equals(BigInteger.ONE) ? 1 : -1;
+	}
+	
+	public void invertScalar(final long[] limbs) {
+		if(this.engineN == null) {
+			throw new IllegalStateException("No limb engine is available for the order of the curve");
+		}
+		
+		this.engineN.invert(limbs);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static CurveContext get(final Curve curve) {
+		if(curve == SECP256K1.curve) {
+			return SECP256K1;
+		}
+		
+		final CurveContext curveContext = CONTEXTS.get(Objects.requireNonNull(curve, "curve == null"));
+		
+		if(curveContext != null) {
+			return curveContext;
+		}
+		
+		return CONTEXTS.computeIfAbsent(curve, key -> new CurveContext(key, null, null, null, false));
+	}
+	
+	public static CurveContext register(final Curve curve, final BigInteger x, final BigInteger y, final BigInteger n) {
+		Objects.requireNonNull(curve, "curve == null");
+		Objects.requireNonNull(x, "x == null");
+		Objects.requireNonNull(y, "y == null");
+		Objects.requireNonNull(n, "n == null");
+		
+		if(n.signum() <= 0) {
+			throw new IllegalArgumentException(String.format("The order %s is not positive", n.toString(16)));
+		}
+		
+		final CurveContext curveContext = doRegister(new CurveContext(curve, x, y, n, false));
+		
+		if(!curveContext.generator.getX().equals(x) || !curveContext.generator.getY().equals(y) || !curveContext.n.equals(n)) {
+			throw new IllegalArgumentException("A different generator is already registered for the curve");
+		}
+		
+		return curveContext;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private BigInteger doSquareRoot(final BigInteger value) {
+		final BigInteger p = this.p;
+		final BigInteger pMinusOne = p.subtract(BigInteger.ONE);
+		
+		if(value.signum() == 0) {
+			return value;
+		}
+		
+		final int s = pMinusOne.getLowestSetBit();
+		
+		final BigInteger q = pMinusOne.shiftRight(s);
+		
+		BigInteger z = BigInteger.valueOf(2L);
+		
+		while(jacobi(z) != -1) {
+			z = z.add(BigInteger.ONE);
+		}
+		
+		BigInteger c = z.modPow(q, p);
+		BigInteger r = value.modPow(q.add(BigInteger.ONE).shiftRight(1), p);
+		BigInteger t = value.modPow(q, p);
+		
+		int m = s;
+		
+		while(!t.equals(BigInteger.ONE)) {
+			int i = 0;
+			
+			for(BigInteger u = t; !u.equals(BigInteger.ONE); u = u.multiply(u).mod(p)) {
+				i++;
+			}
+			
+			final BigInteger b = c.modPow(BigInteger.ONE.shiftLeft(m - i - 1), p);
+			
+			c = b.multiply(b).mod(p);
+			r = r.multiply(b).mod(p);
+			t = t.multiply(c).mod(p);
+			
+			m = i;
+		}
+		
+		return r;
+	}
+	
+	private CurveContext doRequireGenerator() {
+		if(this.generator == null) {
+			throw new IllegalStateException("No generator is registered for the curve");
+		}
+		
+		return this;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static CurveContext doRegister(final CurveContext curveContext) {
+		while(true) {
+			final CurveContext oldCurveContext = CONTEXTS.putIfAbsent(curveContext.curve, curveContext);
+			
+			if(oldCurveContext == null) {
+				return curveContext;
+			}
+			
+			if(oldCurveContext.generator != null) {
+				return oldCurveContext;
+			}
+			
+			if(CONTEXTS.replace(curveContext.curve, oldCurveContext, curveContext)) {
+				return curveContext;
+			}
+		}
+	}
+	
+	private static SafeGCD doCreateEngine(final BigInteger modulus) {
+		return modulus.testBit(0) && modulus.bitLength() > 1 && modulus.bitLength() <= 256 ? new SafeGCD(modulus) : null;
+	}
+}
\ No newline at end of file
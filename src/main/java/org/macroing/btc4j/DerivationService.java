@@ -0,0 +1,414 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A {@code DerivationService} derives public keys and addresses asynchronously, by collecting concurrent requests into batches.
+ * <p>
+ * Each request returns a {@code CompletableFuture} immediately. The requests are collected by a dispatcher thread until either the batch size is reached or the maximum delay has passed since the first request of the batch arrived. The batch is then processed by an {@code Executor}, where the public keys of all private keys in the batch are derived together, sharing a single field inversion. Under concurrent load this gives a higher total throughput than calling {@link PrivateKey#toPublicKey()} for each private key, at the cost of a latency of at most the maximum delay plus the time it takes to process a batch.
+ * <p>
+ * Unless an {@code Executor} is given, the batches are processed by virtual threads if they are available in the running Java version, and by a fixed pool of daemon threads, one per available processor, otherwise. This {@code Executor} is shut down by {@link #close()}.
+ * <p>
+ * Private keys that are not in the range [1, n - 1], where n is the order of the generator point of secp256k1, are derived one by one, in the same way as {@code PrivateKey.toPublicKey()}.
+ * <p>
+ * If the dispatcher thread is interrupted, the batch that is being collected is still processed, but the requests that have not been collected yet fail with an {@code IllegalStateException} and this {@code DerivationService} instance is closed.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class DerivationService implements AutoCloseable {
+	private static final Request<?> POISON = new Request<>(null, null);
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final BlockingQueue<Request<?>> requests;
+	private final Executor executor;
+	private final Thread dispatcher;
+	private final boolean isOwningExecutor;
+	private final int batchSize;
+	private final long maximumDelay;
+	private boolean isClosed;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code DerivationService} instance.
+	 * <p>
+	 * Calling this constructor is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * new DerivationService(256, 1L, TimeUnit.MILLISECONDS);
+	 * }
+	 * </pre>
+	 */
+	public DerivationService() {
+		this(256, 1L, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * Constructs a new {@code DerivationService} instance.
+	 * <p>
+	 * If {@code timeUnit} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code batchSize} is less than {@code 1} or {@code maximumDelay} is less than {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param batchSize the maximum number of requests in a batch
+	 * @param maximumDelay the maximum time to wait for more requests after the first request of a batch has arrived
+	 * @param timeUnit the {@code TimeUnit} of {@code maximumDelay}
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code batchSize} is less than {@code 1} or {@code maximumDelay} is less than {@code 0}
+	 * @throws NullPointerException thrown if, and only if, {@code timeUnit} is {@code null}
+	 */
+	public DerivationService(final int batchSize, final long maximumDelay, final TimeUnit timeUnit) {
+		this(batchSize, maximumDelay, timeUnit, doCreateExecutorService(), true);
+	}
+	
+	/**
+	 * Constructs a new {@code DerivationService} instance.
+	 * <p>
+	 * If either {@code timeUnit} or {@code executor} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code batchSize} is less than {@code 1} or {@code maximumDelay} is less than {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The batches are processed by {@code executor}, which is not shut down by {@link #close()}.
+	 * 
+	 * @param batchSize the maximum number of requests in a batch
+	 * @param maximumDelay the maximum time to wait for more requests after the first request of a batch has arrived
+	 * @param timeUnit the {@code TimeUnit} of {@code maximumDelay}
+	 * @param executor the {@code Executor} to process the batches with
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code batchSize} is less than {@code 1} or {@code maximumDelay} is less than {@code 0}
+	 * @throws NullPointerException thrown if, and only if, either {@code timeUnit} or {@code executor} are {@code null}
+	 */
+	public DerivationService(final int batchSize, final long maximumDelay, final TimeUnit timeUnit, final Executor executor) {
+		this(batchSize, maximumDelay, timeUnit, Objects.requireNonNull(executor, "executor == null"), false);
+	}
+	
+	private DerivationService(final int batchSize, final long maximumDelay, final TimeUnit timeUnit, final Executor executor, final boolean isOwningExecutor) {
+		if(batchSize < 1) {
+			throw new IllegalArgumentException(String.format("batchSize < 1: batchSize = %d", Integer.valueOf(batchSize)));
+		}
+		
+		if(maximumDelay < 0L) {
+			throw new IllegalArgumentException(String.format("maximumDelay < 0: maximumDelay = %d", Long.valueOf(maximumDelay)));
+		}
+		
+		this.requests = new LinkedBlockingQueue<>();
+		this.executor = executor;
+		this.isOwningExecutor = isOwningExecutor;
+		this.batchSize = batchSize;
+		this.maximumDelay = Objects.requireNonNull(timeUnit, "timeUnit == null").toNanos(maximumDelay);
+		this.dispatcher = new Thread(this::doDispatch, "DerivationService-Dispatcher");
+		this.dispatcher.setDaemon(true);
+		this.dispatcher.start();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@code CompletableFuture} that is completed with the {@link Address} associated with {@code privateKey}.
+	 * <p>
+	 * If {@code privateKey} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If this {@code DerivationService} instance is closed, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param privateKey a {@link PrivateKey} instance
+	 * @param isCompressed {@code true} if, and only if, compression should be used, {@code false} otherwise
+	 * @return a {@code CompletableFuture} that is completed with the {@code Address} associated with {@code privateKey}
+	 * @throws IllegalStateException thrown if, and only if, this {@code DerivationService} instance is closed
+	 * @throws NullPointerException thrown if, and only if, {@code privateKey} is {@code null}
+	 */
+	public CompletableFuture<Address> toAddress(final PrivateKey privateKey, final boolean isCompressed) {
+		return doSubmit(privateKey, publicKey -> publicKey.toAddress(isCompressed));
+	}
+	
+	/**
+	 * Returns a {@code CompletableFuture} that is completed with the {@link Addresses} associated with {@code privateKey}.
+	 * <p>
+	 * If {@code privateKey} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If this {@code DerivationService} instance is closed, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param privateKey a {@link PrivateKey} instance
+	 * @return a {@code CompletableFuture} that is completed with the {@code Addresses} associated with {@code privateKey}
+	 * @throws IllegalStateException thrown if, and only if, this {@code DerivationService} instance is closed
+	 * @throws NullPointerException thrown if, and only if, {@code privateKey} is {@code null}
+	 */
+	public CompletableFuture<Addresses> toAddresses(final PrivateKey privateKey) {
+		return doSubmit(privateKey, PublicKey::toAddresses);
+	}
+	
+	/**
+	 * Returns a {@code CompletableFuture} that is completed with the {@link PublicKey} associated with {@code privateKey}.
+	 * <p>
+	 * If {@code privateKey} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If this {@code DerivationService} instance is closed, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @param privateKey a {@link PrivateKey} instance
+	 * @return a {@code CompletableFuture} that is completed with the {@code PublicKey} associated with {@code privateKey}
+	 * @throws IllegalStateException thrown if, and only if, this {@code DerivationService} instance is closed
+	 * @throws NullPointerException thrown if, and only if, {@code privateKey} is {@code null}
+	 */
+	public CompletableFuture<PublicKey> toPublicKey(final PrivateKey privateKey) {
+		return doSubmit(privateKey, Function.identity());
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, this {@code DerivationService} instance is closed, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, this {@code DerivationService} instance is closed, {@code false} otherwise
+	 */
+	public synchronized boolean isClosed() {
+		return this.isClosed;
+	}
+	
+	/**
+	 * Closes this {@code DerivationService} instance.
+	 * <p>
+	 * No new requests are accepted. The requests that have already been made are processed before this method returns. If the {@code Executor} was created by this {@code DerivationService} instance, it is shut down.
+	 * <p>
+	 * If this {@code DerivationService} instance is already closed, nothing happens.
+	 */
+	@Override
+	public void close() {
+		synchronized(this) {
+			if(this.isClosed) {
+				return;
+			}
+			
+			this.isClosed = true;
+			
+			this.requests.add(POISON);
+		}
+		
+		try {
+			this.dispatcher.join();
+			
+			if(this.isOwningExecutor) {
+				final ExecutorService executorService = ExecutorService.class.cast(this.executor);
+				
+				executorService.shutdown();
+				executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			}
+		} catch(final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private <T> CompletableFuture<T> doSubmit(final PrivateKey privateKey, final Function<PublicKey, T> function) {
+		final Request<T> request = new Request<>(Objects.requireNonNull(privateKey, "privateKey == null"), function);
+		
+		synchronized(this) {
+			if(this.isClosed) {
+				throw new IllegalStateException("The DerivationService is closed");
+			}
+			
+			this.requests.add(request);
+		}
+		
+		return request.future;
+	}
+	
+	private void doDispatch() {
+		final List<Request<?>> batch = new ArrayList<>();
+		
+		boolean isInterrupted = false;
+		boolean isRunning = true;
+		
+		while(isRunning) {
+			try {
+				Request<?> request = this.requests.take();
+				
+				final long deadline = System.nanoTime() + this.maximumDelay;
+				
+				while(request != null && request != POISON) {
+					batch.add(request);
+					
+					if(batch.size() >= this.batchSize) {
+						break;
+					}
+					
+					final long remaining = deadline - System.nanoTime();
+					
+					request = remaining > 0L ? this.requests.poll(remaining, TimeUnit.NANOSECONDS) : this.requests.poll();
+				}
+				
+				isRunning = request != POISON;
+			} catch(final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				
+				isInterrupted = true;
+				isRunning = false;
+			}
+			
+			if(!batch.isEmpty()) {
+				doExecute(new ArrayList<>(batch));
+				
+				batch.clear();
+			}
+		}
+		
+		if(isInterrupted) {
+			doAbort();
+		}
+	}
+	
+	private void doAbort() {
+		synchronized(this) {
+			this.isClosed = true;
+		}
+		
+		final IllegalStateException e = new IllegalStateException("The DerivationService was interrupted");
+		
+		for(Request<?> request = this.requests.poll(); request != null; request = this.requests.poll()) {
+			if(request != POISON) {
+				request.future.completeExceptionally(e);
+			}
+		}
+		
+		if(this.isOwningExecutor) {
+			ExecutorService.class.cast(this.executor).shutdown();
+		}
+	}
+	
+	private void doExecute(final List<Request<?>> batch) {
+		try {
+			this.executor.execute(() -> doProcess(batch));
+		} catch(final RejectedExecutionException e) {
+			for(final Request<?> request : batch) {
+				request.future.completeExceptionally(e);
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static ExecutorService doCreateExecutorService() {
+		try {
+			return ExecutorService.class.cast(Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+		} catch(final ReflectiveOperationException e) {
+			return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+				final Thread thread = new Thread(runnable, "DerivationService-Worker");
+				
+				thread.setDaemon(true);
+				
+				return thread;
+			});
+		}
+	}
+	
+	private static void doProcess(final List<Request<?>> batch) {
+		final int count = batch.size();
+		
+		final BigInteger[] xs = new BigInteger[count];
+		final BigInteger[] ys = new BigInteger[count];
+		
+		final byte[] scalars = new byte[count * 32];
+		
+		final boolean[] isValid = new boolean[count];
+		
+		final Object event = Events.beginBatch("DerivationService.derive", count);
+		
+		try {
+			for(int i = 0; i < count; i++) {
+				batch.get(i).privateKey.writeTo(scalars, i * 32);
+				
+				isValid[i] = Scalar.isInRange(scalars, i * 32);
+				
+				if(!isValid[i]) {
+					Arrays.fill(scalars, i * 32, i * 32 + 32, (byte)(0));
+				}
+			}
+			
+			GeneratorTable.multiply(scalars, 0, count, xs, ys);
+		} catch(final RuntimeException e) {
+			for(final Request<?> request : batch) {
+				request.future.completeExceptionally(e);
+			}
+			
+			return;
+		} finally {
+			Arrays.fill(scalars, (byte)(0));
+			
+			Events.commit(event);
+		}
+		
+		for(int i = 0; i < count; i++) {
+			final Request<?> request = batch.get(i);
+			
+			if(isValid[i]) {
+				request.complete(new PublicKey(xs[i], ys[i]));
+			} else {
+				request.complete();
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Request<T> {
+		private final CompletableFuture<T> future;
+		private final Function<PublicKey, T> function;
+		private final PrivateKey privateKey;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Request(final PrivateKey privateKey, final Function<PublicKey, T> function) {
+			this.future = new CompletableFuture<>();
+			this.function = function;
+			this.privateKey = privateKey;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public void complete() {
+			try {
+				this.future.complete(this.function.apply(this.privateKey.toPublicKey()));
+			} catch(final RuntimeException e) {
+				this.future.completeExceptionally(e);
+			}
+		}
+		
+		public void complete(final PublicKey publicKey) {
+			try {
+				this.future.complete(this.function.apply(publicKey));
+			} catch(final RuntimeException e) {
+				this.future.completeExceptionally(e);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,541 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An {@code ExtendedPrivateKey} represents an extended private key for Bitcoin, as specified by BIP-32.
+ * <p>
+ * An extended private key consists of a {@link PrivateKey} and a chain code, and can be used to derive child keys in a hierarchical deterministic wallet.
+ * <p>
+ * Intermediate nodes that are derived by {@link #derive(String)} are kept in a bounded LRU cache that belongs to the {@code ExtendedPrivateKey} instance the path is followed from, so deriving many children of the same parent, such as {@code m/44'/0'/0'/0/i} for many {@code i}, only has to derive the parent once. The cache holds private key material. It is released together with that instance and can be cleared earlier using {@link #clearCache()}.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class ExtendedPrivateKey {
+	/**
+	 * The bit of a child index that marks it as hardened.
+	 */
+	public static final int HARDENED = DerivationPath.HARDENED;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final byte[] BITCOIN_SEED = "Bitcoin seed".getBytes(StandardCharsets.US_ASCII);
+	private static final int CACHE_CAPACITY = 256;
+	private static final int MAIN_NET_VERSION = 0x0488ADE4;
+	private static final int TEST_NET_VERSION = 0x04358394;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final PrivateKey privateKey;
+	private volatile LRUCache<DerivationPath, ExtendedPrivateKey> cache;
+	private volatile PublicKey publicKey;
+	private final boolean isTestNet;
+	private final byte[] chainCode;
+	private final int childNumber;
+	private final int depth;
+	private final int parentFingerprint;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code ExtendedPrivateKey} instance.
+	 * <p>
+	 * If either {@code privateKey} or {@code chainCode} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code privateKey} is not in the range [1, n - 1], {@code chainCode.length} is not {@code 32} or {@code depth} is not in the range [0, 255], an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * Modifications to {@code chainCode} will not affect this {@code ExtendedPrivateKey} instance.
+	 * 
+	 * @param privateKey the {@link PrivateKey} instance
+	 * @param chainCode the chain code
+	 * @param depth the depth, where {@code 0} denotes the master key
+	 * @param parentFingerprint the fingerprint of the parent key, or {@code 0} for the master key
+	 * @param childNumber the child number, where hardened child numbers have the bit {@link #HARDENED} set
+	 * @param isTestNet {@code true} if, and only if, Testnet should be used, {@code false} otherwise
+	 * @throws IllegalArgumentException thrown if, and only if, {@code privateKey} is not in the range [1, n - 1], {@code chainCode.length} is not {@code 32} or {@code depth} is not in the range [0, 255]
+	 * @throws NullPointerException thrown if, and only if, either {@code privateKey} or {@code chainCode} are {@code null}
+	 */
+	public ExtendedPrivateKey(final PrivateKey privateKey, final byte[] chainCode, final int depth, final int parentFingerprint, final int childNumber, final boolean isTestNet) {
+		this.privateKey = doRequireValid(Objects.requireNonNull(privateKey, "privateKey == null"));
+		this.chainCode = DerivationPath.requireChainCode(Objects.requireNonNull(chainCode, "chainCode == null").clone());
+		this.depth = DerivationPath.requireDepth(depth);
+		this.parentFingerprint = parentFingerprint;
+		this.childNumber = childNumber;
+		this.isTestNet = isTestNet;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the child {@code ExtendedPrivateKey} instance with the child index {@code index}.
+	 * <p>
+	 * If the bit {@link #HARDENED} is set in {@code index}, hardened derivation is used.
+	 * <p>
+	 * If the child key is invalid, which happens with a probability lower than 1 in 2<sup>127</sup>, an {@code IllegalArgumentException} will be thrown. In that case the next child index should be used.
+	 * 
+	 * @param index the child index
+	 * @return the child {@code ExtendedPrivateKey} instance with the child index {@code index}
+	 * @throws IllegalArgumentException thrown if, and only if, the child key is invalid
+	 */
+	public ExtendedPrivateKey deriveChild(final int index) {
+		return doDeriveChild(index, doCreateData(index), getFingerprint());
+	}
+	
+	/**
+	 * Returns the {@code ExtendedPrivateKey} instance that is found by following {@code path} from this {@code ExtendedPrivateKey} instance.
+	 * <p>
+	 * If {@code path} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code path} is invalid or a child key along the path is invalid, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The path consists of the letter {@code m}, followed by zero or more child indices separated by {@code /}. A child index followed by {@code '}, {@code h} or {@code H} is hardened. An example is {@code m/44'/0'/0'/0/0}.
+	 * <p>
+	 * The intermediate nodes along the path are cached, so deriving a sibling of a previously derived key only requires a single child derivation.
+	 * 
+	 * @param path the path to follow
+	 * @return the {@code ExtendedPrivateKey} instance that is found by following {@code path} from this {@code ExtendedPrivateKey} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code path} is invalid or a child key along the path is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code path} is {@code null}
+	 */
+	public ExtendedPrivateKey derive(final String path) {
+		final int[] indices = DerivationPath.parse(path);
+		
+		return indices.length == 0 ? this : doDeriveCached(indices, indices.length - 1).deriveChild(indices[indices.length - 1]);
+	}
+	
+	/**
+	 * Returns the {@code ExtendedPrivateKey} instance that represents the public part of this {@code ExtendedPrivateKey} instance.
+	 * 
+	 * @return the {@code ExtendedPrivateKey} instance that represents the public part of this {@code ExtendedPrivateKey} instance
+	 */
+	public ExtendedPublicKey toExtendedPublicKey() {
+		return new ExtendedPublicKey(getPublicKey(), this.chainCode, this.depth, this.parentFingerprint, this.childNumber, this.isTestNet);
+	}
+	
+	/**
+	 * Returns the {@link PrivateKey} instance associated with this {@code ExtendedPrivateKey} instance.
+	 * 
+	 * @return the {@code PrivateKey} instance associated with this {@code ExtendedPrivateKey} instance
+	 */
+	public PrivateKey getPrivateKey() {
+		return this.privateKey;
+	}
+	
+	/**
+	 * Returns the {@link PublicKey} instance associated with this {@code ExtendedPrivateKey} instance.
+	 * <p>
+	 * The {@code PublicKey} instance is computed the first time this method is called.
+	 * 
+	 * @return the {@code PublicKey} instance associated with this {@code ExtendedPrivateKey} instance
+	 */
+	public PublicKey getPublicKey() {
+		PublicKey publicKey = this.publicKey;
+		
+		if(publicKey == null) {
+			this.publicKey = publicKey = this.privateKey.toPublicKey();
+		}
+		
+		return publicKey;
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code ExtendedPrivateKey} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code ExtendedPrivateKey} instance
+	 */
+	@Override
+	public String toString() {
+		return toStringBase58();
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code ExtendedPrivateKey} instance using Base 58.
+	 * <p>
+	 * The returned {@code String} starts with {@code xprv} for Mainnet and {@code tprv} for Testnet.
+	 * 
+	 * @return a {@code String} representation of this {@code ExtendedPrivateKey} instance using Base 58
+	 */
+	public String toStringBase58() {
+		final byte[] bytes = new byte[78];
+		
+		Utilities.convertIntToByteArray(bytes, 0, this.isTestNet ? TEST_NET_VERSION : MAIN_NET_VERSION);
+		
+		bytes[4] = (byte)(this.depth);
+		
+		Utilities.convertIntToByteArray(bytes, 5, this.parentFingerprint);
+		Utilities.convertIntToByteArray(bytes, 9, this.childNumber);
+		
+		System.arraycopy(this.chainCode, 0, bytes, 13, 32);
+		
+		this.privateKey.writeTo(bytes, 46);
+		
+		final String string = Utilities.base58EncodeChecked(bytes);
+		
+		Arrays.fill(bytes, (byte)(0));
+		
+		return string;
+	}
+	
+	/**
+	 * Clears the cache of intermediate nodes that are derived from this {@code ExtendedPrivateKey} instance.
+	 */
+	public void clearCache() {
+		final LRUCache<DerivationPath, ExtendedPrivateKey> cache = this.cache;
+		
+		if(cache != null) {
+			cache.clear();
+		}
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code ExtendedPrivateKey} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code ExtendedPrivateKey}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code ExtendedPrivateKey} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code ExtendedPrivateKey}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof ExtendedPrivateKey)) {
+			return false;
+		} else if(!Objects.equals(this.privateKey, ExtendedPrivateKey.class.cast(object).privateKey)) {
+			return false;
+		} else if(this.isTestNet != ExtendedPrivateKey.class.cast(object).isTestNet) {
+			return false;
+		} else if(!Arrays.equals(this.chainCode, ExtendedPrivateKey.class.cast(object).chainCode)) {
+			return false;
+		} else if(this.childNumber != ExtendedPrivateKey.class.cast(object).childNumber) {
+			return false;
+		} else if(this.depth != ExtendedPrivateKey.class.cast(object).depth) {
+			return false;
+		} else if(this.parentFingerprint != ExtendedPrivateKey.class.cast(object).parentFingerprint) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, this {@code ExtendedPrivateKey} instance is for Testnet, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, this {@code ExtendedPrivateKey} instance is for Testnet, {@code false} otherwise
+	 */
+	public boolean isTestNet() {
+		return this.isTestNet;
+	}
+	
+	/**
+	 * Returns the chain code associated with this {@code ExtendedPrivateKey} instance.
+	 * <p>
+	 * Modifications to the returned {@code byte} array will not affect this {@code ExtendedPrivateKey} instance.
+	 * 
+	 * @return the chain code associated with this {@code ExtendedPrivateKey} instance
+	 */
+	public byte[] getChainCode() {
+		return this.chainCode.clone();
+	}
+	
+	/**
+	 * Returns {@code count} child {@code ExtendedPrivateKey} instances with the contiguous child indices starting at {@code index}.
+	 * <p>
+	 * If {@code count} is less than {@code 0} or the child indices would cross the boundary between normal and hardened child indices, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If a child key is invalid, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The public key and fingerprint of this {@code ExtendedPrivateKey} instance are computed once for all children, so each child only requires a HMAC-SHA512 computation and a modular addition.
+	 * 
+	 * @param index the first child index
+	 * @param count the number of children
+	 * @return {@code count} child {@code ExtendedPrivateKey} instances with the contiguous child indices starting at {@code index}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code count} is less than {@code 0}, the child indices would cross the boundary between normal and hardened child indices or a child key is invalid
+	 */
+	public ExtendedPrivateKey[] deriveChildren(final int index, final int count) {
+		DerivationPath.requireRange(index, count);
+		
+		final ExtendedPrivateKey[] children = new ExtendedPrivateKey[count];
+		
+		if(count > 0) {
+			final Object event = Events.beginBatch("ExtendedPrivateKey.deriveChildren", count);
+			
+			final byte[] data = doCreateData(index);
+			
+			final int fingerprint = getFingerprint();
+			
+			for(int i = 0; i < count; i++) {
+				children[i] = doDeriveChild(index + i, data, fingerprint);
+			}
+			
+			Events.commit(event);
+			
+			Arrays.fill(data, (byte)(0));
+		}
+		
+		return children;
+	}
+	
+	/**
+	 * Returns {@code count} child {@code ExtendedPrivateKey} instances of the node at {@code path}, with the contiguous child indices starting at {@code index}.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * extendedPrivateKey.derive(path).deriveChildren(index, count);
+	 * }
+	 * </pre>
+	 * 
+	 * @param path the path to follow
+	 * @param index the first child index
+	 * @param count the number of children
+	 * @return {@code count} child {@code ExtendedPrivateKey} instances of the node at {@code path}, with the contiguous child indices starting at {@code index}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code path} is invalid, {@code count} is less than {@code 0}, the child indices would cross the boundary between normal and hardened child indices or a child key is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code path} is {@code null}
+	 */
+	public ExtendedPrivateKey[] deriveChildren(final String path, final int index, final int count) {
+		final int[] indices = DerivationPath.parse(path);
+		
+		return doDeriveCached(indices, indices.length).deriveChildren(index, count);
+	}
+	
+	/**
+	 * Returns the child number of this {@code ExtendedPrivateKey} instance.
+	 * 
+	 * @return the child number of this {@code ExtendedPrivateKey} instance
+	 */
+	public int getChildNumber() {
+		return this.childNumber;
+	}
+	
+	/**
+	 * Returns the depth of this {@code ExtendedPrivateKey} instance.
+	 * 
+	 * @return the depth of this {@code ExtendedPrivateKey} instance
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+	
+	/**
+	 * Returns the fingerprint of this {@code ExtendedPrivateKey} instance.
+	 * <p>
+	 * The fingerprint consists of the first four bytes of the HASH160 of the compressed public key.
+	 * 
+	 * @return the fingerprint of this {@code ExtendedPrivateKey} instance
+	 */
+	public int getFingerprint() {
+		return Utilities.convertByteArrayToInt(Utilities.computeHash160(getPublicKey().toByteArray(true)), 0);
+	}
+	
+	/**
+	 * Returns the fingerprint of the parent of this {@code ExtendedPrivateKey} instance.
+	 * 
+	 * @return the fingerprint of the parent of this {@code ExtendedPrivateKey} instance
+	 */
+	public int getParentFingerprint() {
+		return this.parentFingerprint;
+	}
+	
+	/**
+	 * Returns a hash code for this {@code ExtendedPrivateKey} instance.
+	 * 
+	 * @return a hash code for this {@code ExtendedPrivateKey} instance
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(this.privateKey, Boolean.valueOf(this.isTestNet), Integer.valueOf(Arrays.hashCode(this.chainCode)), Integer.valueOf(this.childNumber), Integer.valueOf(this.depth), Integer.valueOf(this.parentFingerprint));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the master {@code ExtendedPrivateKey} instance for Mainnet that is generated from {@code seed}.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * ExtendedPrivateKey.fromSeed(seed, false);
+	 * }
+	 * </pre>
+	 * 
+	 * @param seed the seed
+	 * @return the master {@code ExtendedPrivateKey} instance for Mainnet that is generated from {@code seed}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code seed.length} is not in the range [16, 64] or the master key is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code seed} is {@code null}
+	 */
+	public static ExtendedPrivateKey fromSeed(final byte[] seed) {
+		return fromSeed(seed, false);
+	}
+	
+	/**
+	 * Returns the master {@code ExtendedPrivateKey} instance that is generated from {@code seed}.
+	 * <p>
+	 * If {@code seed} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code seed.length} is not in the range [16, 64] or the master key is invalid, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param seed the seed
+	 * @param isTestNet {@code true} if, and only if, Testnet should be used, {@code false} otherwise
+	 * @return the master {@code ExtendedPrivateKey} instance that is generated from {@code seed}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code seed.length} is not in the range [16, 64] or the master key is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code seed} is {@code null}
+	 */
+	public static ExtendedPrivateKey fromSeed(final byte[] seed, final boolean isTestNet) {
+		if(Objects.requireNonNull(seed, "seed == null").length < 16 || seed.length > 64) {
+			throw new IllegalArgumentException(String.format("seed.length is not in the range [16, 64]: seed.length = %d", Integer.valueOf(seed.length)));
+		}
+		
+		final byte[] i = Utilities.computeHMACUsingSHA512(BITCOIN_SEED, seed);
+		
+		final BigInteger value = new BigInteger(1, Arrays.copyOfRange(i, 0, 32));
+		
+		Arrays.fill(i, 0, 32, (byte)(0));
+		
+		return new ExtendedPrivateKey(new PrivateKey(value), Arrays.copyOfRange(i, 32, 64), 0, 0, 0, isTestNet);
+	}
+	
+	/**
+	 * Parses a {@code String} in Base 58, starting with {@code xprv} or {@code tprv}.
+	 * <p>
+	 * Returns an {@code ExtendedPrivateKey} instance.
+	 * <p>
+	 * If {@code stringBase58} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code stringBase58} is invalid, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param stringBase58 a {@code String} in Base 58
+	 * @return an {@code ExtendedPrivateKey} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code stringBase58} is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code stringBase58} is {@code null}
+	 */
+	public static ExtendedPrivateKey parseStringBase58(final String stringBase58) {
+		final byte[] bytes = Utilities.base58DecodeChecked(Objects.requireNonNull(stringBase58, "stringBase58 == null"));
+		
+		if(bytes.length != 78) {
+			throw new IllegalArgumentException("Invalid format: " + stringBase58);
+		}
+		
+		final int version = Utilities.convertByteArrayToInt(bytes, 0);
+		
+		if(version != MAIN_NET_VERSION && version != TEST_NET_VERSION || bytes[45] != 0) {
+			throw new IllegalArgumentException("Invalid format: " + stringBase58);
+		}
+		
+		final PrivateKey privateKey = new PrivateKey(new BigInteger(1, Arrays.copyOfRange(bytes, 46, 78)));
+		
+		final byte[] chainCode = Arrays.copyOfRange(bytes, 13, 45);
+		
+		final int depth = bytes[4] & 0xFF;
+		final int parentFingerprint = Utilities.convertByteArrayToInt(bytes, 5);
+		final int childNumber = Utilities.convertByteArrayToInt(bytes, 9);
+		
+		Arrays.fill(bytes, (byte)(0));
+		
+		if(depth == 0 && (parentFingerprint != 0 || childNumber != 0)) {
+			throw new IllegalArgumentException("Invalid format: " + stringBase58);
+		}
+		
+		return new ExtendedPrivateKey(privateKey, chainCode, depth, parentFingerprint, childNumber, version == TEST_NET_VERSION);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private ExtendedPrivateKey doDeriveCached(final int[] indices, final int length) {
+		if(length == 0) {
+			return this;
+		}
+		
+		final LRUCache<DerivationPath, ExtendedPrivateKey> cache = doGetCache();
+		
+		final DerivationPath derivationPath = new DerivationPath(this, indices, length);
+		
+		ExtendedPrivateKey extendedPrivateKey = cache.get(derivationPath);
+		
+		if(extendedPrivateKey == null) {
+			extendedPrivateKey = doDeriveCached(indices, length - 1).deriveChild(indices[length - 1]);
+			
+			cache.put(derivationPath, extendedPrivateKey);
+		}
+		
+		return extendedPrivateKey;
+	}
+	
+	private ExtendedPrivateKey doDeriveChild(final int index, final byte[] data, final int fingerprint) {
+		Utilities.convertIntToByteArray(data, 33, index);
+		
+		final byte[] i = Utilities.computeHMACUsingSHA512(this.chainCode, data);
+		
+		if(!Scalar.isReduced(i, 0)) {
+			throw new IllegalArgumentException(String.format("Invalid child key: index = %d", Integer.valueOf(index)));
+		}
+		
+		final Scalar value = Scalar.parseByteArray(i, 0).add(this.privateKey.toScalar());
+		
+		Arrays.fill(i, 0, 32, (byte)(0));
+		
+		if(value.isZero()) {
+			throw new IllegalArgumentException(String.format("Invalid child key: index = %d", Integer.valueOf(index)));
+		}
+		
+		return new ExtendedPrivateKey(value.toPrivateKey(), Arrays.copyOfRange(i, 32, 64), this.depth + 1, fingerprint, index, this.isTestNet);
+	}
+	
+	private LRUCache<DerivationPath, ExtendedPrivateKey> doGetCache() {
+		LRUCache<DerivationPath, ExtendedPrivateKey> cache = this.cache;
+		
+		if(cache == null) {
+			this.cache = cache = new LRUCache<>(CACHE_CAPACITY);
+		}
+		
+		return cache;
+	}
+	
+	private byte[] doCreateData(final int index) {
+		final byte[] data = new byte[37];
+		
+		if((index & HARDENED) != 0) {
+			this.privateKey.writeTo(data, 1);
+		} else {
+			System.arraycopy(getPublicKey().toByteArray(true), 0, data, 0, 33);
+		}
+		
+		return data;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static PrivateKey doRequireValid(final PrivateKey privateKey) {
+		final BigInteger value = privateKey.getValue();
+		
+		if(value.signum() <= 0 || value.compareTo(PrivateKey.N) >= 0) {
+			throw new IllegalArgumentException("The private key is not in the range [1, n - 1]");
+		}
+		
+		return privateKey;
+	}
+}
\ No newline at end of file
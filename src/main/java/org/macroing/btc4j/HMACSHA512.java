@@ -0,0 +1,296 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+final class HMACSHA512 {
+	private static final int BLOCK_LENGTH = 128;
+	private static final int LENGTH = 64;
+	private static final long[] IV = {0x6A09E667F3BCC908L, 0xBB67AE8584CAA73BL, 0x3C6EF372FE94F82BL, 0xA54FF53A5F1D36F1L, 0x510E527FADE682D1L, 0x9B05688C2B3E6C1FL, 0x1F83D9ABFB41BD6BL, 0x5BE0CD19137E2179L};
+	private static final long[] K = {
+		0x428A2F98D728AE22L, 0x7137449123EF65CDL, 0xB5C0FBCFEC4D3B2FL, 0xE9B5DBA58189DBBCL,
+		0x3956C25BF348B538L, 0x59F111F1B605D019L, 0x923F82A4AF194F9BL, 0xAB1C5ED5DA6D8118L,
+		0xD807AA98A3030242L, 0x12835B0145706FBEL, 0x243185BE4EE4B28CL, 0x550C7DC3D5FFB4E2L,
+		0x72BE5D74F27B896FL, 0x80DEB1FE3B1696B1L, 0x9BDC06A725C71235L, 0xC19BF174CF692694L,
+		0xE49B69C19EF14AD2L, 0xEFBE4786384F25E3L, 0x0FC19DC68B8CD5B5L, 0x240CA1CC77AC9C65L,
+		0x2DE92C6F592B0275L, 0x4A7484AA6EA6E483L, 0x5CB0A9DCBD41FBD4L, 0x76F988DA831153B5L,
+		0x983E5152EE66DFABL, 0xA831C66D2DB43210L, 0xB00327C898FB213FL, 0xBF597FC7BEEF0EE4L,
+		0xC6E00BF33DA88FC2L, 0xD5A79147930AA725L, 0x06CA6351E003826FL, 0x142929670A0E6E70L,
+		0x27B70A8546D22FFCL, 0x2E1B21385C26C926L, 0x4D2C6DFC5AC42AEDL, 0x53380D139D95B3DFL,
+		0x650A73548BAF63DEL, 0x766A0ABB3C77B2A8L, 0x81C2C92E47EDAEE6L, 0x92722C851482353BL,
+		0xA2BFE8A14CF10364L, 0xA81A664BBC423001L, 0xC24B8B70D0F89791L, 0xC76C51A30654BE30L,
+		0xD192E819D6EF5218L, 0xD69906245565A910L, 0xF40E35855771202AL, 0x106AA07032BBD1B8L,
+		0x19A4C116B8D2D0C8L, 0x1E376C085141AB53L, 0x2748774CDF8EEB99L, 0x34B0BCB5E19B48A8L,
+		0x391C0CB3C5C95A63L, 0x4ED8AA4AE3418ACBL, 0x5B9CCA4F7763E373L, 0x682E6FF3D6B2B8A3L,
+		0x748F82EE5DEFB2FCL, 0x78A5636F43172F60L, 0x84C87814A1F0AB72L, 0x8CC702081A6439ECL,
+		0x90BEFFFA23631E28L, 0xA4506CEBDE82BDE9L, 0xBEF9A3F7B2C67915L, 0xC67178F2E372532BL,
+		0xCA273ECEEA26619CL, 0xD186B8C721C0C207L, 0xEADA7DD6CDE0EB1EL, 0xF57D4F7FEE6ED178L,
+		0x06F067AA72176FBAL, 0x0A637DC5A2C898A6L, 0x113F9804BEF90DAEL, 0x1B710B35131C471BL,
+		0x28DB77F523047D84L, 0x32CAAB7B40C72493L, 0x3C9EBE0A15C9BEBCL, 0x431D67C49C100D4CL,
+		0x4CC5D4BECB3E42B6L, 0x597F299CFC657E2AL, 0x5FCB6FAB3AD6FAECL, 0x6C44198C4A475817L
+	};
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final long[] block;
+	private final long[] inner;
+	private final long[] outer;
+	private final long[] state;
+	private final long[] w;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public HMACSHA512(final byte[] key) {
+		Objects.requireNonNull(key, "key == null");
+		
+		this.block = new long[16];
+		this.inner = new long[8];
+		this.outer = new long[8];
+		this.state = new long[8];
+		this.w = new long[80];
+		
+		final byte[] keyBlock = new byte[BLOCK_LENGTH];
+		
+		if(key.length > BLOCK_LENGTH) {
+			doHash(IV, 0L, key, 0, key.length, this.state);
+			doUnpack(this.state, keyBlock, 0, LENGTH);
+		} else {
+			System.arraycopy(key, 0, keyBlock, 0, key.length);
+		}
+		
+		doPack(keyBlock, 0x36, this.block);
+		
+		System.arraycopy(IV, 0, this.inner, 0, 8);
+		
+		doCompress(this.inner, this.block, this.w);
+		doPack(keyBlock, 0x5C, this.block);
+		
+		System.arraycopy(IV, 0, this.outer, 0, 8);
+		
+		doCompress(this.outer, this.block, this.w);
+		
+		Arrays.fill(keyBlock, (byte)(0));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public byte[] compute(final byte[] bytes) {
+		final byte[] result = new byte[LENGTH];
+		
+		compute(bytes, 0, bytes.length, result, 0);
+		
+		return result;
+	}
+	
+	public byte[] computePBKDF2(final byte[] salt, final int iterations, final int length) {
+		if(iterations < 1) {
+			throw new IllegalArgumentException(String.format("iterations < 1: iterations = %d", Integer.valueOf(iterations)));
+		}
+		
+		if(length < 0) {
+			throw new IllegalArgumentException(String.format("length < 0: length = %d", Integer.valueOf(length)));
+		}
+		
+		final byte[] result = new byte[length];
+		final byte[] saltBlockIndex = new byte[salt.length + 4];
+		final byte[] u = new byte[LENGTH];
+		
+		final long[] t = new long[8];
+		
+		System.arraycopy(salt, 0, saltBlockIndex, 0, salt.length);
+		
+		for(int blockIndex = 1, offset = 0; offset < length; blockIndex++, offset += LENGTH) {
+			Utilities.convertIntToByteArray(saltBlockIndex, salt.length, blockIndex);
+			
+			compute(saltBlockIndex, 0, saltBlockIndex.length, u, 0);
+			
+			doIterate(u, iterations, t);
+			doUnpack(t, result, offset, Math.min(LENGTH, length - offset));
+		}
+		
+		return result;
+	}
+	
+	public void compute(final byte[] bytes, final int offset, final int length, final byte[] result, final int resultOffset) {
+		doHash(this.inner, BLOCK_LENGTH, bytes, offset, length, this.state);
+		
+		System.arraycopy(this.state, 0, this.block, 0, 8);
+		
+		doCompressPadded(this.outer, this.block, this.state);
+		doUnpack(this.state, result, resultOffset, LENGTH);
+		
+		Metrics.incrementHashesHMACSHA512();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static byte[] compute(final byte[] key, final byte[] bytes) {
+		return new HMACSHA512(key).compute(Objects.requireNonNull(bytes, "bytes == null"));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private void doCompressPadded(final long[] initialState, final long[] block, final long[] state) {
+		System.arraycopy(initialState, 0, state, 0, 8);
+		
+		block[ 8] = 0x8000000000000000L;
+		block[ 9] = 0L;
+		block[10] = 0L;
+		block[11] = 0L;
+		block[12] = 0L;
+		block[13] = 0L;
+		block[14] = 0L;
+		block[15] = (BLOCK_LENGTH + LENGTH) * 8L;
+		
+		doCompress(state, block, this.w);
+	}
+	
+	private void doHash(final long[] initialState, final long initialLength, final byte[] bytes, final int offset, final int length, final long[] state) {
+		final long[] block = this.block;
+		
+		System.arraycopy(initialState, 0, state, 0, 8);
+		
+		int i = 0;
+		
+		for(; length - i >= BLOCK_LENGTH; i += BLOCK_LENGTH) {
+			for(int j = 0; j < 16; j++) {
+				block[j] = doGetLong(bytes, offset + i + j * 8);
+			}
+			
+			doCompress(state, block, this.w);
+		}
+		
+		final int remaining = length - i;
+		
+		Arrays.fill(block, 0L);
+		
+		for(int j = 0; j < remaining; j++) {
+			block[j >>> 3] |= (bytes[offset + i + j] & 0xFFL) << (56 - ((j & 7) << 3));
+		}
+		
+		block[remaining >>> 3] |= 0x80L << (56 - ((remaining & 7) << 3));
+		
+		if(remaining >= BLOCK_LENGTH - 16) {
+			doCompress(state, block, this.w);
+			
+			Arrays.fill(block, 0L);
+		}
+		
+		block[15] = (initialLength + length) * 8L;
+		
+		doCompress(state, block, this.w);
+	}
+	
+	private void doIterate(final byte[] u, final int iterations, final long[] t) {
+		final long[] block = this.block;
+		final long[] state = this.state;
+		
+		for(int i = 0; i < 8; i++) {
+			t[i] = block[i] = doGetLong(u, i * 8);
+		}
+		
+		for(int i = 1; i < iterations; i++) {
+			doCompressPadded(this.inner, block, state);
+			
+			System.arraycopy(state, 0, block, 0, 8);
+			
+			doCompressPadded(this.outer, block, state);
+			
+			for(int j = 0; j < 8; j++) {
+				t[j] ^= block[j] = state[j];
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static long doGetLong(final byte[] bytes, final int offset) {
+		return ((bytes[offset] & 0xFFL) << 56) | ((bytes[offset + 1] & 0xFFL) << 48) | ((bytes[offset + 2] & 0xFFL) << 40) | ((bytes[offset + 3] & 0xFFL) << 32) | ((bytes[offset + 4] & 0xFFL) << 24) | ((bytes[offset + 5] & 0xFFL) << 16) | ((bytes[offset + 6] & 0xFFL) << 8) | (bytes[offset + 7] & 0xFFL);
+	}
+	
+	private static void doCompress(final long[] state, final long[] block, final long[] w) {
+		System.arraycopy(block, 0, w, 0, 16);
+		
+		for(int i = 16; i < 80; i++) {
+			final long w15 = w[i - 15];
+			final long w02 = w[i -  2];
+			
+			final long s0 = Long.rotateRight(w15,  1) ^ Long.rotateRight(w15,  8) ^ (w15 >>> 7);
+			final long s1 = Long.rotateRight(w02, 19) ^ Long.rotateRight(w02, 61) ^ (w02 >>> 6);
+			
+			w[i] = w[i - 16] + s0 + w[i - 7] + s1;
+		}
+		
+		long a = state[0];
+		long b = state[1];
+		long c = state[2];
+		long d = state[3];
+		long e = state[4];
+		long f = state[5];
+		long g = state[6];
+		long h = state[7];
+		
+		for(int i = 0; i < 80; i++) {
+			final long s1 = Long.rotateRight(e, 14) ^ Long.rotateRight(e, 18) ^ Long.rotateRight(e, 41);
+			final long ch = (e & f) ^ (~e & g);
+			final long temp1 = h + s1 + ch + K[i] + w[i];
+			final long s0 = Long.rotateRight(a, 28) ^ Long.rotateRight(a, 34) ^ Long.rotateRight(a, 39);
+			final long maj = (a & b) ^ (a & c) ^ (b & c);
+			final long temp2 = s0 + maj;
+			
+			h = g;
+			g = f;
+			f = e;
+			e = d + temp1;
+			d = c;
+			c = b;
+			b = a;
+			a = temp1 + temp2;
+		}
+		
+		state[0] += a;
+		state[1] += b;
+		state[2] += c;
+		state[3] += d;
+		state[4] += e;
+		state[5] += f;
+		state[6] += g;
+		state[7] += h;
+	}
+	
+	private static void doPack(final byte[] keyBlock, final int pad, final long[] block) {
+		for(int i = 0; i < 16; i++) {
+			long value = 0L;
+			
+			for(int j = 0; j < 8; j++) {
+				value = (value << 8) | ((keyBlock[i * 8 + j] ^ pad) & 0xFFL);
+			}
+			
+			block[i] = value;
+		}
+	}
+	
+	private static void doUnpack(final long[] state, final byte[] bytes, final int offset, final int length) {
+		for(int i = 0; i < length; i++) {
+			bytes[offset + i] = (byte)(state[i >>> 3] >>> (56 - ((i & 7) << 3)));
+		}
+	}
+}
\ No newline at end of file
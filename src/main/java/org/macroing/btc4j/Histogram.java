@@ -0,0 +1,139 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+final class Histogram {
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final AtomicLong maximum;
+	private final AtomicLongArray buckets;
+	private final LongAdder count;
+	private final LongAdder sum;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public Histogram() {
+		this.maximum = new AtomicLong();
+		this.buckets = new AtomicLongArray(BUCKET_COUNT);
+		this.count = new LongAdder();
+		this.sum = new LongAdder();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public long getCount() {
+		return this.count.sum();
+	}
+	
+	public long getMaximum() {
+		return this.maximum.get();
+	}
+	
+	public long getMean() {
+		final long count = this.count.sum();
+		
+		return count == 0L ? 0L : this.sum.sum() / count;
+	}
+	
+	public long getValueAtPercentile(final double percentile) {
+		final long[] counts = new long[BUCKET_COUNT];
+		
+		long total = 0L;
+		
+		for(int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = this.buckets.get(i);
+			
+			total += counts[i];
+		}
+		
+		if(total == 0L) {
+			return 0L;
+		}
+		
+		final long target = Math.max(1L, (long)(Math.ceil(Math.min(Math.max(percentile, 0.0D), 100.0D) / 100.0D * total)));
+		
+		long cumulative = 0L;
+		
+		for(int i = 0; i < BUCKET_COUNT; i++) {
+			cumulative += counts[i];
+			
+			if(cumulative >= target) {
+				return Math.min(doGetHighestValue(i), this.maximum.get());
+			}
+		}
+		
+		return this.maximum.get();
+	}
+	
+	public void record(final long value) {
+		final long valueClamped = Math.max(value, 0L);
+		
+		this.buckets.incrementAndGet(doGetIndex(valueClamped));
+		this.count.increment();
+		this.sum.add(valueClamped);
+		
+		long maximum = this.maximum.get();
+		
+		while(valueClamped > maximum && !this.maximum.compareAndSet(maximum, valueClamped)) {
+			maximum = this.maximum.get();
+		}
+	}
+	
+	public void reset() {
+		for(int i = 0; i < BUCKET_COUNT; i++) {
+			this.buckets.set(i, 0L);
+		}
+		
+		this.count.reset();
+		this.sum.reset();
+		this.maximum.set(0L);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static int doGetIndex(final long value) {
+		if(value < SUB_BUCKET_COUNT) {
+			return (int)(value);
+		}
+		
+		final int exponent = 63 - Long.numberOfLeadingZeros(value);
+		final int mantissa = (int)(value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+		
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + mantissa;
+	}
+	
+	private static long doGetHighestValue(final int index) {
+		if(index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		
+		final int shift = index / SUB_BUCKET_COUNT - 1;
+		final int mantissa = index % SUB_BUCKET_COUNT;
+		
+		return ((long)(SUB_BUCKET_COUNT + mantissa + 1) << shift) - 1L;
+	}
+}
\ No newline at end of file
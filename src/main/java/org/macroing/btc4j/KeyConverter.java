@@ -0,0 +1,617 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@code KeyConverter} is a command-line tool that streams private keys and writes the associated addresses.
+ * <p>
+ * The usage is as follows:
+ * <pre>
+ * {@code
+ * java -cp org.macroing.btc4j.jar org.macroing.btc4j.KeyConverter [options] [file...]
+ * }
+ * </pre>
+ * If no files are given, the private keys are read from standard input. The following options are supported:
+ * <pre>
+ * {@code
+ * --format auto|hex|dec|wif|binary   The input format (default: auto).
+ * --address compressed|uncompressed|all
+ *                                    The addresses to write (default: compressed).
+ * --output <file>                    The file to write to (default: standard output).
+ * --threads <count>                  The number of worker threads (default: available processors).
+ * --batch <count>                    The number of records per batch (default: 1024).
+ * --queue <count>                    The number of batches each bounded queue can hold (default: 4 * threads).
+ * --ordered                          Writes the results in input order.
+ * --include-key                      Writes the private key in hexadecimal format before the addresses.
+ * --report <seconds>                 The interval for throughput reports on standard error, or 0 to disable them (default: 5).
+ * }
+ * </pre>
+ * The text formats contain one private key per line. Empty lines and lines starting with {@code #} are ignored. In the format {@code auto}, a line with 64 hexadecimal digits is read as hexadecimal, a line with decimal digits only as decimal and any other line as WIF. The format {@code binary} consists of raw 32 byte unsigned big-endian records.
+ * <p>
+ * Each result is written on its own line, with the fields separated by a tab. The address format {@code all} writes the compressed P2PKH, the uncompressed P2PKH, the P2SH-P2WPKH and the P2WPKH addresses.
+ * <p>
+ * The input is read by the calling thread in batches. The batches are passed to the worker threads and on to a writer thread through bounded queues, so a slow consumer applies backpressure to the reader and the memory usage does not depend on the size of the input. Unless {@code --ordered} is given, the batches are written in the order they are completed.
+ * <p>
+ * Invalid records are reported on standard error together with their record number and a generic reason, but never their content, and are otherwise skipped. The exit status is {@code 1} if, and only if, at least one record was invalid.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class KeyConverter {
+	private static final Batch END = new Batch(-1L, -1L);
+	private static final String REASON_CONVERSION = "The record could not be converted";
+	private static final String REASON_FORMAT = "The private key has an invalid format";
+	private static final String REASON_RANGE = "The private key is not in the range [1, n - 1]";
+	private static final int BUFFER_SIZE = 1 << 20;
+	private static final int RECORD_LENGTH = 32;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final AtomicLong errors;
+	private final AtomicLong records;
+	private final BlockingQueue<Batch> inputQueue;
+	private final BlockingQueue<Batch> outputQueue;
+	private final Options options;
+	private Batch batch;
+	private long recordNumber;
+	private long sequence;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private KeyConverter(final Options options) {
+		this.options = options;
+		this.errors = new AtomicLong();
+		this.records = new AtomicLong();
+		this.inputQueue = new ArrayBlockingQueue<>(options.queue);
+		this.outputQueue = new ArrayBlockingQueue<>(options.queue);
+		this.batch = null;
+		this.recordNumber = 0L;
+		this.sequence = 0L;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Called when this program is executed.
+	 * 
+	 * @param args the options and files, as described in the class documentation
+	 */
+	public static void main(final String[] args) {
+		final Options options;
+		
+		try {
+			options = Options.parse(args);
+		} catch(final IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Usage: KeyConverter [--format auto|hex|dec|wif|binary] [--address compressed|uncompressed|all] [--output <file>] [--threads <count>] [--batch <count>] [--queue <count>] [--ordered] [--include-key] [--report <seconds>] [file...]");
+			
+			System.exit(2);
+			
+			return;
+		}
+		
+		try {
+			final long errors = new KeyConverter(options).doRun();
+			
+			if(errors > 0L) {
+				System.exit(1);
+			}
+		} catch(final IOException | UncheckedIOException e) {
+			System.err.println(e.getMessage());
+			
+			System.exit(2);
+		} catch(final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			
+			System.exit(2);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private String doConvert(final Object record) {
+		final BigInteger value;
+		
+		try {
+			value = record instanceof byte[] ? new BigInteger(1, byte[].class.cast(record)) : doParse(String.class.cast(record));
+		} catch(final RuntimeException e) {
+			throw new IllegalArgumentException(REASON_FORMAT);
+		}
+		
+		if(value.signum() <= 0 || value.compareTo(PrivateKey.N) >= 0) {
+			throw new IllegalArgumentException(REASON_RANGE);
+		}
+		
+		final PrivateKey privateKey = new PrivateKey(value);
+		
+		final PublicKey publicKey = privateKey.toPublicKey();
+		
+		final StringBuilder stringBuilder = new StringBuilder(128);
+		
+		if(this.options.isIncludingKey) {
+			stringBuilder.append(Utilities.convertByteArrayToHexString(Utilities.convertBigIntegerToByteArray(value, RECORD_LENGTH)));
+			stringBuilder.append('\t');
+		}
+		
+		switch(this.options.address) {
+			case "all":
+				final Addresses addresses = publicKey.toAddresses();
+				
+				stringBuilder.append(addresses.getP2PKHCompressed());
+				stringBuilder.append('\t');
+				stringBuilder.append(addresses.getP2PKHUncompressed());
+				stringBuilder.append('\t');
+				stringBuilder.append(addresses.getP2SHP2WPKH());
+				stringBuilder.append('\t');
+				stringBuilder.append(addresses.getP2WPKH());
+				
+				break;
+			case "uncompressed":
+				stringBuilder.append(publicKey.toAddress(false));
+				
+				break;
+			default:
+				stringBuilder.append(publicKey.toAddress(true));
+				
+				break;
+		}
+		
+		return stringBuilder.toString();
+	}
+	
+	private BigInteger doParse(final String record) {
+		switch(this.options.format) {
+			case "dec":
+				return new BigInteger(record, 10);
+			case "hex":
+				return new BigInteger(record, 16);
+			case "wif":
+				return PrivateKey.parseStringWIF(record).getValue();
+			default:
+				if(record.length() == 64 && record.chars().allMatch(character -> Character.digit(character, 16) >= 0)) {
+					return new BigInteger(record, 16);
+				} else if(record.chars().allMatch(character -> character >= '0' && character <= '9')) {
+					return new BigInteger(record, 10);
+				} else {
+					return PrivateKey.parseStringWIF(record).getValue();
+				}
+		}
+	}
+	
+	private long doRun() throws IOException, InterruptedException {
+		final List<Thread> workers = new ArrayList<>();
+		
+		for(int i = 0; i < this.options.threads; i++) {
+			workers.add(doStart("KeyConverter-Worker-" + i, this::doWork));
+		}
+		
+		final IOException[] writerException = new IOException[1];
+		
+		final Thread writer = doStart("KeyConverter-Writer", () -> {
+			try {
+				doWrite();
+			} catch(final IOException e) {
+				writerException[0] = e;
+			}
+		});
+		
+		final Thread reporter = this.options.report > 0 ? doStart("KeyConverter-Reporter", this::doReport) : null;
+		
+		final long start = System.nanoTime();
+		
+		try {
+			if(this.options.files.isEmpty()) {
+				doRead(System.in);
+			} else {
+				for(final String file : this.options.files) {
+					try(final InputStream inputStream = Files.newInputStream(Paths.get(file))) {
+						doRead(inputStream);
+					}
+				}
+			}
+			
+			doFlush();
+		} finally {
+			for(int i = 0; i < workers.size(); i++) {
+				this.inputQueue.put(END);
+			}
+		}
+		
+		for(final Thread worker : workers) {
+			worker.join();
+		}
+		
+		this.outputQueue.put(END);
+		
+		writer.join();
+		
+		if(reporter != null) {
+			reporter.interrupt();
+		}
+		
+		if(writerException[0] != null) {
+			throw writerException[0];
+		}
+		
+		final double seconds = (System.nanoTime() - start) / 1.0e9D;
+		
+		System.err.printf("Converted %d record(s) in %.3f s (%.1f records/s), %d error(s)%n", Long.valueOf(this.records.get()), Double.valueOf(seconds), Double.valueOf(this.records.get() / Math.max(seconds, 1.0e-9D)), Long.valueOf(this.errors.get()));
+		
+		return this.errors.get();
+	}
+	
+	private void doFlush() throws InterruptedException {
+		if(this.batch != null && this.batch.size() > 0) {
+			this.inputQueue.put(this.batch);
+		}
+		
+		this.batch = null;
+	}
+	
+	private void doRead(final InputStream inputStream) throws IOException, InterruptedException {
+		if(this.options.format.equals("binary")) {
+			doReadBinary(Channels.newChannel(inputStream));
+		} else {
+			doReadText(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE));
+		}
+	}
+	
+	private void doReadBinary(final ReadableByteChannel readableByteChannel) throws IOException, InterruptedException {
+		final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		
+		while(readableByteChannel.read(byteBuffer) >= 0) {
+			byteBuffer.flip();
+			
+			while(byteBuffer.remaining() >= RECORD_LENGTH) {
+				final byte[] record = new byte[RECORD_LENGTH];
+				
+				byteBuffer.get(record);
+				
+				doAdd(record);
+			}
+			
+			byteBuffer.compact();
+		}
+		
+		if(byteBuffer.position() > 0) {
+			doError(this.recordNumber + 1L, String.format("Truncated record of %d byte(s)", Integer.valueOf(byteBuffer.position())));
+		}
+	}
+	
+	private void doReadText(final BufferedReader bufferedReader) throws IOException, InterruptedException {
+		for(String line = bufferedReader.readLine(); line != null; line = bufferedReader.readLine()) {
+			final String record = line.trim();
+			
+			if(!record.isEmpty() && !record.startsWith("#")) {
+				doAdd(record);
+			}
+		}
+	}
+	
+	private void doAdd(final Object record) throws InterruptedException {
+		if(this.batch == null) {
+			this.batch = new Batch(this.sequence++, this.recordNumber + 1L);
+		}
+		
+		this.batch.records.add(record);
+		
+		this.recordNumber++;
+		
+		if(this.batch.size() == this.options.batch) {
+			this.inputQueue.put(this.batch);
+			
+			this.batch = null;
+		}
+	}
+	
+	private void doError(final long recordNumber, final String message) {
+		this.errors.incrementAndGet();
+		
+		System.err.printf("Record %d: %s%n", Long.valueOf(recordNumber), message);
+	}
+	
+	private void doReport() {
+		final long start = System.nanoTime();
+		
+		try {
+			while(true) {
+				Thread.sleep(this.options.report * 1000L);
+				
+				final double seconds = (System.nanoTime() - start) / 1.0e9D;
+				
+				System.err.printf("%d record(s), %.1f records/s%n", Long.valueOf(this.records.get()), Double.valueOf(this.records.get() / seconds));
+			}
+		} catch(final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private void doWork() {
+		try {
+			for(Batch batch = this.inputQueue.take(); batch != END; batch = this.inputQueue.take()) {
+				final StringBuilder stringBuilder = new StringBuilder(batch.size() * 64);
+				
+				for(int i = 0; i < batch.size(); i++) {
+					final Object record = batch.records.get(i);
+					
+					try {
+						stringBuilder.append(doConvert(record));
+						stringBuilder.append('\n');
+						
+						this.records.incrementAndGet();
+					} catch(final RuntimeException e) {
+						doError(batch.recordNumber + i, doGetReason(e));
+					}
+				}
+				
+				batch.records.clear();
+				batch.output = stringBuilder.toString().getBytes(StandardCharsets.US_ASCII);
+				
+				this.outputQueue.put(batch);
+			}
+		} catch(final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private void doWrite() throws IOException {
+		final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		
+		final Map<Long, Batch> pending = new HashMap<>();
+		
+		IOException exception = null;
+		
+		try(final WritableByteChannel writableByteChannel = this.options.output != null ? FileChannel.open(Paths.get(this.options.output), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE) : Channels.newChannel(System.out)) {
+			long next = 0L;
+			
+			for(Batch batch = this.outputQueue.take(); batch != END; batch = this.outputQueue.take()) {
+				if(exception != null) {
+					continue;
+				}
+				
+				try {
+					if(this.options.isOrdered) {
+						pending.put(Long.valueOf(batch.sequence), batch);
+						
+						for(Batch current = pending.remove(Long.valueOf(next)); current != null; current = pending.remove(Long.valueOf(next))) {
+							doWrite(writableByteChannel, byteBuffer, current.output);
+							
+							next++;
+						}
+					} else {
+						doWrite(writableByteChannel, byteBuffer, batch.output);
+					}
+				} catch(final IOException e) {
+					exception = e;
+				}
+			}
+			
+			if(exception != null) {
+				throw exception;
+			}
+			
+			doWrite(writableByteChannel, byteBuffer);
+		} catch(final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static String doGetReason(final RuntimeException e) {
+		final String message = e.getMessage();
+		
+		return REASON_FORMAT.equals(message) || REASON_RANGE.equals(message) ? message : REASON_CONVERSION;
+	}
+	
+	private static Thread doStart(final String name, final Runnable runnable) {
+		final Thread thread = new Thread(runnable, name);
+		
+		thread.setDaemon(true);
+		thread.start();
+		
+		return thread;
+	}
+	
+	private static void doWrite(final WritableByteChannel writableByteChannel, final ByteBuffer byteBuffer) throws IOException {
+		byteBuffer.flip();
+		
+		while(byteBuffer.hasRemaining()) {
+			writableByteChannel.write(byteBuffer);
+		}
+		
+		byteBuffer.clear();
+	}
+	
+	private static void doWrite(final WritableByteChannel writableByteChannel, final ByteBuffer byteBuffer, final byte[] bytes) throws IOException {
+		if(bytes.length > byteBuffer.remaining()) {
+			doWrite(writableByteChannel, byteBuffer);
+		}
+		
+		if(bytes.length > byteBuffer.remaining()) {
+			final ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+			
+			while(wrapped.hasRemaining()) {
+				writableByteChannel.write(wrapped);
+			}
+		} else {
+			byteBuffer.put(bytes);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Batch {
+		public final List<Object> records;
+		public final long recordNumber;
+		public final long sequence;
+		public byte[] output;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Batch(final long sequence, final long recordNumber) {
+			this.sequence = sequence;
+			this.recordNumber = recordNumber;
+			this.records = new ArrayList<>();
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public int size() {
+			return this.records.size();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Options {
+		public final List<String> files = new ArrayList<>();
+		public String address = "compressed";
+		public String format = "auto";
+		public String output;
+		public boolean isIncludingKey;
+		public boolean isOrdered;
+		public int batch = 1024;
+		public int queue;
+		public int report = 5;
+		public int threads = Runtime.getRuntime().availableProcessors();
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public static Options parse(final String[] args) {
+			final Options options = new Options();
+			
+			for(int i = 0; i < args.length; i++) {
+				switch(args[i]) {
+					case "--address":
+						options.address = doRequireOneOf(args, ++i, "compressed", "uncompressed", "all");
+						
+						break;
+					case "--batch":
+						options.batch = doRequirePositive(args, ++i, 1);
+						
+						break;
+					case "--format":
+						options.format = doRequireOneOf(args, ++i, "auto", "hex", "dec", "wif", "binary");
+						
+						break;
+					case "--include-key":
+						options.isIncludingKey = true;
+						
+						break;
+					case "--ordered":
+						options.isOrdered = true;
+						
+						break;
+					case "--output":
+						options.output = doRequireValue(args, ++i);
+						
+						break;
+					case "--queue":
+						options.queue = doRequirePositive(args, ++i, 1);
+						
+						break;
+					case "--report":
+						options.report = doRequirePositive(args, ++i, 0);
+						
+						break;
+					case "--threads":
+						options.threads = doRequirePositive(args, ++i, 1);
+						
+						break;
+					default:
+						if(args[i].startsWith("--")) {
+							throw new IllegalArgumentException(String.format("Unknown option: %s", args[i]));
+						}
+						
+						options.files.add(args[i]);
+						
+						break;
+				}
+			}
+			
+			if(options.queue == 0) {
+				options.queue = 4 * options.threads;
+			}
+			
+			return options;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private static String doRequireOneOf(final String[] args, final int index, final String... values) {
+			final String value = doRequireValue(args, index);
+			
+			for(final String currentValue : values) {
+				if(currentValue.equals(value)) {
+					return value;
+				}
+			}
+			
+			throw new IllegalArgumentException(String.format("Illegal value for %s: %s", args[index - 1], value));
+		}
+		
+		private static String doRequireValue(final String[] args, final int index) {
+			if(index >= args.length) {
+				throw new IllegalArgumentException(String.format("Missing value for %s", args[index - 1]));
+			}
+			
+			return args[index];
+		}
+		
+		private static int doRequirePositive(final String[] args, final int index, final int minimum) {
+			final String value = doRequireValue(args, index);
+			
+			try {
+				final int number = Integer.parseInt(value);
+				
+				if(number >= minimum) {
+					return number;
+				}
+			} catch(final NumberFormatException e) {
+				
+			}
+			
+			throw new IllegalArgumentException(String.format("Illegal value for %s: %s", args[index - 1], value));
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,271 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@code KeyGenerator} generates {@link PrivateKey} instances using a cryptographically secure random number generator.
+ * <p>
+ * Random bytes are pulled from a {@code SecureRandom} in large blocks into a buffer that is local to the current thread. Each 32 byte block is interpreted as an unsigned big-endian scalar. The scalar is accepted if, and only if, it is in the range [1, n - 1], where n is the order of the generator point of secp256k1. Otherwise it is rejected and the next block is used.
+ * <p>
+ * Besides {@code PrivateKey} instances, the scalars can be written directly into packed {@code byte} or {@code long} arrays for batch derivation.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class KeyGenerator {
+	private static final KeyGenerator DEFAULT = new KeyGenerator();
+	private static final int SCALAR_COUNT = 256;
+	private static final int SCALAR_LENGTH = 32;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final SecureRandom secureRandom;
+	private final ThreadLocal<Buffer> buffer;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code KeyGenerator} instance.
+	 * <p>
+	 * Each thread that uses this {@code KeyGenerator} instance will get its own self-seeded {@code SecureRandom} instance. If the DRBG algorithm is available, it will be used.
+	 */
+	public KeyGenerator() {
+		this.secureRandom = null;
+		this.buffer = ThreadLocal.withInitial(() -> new Buffer(doCreateSecureRandom()));
+	}
+	
+	/**
+	 * Constructs a new {@code KeyGenerator} instance.
+	 * <p>
+	 * If {@code secureRandom} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * All threads that use this {@code KeyGenerator} instance will share {@code secureRandom}, but each thread will still get its own buffer.
+	 * 
+	 * @param secureRandom the {@code SecureRandom} instance to pull random bytes from
+	 * @throws NullPointerException thrown if, and only if, {@code secureRandom} is {@code null}
+	 */
+	public KeyGenerator(final SecureRandom secureRandom) {
+		this.secureRandom = Objects.requireNonNull(secureRandom, "secureRandom == null");
+		this.buffer = ThreadLocal.withInitial(() -> new Buffer(this.secureRandom));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new random {@link PrivateKey} instance.
+	 * 
+	 * @return a new random {@code PrivateKey} instance
+	 */
+	public PrivateKey next() {
+		final byte[] bytes = new byte[SCALAR_LENGTH];
+		
+		this.buffer.get().next(bytes, 0);
+		
+		return PrivateKey.parseByteArray(bytes, 0);
+	}
+	
+	/**
+	 * Returns a new {@link PrivateKey} array with {@code count} random {@code PrivateKey} instances.
+	 * <p>
+	 * If {@code count} is less than {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param count the number of {@code PrivateKey} instances to generate
+	 * @return a new {@code PrivateKey} array with {@code count} random {@code PrivateKey} instances
+	 * @throws IllegalArgumentException thrown if, and only if, {@code count} is less than {@code 0}
+	 */
+	public PrivateKey[] next(final int count) {
+		final PrivateKey[] privateKeys = new PrivateKey[doRequireCount(count)];
+		
+		final Buffer buffer = this.buffer.get();
+		
+		final byte[] bytes = new byte[SCALAR_LENGTH];
+		
+		final Object event = Events.beginBatch("KeyGenerator.next", count);
+		
+		for(int i = 0; i < count; i++) {
+			buffer.next(bytes, 0);
+			
+			privateKeys[i] = PrivateKey.parseByteArray(bytes, 0);
+		}
+		
+		Events.commit(event);
+		
+		Arrays.fill(bytes, (byte)(0));
+		
+		return privateKeys;
+	}
+	
+	/**
+	 * Writes {@code count} random private keys into {@code bytes}, starting at {@code offset}.
+	 * <p>
+	 * Each private key is written as a 32 byte unsigned big-endian record, so the private key at index {@code i} occupies the range [{@code offset + i * 32}, {@code offset + i * 32 + 32}).
+	 * <p>
+	 * If {@code bytes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code count} is less than {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there is not enough room in {@code bytes}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param bytes the {@code byte} array to write to
+	 * @param offset the offset in {@code bytes} to start writing at
+	 * @param count the number of private keys to write
+	 * @throws IllegalArgumentException thrown if, and only if, {@code count} is less than {@code 0}
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there is not enough room in {@code bytes}
+	 * @throws NullPointerException thrown if, and only if, {@code bytes} is {@code null}
+	 */
+	public void nextBytes(final byte[] bytes, final int offset, final int count) {
+		Utilities.requireRange(Objects.requireNonNull(bytes, "bytes == null").length, offset, (long)(doRequireCount(count)) * SCALAR_LENGTH);
+		
+		final Buffer buffer = this.buffer.get();
+		
+		final Object event = Events.beginBatch("KeyGenerator.nextBytes", count);
+		
+		for(int i = 0; i < count; i++) {
+			buffer.next(bytes, offset + i * SCALAR_LENGTH);
+		}
+		
+		Events.commit(event);
+	}
+	
+	/**
+	 * Writes {@code count} random private keys into {@code longs}, starting at {@code offset}.
+	 * <p>
+	 * Each private key is written as four 64-bit limbs, with the most significant limb first, so the private key at index {@code i} occupies the range [{@code offset + i * 4}, {@code offset + i * 4 + 4}).
+	 * <p>
+	 * If {@code longs} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code count} is less than {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there is not enough room in {@code longs}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param longs the {@code long} array to write to
+	 * @param offset the offset in {@code longs} to start writing at
+	 * @param count the number of private keys to write
+	 * @throws IllegalArgumentException thrown if, and only if, {@code count} is less than {@code 0}
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there is not enough room in {@code longs}
+	 * @throws NullPointerException thrown if, and only if, {@code longs} is {@code null}
+	 */
+	public void nextLongs(final long[] longs, final int offset, final int count) {
+		Utilities.requireRange(Objects.requireNonNull(longs, "longs == null").length, offset, (long)(doRequireCount(count)) * 4L);
+		
+		final Buffer buffer = this.buffer.get();
+		
+		final Object event = Events.beginBatch("KeyGenerator.nextLongs", count);
+		
+		for(int i = 0; i < count; i++) {
+			buffer.next(longs, offset + i * 4);
+		}
+		
+		Events.commit(event);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a default {@code KeyGenerator} instance.
+	 * <p>
+	 * The returned {@code KeyGenerator} instance uses a self-seeded {@code SecureRandom} instance per thread.
+	 * 
+	 * @return a default {@code KeyGenerator} instance
+	 */
+	public static KeyGenerator getDefault() {
+		return DEFAULT;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static SecureRandom doCreateSecureRandom() {
+		try {
+			return SecureRandom.getInstance("DRBG");
+		} catch(final NoSuchAlgorithmException e) {
+			return new SecureRandom();
+		}
+	}
+	
+	private static int doRequireCount(final int count) {
+		if(count < 0) {
+			throw new IllegalArgumentException(String.format("count < 0: count = %d", Integer.valueOf(count)));
+		}
+		
+		return count;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Buffer {
+		private final SecureRandom secureRandom;
+		private final byte[] bytes;
+		private int offset;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Buffer(final SecureRandom secureRandom) {
+			this.secureRandom = secureRandom;
+			this.bytes = new byte[SCALAR_COUNT * SCALAR_LENGTH];
+			this.offset = this.bytes.length;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public void next(final byte[] bytes, final int offset) {
+			final int index = doNext();
+			
+			System.arraycopy(this.bytes, index, bytes, offset, SCALAR_LENGTH);
+			
+			Arrays.fill(this.bytes, index, index + SCALAR_LENGTH, (byte)(0));
+		}
+		
+		public void next(final long[] longs, final int offset) {
+			final int index = doNext();
+			
+			for(int i = 0; i < 4; i++) {
+				longs[offset + i] = Utilities.convertByteArrayToLong(this.bytes, index + i * 8);
+			}
+			
+			Arrays.fill(this.bytes, index, index + SCALAR_LENGTH, (byte)(0));
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private int doNext() {
+			while(true) {
+				if(this.offset == this.bytes.length) {
+					this.secureRandom.nextBytes(this.bytes);
+					
+					this.offset = 0;
+				}
+				
+				final int index = this.offset;
+				
+				this.offset += SCALAR_LENGTH;
+				
+				if(Scalar.isInRange(this.bytes, index)) {
+					return index;
+				}
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+final class KeyProtocol {
+	public static final AddressType[] TYPES = {AddressType.P2PKH, AddressType.P2SH, AddressType.P2WPKH, AddressType.P2WSH, AddressType.P2TR};
+	public static final byte OPERATION_DERIVE = 0x01;
+	public static final byte OPERATION_ENCODE = 0x02;
+	public static final byte STATUS_ERROR = 0x01;
+	public static final byte STATUS_OK = 0x00;
+	public static final int HEADER_LENGTH = 9;
+	public static final int MAXIMUM_FRAME_LENGTH = 1 << 16;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private KeyProtocol() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static ServerSocketChannel openServerSocketChannel(final SocketAddress socketAddress) throws IOException {
+		if(socketAddress instanceof InetSocketAddress) {
+			return ServerSocketChannel.open();
+		}
+		
+		return ServerSocketChannel.class.cast(doInvoke(ServerSocketChannel.class, "open", ProtocolFamily.class, doGetUnix()));
+	}
+	
+	public static Path getUnixDomainSocketPath(final SocketAddress socketAddress) throws IOException {
+		if(socketAddress instanceof InetSocketAddress) {
+			return null;
+		}
+		
+		try {
+			return Path.class.cast(socketAddress.getClass().getMethod("getPath").invoke(socketAddress));
+		} catch(final ReflectiveOperationException e) {
+			throw new IOException("Unix domain sockets are not supported by this Java version", e);
+		}
+	}
+	
+	public static int getTypeCode(final AddressType type) {
+		for(int i = 0; i < TYPES.length; i++) {
+			if(TYPES[i] == type) {
+				return i;
+			}
+		}
+		
+		throw new IllegalArgumentException(String.format("Unsupported AddressType: %s", type));
+	}
+	
+	public static SocketAddress createUnixDomainSocketAddress(final String path) throws IOException {
+		try {
+			return SocketAddress.class.cast(Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", String.class).invoke(null, path));
+		} catch(final ReflectiveOperationException e) {
+			throw new IOException("Unix domain sockets are not supported by this Java version", e);
+		}
+	}
+	
+	public static SocketChannel openSocketChannel(final SocketAddress socketAddress) throws IOException {
+		if(socketAddress instanceof InetSocketAddress) {
+			return SocketChannel.open();
+		}
+		
+		return SocketChannel.class.cast(doInvoke(SocketChannel.class, "open", ProtocolFamily.class, doGetUnix()));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Object doInvoke(final Class<?> clazz, final String name, final Class<?> parameterType, final Object argument) throws IOException {
+		try {
+			return clazz.getMethod(name, parameterType).invoke(null, argument);
+		} catch(final InvocationTargetException e) {
+			if(e.getCause() instanceof IOException) {
+				throw IOException.class.cast(e.getCause());
+			}
+			
+			throw new IOException(e.getCause());
+		} catch(final ReflectiveOperationException e) {
+			throw new IOException("Unix domain sockets are not supported by this Java version", e);
+		}
+	}
+	
+	private static ProtocolFamily doGetUnix() throws IOException {
+		try {
+			return StandardProtocolFamily.valueOf("UNIX");
+		} catch(final IllegalArgumentException e) {
+			throw new IOException("Unix domain sockets are not supported by this Java version", e);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class LRUCache<K, V> {
+	private final Map<K, V> map;
+	private final int capacity;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public LRUCache(final int capacity) {
+		if(capacity < 1) {
+			throw new IllegalArgumentException(String.format("capacity < 1: capacity = %d", Integer.valueOf(capacity)));
+		}
+		
+		this.capacity = capacity;
+		this.map = new LinkedHashMap<K, V>(16, 0.75F, true) {
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+				return size() > LRUCache.this.capacity;
+			}
+		};
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public synchronized V get(final K key) {
+		final V value = this.map.get(key);
+		
+		if(value != null) {
+			Metrics.incrementCacheHits();
+		} else {
+			Metrics.incrementCacheMisses();
+		}
+		
+		return value;
+	}
+	
+	public int getCapacity() {
+		return this.capacity;
+	}
+	
+	public synchronized int size() {
+		return this.map.size();
+	}
+	
+	public synchronized void clear() {
+		this.map.clear();
+	}
+	
+	public synchronized void put(final K key, final V value) {
+		this.map.put(key, value);
+	}
+}
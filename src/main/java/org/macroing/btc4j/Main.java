@@ -33,10 +33,18 @@ public final class Main {
 	
 	/**
 	 * Called when this program is executed.
+	 * <p>
+	 * If {@code args} is not empty, this method delegates to {@link KeyConverter#main(String[])}. Otherwise a reference private key and its derived forms are printed.
 	 * 
-	 * @param args the parameter arguments that are not used
+	 * @param args the parameter arguments that are passed to {@code KeyConverter}, if any
 	 */
 	public static void main(final String[] args) {
+		if(args.length > 0) {
+			KeyConverter.main(args);
+			
+			return;
+		}
+		
 		final PrivateKey privateKey = PrivateKey.parseStringHex("18E14A7B6A307F426A94F8114701E7C8E774E7F9A47E2C2035DB29A206321725");
 //		final PrivateKey privateKey = PrivateKey.parseStringWIF("5J1F7GHadZG3sCCKHCwg8Jvys9xUbFsjLnGec4H125Ny1V9nR6V");
 		
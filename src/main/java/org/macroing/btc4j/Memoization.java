@@ -0,0 +1,63 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+/**
+ * The class {@code Memoization} controls whether the derived representations of {@link PrivateKey}, {@link PublicKey} and {@link Address} instances are memoized.
+ * <p>
+ * When memoization is enabled, which is the default, the expensive derived representations of these immutable classes are computed lazily on first use and stored in the instance. This includes the public key of a {@code PrivateKey}, its WIF representations for Mainnet, the serialized forms, the {@code BigInteger} representations and the addresses of a {@code PublicKey} and the {@code String} representations of an {@code Address}.
+ * <p>
+ * The memoization does not use any locking. If two threads compute the same representation at the same time, both compute it, and one of the results is kept. Since the results are equal, this is not observable.
+ * <p>
+ * For bulk jobs that derive each representation only once, memoization only adds to the memory footprint of each instance. It can be disabled using {@link #setEnabled(boolean)} or by setting the system property {@code org.macroing.btc4j.memoization} to {@code false}. When disabled, no representations are stored, and the representations that were stored before are ignored.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Memoization {
+	private static volatile boolean isEnabled = !"false".equalsIgnoreCase(System.getProperty("org.macroing.btc4j.memoization"));
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Memoization() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns {@code true} if, and only if, memoization is enabled, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, memoization is enabled, {@code false} otherwise
+	 */
+	public static boolean isEnabled() {
+		return isEnabled;
+	}
+	
+	/**
+	 * Sets whether memoization is enabled or not.
+	 * 
+	 * @param isEnabled {@code true} if, and only if, memoization should be enabled, {@code false} otherwise
+	 */
+	public static void setEnabled(final boolean isEnabled) {
+		Memoization.isEnabled = isEnabled;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,374 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * A {@code Mnemonic} represents a mnemonic sentence, as specified by BIP-39.
+ * <p>
+ * A mnemonic sentence encodes 128 to 256 bits of entropy and a checksum as 12 to 24 words from the English wordlist. It can be converted into a 64 byte seed, which in turn can be used to create an {@link ExtendedPrivateKey}.
+ * <p>
+ * The seed is derived using PBKDF2-HMAC-SHA512 with 2048 iterations. The implementation precomputes the inner and outer HMAC states once per mnemonic sentence and runs the iterations over primitive state without allocation. Many candidate mnemonic sentences can be converted into seeds in parallel using {@link #toSeeds(Mnemonic[], String)}.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Mnemonic {
+	private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+	private static final String SALT_PREFIX = "mnemonic";
+	private static final String[] WORDS = WordList.getEnglish();
+	private static final Map<String, Integer> INDICES = doCreateIndices();
+	private static final int ITERATIONS = 2048;
+	private static final int SEED_LENGTH = 64;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final byte[] entropy;
+	private final String[] words;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Mnemonic(final byte[] entropy, final String[] words) {
+		this.entropy = entropy;
+		this.words = words;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@code String} representation of this {@code Mnemonic} instance.
+	 * <p>
+	 * The returned {@code String} consists of the words separated by a single space.
+	 * 
+	 * @return a {@code String} representation of this {@code Mnemonic} instance
+	 */
+	@Override
+	public String toString() {
+		return String.join(" ", this.words);
+	}
+	
+	/**
+	 * Returns the words of this {@code Mnemonic} instance.
+	 * <p>
+	 * Modifications to the returned {@code String} array will not affect this {@code Mnemonic} instance.
+	 * 
+	 * @return the words of this {@code Mnemonic} instance
+	 */
+	public String[] getWords() {
+		return this.words.clone();
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code Mnemonic} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code Mnemonic}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code Mnemonic} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code Mnemonic}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof Mnemonic)) {
+			return false;
+		} else if(!Arrays.equals(this.entropy, Mnemonic.class.cast(object).entropy)) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns the entropy encoded by this {@code Mnemonic} instance.
+	 * <p>
+	 * Modifications to the returned {@code byte} array will not affect this {@code Mnemonic} instance.
+	 * 
+	 * @return the entropy encoded by this {@code Mnemonic} instance
+	 */
+	public byte[] toEntropy() {
+		return this.entropy.clone();
+	}
+	
+	/**
+	 * Returns the 64 byte seed of this {@code Mnemonic} instance, using an empty passphrase.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * mnemonic.toSeed("");
+	 * }
+	 * </pre>
+	 * 
+	 * @return the 64 byte seed of this {@code Mnemonic} instance, using an empty passphrase
+	 */
+	public byte[] toSeed() {
+		return toSeed("");
+	}
+	
+	/**
+	 * Returns the 64 byte seed of this {@code Mnemonic} instance, using {@code passphrase}.
+	 * <p>
+	 * If {@code passphrase} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param passphrase the passphrase
+	 * @return the 64 byte seed of this {@code Mnemonic} instance, using {@code passphrase}
+	 * @throws NullPointerException thrown if, and only if, {@code passphrase} is {@code null}
+	 */
+	public byte[] toSeed(final String passphrase) {
+		return doToSeed(doCreateSalt(Objects.requireNonNull(passphrase, "passphrase == null")));
+	}
+	
+	/**
+	 * Returns a hash code for this {@code Mnemonic} instance.
+	 * 
+	 * @return a hash code for this {@code Mnemonic} instance
+	 */
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(this.entropy);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns {@code true} if, and only if, {@code string} is a valid mnemonic sentence, {@code false} otherwise.
+	 * <p>
+	 * If {@code string} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * A mnemonic sentence is valid if, and only if, it consists of 12, 15, 18, 21 or 24 words from the English wordlist and its checksum is correct.
+	 * 
+	 * @param string a {@code String} that may be a mnemonic sentence
+	 * @return {@code true} if, and only if, {@code string} is a valid mnemonic sentence, {@code false} otherwise
+	 * @throws NullPointerException thrown if, and only if, {@code string} is {@code null}
+	 */
+	public static boolean isValid(final String string) {
+		return doParse(Objects.requireNonNull(string, "string == null")) != null;
+	}
+	
+	/**
+	 * Returns a {@code Mnemonic} instance that encodes {@code entropy}.
+	 * <p>
+	 * If {@code entropy} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code entropy.length} is not {@code 16}, {@code 20}, {@code 24}, {@code 28} or {@code 32}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param entropy the entropy to encode
+	 * @return a {@code Mnemonic} instance that encodes {@code entropy}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code entropy.length} is not {@code 16}, {@code 20}, {@code 24}, {@code 28} or {@code 32}
+	 * @throws NullPointerException thrown if, and only if, {@code entropy} is {@code null}
+	 */
+	public static Mnemonic fromEntropy(final byte[] entropy) {
+		final int length = Objects.requireNonNull(entropy, "entropy == null").length;
+		
+		if(length < 16 || length > 32 || length % 4 != 0) {
+			throw new IllegalArgumentException(String.format("entropy.length is not 16, 20, 24, 28 or 32: entropy.length = %d", Integer.valueOf(length)));
+		}
+		
+		final byte[] bits = Arrays.copyOf(entropy, length + 1);
+		
+		bits[length] = Utilities.computeHashUsingSHA256(entropy)[0];
+		
+		final String[] words = new String[(length * 8 + length / 4) / 11];
+		
+		for(int i = 0; i < words.length; i++) {
+			words[i] = WORDS[doGetBits(bits, i * 11)];
+		}
+		
+		return new Mnemonic(entropy.clone(), words);
+	}
+	
+	/**
+	 * Parses a {@code String} that contains a mnemonic sentence.
+	 * <p>
+	 * Returns a {@code Mnemonic} instance.
+	 * <p>
+	 * If {@code string} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code string} is invalid, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The words may be separated by any whitespace.
+	 * 
+	 * @param string a {@code String} that contains a mnemonic sentence
+	 * @return a {@code Mnemonic} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code string} is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code string} is {@code null}
+	 */
+	public static Mnemonic parseString(final String string) {
+		final Mnemonic mnemonic = doParse(Objects.requireNonNull(string, "string == null"));
+		
+		if(mnemonic == null) {
+			throw new IllegalArgumentException("Invalid mnemonic sentence");
+		}
+		
+		return mnemonic;
+	}
+	
+	/**
+	 * Returns a random {@code Mnemonic} instance with {@code wordCount} words.
+	 * <p>
+	 * If {@code wordCount} is not {@code 12}, {@code 15}, {@code 18}, {@code 21} or {@code 24}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * The entropy is generated by a cryptographically secure random number generator.
+	 * 
+	 * @param wordCount the number of words
+	 * @return a random {@code Mnemonic} instance with {@code wordCount} words
+	 * @throws IllegalArgumentException thrown if, and only if, {@code wordCount} is not {@code 12}, {@code 15}, {@code 18}, {@code 21} or {@code 24}
+	 */
+	public static Mnemonic random(final int wordCount) {
+		if(wordCount < 12 || wordCount > 24 || wordCount % 3 != 0) {
+			throw new IllegalArgumentException(String.format("wordCount is not 12, 15, 18, 21 or 24: wordCount = %d", Integer.valueOf(wordCount)));
+		}
+		
+		final byte[] entropy = new byte[wordCount * 4 / 3];
+		
+		SECURE_RANDOM.nextBytes(entropy);
+		
+		final Mnemonic mnemonic = fromEntropy(entropy);
+		
+		Arrays.fill(entropy, (byte)(0));
+		
+		return mnemonic;
+	}
+	
+	/**
+	 * Returns the 64 byte seeds of all {@code Mnemonic} instances in {@code mnemonics}, using {@code passphrase}.
+	 * <p>
+	 * If either {@code mnemonics}, any of its elements or {@code passphrase} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * The seeds are computed in parallel, using all available processors. The seed at index {@code i} in the returned array belongs to the {@code Mnemonic} instance at index {@code i} in {@code mnemonics}.
+	 * 
+	 * @param mnemonics the {@code Mnemonic} instances
+	 * @param passphrase the passphrase
+	 * @return the 64 byte seeds of all {@code Mnemonic} instances in {@code mnemonics}, using {@code passphrase}
+	 * @throws NullPointerException thrown if, and only if, either {@code mnemonics}, any of its elements or {@code passphrase} are {@code null}
+	 */
+	public static byte[][] toSeeds(final Mnemonic[] mnemonics, final String passphrase) {
+		final Mnemonic[] mnemonicsCopy = Objects.requireNonNull(mnemonics, "mnemonics == null").clone();
+		
+		for(int i = 0; i < mnemonicsCopy.length; i++) {
+			Objects.requireNonNull(mnemonicsCopy[i], String.format("mnemonics[%d] == null", Integer.valueOf(i)));
+		}
+		
+		final byte[] salt = doCreateSalt(Objects.requireNonNull(passphrase, "passphrase == null"));
+		
+		final byte[][] seeds = new byte[mnemonicsCopy.length][];
+		
+		final Object event = Events.beginBatch("Mnemonic.toSeeds", mnemonicsCopy.length);
+		
+		IntStream.range(0, mnemonicsCopy.length).parallel().forEach(i -> seeds[i] = mnemonicsCopy[i].doToSeed(salt));
+		
+		Events.commit(event);
+		
+		return seeds;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private byte[] doToSeed(final byte[] salt) {
+		final byte[] password = Normalizer.normalize(toString(), Normalizer.Form.NFKD).getBytes(StandardCharsets.UTF_8);
+		
+		final byte[] seed = new HMACSHA512(password).computePBKDF2(salt, ITERATIONS, SEED_LENGTH);
+		
+		Arrays.fill(password, (byte)(0));
+		
+		return seed;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Map<String, Integer> doCreateIndices() {
+		final Map<String, Integer> indices = new HashMap<>();
+		
+		for(int i = 0; i < WORDS.length; i++) {
+			indices.put(WORDS[i], Integer.valueOf(i));
+		}
+		
+		return indices;
+	}
+	
+	private static Mnemonic doParse(final String string) {
+		final String[] words = Normalizer.normalize(string, Normalizer.Form.NFKD).trim().split("\\s+");
+		
+		if(words.length < 12 || words.length > 24 || words.length % 3 != 0) {
+			return null;
+		}
+		
+		final byte[] bits = new byte[(words.length * 11 + 7) / 8];
+		
+		for(int i = 0; i < words.length; i++) {
+			final Integer index = INDICES.get(words[i]);
+			
+			if(index == null) {
+				return null;
+			}
+			
+			doSetBits(bits, i * 11, index.intValue());
+		}
+		
+		final int length = words.length * 4 / 3;
+		
+		final byte[] entropy = Arrays.copyOf(bits, length);
+		
+		final int checksumBits = length / 4;
+		final int checksumMask = 0xFF << (8 - checksumBits) & 0xFF;
+		
+		if(((Utilities.computeHashUsingSHA256(entropy)[0] ^ bits[length]) & checksumMask) != 0) {
+			return null;
+		}
+		
+		return new Mnemonic(entropy, words);
+	}
+	
+	private static byte[] doCreateSalt(final String passphrase) {
+		return Normalizer.normalize(SALT_PREFIX + passphrase, Normalizer.Form.NFKD).getBytes(StandardCharsets.UTF_8);
+	}
+	
+	private static int doGetBits(final byte[] bytes, final int offset) {
+		int value = 0;
+		
+		for(int i = 0; i < 11; i++) {
+			final int bit = offset + i;
+			
+			value = (value << 1) | ((bytes[bit >>> 3] >>> (7 - (bit & 7))) & 1);
+		}
+		
+		return value;
+	}
+	
+	private static void doSetBits(final byte[] bytes, final int offset, final int value) {
+		for(int i = 0; i < 11; i++) {
+			final int bit = offset + i;
+			
+			if(((value >>> (10 - i)) & 1) != 0) {
+				bytes[bit >>> 3] |= (byte)(0x80 >>> (bit & 7));
+			}
+		}
+	}
+}
@@ -22,15 +22,19 @@ import java.math.BigInteger;
 import java.util.Objects;
 
 final class Point {
+	public static final Point INFINITY = new Point();
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
 	private static final BigInteger THREE = new BigInteger("3");
 	private static final BigInteger TWO = new BigInteger("2");
-	private static final Point INFINITY = new Point(new Curve(BigInteger.ZERO, BigInteger.ZERO, BigInteger.ZERO), BigInteger.ZERO, BigInteger.ZERO);
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private BigInteger x;
-	private BigInteger y;
-	private Curve curve;
+	private final BigInteger x;
+	private final BigInteger y;
+	private final Curve curve;
+	private final boolean isInfinity;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -38,6 +42,14 @@ final class Point {
 		this.curve = Objects.requireNonNull(curve, "curve == null");
 		this.x = Objects.requireNonNull(x, "x == null");
 		this.y = Objects.requireNonNull(y, "y == null");
+		this.isInfinity = false;
+	}
+	
+	private Point() {
+		this.curve = new Curve(BigInteger.ZERO, BigInteger.ZERO, BigInteger.ZERO);
+		this.x = BigInteger.ZERO;
+		this.y = BigInteger.ZERO;
+		this.isInfinity = true;
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -54,9 +66,13 @@ final class Point {
 		return this.curve;
 	}
 	
+	public Point negate() {
+		return this.isInfinity || this.y.signum() == 0 ? this : new Point(this.curve, this.x, this.curve.getP().subtract(this.y));
+	}
+	
 	@Override
 	public String toString() {
-		return equals(INFINITY) ? "infinity" : String.format("(%s,%s)", this.x.toString(), this.y.toString());
+		return this.isInfinity ? "infinity" : String.format("(%s,%s)", this.x.toString(), this.y.toString());
 	}
 	
 	@Override
@@ -65,6 +81,10 @@ final class Point {
 			return true;
 		} else if(!(object instanceof Point)) {
 			return false;
+		} else if(this.isInfinity != Point.class.cast(object).isInfinity) {
+			return false;
+		} else if(this.isInfinity) {
+			return true;
 		} else if(!Objects.equals(this.x, Point.class.cast(object).x)) {
 			return false;
 		} else if(!Objects.equals(this.y, Point.class.cast(object).y)) {
@@ -76,31 +96,23 @@ final class Point {
 		}
 	}
 	
-	@Override
-	public int hashCode() {
-		return Objects.hash(this.x, this.y, this.curve);
-	}
-	
-	public void setCurve(final Curve curve) {
-		this.curve = Objects.requireNonNull(curve, "curve == null");
-	}
-	
-	public void setX(final BigInteger x) {
-		this.x = Objects.requireNonNull(x, "x == null");
+	public boolean isInfinity() {
+		return this.isInfinity;
 	}
 	
-	public void setY(final BigInteger y) {
-		this.y = Objects.requireNonNull(y, "y == null");
+	@Override
+	public int hashCode() {
+		return this.isInfinity ? 0 : Objects.hash(this.x, this.y, this.curve);
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	public static Point add(final Point pointLHS, final Point pointRHS) {
-		if(pointRHS.equals(INFINITY)) {
+		if(pointRHS.isInfinity) {
 			return pointLHS;
 		}
 		
-		if(pointLHS.equals(INFINITY)) {
+		if(pointLHS.isInfinity) {
 			return pointRHS;
 		}
 		
@@ -112,10 +124,14 @@ final class Point {
 			return multiplyByTwo(pointLHS);
 		}
 		
-		final BigInteger p = pointLHS.curve.getP();
+		Metrics.incrementInversions();
+		
+		final CurveContext curveContext = CurveContext.get(pointLHS.curve);
+		
+		final BigInteger p = curveContext.getP();
 		final BigInteger oldX = pointLHS.x;
 		final BigInteger oldY = pointLHS.y;
-		final BigInteger l = (pointRHS.y.subtract(oldY).multiply(pointRHS.x.subtract(oldX).modInverse(p))).mod(p);
+		final BigInteger l = (pointRHS.y.subtract(oldY).multiply(curveContext.invert(pointRHS.x.subtract(oldX)))).mod(p);
 		final BigInteger newX = l.multiply(l).subtract(oldX).subtract(pointRHS.x).mod(p);
 		final BigInteger newY = l.multiply(oldX.subtract(newX)).subtract(oldY).mod(p);
 		
@@ -123,47 +139,33 @@ final class Point {
 	}
 	
 	public static Point multiply(final Point pointLHS, final BigInteger valueRHS) {
-		final BigInteger e1 = valueRHS;
-		
-		if(e1.compareTo(BigInteger.ZERO) == 0 || pointLHS.equals(INFINITY)) {
-			return INFINITY;
+		if(!Metrics.isEnabled()) {
+			return doMultiply(pointLHS, valueRHS);
 		}
 		
-		final BigInteger e3 = THREE.multiply(e1);
-		
-		final Point pointLHSNegatedY = new Point(pointLHS.curve, pointLHS.x, pointLHS.y.negate());
-		
-		BigInteger i = doLeftMostBit(e3).divide(TWO);
+		final long start = System.nanoTime();
 		
-		Point result = pointLHS;
+		final Point point = doMultiply(pointLHS, valueRHS);
 		
-		while(i.compareTo(BigInteger.ONE) > 0) {
-			result = multiplyByTwo(result);
-			
-			if(e3.and(i).compareTo(BigInteger.ZERO) != 0 && e1.and(i).compareTo(BigInteger.ZERO) == 0) {
-				result = add(result, pointLHS);
-			}
-			
-			if(e3.and(i).compareTo(BigInteger.ZERO) == 0 && e1.and(i).compareTo(BigInteger.ZERO) != 0) {
-				result = add(result, pointLHSNegatedY);
-			}
-			
-			i = i.divide(TWO);
-		}
+		Metrics.recordPointMultiplication(System.nanoTime() - start);
 		
-		return result;
+		return point;
 	}
 	
 	public static Point multiplyByTwo(final Point pointLHS) {
-		if(pointLHS.equals(INFINITY)) {
+		if(pointLHS.isInfinity || pointLHS.y.signum() == 0) {
 			return INFINITY;
 		}
 		
-		final BigInteger p = pointLHS.curve.getP();
-		final BigInteger a = pointLHS.curve.getA();
+		Metrics.incrementInversions();
+		
+		final CurveContext curveContext = CurveContext.get(pointLHS.curve);
+		
+		final BigInteger p = curveContext.getP();
 		final BigInteger oldX = pointLHS.x;
 		final BigInteger oldY = pointLHS.y;
-		final BigInteger l = THREE.multiply(oldX).multiply(oldX).add(a).multiply(TWO.multiply(oldY).modInverse(p)).mod(p);
+		final BigInteger oldXSquaredTimesThree = THREE.multiply(oldX).multiply(oldX);
+		final BigInteger l = (curveContext.isAZero() ? oldXSquaredTimesThree : oldXSquaredTimesThree.add(pointLHS.curve.getA())).multiply(curveContext.invert(TWO.multiply(oldY))).mod(p);
 		final BigInteger newX = l.multiply(l).subtract(TWO.multiply(oldX)).mod(p);
 		final BigInteger newY = l.multiply(oldX.subtract(newX)).subtract(oldY).mod(p);
 		
@@ -181,4 +183,38 @@ final class Point {
 		
 		return result.divide(TWO);
 	}
+	
+	private static Point doMultiply(final Point pointLHS, final BigInteger valueRHS) {
+		final BigInteger e1 = valueRHS;
+		
+		if(e1.signum() == 0 || pointLHS.isInfinity) {
+			return INFINITY;
+		}
+		
+		final BigInteger e3 = THREE.multiply(e1);
+		
+		final Point pointLHSNegatedY = pointLHS.negate();
+		
+		final PointAccumulator pointAccumulator = new PointAccumulator(CurveContext.get(pointLHS.curve));
+		
+		pointAccumulator.set(pointLHS);
+		
+		BigInteger i = doLeftMostBit(e3).divide(TWO);
+		
+		while(i.compareTo(BigInteger.ONE) > 0) {
+			pointAccumulator.multiplyByTwo();
+			
+			if(e3.and(i).compareTo(BigInteger.ZERO) != 0 && e1.and(i).compareTo(BigInteger.ZERO) == 0) {
+				pointAccumulator.add(pointLHS);
+			}
+			
+			if(e3.and(i).compareTo(BigInteger.ZERO) == 0 && e1.and(i).compareTo(BigInteger.ZERO) != 0) {
+				pointAccumulator.add(pointLHSNegatedY);
+			}
+			
+			i = i.divide(TWO);
+		}
+		
+		return pointAccumulator.toPoint();
+	}
 }
\ No newline at end of file
@@ -20,24 +20,21 @@ package org.macroing.btc4j;
 
 import java.math.BigInteger;
 import java.util.Objects;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * A {@code PrivateKey} represents a private key for Bitcoin.
  * <p>
- * This class is immutable and thread-safe.
+ * The value of a {@code PrivateKey} is stored as four 64-bit limbs, so a {@code PrivateKey} can represent values in the range [0, 2^256 - 1]. The methods {@link #parseByteArray(byte[], int)}, {@link #parseLongArray(long[], int)}, {@link #writeTo(byte[], int)} and {@link #writeTo(long[], int)} convert between this representation and packed arrays without going through {@code BigInteger}.
+ * <p>
+ * This class is immutable and thread-safe. The public key and the WIF representations for Mainnet are computed lazily and memoized, unless disabled using {@link Memoization}.
  * 
  * @since 1.0.0
  * @author J&#246;rgen Lundgren
  */
 public final class PrivateKey {
-	private static final BigInteger P = new BigInteger("0FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16);
-	private static final BigInteger A = new BigInteger("0");
-	private static final BigInteger B = new BigInteger("7");
-	private static final BigInteger X = new BigInteger("79BE667EF9DCBBAC55A06295CE870B07029BFCDB2DCE28D959F2815B16F81798", 16);
-	private static final BigInteger Y = new BigInteger("483ADA7726A3C4655DA4FBFC0E1108A8FD17B448A68554199C47D08FFB10D4B8", 16);
-	private static final Curve CURVE = new Curve(P, A, B);
-	private static final Point POINT = new Point(CURVE, X, Y);
+	static final BigInteger N = CurveContext.SECP256K1.getN();
+	static final Curve CURVE = CurveContext.SECP256K1.getCurve();
+	static final Point POINT = CurveContext.SECP256K1.getGenerator();
 	private static final byte BOTH_NET_0_1 = (byte)(0x01);
 	private static final byte MAIN_NET_8_0 = (byte)(0x80);
 	private static final byte TEST_NET_E_F = (byte)(0xEF);
@@ -49,7 +46,13 @@ public final class PrivateKey {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private final BigInteger value;
+	private final long value0;
+	private final long value1;
+	private final long value2;
+	private final long value3;
+	private PublicKey publicKey;
+	private String stringWIFCompressed;
+	private String stringWIFUncompressed;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -57,12 +60,26 @@ public final class PrivateKey {
 	 * Constructs a new {@code PrivateKey} instance.
 	 * <p>
 	 * If {@code value} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code value} is not in the range [0, 2^256 - 1], an {@code IllegalArgumentException} will be thrown.
 	 * 
 	 * @param value a {@code BigInteger} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code value} is not in the range [0, 2^256 - 1]
 	 * @throws NullPointerException thrown if, and only if, {@code value} is {@code null}
 	 */
 	public PrivateKey(final BigInteger value) {
-		this.value = Objects.requireNonNull(value, "value == null");
+		this(Utilities.convertBigIntegerToByteArray(doRequireRange(Objects.requireNonNull(value, "value == null")), 32), 0);
+	}
+	
+	private PrivateKey(final byte[] bytes, final int offset) {
+		this(Utilities.convertByteArrayToLong(bytes, offset + 0), Utilities.convertByteArrayToLong(bytes, offset + 8), Utilities.convertByteArrayToLong(bytes, offset + 16), Utilities.convertByteArrayToLong(bytes, offset + 24));
+	}
+	
+	PrivateKey(final long value0, final long value1, final long value2, final long value3) {
+		this.value0 = value0;
+		this.value1 = value1;
+		this.value2 = value2;
+		this.value3 = value3;
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -73,21 +90,80 @@ public final class PrivateKey {
 	 * @return the {@code BigInteger} instance associated with this {@code PrivateKey} instance
 	 */
 	public BigInteger getValue() {
-		return this.value;
+		return new BigInteger(1, doToByteArray());
 	}
 	
 	/**
 	 * Returns a {@link PublicKey} instance that represents the public key associated with the private key represented by this {@code PrivateKey} instance.
+	 * <p>
+	 * If a global {@link KeyCache} has been set, it will be consulted before the public key is derived.
 	 * 
 	 * @return a {@code PublicKey} instance that represents the public key associated with the private key represented by this {@code PrivateKey} instance
 	 */
 	public PublicKey toPublicKey() {
-		final Point point = Point.multiply(POINT, this.value);
+		if(!Memoization.isEnabled()) {
+			return doToPublicKey();
+		}
 		
-		final BigInteger x = point.getX();
-		final BigInteger y = point.getY();
+		PublicKey publicKey = this.publicKey;
 		
-		return new PublicKey(x, y);
+		if(publicKey == null) {
+			this.publicKey = publicKey = doToPublicKey();
+		}
+		
+		return publicKey;
+	}
+	
+	/**
+	 * Returns a {@code PrivateKey} that represents the value of this {@code PrivateKey} instance plus {@code tweak}, modulo n.
+	 * <p>
+	 * If {@code tweak} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the value of this {@code PrivateKey} instance is not in the range [0, n - 1], where n is the order of the generator point of secp256k1, or the result is zero, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * This is the private key of the public key returned by {@link PublicKey#tweakAdd(Scalar)}. No {@code BigInteger} is created by this method.
+	 * 
+	 * @param tweak a {@link Scalar} instance
+	 * @return a {@code PrivateKey} that represents the value of this {@code PrivateKey} instance plus {@code tweak}, modulo n
+	 * @throws IllegalArgumentException thrown if, and only if, the value of this {@code PrivateKey} instance is not in the range [0, n - 1] or the result is zero
+	 * @throws NullPointerException thrown if, and only if, {@code tweak} is {@code null}
+	 */
+	public PrivateKey tweakAdd(final Scalar tweak) {
+		return doRequireNonZero(toScalar().add(Objects.requireNonNull(tweak, "tweak == null"))).toPrivateKey();
+	}
+	
+	/**
+	 * Returns a {@code PrivateKey} that represents the value of this {@code PrivateKey} instance multiplied by {@code tweak}, modulo n.
+	 * <p>
+	 * If {@code tweak} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the value of this {@code PrivateKey} instance is not in the range [0, n - 1], where n is the order of the generator point of secp256k1, or the result is zero, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * This is the private key of the public key returned by {@link PublicKey#tweakMultiply(Scalar)}. No {@code BigInteger} is created by this method.
+	 * 
+	 * @param tweak a {@link Scalar} instance
+	 * @return a {@code PrivateKey} that represents the value of this {@code PrivateKey} instance multiplied by {@code tweak}, modulo n
+	 * @throws IllegalArgumentException thrown if, and only if, the value of this {@code PrivateKey} instance is not in the range [0, n - 1] or the result is zero
+	 * @throws NullPointerException thrown if, and only if, {@code tweak} is {@code null}
+	 */
+	public PrivateKey tweakMultiply(final Scalar tweak) {
+		return doRequireNonZero(toScalar().multiply(Objects.requireNonNull(tweak, "tweak == null"))).toPrivateKey();
+	}
+	
+	/**
+	 * Returns a {@link Scalar} that represents the value of this {@code PrivateKey} instance.
+	 * <p>
+	 * If the value of this {@code PrivateKey} instance is not in the range [0, n - 1], where n is the order of the generator point of secp256k1, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @return a {@code Scalar} that represents the value of this {@code PrivateKey} instance
+	 * @throws IllegalArgumentException thrown if, and only if, the value of this {@code PrivateKey} instance is not in the range [0, n - 1]
+	 */
+	public Scalar toScalar() {
+		if(!Scalar.isReduced(this.value0, this.value1, this.value2, this.value3)) {
+			throw new IllegalArgumentException("The private key is not in the range [0, n - 1]");
+		}
+		
+		return new Scalar(this.value0, this.value1, this.value2, this.value3);
 	}
 	
 	/**
@@ -113,7 +189,7 @@ public final class PrivateKey {
 	 * @return a {@code String} representation of this {@code PrivateKey} instance in decimal format
 	 */
 	public String toStringDec() {
-		return this.value.toString(10);
+		return getValue().toString(10);
 	}
 	
 	/**
@@ -129,7 +205,7 @@ public final class PrivateKey {
 	 * @return a {@code String} representation of this {@code PrivateKey} instance in hexadecimal format
 	 */
 	public String toStringHex() {
-		return this.value.toString(16);
+		return getValue().toString(16);
 	}
 	
 	/**
@@ -173,14 +249,27 @@ public final class PrivateKey {
 	 * @return a {@code String} representation of this {@code PrivateKey} instance in Wallet Import Format (WIF)
 	 */
 	public String toStringWIF(final boolean isCompressed, final boolean isTestNet) {
-		final int value0 = isTestNet ? TEST_NET_E_F & 0xFF : MAIN_NET_8_0 & 0xFF;
-		final int valueN = BOTH_NET_0_1 & 0xFF;
+		if(isTestNet || !Memoization.isEnabled()) {
+			return doToStringWIF(isCompressed, isTestNet);
+		}
 		
-		final byte[] a = Utilities.convertHexStringToByteArray(toStringHex());
-		final byte[] b = isCompressed ? Utilities.array(valueN) : Utilities.array();
-		final byte[] c = Utilities.arrayConcatenate(a, b);
+		if(isCompressed) {
+			String stringWIFCompressed = this.stringWIFCompressed;
+			
+			if(stringWIFCompressed == null) {
+				this.stringWIFCompressed = stringWIFCompressed = doToStringWIF(true, false);
+			}
+			
+			return stringWIFCompressed;
+		}
 		
-		return Utilities.base58EncodeChecked(value0, c);
+		String stringWIFUncompressed = this.stringWIFUncompressed;
+		
+		if(stringWIFUncompressed == null) {
+			this.stringWIFUncompressed = stringWIFUncompressed = doToStringWIF(false, false);
+		}
+		
+		return stringWIFUncompressed;
 	}
 	
 	/**
@@ -197,7 +286,13 @@ public final class PrivateKey {
 			return true;
 		} else if(!(object instanceof PrivateKey)) {
 			return false;
-		} else if(!Objects.equals(this.value, PrivateKey.class.cast(object).value)) {
+		} else if(this.value0 != PrivateKey.class.cast(object).value0) {
+			return false;
+		} else if(this.value1 != PrivateKey.class.cast(object).value1) {
+			return false;
+		} else if(this.value2 != PrivateKey.class.cast(object).value2) {
+			return false;
+		} else if(this.value3 != PrivateKey.class.cast(object).value3) {
 			return false;
 		} else {
 			return true;
@@ -217,7 +312,7 @@ public final class PrivateKey {
 	 * @return a {@code byte} array representation of this {@code PrivateKey} instance
 	 */
 	public byte[] toByteArray() {
-		return this.value.toByteArray();
+		return getValue().toByteArray();
 	}
 	
 	/**
@@ -227,11 +322,103 @@ public final class PrivateKey {
 	 */
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.value);
+		return ((Long.hashCode(this.value0) * 31 + Long.hashCode(this.value1)) * 31 + Long.hashCode(this.value2)) * 31 + Long.hashCode(this.value3);
+	}
+	
+	/**
+	 * Writes the value of this {@code PrivateKey} instance into {@code bytes}, starting at {@code offset}.
+	 * <p>
+	 * The value is written as a 32 byte unsigned big-endian record.
+	 * <p>
+	 * If {@code bytes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there is not enough room in {@code bytes}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param bytes the {@code byte} array to write to
+	 * @param offset the offset in {@code bytes} to start writing at
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there is not enough room in {@code bytes}
+	 * @throws NullPointerException thrown if, and only if, {@code bytes} is {@code null}
+	 */
+	public void writeTo(final byte[] bytes, final int offset) {
+		Utilities.requireRange(Objects.requireNonNull(bytes, "bytes == null").length, offset, 32);
+		
+		Utilities.convertLongToByteArray(bytes, offset + 0, this.value0);
+		Utilities.convertLongToByteArray(bytes, offset + 8, this.value1);
+		Utilities.convertLongToByteArray(bytes, offset + 16, this.value2);
+		Utilities.convertLongToByteArray(bytes, offset + 24, this.value3);
+	}
+	
+	/**
+	 * Writes the value of this {@code PrivateKey} instance into {@code longs}, starting at {@code offset}.
+	 * <p>
+	 * The value is written as four 64-bit limbs, with the most significant limb first.
+	 * <p>
+	 * If {@code longs} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there is not enough room in {@code longs}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param longs the {@code long} array to write to
+	 * @param offset the offset in {@code longs} to start writing at
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there is not enough room in {@code longs}
+	 * @throws NullPointerException thrown if, and only if, {@code longs} is {@code null}
+	 */
+	public void writeTo(final long[] longs, final int offset) {
+		Utilities.requireRange(Objects.requireNonNull(longs, "longs == null").length, offset, 4);
+		
+		longs[offset + 0] = this.value0;
+		longs[offset + 1] = this.value1;
+		longs[offset + 2] = this.value2;
+		longs[offset + 3] = this.value3;
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	/**
+	 * Parses a 32 byte unsigned big-endian record in {@code bytes}, starting at {@code offset}.
+	 * <p>
+	 * Returns a {@code PrivateKey} instance.
+	 * <p>
+	 * If {@code bytes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there are less than 32 bytes in {@code bytes} starting at {@code offset}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * No {@code BigInteger} is created by this method.
+	 * 
+	 * @param bytes the {@code byte} array to read from
+	 * @param offset the offset in {@code bytes} to start reading at
+	 * @return a {@code PrivateKey} instance
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there are less than 32 bytes in {@code bytes} starting at {@code offset}
+	 * @throws NullPointerException thrown if, and only if, {@code bytes} is {@code null}
+	 */
+	public static PrivateKey parseByteArray(final byte[] bytes, final int offset) {
+		Utilities.requireRange(Objects.requireNonNull(bytes, "bytes == null").length, offset, 32);
+		
+		return new PrivateKey(bytes, offset);
+	}
+	
+	/**
+	 * Parses four 64-bit limbs in {@code longs}, starting at {@code offset}, with the most significant limb first.
+	 * <p>
+	 * Returns a {@code PrivateKey} instance.
+	 * <p>
+	 * If {@code longs} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there are less than four limbs in {@code longs} starting at {@code offset}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * No {@code BigInteger} is created by this method.
+	 * 
+	 * @param longs the {@code long} array to read from
+	 * @param offset the offset in {@code longs} to start reading at
+	 * @return a {@code PrivateKey} instance
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there are less than four limbs in {@code longs} starting at {@code offset}
+	 * @throws NullPointerException thrown if, and only if, {@code longs} is {@code null}
+	 */
+	public static PrivateKey parseLongArray(final long[] longs, final int offset) {
+		Utilities.requireRange(Objects.requireNonNull(longs, "longs == null").length, offset, 4);
+		
+		return new PrivateKey(longs[offset + 0], longs[offset + 1], longs[offset + 2], longs[offset + 3]);
+	}
+	
 	/**
 	 * Parses a {@code String} in decimal format.
 	 * <p>
@@ -331,24 +518,83 @@ public final class PrivateKey {
 	/**
 	 * Returns a random {@code PrivateKey} instance.
 	 * <p>
-	 * This method is not cryptographically secure and should therefore not be used to create a real private key.
+	 * The returned {@code PrivateKey} instance is generated by a cryptographically secure random number generator and its value is in the range [1, n - 1], where n is the order of the generator point.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * KeyGenerator.getDefault().next();
+	 * }
+	 * </pre>
 	 * 
 	 * @return a random {@code PrivateKey} instance
 	 */
 	public static PrivateKey random() {
-		final int digits = ThreadLocalRandom.current().nextInt(1, 101);
+		return KeyGenerator.getDefault().next();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	PublicKey computePublicKey() {
+		final BigInteger value = getValue();
 		
-		final StringBuilder stringBuilder = new StringBuilder();
+		final Object event = Events.beginScalarMultiplication();
 		
-		for(int i = 0; i < digits; i++) {
-			stringBuilder.append(ThreadLocalRandom.current().nextInt(0, 10));
-		}
+		final Point point = CurveContext.SECP256K1.multiply(value);
+		
+		Events.commit(event);
+		
+		final BigInteger x = point.getX();
+		final BigInteger y = point.getY();
+		
+		return new PublicKey(x, y);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private PublicKey doToPublicKey() {
+		final KeyCache keyCache = KeyCache.getGlobal();
+		
+		return keyCache != null ? keyCache.toPublicKey(this) : computePublicKey();
+	}
+	
+	private byte[] doToByteArray() {
+		final byte[] bytes = new byte[32];
+		
+		writeTo(bytes, 0);
 		
-		return new PrivateKey(new BigInteger(stringBuilder.toString(), 10));
+		return bytes;
+	}
+	
+	private String doToStringWIF(final boolean isCompressed, final boolean isTestNet) {
+		final int value0 = isTestNet ? TEST_NET_E_F & 0xFF : MAIN_NET_8_0 & 0xFF;
+		final int valueN = BOTH_NET_0_1 & 0xFF;
+		
+		final byte[] a = doToByteArray();
+		final byte[] b = isCompressed ? Utilities.array(valueN) : Utilities.array();
+		final byte[] c = Utilities.arrayConcatenate(a, b);
+		
+		return Utilities.base58EncodeChecked(value0, c);
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private static BigInteger doRequireRange(final BigInteger value) {
+		if(value.signum() < 0 || value.bitLength() > 256) {
+			throw new IllegalArgumentException(String.format("The value %s is not in the range [0, 2^256 - 1]", value.toString(16)));
+		}
+		
+		return value;
+	}
+	
+	private static Scalar doRequireNonZero(final Scalar scalar) {
+		if(scalar.isZero()) {
+			throw new IllegalArgumentException("The tweaked private key is zero");
+		}
+		
+		return scalar;
+	}
+	
 	private static boolean doIsCompressed(final String stringWIF) {
 		final char character = stringWIF.charAt(0);
 		
@@ -19,23 +19,34 @@
 package org.macroing.btc4j;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * A {@code PublicKey} represents a public key for Bitcoin.
  * <p>
- * This class is immutable and thread-safe.
+ * This class is immutable and thread-safe. The serialized forms, the {@code BigInteger} representations and the addresses are computed lazily and memoized, unless disabled using {@link Memoization}.
  * 
  * @since 1.0.0
  * @author J&#246;rgen Lundgren
  */
 public final class PublicKey {
 	private static final BigInteger TWO = new BigInteger("2");
+	private static final byte PREFIX_EVEN = (byte)(0x02);
+	private static final byte PREFIX_ODD = (byte)(0x03);
+	private static final byte PREFIX_UNCOMPRESSED = (byte)(0x04);
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	private final BigInteger x;
 	private final BigInteger y;
+	private Address addressCompressed;
+	private Address addressUncompressed;
+	private Addresses addresses;
+	private BigInteger bigIntegerCompressed;
+	private BigInteger bigIntegerUncompressed;
+	private volatile byte[] bytesCompressed;
+	private volatile byte[] bytesUncompressed;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -73,12 +84,139 @@ public final class PublicKey {
 	
 	/**
 	 * Returns an {@link Address} instance that represents the address associated with the public key represented by this {@code PublicKey} instance.
+	 * <p>
+	 * If a global {@link KeyCache} has been set, it will be consulted before the address is derived.
 	 * 
 	 * @param isCompressed {@code true} if, and only if, compression should be used, {@code false} otherwise
 	 * @return an {@code Address} instance that represents the address associated with the public key represented by this {@code PublicKey} instance
 	 */
 	public Address toAddress(final boolean isCompressed) {
-		return new Address(Utilities.computeHashUsingRIPEMD160(Utilities.computeHashUsingSHA256(toByteArray(isCompressed))));
+		if(!Memoization.isEnabled()) {
+			return doToAddress(isCompressed);
+		}
+		
+		if(isCompressed) {
+			Address addressCompressed = this.addressCompressed;
+			
+			if(addressCompressed == null) {
+				this.addressCompressed = addressCompressed = doToAddress(true);
+			}
+			
+			return addressCompressed;
+		}
+		
+		Address addressUncompressed = this.addressUncompressed;
+		
+		if(addressUncompressed == null) {
+			this.addressUncompressed = addressUncompressed = doToAddress(false);
+		}
+		
+		return addressUncompressed;
+	}
+	
+	/**
+	 * Returns an {@link Addresses} instance that contains all common address formats of the public key represented by this {@code PublicKey} instance.
+	 * <p>
+	 * This method serializes the public key and computes each HASH160 only once. It is therefore faster than calling {@link #toAddress(boolean)} for each format.
+	 * 
+	 * @return an {@code Addresses} instance that contains all common address formats of the public key represented by this {@code PublicKey} instance
+	 */
+	public Addresses toAddresses() {
+		if(!Memoization.isEnabled()) {
+			return doToAddresses();
+		}
+		
+		Addresses addresses = this.addresses;
+		
+		if(addresses == null) {
+			this.addresses = addresses = doToAddresses();
+		}
+		
+		return addresses;
+	}
+	
+	/**
+	 * Writes the HASH160 values of all common address formats of the public key represented by this {@code PublicKey} instance into {@code hashes}, starting at {@code offset}.
+	 * <p>
+	 * If {@code hashes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there are less than 60 bytes available in {@code hashes}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * The record written consists of 60 bytes. The first 20 bytes contain the HASH160 of the compressed public key, which is used by P2PKH and P2WPKH. The next 20 bytes contain the HASH160 of the uncompressed public key, which is used by P2PKH. The last 20 bytes contain the HASH160 of the P2WPKH redeem script, which is used by P2SH-P2WPKH.
+	 * <p>
+	 * This method can be used to fill a reusable output buffer in bulk jobs.
+	 * 
+	 * @param hashes the {@code byte} array to write to
+	 * @param offset the offset in {@code hashes} to start writing at
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there are less than 60 bytes available in {@code hashes}
+	 * @throws NullPointerException thrown if, and only if, {@code hashes} is {@code null}
+	 */
+	public void toAddresses(final byte[] hashes, final int offset) {
+		if(offset < 0 || offset + Addresses.LENGTH > Objects.requireNonNull(hashes, "hashes == null").length) {
+			throw new IndexOutOfBoundsException(String.format("Not enough room: hashes.length = %d, offset = %d", Integer.valueOf(hashes.length), Integer.valueOf(offset)));
+		}
+		
+		computeHashes(toByteArray(false), hashes, offset);
+	}
+	
+	/**
+	 * Returns a {@code PublicKey} that represents the point of this {@code PublicKey} instance plus {@code tweak} times the generator point.
+	 * <p>
+	 * If {@code tweak} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the result is the point at infinity, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * This is the public key of the private key returned by {@link PrivateKey#tweakAdd(Scalar)}.
+	 * 
+	 * @param tweak a {@link Scalar} instance
+	 * @return a {@code PublicKey} that represents the point of this {@code PublicKey} instance plus {@code tweak} times the generator point
+	 * @throws IllegalArgumentException thrown if, and only if, the result is the point at infinity
+	 * @throws NullPointerException thrown if, and only if, {@code tweak} is {@code null}
+	 */
+	public PublicKey tweakAdd(final Scalar tweak) {
+		final PublicKey publicKey = computeTweakAdd(Objects.requireNonNull(tweak, "tweak == null"));
+		
+		if(publicKey == null) {
+			throw new IllegalArgumentException("The tweaked public key is the point at infinity");
+		}
+		
+		return publicKey;
+	}
+	
+	/**
+	 * Returns a {@code PublicKey} that represents the point of this {@code PublicKey} instance multiplied by {@code tweak}.
+	 * <p>
+	 * If {@code tweak} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code tweak} is zero, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * This is the public key of the private key returned by {@link PrivateKey#tweakMultiply(Scalar)}. The multiplication is performed in Jacobian coordinates with a single field inversion.
+	 * 
+	 * @param tweak a {@link Scalar} instance
+	 * @return a {@code PublicKey} that represents the point of this {@code PublicKey} instance multiplied by {@code tweak}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code tweak} is zero
+	 * @throws NullPointerException thrown if, and only if, {@code tweak} is {@code null}
+	 */
+	public PublicKey tweakMultiply(final Scalar tweak) {
+		if(Objects.requireNonNull(tweak, "tweak == null").isZero()) {
+			throw new IllegalArgumentException("The tweaked public key is the point at infinity");
+		}
+		
+		final byte[] bytes = tweak.toByteArray();
+		
+		final PointAccumulator pointAccumulator = new PointAccumulator();
+		
+		for(int i = 0; i < 256; i++) {
+			pointAccumulator.multiplyByTwo();
+			
+			if(((bytes[i >>> 3] >>> (7 - (i & 7))) & 1) != 0) {
+				pointAccumulator.add(this.x, this.y);
+			}
+		}
+		
+		final Point point = pointAccumulator.toPoint();
+		
+		return new PublicKey(point.getX(), point.getY());
 	}
 	
 	/**
@@ -122,13 +260,27 @@ public final class PublicKey {
 	 * @return a {@code BigInteger} representation of this {@code PrivateKey} instance
 	 */
 	public BigInteger toBigInteger(final boolean isCompressed) {
+		if(!Memoization.isEnabled()) {
+			return new BigInteger(1, doGetByteArray(isCompressed));
+		}
+		
 		if(isCompressed) {
-			return new BigInteger(String.format("04%s%s", this.x.toString(16), this.y.toString(16)), 16);
-		} else if(doIsEven()) {
-			return new BigInteger(String.format("02%s", this.x.toString(16)), 16);
-		} else {
-			return new BigInteger(String.format("03%s", this.x.toString(16)), 16);
+			BigInteger bigIntegerCompressed = this.bigIntegerCompressed;
+			
+			if(bigIntegerCompressed == null) {
+				this.bigIntegerCompressed = bigIntegerCompressed = new BigInteger(1, doGetByteArray(true));
+			}
+			
+			return bigIntegerCompressed;
+		}
+		
+		BigInteger bigIntegerUncompressed = this.bigIntegerUncompressed;
+		
+		if(bigIntegerUncompressed == null) {
+			this.bigIntegerUncompressed = bigIntegerUncompressed = new BigInteger(1, doGetByteArray(false));
 		}
+		
+		return bigIntegerUncompressed;
 	}
 	
 	/**
@@ -201,18 +353,13 @@ public final class PublicKey {
 	/**
 	 * Returns a {@code byte} array representation of this {@code PublicKey} instance.
 	 * <p>
-	 * Calling this method is equivalent to the following:
-	 * <pre>
-	 * {@code
-	 * publicKey.toBigInteger(isCompressed).toByteArray();
-	 * }
-	 * </pre>
+	 * The returned {@code byte} array is in SEC1 format. If {@code isCompressed} is {@code true}, it consists of the prefix {@code 0x02} or {@code 0x03} followed by the 32 byte X-coordinate. Otherwise it consists of the prefix {@code 0x04} followed by the 32 byte X- and Y-coordinates.
 	 * 
 	 * @param isCompressed {@code true} if, and only if, compression should be used, {@code false} otherwise
 	 * @return a {@code byte} array representation of this {@code PublicKey} instance
 	 */
 	public byte[] toByteArray(final boolean isCompressed) {
-		return toBigInteger(isCompressed).toByteArray();
+		return doGetByteArray(isCompressed).clone();
 	}
 	
 	/**
@@ -227,7 +374,169 @@ public final class PublicKey {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	/**
+	 * Parses a {@code byte} array in SEC1 format.
+	 * <p>
+	 * Returns a {@code PublicKey} instance.
+	 * <p>
+	 * If {@code bytes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code bytes} is invalid, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * Both the compressed format, consisting of 33 bytes, and the uncompressed format, consisting of 65 bytes, are supported. The point has to be on the curve.
+	 * 
+	 * @param bytes a {@code byte} array in SEC1 format
+	 * @return a {@code PublicKey} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code bytes} is invalid
+	 * @throws NullPointerException thrown if, and only if, {@code bytes} is {@code null}
+	 */
+	public static PublicKey parseByteArray(final byte[] bytes) {
+		Objects.requireNonNull(bytes, "bytes == null");
+		
+		final BigInteger p = PrivateKey.CURVE.getP();
+		
+		if(bytes.length == 33 && (bytes[0] == PREFIX_EVEN || bytes[0] == PREFIX_ODD)) {
+			final BigInteger x = new BigInteger(1, Arrays.copyOfRange(bytes, 1, 33));
+			
+			if(x.compareTo(p) >= 0) {
+				throw new IllegalArgumentException("Invalid X-coordinate");
+			}
+			
+			final BigInteger y = CurveContext.SECP256K1.computeY(x, bytes[0] == PREFIX_ODD);
+			
+			if(y == null) {
+				throw new IllegalArgumentException("The point is not on the curve");
+			}
+			
+			return new PublicKey(x, y);
+		}
+		
+		if(bytes.length == 65 && bytes[0] == PREFIX_UNCOMPRESSED) {
+			final BigInteger x = new BigInteger(1, Arrays.copyOfRange(bytes,  1, 33));
+			final BigInteger y = new BigInteger(1, Arrays.copyOfRange(bytes, 33, 65));
+			
+			if(x.compareTo(p) >= 0 || y.compareTo(p) >= 0 || !y.multiply(y).mod(p).equals(CurveContext.SECP256K1.computeYSquared(x))) {
+				throw new IllegalArgumentException("The point is not on the curve");
+			}
+			
+			return new PublicKey(x, y);
+		}
+		
+		throw new IllegalArgumentException("Invalid format");
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	Address computeAddress(final boolean isCompressed) {
+		final byte[] bytes = doGetByteArray(isCompressed);
+		
+		final Object event = Events.beginHash160(bytes.length);
+		
+		final byte[] hash = Utilities.computeHash160(bytes);
+		
+		Events.commit(event);
+		
+		return Address.parseByteArray(AddressType.P2PKH, hash, 0);
+	}
+	
+	PublicKey computeTweakAdd(final Scalar tweak) {
+		if(tweak.isZero()) {
+			return this;
+		}
+		
+		final BigInteger[] xs = new BigInteger[1];
+		final BigInteger[] ys = new BigInteger[1];
+		
+		GeneratorTable.multiply(tweak.toByteArray(), 0, 1, xs, ys);
+		
+		final Point point = Point.add(new Point(PrivateKey.CURVE, xs[0], ys[0]), toPoint());
+		
+		return point.isInfinity() ? null : new PublicKey(point.getX(), point.getY());
+	}
+	
+	Point toPoint() {
+		return new Point(PrivateKey.CURVE, this.x, this.y);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Address doToAddress(final boolean isCompressed) {
+		final KeyCache keyCache = KeyCache.getGlobal();
+		
+		return keyCache != null ? keyCache.toAddress(this, isCompressed) : computeAddress(isCompressed);
+	}
+	
+	private Addresses doToAddresses() {
+		final byte[] hashes = new byte[Addresses.LENGTH];
+		
+		toAddresses(hashes, 0);
+		
+		return new Addresses(hashes);
+	}
+	
+	private byte[] doGetByteArray(final boolean isCompressed) {
+		if(!Memoization.isEnabled()) {
+			return doToByteArray(isCompressed);
+		}
+		
+		if(isCompressed) {
+			byte[] bytesCompressed = this.bytesCompressed;
+			
+			if(bytesCompressed == null) {
+				this.bytesCompressed = bytesCompressed = doToByteArray(true);
+			}
+			
+			return bytesCompressed;
+		}
+		
+		byte[] bytesUncompressed = this.bytesUncompressed;
+		
+		if(bytesUncompressed == null) {
+			this.bytesUncompressed = bytesUncompressed = doToByteArray(false);
+		}
+		
+		return bytesUncompressed;
+	}
+	
+	private byte[] doToByteArray(final boolean isCompressed) {
+		if(isCompressed) {
+			final byte[] bytes = new byte[33];
+			
+			bytes[0] = doIsEven() ? PREFIX_EVEN : PREFIX_ODD;
+			
+			Utilities.convertBigIntegerToByteArray(this.x, bytes, 1, 32);
+			
+			return bytes;
+		}
+		
+		final byte[] bytes = new byte[65];
+		
+		bytes[0] = PREFIX_UNCOMPRESSED;
+		
+		Utilities.convertBigIntegerToByteArray(this.x, bytes,  1, 32);
+		Utilities.convertBigIntegerToByteArray(this.y, bytes, 33, 32);
+		
+		return bytes;
+	}
+	
 	private boolean doIsEven() {
 		return this.y.mod(TWO).equals(BigInteger.ZERO);
 	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	static void computeHashes(final byte[] bytes, final byte[] hashes, final int offset) {
+		Utilities.computeHash160(bytes, 0, 65, hashes, offset + Addresses.OFFSET_UNCOMPRESSED);
+		
+		bytes[0] = (bytes[64] & 1) == 0 ? PREFIX_EVEN : PREFIX_ODD;
+		
+		Utilities.computeHash160(bytes, 0, 33, hashes, offset + Addresses.OFFSET_COMPRESSED);
+		
+		bytes[0] = 0x00;
+		bytes[1] = 0x14;
+		
+		System.arraycopy(hashes, offset + Addresses.OFFSET_COMPRESSED, bytes, 2, 20);
+		
+		Utilities.computeHash160(bytes, 0, 22, hashes, offset + Addresses.OFFSET_SCRIPT);
+	}
 }
\ No newline at end of file
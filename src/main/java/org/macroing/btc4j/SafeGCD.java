@@ -0,0 +1,393 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.math.BigInteger;
+
+final class SafeGCD {
+	private static final int ITERATIONS = 20;
+	private static final int ITERATIONS_JACOBI = 40;
+	private static final int M30 = 0x3FFFFFFF;
+	private static final long MASK = 0xFFFFFFFFL;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final BigInteger modulus;
+	private final int[] limbs;
+	private final int inverse;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public SafeGCD(final BigInteger modulus) {
+		this.modulus = modulus;
+		this.limbs = doToSigned30(doToLimbs(Utilities.convertBigIntegerToByteArray(modulus, 32)));
+		this.inverse = modulus.modInverse(BigInteger.ONE.shiftLeft(30)).intValue();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public BigInteger getModulus() {
+		return this.modulus;
+	}
+	
+	public BigInteger invert(final BigInteger value) {
+		final BigInteger reduced = value.mod(this.modulus);
+		
+		if(reduced.signum() == 0) {
+			throw new ArithmeticException("BigInteger not invertible.");
+		}
+		
+		final long[] limbs = doToLimbs(Utilities.convertBigIntegerToByteArray(reduced, 32));
+		
+		invert(limbs);
+		
+		return new BigInteger(1, doToByteArray(limbs));
+	}
+	
+	public boolean isQuadraticResidue(final BigInteger value) {
+		return jacobi(value) == 1;
+	}
+	
+	public int jacobi(final BigInteger value) {
+		final BigInteger reduced = value.mod(this.modulus);
+		
+		if(reduced.signum() == 0) {
+			return 0;
+		}
+		
+		final int[] f = this.limbs.clone();
+		final int[] g = doToSigned30(doToLimbs(Utilities.convertBigIntegerToByteArray(reduced, 32)));
+		final int[] t = new int[6];
+		
+		t[4] = -1;
+		
+		for(int i = 0; i < ITERATIONS_JACOBI; i++) {
+			doPosDivSteps(f[0] | f[1] << 30, g[0] | g[1] << 30, t);
+			doUpdateFG(f, g, t);
+			
+			if(doIsOne(f)) {
+				return 1 - ((t[5] & 1) << 1);
+			}
+			
+			if(doIsZero(g)) {
+				return 0;
+			}
+		}
+		
+		return reduced.modPow(this.modulus.shiftRight(1), this.modulus).equals(BigInteger.ONE) ? 1 : -1;
+	}
+	
+	public void invert(final long[] limbs) {
+		final int[] d = new int[9];
+		final int[] e = new int[9];
+		final int[] f = this.limbs.clone();
+		final int[] g = doToSigned30(limbs);
+		final int[] t = new int[4];
+		
+		e[0] = 1;
+		
+		int zeta = -1;
+		
+		for(int i = 0; i < ITERATIONS; i++) {
+			zeta = doDivSteps(zeta, f[0], g[0], t);
+			
+			doUpdateDE(d, e, t);
+			doUpdateFG(f, g, t);
+		}
+		
+		doNormalize(d, f[8]);
+		doFromSigned30(d, limbs);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private void doNormalize(final int[] r, final int sign) {
+		final int conditionalNegate = sign >> 31;
+		
+		int conditionalAdd = r[8] >> 31;
+		
+		for(int i = 0; i < 9; i++) {
+			r[i] += this.limbs[i] & conditionalAdd;
+			r[i] = (r[i] ^ conditionalNegate) - conditionalNegate;
+		}
+		
+		doPropagate(r);
+		
+		conditionalAdd = r[8] >> 31;
+		
+		for(int i = 0; i < 9; i++) {
+			r[i] += this.limbs[i] & conditionalAdd;
+		}
+		
+		doPropagate(r);
+	}
+	
+	private void doUpdateDE(final int[] d, final int[] e, final int[] t) {
+		final int u = t[0];
+		final int v = t[1];
+		final int q = t[2];
+		final int r = t[3];
+		
+		final int signD = d[8] >> 31;
+		final int signE = e[8] >> 31;
+		
+		int mD = (u & signD) + (v & signE);
+		int mE = (q & signD) + (r & signE);
+		
+		long carryD = (long)(u) * d[0] + (long)(v) * e[0];
+		long carryE = (long)(q) * d[0] + (long)(r) * e[0];
+		
+		mD -= (this.inverse * (int)(carryD) + mD) & M30;
+		mE -= (this.inverse * (int)(carryE) + mE) & M30;
+		
+		carryD += (long)(this.limbs[0]) * mD;
+		carryE += (long)(this.limbs[0]) * mE;
+		carryD >>= 30;
+		carryE >>= 30;
+		
+		for(int i = 1; i < 9; i++) {
+			carryD += (long)(u) * d[i] + (long)(v) * e[i] + (long)(this.limbs[i]) * mD;
+			carryE += (long)(q) * d[i] + (long)(r) * e[i] + (long)(this.limbs[i]) * mE;
+			
+			d[i - 1] = (int)(carryD) & M30;
+			e[i - 1] = (int)(carryE) & M30;
+			
+			carryD >>= 30;
+			carryE >>= 30;
+		}
+		
+		d[8] = (int)(carryD);
+		e[8] = (int)(carryE);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static boolean doIsOne(final int[] a) {
+		int bits = a[0] ^ 1;
+		
+		for(int i = 1; i < 9; i++) {
+			bits |= a[i];
+		}
+		
+		return bits == 0;
+	}
+	
+	private static boolean doIsZero(final int[] a) {
+		int bits = 0;
+		
+		for(int i = 0; i < 9; i++) {
+			bits |= a[i];
+		}
+		
+		return bits == 0;
+	}
+	
+	private static byte[] doToByteArray(final long[] limbs) {
+		final byte[] bytes = new byte[32];
+		
+		for(int i = 0; i < 8; i++) {
+			Utilities.convertIntToByteArray(bytes, 28 - i * 4, (int)(limbs[i]));
+		}
+		
+		return bytes;
+	}
+	
+	private static int doDivSteps(final int zeta, final int f0, final int g0, final int[] t) {
+		int u = 1;
+		int v = 0;
+		int q = 0;
+		int r = 1;
+		int f = f0;
+		int g = g0;
+		int z = zeta;
+		
+		for(int i = 0; i < 30; i++) {
+			final int conditionalNegate = z >> 31;
+			final int conditionalAdd = -(g & 1);
+			final int conditionalSwap = conditionalNegate & conditionalAdd;
+			
+			g += ((f ^ conditionalNegate) - conditionalNegate) & conditionalAdd;
+			q += ((u ^ conditionalNegate) - conditionalNegate) & conditionalAdd;
+			r += ((v ^ conditionalNegate) - conditionalNegate) & conditionalAdd;
+			z = (z ^ conditionalSwap) - 1;
+			f += g & conditionalSwap;
+			u += q & conditionalSwap;
+			v += r & conditionalSwap;
+			g >>= 1;
+			u <<= 1;
+			v <<= 1;
+		}
+		
+		t[0] = u;
+		t[1] = v;
+		t[2] = q;
+		t[3] = r;
+		
+		return z;
+	}
+	
+	private static int[] doToSigned30(final long[] limbs) {
+		final int[] r = new int[9];
+		
+		long accumulator = 0L;
+		
+		int bits = 0;
+		int j = 0;
+		
+		for(int i = 0; i < 8; i++) {
+			accumulator |= limbs[i] << bits;
+			
+			bits += 32;
+			
+			while(bits >= 30) {
+				r[j++] = (int)(accumulator) & M30;
+				
+				accumulator >>>= 30;
+				
+				bits -= 30;
+			}
+		}
+		
+		r[j] = (int)(accumulator);
+		
+		return r;
+	}
+	
+	private static long[] doToLimbs(final byte[] bytes) {
+		final long[] limbs = new long[8];
+		
+		for(int i = 0; i < 8; i++) {
+			limbs[i] = Utilities.convertByteArrayToInt(bytes, 28 - i * 4) & MASK;
+		}
+		
+		return limbs;
+	}
+	
+	private static void doFromSigned30(final int[] r, final long[] limbs) {
+		long accumulator = 0L;
+		
+		int bits = 0;
+		int j = 0;
+		
+		for(int i = 0; i < 9; i++) {
+			accumulator |= (long)(r[i]) << bits;
+			
+			bits += 30;
+			
+			while(bits >= 32 && j < 8) {
+				limbs[j++] = accumulator & MASK;
+				
+				accumulator >>>= 32;
+				
+				bits -= 32;
+			}
+		}
+	}
+	
+	private static void doPosDivSteps(final int f0, final int g0, final int[] t) {
+		int u = 1;
+		int v = 0;
+		int q = 0;
+		int r = 1;
+		int f = f0;
+		int g = g0;
+		int eta = t[4];
+		int jacobi = t[5];
+		int i = 30;
+		
+		while(true) {
+			final int zeros = Integer.numberOfTrailingZeros(g | (-1 << i));
+			
+			g >>>= zeros;
+			u <<= zeros;
+			v <<= zeros;
+			eta -= zeros;
+			i -= zeros;
+			jacobi ^= zeros & ((f >>> 1) ^ (f >>> 2));
+			
+			if(i == 0) {
+				break;
+			}
+			
+			if(eta < 0) {
+				final int f1 = f;
+				final int u1 = u;
+				final int v1 = v;
+				
+				eta = -eta;
+				jacobi ^= (f & g) >>> 1;
+				f = g;
+				g = f1;
+				u = q;
+				q = u1;
+				v = r;
+				r = v1;
+			}
+			
+			final int limit = Math.min(eta + 1, i);
+			final int mask = (-1 >>> (32 - limit)) & 15;
+			final int w = (-g * f * (2 - f * f)) & mask;
+			
+			g += f * w;
+			q += u * w;
+			r += v * w;
+		}
+		
+		t[0] = u;
+		t[1] = v;
+		t[2] = q;
+		t[3] = r;
+		t[4] = eta;
+		t[5] = jacobi;
+	}
+	
+	private static void doPropagate(final int[] r) {
+		for(int i = 0; i < 8; i++) {
+			r[i + 1] += r[i] >> 30;
+			r[i] &= M30;
+		}
+	}
+	
+	private static void doUpdateFG(final int[] f, final int[] g, final int[] t) {
+		final int u = t[0];
+		final int v = t[1];
+		final int q = t[2];
+		final int r = t[3];
+		
+		long carryF = (long)(u) * f[0] + (long)(v) * g[0];
+		long carryG = (long)(q) * f[0] + (long)(r) * g[0];
+		
+		carryF >>= 30;
+		carryG >>= 30;
+		
+		for(int i = 1; i < 9; i++) {
+			carryF += (long)(u) * f[i] + (long)(v) * g[i];
+			carryG += (long)(q) * f[i] + (long)(r) * g[i];
+			
+			f[i - 1] = (int)(carryF) & M30;
+			g[i - 1] = (int)(carryG) & M30;
+			
+			carryF >>= 30;
+			carryG >>= 30;
+		}
+		
+		f[8] = (int)(carryF);
+		g[8] = (int)(carryG);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,529 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@code Scalar} represents an integer modulo n, where n is the order of the generator point of secp256k1.
+ * <p>
+ * Scalars are used for the arithmetic on private keys, such as the tweaks performed by hierarchical deterministic wallets and payment codes. The value of a {@code Scalar} is stored as four 64-bit limbs, and all arithmetic is performed on 32-bit limbs held in {@code long} values, without going through {@code BigInteger}. A product is reduced modulo n by repeatedly folding the bits above 2^256 back using 2^256 = 2^256 - n (mod n), where 2^256 - n is a 129-bit constant.
+ * <p>
+ * This class is immutable and thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Scalar {
+	/**
+	 * A {@code Scalar} with the value {@code 1}.
+	 */
+	public static final Scalar ONE = new Scalar(0L, 0L, 0L, 1L);
+	
+	/**
+	 * A {@code Scalar} with the value {@code 0}.
+	 */
+	public static final Scalar ZERO = new Scalar(0L, 0L, 0L, 0L);
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final long MASK = 0xFFFFFFFFL;
+	private static final long N0 = 0xFFFFFFFFFFFFFFFFL;
+	private static final long N1 = 0xFFFFFFFFFFFFFFFEL;
+	private static final long N2 = 0xBAAEDCE6AF48A03BL;
+	private static final long N3 = 0xBFD25E8CD0364141L;
+	private static final long[] C = {0x2FC9BEBFL, 0x402DA173L, 0x50B75FC4L, 0x45512319L, 0x00000001L};
+	private static final long[] N = {0xD0364141L, 0xBFD25E8CL, 0xAF48A03BL, 0xBAAEDCE6L, 0xFFFFFFFEL, 0xFFFFFFFFL, 0xFFFFFFFFL, 0xFFFFFFFFL};
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final long value0;
+	private final long value1;
+	private final long value2;
+	private final long value3;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Constructs a new {@code Scalar} instance.
+	 * <p>
+	 * If {@code value} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code value} is not in the range [0, n - 1], where n is the order of the generator point of secp256k1, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param value a {@code BigInteger} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code value} is not in the range [0, n - 1]
+	 * @throws NullPointerException thrown if, and only if, {@code value} is {@code null}
+	 */
+	public Scalar(final BigInteger value) {
+		this(doToByteArray(value));
+	}
+	
+	Scalar(final long value0, final long value1, final long value2, final long value3) {
+		this.value0 = value0;
+		this.value1 = value1;
+		this.value2 = value2;
+		this.value3 = value3;
+	}
+	
+	private Scalar(final byte[] bytes) {
+		this(Utilities.convertByteArrayToLong(bytes, 0), Utilities.convertByteArrayToLong(bytes, 8), Utilities.convertByteArrayToLong(bytes, 16), Utilities.convertByteArrayToLong(bytes, 24));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the {@code BigInteger} representation of this {@code Scalar} instance.
+	 * 
+	 * @return the {@code BigInteger} representation of this {@code Scalar} instance
+	 */
+	public BigInteger getValue() {
+		return new BigInteger(1, toByteArray());
+	}
+	
+	/**
+	 * Returns a {@code Scalar} that represents {@code this + scalar} modulo n.
+	 * <p>
+	 * If {@code scalar} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param scalar a {@code Scalar} instance
+	 * @return a {@code Scalar} that represents {@code this + scalar} modulo n
+	 * @throws NullPointerException thrown if, and only if, {@code scalar} is {@code null}
+	 */
+	public Scalar add(final Scalar scalar) {
+		final long[] a = doToLimbs(this);
+		
+		if(doAdd(a, doToLimbs(Objects.requireNonNull(scalar, "scalar == null"))) || doCompare(a, N) >= 0) {
+			doSubtract(a, N);
+		}
+		
+		return doFromLimbs(a);
+	}
+	
+	/**
+	 * Returns a {@code Scalar} that represents the multiplicative inverse of this {@code Scalar} modulo n.
+	 * <p>
+	 * If this {@code Scalar} is zero, an {@code ArithmeticException} will be thrown.
+	 * 
+	 * @return a {@code Scalar} that represents the multiplicative inverse of this {@code Scalar} modulo n
+	 * @throws ArithmeticException thrown if, and only if, this {@code Scalar} is zero
+	 */
+	public Scalar invert() {
+		if(isZero()) {
+			throw new ArithmeticException("Scalar not invertible");
+		}
+		
+		Metrics.incrementInversions();
+		
+		final long[] limbs = doToLimbs(this);
+		
+		CurveContext.SECP256K1.invertScalar(limbs);
+		
+		return doFromLimbs(limbs);
+	}
+	
+	/**
+	 * Returns a {@code Scalar} that represents {@code this * scalar} modulo n.
+	 * <p>
+	 * If {@code scalar} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param scalar a {@code Scalar} instance
+	 * @return a {@code Scalar} that represents {@code this * scalar} modulo n
+	 * @throws NullPointerException thrown if, and only if, {@code scalar} is {@code null}
+	 */
+	public Scalar multiply(final Scalar scalar) {
+		return doFromLimbs(doMultiply(doToLimbs(this), doToLimbs(Objects.requireNonNull(scalar, "scalar == null"))));
+	}
+	
+	/**
+	 * Returns a {@code Scalar} that represents {@code -this} modulo n.
+	 * 
+	 * @return a {@code Scalar} that represents {@code -this} modulo n
+	 */
+	public Scalar negate() {
+		if(isZero()) {
+			return this;
+		}
+		
+		final long[] a = N.clone();
+		
+		doSubtract(a, doToLimbs(this));
+		
+		return doFromLimbs(a);
+	}
+	
+	/**
+	 * Returns a {@code Scalar} that represents {@code this - scalar} modulo n.
+	 * <p>
+	 * If {@code scalar} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param scalar a {@code Scalar} instance
+	 * @return a {@code Scalar} that represents {@code this - scalar} modulo n
+	 * @throws NullPointerException thrown if, and only if, {@code scalar} is {@code null}
+	 */
+	public Scalar subtract(final Scalar scalar) {
+		final long[] a = doToLimbs(this);
+		
+		if(doSubtract(a, doToLimbs(Objects.requireNonNull(scalar, "scalar == null")))) {
+			doAdd(a, N);
+		}
+		
+		return doFromLimbs(a);
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code Scalar} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code Scalar} instance
+	 */
+	@Override
+	public String toString() {
+		return String.format("%016x%016x%016x%016x", Long.valueOf(this.value0), Long.valueOf(this.value1), Long.valueOf(this.value2), Long.valueOf(this.value3));
+	}
+	
+	/**
+	 * Compares {@code object} to this {@code Scalar} instance for equality.
+	 * <p>
+	 * Returns {@code true} if, and only if, {@code object} is an instance of {@code Scalar}, and their respective values are equal, {@code false} otherwise.
+	 * 
+	 * @param object the {@code Object} to compare to this {@code Scalar} instance for equality
+	 * @return {@code true} if, and only if, {@code object} is an instance of {@code Scalar}, and their respective values are equal, {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if(object == this) {
+			return true;
+		} else if(!(object instanceof Scalar)) {
+			return false;
+		} else if(this.value0 != Scalar.class.cast(object).value0) {
+			return false;
+		} else if(this.value1 != Scalar.class.cast(object).value1) {
+			return false;
+		} else if(this.value2 != Scalar.class.cast(object).value2) {
+			return false;
+		} else if(this.value3 != Scalar.class.cast(object).value3) {
+			return false;
+		} else {
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, this {@code Scalar} is zero, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, this {@code Scalar} is zero, {@code false} otherwise
+	 */
+	public boolean isZero() {
+		return (this.value0 | this.value1 | this.value2 | this.value3) == 0L;
+	}
+	
+	/**
+	 * Returns a 32 byte unsigned big-endian representation of this {@code Scalar} instance.
+	 * 
+	 * @return a 32 byte unsigned big-endian representation of this {@code Scalar} instance
+	 */
+	public byte[] toByteArray() {
+		final byte[] bytes = new byte[32];
+		
+		writeTo(bytes, 0);
+		
+		return bytes;
+	}
+	
+	/**
+	 * Returns a hash code for this {@code Scalar} instance.
+	 * 
+	 * @return a hash code for this {@code Scalar} instance
+	 */
+	@Override
+	public int hashCode() {
+		return ((Long.hashCode(this.value0) * 31 + Long.hashCode(this.value1)) * 31 + Long.hashCode(this.value2)) * 31 + Long.hashCode(this.value3);
+	}
+	
+	/**
+	 * Writes this {@code Scalar} instance into {@code bytes}, starting at {@code offset}.
+	 * <p>
+	 * The value is written as a 32 byte unsigned big-endian record.
+	 * <p>
+	 * If {@code bytes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there is not enough room in {@code bytes}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param bytes the {@code byte} array to write to
+	 * @param offset the offset in {@code bytes} to start writing at
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there is not enough room in {@code bytes}
+	 * @throws NullPointerException thrown if, and only if, {@code bytes} is {@code null}
+	 */
+	public void writeTo(final byte[] bytes, final int offset) {
+		Utilities.requireRange(Objects.requireNonNull(bytes, "bytes == null").length, offset, 32);
+		
+		Utilities.convertLongToByteArray(bytes, offset + 0, this.value0);
+		Utilities.convertLongToByteArray(bytes, offset + 8, this.value1);
+		Utilities.convertLongToByteArray(bytes, offset + 16, this.value2);
+		Utilities.convertLongToByteArray(bytes, offset + 24, this.value3);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Parses a 32 byte unsigned big-endian record in {@code bytes}, starting at {@code offset}.
+	 * <p>
+	 * Returns a {@code Scalar} instance.
+	 * <p>
+	 * If {@code bytes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there are less than 32 bytes in {@code bytes} starting at {@code offset}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * If the value is not in the range [0, n - 1], where n is the order of the generator point of secp256k1, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param bytes the {@code byte} array to read from
+	 * @param offset the offset in {@code bytes} to start reading at
+	 * @return a {@code Scalar} instance
+	 * @throws IllegalArgumentException thrown if, and only if, the value is not in the range [0, n - 1]
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there are less than 32 bytes in {@code bytes} starting at {@code offset}
+	 * @throws NullPointerException thrown if, and only if, {@code bytes} is {@code null}
+	 */
+	public static Scalar parseByteArray(final byte[] bytes, final int offset) {
+		if(!isReduced(bytes, offset)) {
+			throw new IllegalArgumentException("The value is not in the range [0, n - 1]");
+		}
+		
+		return new Scalar(Utilities.convertByteArrayToLong(bytes, offset + 0), Utilities.convertByteArrayToLong(bytes, offset + 8), Utilities.convertByteArrayToLong(bytes, offset + 16), Utilities.convertByteArrayToLong(bytes, offset + 24));
+	}
+	
+	/**
+	 * Parses a 32 byte unsigned big-endian record in {@code bytes}, starting at {@code offset}, and reduces it modulo n.
+	 * <p>
+	 * Returns a {@code Scalar} instance.
+	 * <p>
+	 * If {@code bytes} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0} or there are less than 32 bytes in {@code bytes} starting at {@code offset}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * <p>
+	 * This method can be used to convert a hash into a {@code Scalar}.
+	 * 
+	 * @param bytes the {@code byte} array to read from
+	 * @param offset the offset in {@code bytes} to start reading at
+	 * @return a {@code Scalar} instance
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0} or there are less than 32 bytes in {@code bytes} starting at {@code offset}
+	 * @throws NullPointerException thrown if, and only if, {@code bytes} is {@code null}
+	 */
+	public static Scalar reduce(final byte[] bytes, final int offset) {
+		Utilities.requireRange(Objects.requireNonNull(bytes, "bytes == null").length, offset, 32);
+		
+		final long[] a = new long[8];
+		
+		for(int i = 0; i < 8; i++) {
+			a[i] = Utilities.convertByteArrayToInt(bytes, offset + 28 - i * 4) & MASK;
+		}
+		
+		if(doCompare(a, N) >= 0) {
+			doSubtract(a, N);
+		}
+		
+		return doFromLimbs(a);
+	}
+	
+	/**
+	 * Returns a {@code Scalar} that represents {@code value} modulo n.
+	 * 
+	 * @param value a {@code long} value
+	 * @return a {@code Scalar} that represents {@code value} modulo n
+	 */
+	public static Scalar valueOf(final long value) {
+		return value >= 0L ? new Scalar(0L, 0L, 0L, value) : new Scalar(0L, 0L, 0L, -value).negate();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	PrivateKey toPrivateKey() {
+		return new PrivateKey(this.value0, this.value1, this.value2, this.value3);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	static boolean isInRange(final byte[] bytes, final int offset) {
+		Utilities.requireRange(Objects.requireNonNull(bytes, "bytes == null").length, offset, 32);
+		
+		final long value0 = Utilities.convertByteArrayToLong(bytes, offset + 0);
+		final long value1 = Utilities.convertByteArrayToLong(bytes, offset + 8);
+		final long value2 = Utilities.convertByteArrayToLong(bytes, offset + 16);
+		final long value3 = Utilities.convertByteArrayToLong(bytes, offset + 24);
+		
+		return (value0 | value1 | value2 | value3) != 0L && isReduced(value0, value1, value2, value3);
+	}
+	
+	static boolean isReduced(final byte[] bytes, final int offset) {
+		Utilities.requireRange(Objects.requireNonNull(bytes, "bytes == null").length, offset, 32);
+		
+		return isReduced(Utilities.convertByteArrayToLong(bytes, offset + 0), Utilities.convertByteArrayToLong(bytes, offset + 8), Utilities.convertByteArrayToLong(bytes, offset + 16), Utilities.convertByteArrayToLong(bytes, offset + 24));
+	}
+	
+	static boolean isReduced(final long value0, final long value1, final long value2, final long value3) {
+		return doCompare(value0, value1, value2, value3) < 0;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Scalar doFromLimbs(final long[] limbs) {
+		return new Scalar(limbs[7] << 32 | limbs[6], limbs[5] << 32 | limbs[4], limbs[3] << 32 | limbs[2], limbs[1] << 32 | limbs[0]);
+	}
+	
+	private static boolean doAdd(final long[] a, final long[] b) {
+		long carry = 0L;
+		
+		for(int i = 0; i < 8; i++) {
+			final long sum = a[i] + b[i] + carry;
+			
+			a[i] = sum & MASK;
+			
+			carry = sum >>> 32;
+		}
+		
+		return carry != 0L;
+	}
+	
+	private static boolean doSubtract(final long[] a, final long[] b) {
+		long borrow = 0L;
+		
+		for(int i = 0; i < 8; i++) {
+			final long difference = a[i] - b[i] - borrow;
+			
+			a[i] = difference & MASK;
+			
+			borrow = difference >>> 63;
+		}
+		
+		return borrow != 0L;
+	}
+	
+	private static byte[] doToByteArray(final BigInteger value) {
+		if(Objects.requireNonNull(value, "value == null").signum() < 0 || value.compareTo(PrivateKey.N) >= 0) {
+			throw new IllegalArgumentException(String.format("The value %s is not in the range [0, n - 1]", value.toString(16)));
+		}
+		
+		return Utilities.convertBigIntegerToByteArray(value, 32);
+	}
+	
+	private static int doCompare(final long value0, final long value1, final long value2, final long value3) {
+		if(value0 != N0) {
+			return Long.compareUnsigned(value0, N0);
+		}
+		
+		if(value1 != N1) {
+			return Long.compareUnsigned(value1, N1);
+		}
+		
+		if(value2 != N2) {
+			return Long.compareUnsigned(value2, N2);
+		}
+		
+		return Long.compareUnsigned(value3, N3);
+	}
+	
+	private static int doCompare(final long[] a, final long[] b) {
+		for(int i = 7; i >= 0; i--) {
+			if(a[i] != b[i]) {
+				return a[i] < b[i] ? -1 : 1;
+			}
+		}
+		
+		return 0;
+	}
+	
+	private static long[] doMultiply(final long[] a, final long[] b) {
+		final long[] product = new long[16];
+		
+		for(int i = 0; i < 8; i++) {
+			long carry = 0L;
+			
+			for(int j = 0; j < 8; j++) {
+				final long value = a[i] * b[j] + product[i + j] + carry;
+				
+				product[i + j] = value & MASK;
+				
+				carry = value >>> 32;
+			}
+			
+			product[i + 8] = carry;
+		}
+		
+		return doReduce(product, 16);
+	}
+	
+	private static long[] doReduce(final long[] limbs, final int length) {
+		long[] a = limbs;
+		
+		int currentLength = length;
+		
+		while(currentLength > 8) {
+			final long[] b = new long[Math.max(9, currentLength - 2)];
+			
+			System.arraycopy(a, 0, b, 0, 8);
+			
+			for(int i = 8; i < currentLength; i++) {
+				final long high = a[i];
+				
+				if(high == 0L) {
+					continue;
+				}
+				
+				long carry = 0L;
+				
+				for(int j = 0; j < C.length; j++) {
+					final long value = high * C[j] + b[i - 8 + j] + carry;
+					
+					b[i - 8 + j] = value & MASK;
+					
+					carry = value >>> 32;
+				}
+				
+				for(int k = i - 8 + C.length; carry != 0L; k++) {
+					final long value = b[k] + carry;
+					
+					b[k] = value & MASK;
+					
+					carry = value >>> 32;
+				}
+			}
+			
+			a = b;
+			
+			currentLength = b.length;
+			
+			while(currentLength > 8 && a[currentLength - 1] == 0L) {
+				currentLength--;
+			}
+		}
+		
+		final long[] result = a.length == 8 ? a : Arrays.copyOf(a, 8);
+		
+		if(doCompare(result, N) >= 0) {
+			doSubtract(result, N);
+		}
+		
+		return result;
+	}
+	
+	private static long[] doToLimbs(final Scalar scalar) {
+		return new long[] {scalar.value3 & MASK, scalar.value3 >>> 32, scalar.value2 & MASK, scalar.value2 >>> 32, scalar.value1 & MASK, scalar.value1 >>> 32, scalar.value0 & MASK, scalar.value0 >>> 32};
+	}
+}
\ No newline at end of file
@@ -0,0 +1,1087 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@code ScanJob} scans a range of private keys for the addresses in a set of target addresses, split into shards that can be processed by multiple threads and processes.
+ * <p>
+ * A job is represented by a directory, which acts as the coordinator between all workers that process it. The directory may be on a shared file system. It contains the following files:
+ * <ul>
+ * <li>{@code job.properties}: the range of private keys, the size of a shard and the checkpoint interval.</li>
+ * <li>{@code shard-<index>.lock}: created atomically by the worker that has claimed the shard. Its last modified time is updated at each checkpoint and acts as a heartbeat. A lock whose heartbeat is older than six checkpoint intervals is considered abandoned and can be taken over by another worker. The worker taking over moves the lock aside and only deletes it if it is still the abandoned lock, so that two workers cannot both take over the same shard.</li>
+ * <li>{@code shard-<index>.checkpoint}: the number of private keys in the shard that have been scanned. It is replaced atomically at each checkpoint.</li>
+ * <li>{@code shard-<index>.done}: created when the shard has been scanned completely.</li>
+ * <li>{@code shard-<index>.matches}: one line per match, consisting of the private key in hexadecimal format and the address, separated by a space.</li>
+ * <li>{@code worker-<id>.status}: the number of private keys scanned by a process and its throughput.</li>
+ * </ul>
+ * A worker that is restarted resumes each shard exactly at its last checkpoint. Matches are written before the checkpoint that covers them, so no match is lost, but a match found between the last checkpoint and a crash may be reported twice.
+ * <p>
+ * The private keys in a shard are enumerated in batches of consecutive keys. Only the first key of each batch is multiplied by the generator point. The other public keys are computed by adding precomputed multiples of the generator point in affine coordinates, sharing a single field inversion for the whole batch.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class ScanJob {
+	private static final String FILE_JOB = "job.properties";
+	private static final String KEY_FROM = "from";
+	private static final String KEY_INTERVAL = "checkpoint.interval";
+	private static final String KEY_KEYS = "keys";
+	private static final String KEY_RATE = "rate";
+	private static final String KEY_SHARD_SIZE = "shard.size";
+	private static final String KEY_TIME = "time";
+	private static final String KEY_TO = "to";
+	private static final String SUFFIX_CHECKPOINT = ".checkpoint";
+	private static final String SUFFIX_DONE = ".done";
+	private static final String SUFFIX_LOCK = ".lock";
+	private static final String SUFFIX_MATCHES = ".matches";
+	private static final String SUFFIX_STATUS = ".status";
+	private static final int LEASE_INTERVALS = 6;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final AtomicLong cursor;
+	private final BigInteger from;
+	private final BigInteger to;
+	private final Path directory;
+	private final int shardCount;
+	private final long interval;
+	private final long shardSize;
+	private final long width;
+	private volatile boolean isStopped;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private ScanJob(final Path directory, final BigInteger from, final BigInteger to, final long shardSize, final long interval) {
+		this.directory = directory;
+		this.from = from;
+		this.to = to;
+		this.shardSize = shardSize;
+		this.interval = interval;
+		this.width = to.subtract(from).longValue() + 1L;
+		this.shardCount = (int)((this.width - 1L) / shardSize + 1L);
+		this.cursor = new AtomicLong();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the lower bound of the range of private keys, inclusive.
+	 * 
+	 * @return the lower bound of the range of private keys, inclusive
+	 */
+	public BigInteger getFrom() {
+		return this.from;
+	}
+	
+	/**
+	 * Returns the upper bound of the range of private keys, inclusive.
+	 * 
+	 * @return the upper bound of the range of private keys, inclusive
+	 */
+	public BigInteger getTo() {
+		return this.to;
+	}
+	
+	/**
+	 * Returns all matches that have been found by all workers.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @return all matches that have been found by all workers
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 */
+	public Map<Address, PrivateKey> getMatches() throws IOException {
+		final Map<Address, PrivateKey> matches = new LinkedHashMap<>();
+		
+		for(final Path path : doList(SUFFIX_MATCHES)) {
+			for(final String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+				final String[] fields = line.trim().split(" ");
+				
+				if(fields.length == 2) {
+					matches.put(doParseAddress(fields[1]), PrivateKey.parseStringHex(fields[0]));
+				}
+			}
+		}
+		
+		return Collections.unmodifiableMap(matches);
+	}
+	
+	/**
+	 * Returns the {@code Path} of the directory of this {@code ScanJob} instance.
+	 * 
+	 * @return the {@code Path} of the directory of this {@code ScanJob} instance
+	 */
+	public Path getDirectory() {
+		return this.directory;
+	}
+	
+	/**
+	 * Returns the merged throughput of all workers in private keys per second.
+	 * <p>
+	 * Only workers whose status has been updated within the last six checkpoint intervals are included.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @return the merged throughput of all workers in private keys per second
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 */
+	public double getKeysPerSecond() throws IOException {
+		final long now = System.currentTimeMillis();
+		
+		double keysPerSecond = 0.0D;
+		
+		for(final Path path : doList(SUFFIX_STATUS)) {
+			final Properties properties = doRead(path);
+			
+			if(properties != null && now - Long.parseLong(properties.getProperty(KEY_TIME, "0")) <= this.interval * LEASE_INTERVALS) {
+				keysPerSecond += Double.parseDouble(properties.getProperty(KEY_RATE, "0"));
+			}
+		}
+		
+		return keysPerSecond;
+	}
+	
+	/**
+	 * Returns the number of shards that have been scanned completely.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @return the number of shards that have been scanned completely
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 */
+	public int getCompletedShardCount() throws IOException {
+		return doList(SUFFIX_DONE).size();
+	}
+	
+	/**
+	 * Returns the number of shards.
+	 * 
+	 * @return the number of shards
+	 */
+	public int getShardCount() {
+		return this.shardCount;
+	}
+	
+	/**
+	 * Returns the number of private keys that have been scanned by all workers, according to the shards that are done and the last checkpoints of the others.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @return the number of private keys that have been scanned by all workers
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 */
+	public long getScannedKeyCount() throws IOException {
+		final Set<Integer> shards = new HashSet<>();
+		
+		long count = 0L;
+		
+		for(final Path path : doList(SUFFIX_DONE)) {
+			final int shard = doGetShard(path, SUFFIX_DONE);
+			
+			shards.add(Integer.valueOf(shard));
+			
+			count += doGetShardLength(shard);
+		}
+		
+		for(final Path path : doList(SUFFIX_CHECKPOINT)) {
+			final int shard = doGetShard(path, SUFFIX_CHECKPOINT);
+			
+			if(!shards.contains(Integer.valueOf(shard))) {
+				count += doReadCheckpoint(shard);
+			}
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * Returns the number of private keys in a shard.
+	 * <p>
+	 * The last shard may contain less private keys.
+	 * 
+	 * @return the number of private keys in a shard
+	 */
+	public long getShardSize() {
+		return this.shardSize;
+	}
+	
+	/**
+	 * Processes shards of this {@code ScanJob} until all shards are done or {@link #stop()} is called.
+	 * <p>
+	 * Returns the number of private keys scanned by this method.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * scanJob.run(targets, Runtime.getRuntime().availableProcessors(), (privateKey, address) -> {});
+	 * }
+	 * </pre>
+	 * 
+	 * @param targets the target addresses
+	 * @return the number of private keys scanned by this method
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws InterruptedException thrown if, and only if, the current thread is interrupted while waiting
+	 * @throws NullPointerException thrown if, and only if, either {@code targets} or any of its elements are {@code null}
+	 */
+	public long run(final Set<Address> targets) throws InterruptedException, IOException {
+		return run(targets, Runtime.getRuntime().availableProcessors(), (privateKey, address) -> {});
+	}
+	
+	/**
+	 * Processes shards of this {@code ScanJob} until all shards are done or {@link #stop()} is called.
+	 * <p>
+	 * Returns the number of private keys scanned by this method.
+	 * <p>
+	 * If either {@code targets}, any of its elements or {@code consumer} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code threads} is less than {@code 1}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * <p>
+	 * If the current thread is interrupted while waiting, an {@code InterruptedException} will be thrown. The shards in progress are checkpointed and released before it is thrown.
+	 * <p>
+	 * Each thread claims one shard at a time. An address of type {@link AddressType#P2PKH} matches both the compressed and the uncompressed public key, an address of type {@link AddressType#P2WPKH} matches the compressed public key and an address of type {@link AddressType#P2SH} matches the P2SH-P2WPKH script of the compressed public key. Addresses of other types never match.
+	 * <p>
+	 * Each match is written to the directory of this {@code ScanJob} and then passed to {@code consumer}, which may be called concurrently by multiple threads.
+	 * 
+	 * @param targets the target addresses
+	 * @param threads the number of threads to use
+	 * @param consumer a {@code BiConsumer} that accepts each match
+	 * @return the number of private keys scanned by this method
+	 * @throws IllegalArgumentException thrown if, and only if, {@code threads} is less than {@code 1}
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws InterruptedException thrown if, and only if, the current thread is interrupted while waiting
+	 * @throws NullPointerException thrown if, and only if, either {@code targets}, any of its elements or {@code consumer} are {@code null}
+	 */
+	public long run(final Set<Address> targets, final int threads, final BiConsumer<PrivateKey, Address> consumer) throws InterruptedException, IOException {
+		final Set<Address> set = new HashSet<>(Objects.requireNonNull(targets, "targets == null"));
+		
+		for(final Address address : set) {
+			Objects.requireNonNull(address, "targets.contains(null)");
+		}
+		
+		Objects.requireNonNull(consumer, "consumer == null");
+		
+		if(threads < 1) {
+			throw new IllegalArgumentException(String.format("threads < 1: threads = %d", Integer.valueOf(threads)));
+		}
+		
+		this.isStopped = false;
+		
+		final String name = ManagementFactory.getRuntimeMXBean().getName().replaceAll("[^A-Za-z0-9.-]", "_");
+		
+		final AtomicReference<IOException> failure = new AtomicReference<>();
+		
+		final LongAdder keys = new LongAdder();
+		
+		final Thread[] workers = new Thread[threads];
+		
+		for(int i = 0; i < threads; i++) {
+			final String id = name + "-" + i;
+			
+			workers[i] = new Thread(() -> {
+				try {
+					doWork(id, set, consumer, keys);
+				} catch(final IOException e) {
+					failure.compareAndSet(null, e);
+					
+					this.isStopped = true;
+				}
+			}, "ScanJob-Worker-" + i);
+			workers[i].setDaemon(true);
+			workers[i].start();
+		}
+		
+		final Path status = this.directory.resolve("worker-" + name + SUFFIX_STATUS);
+		
+		final long start = System.nanoTime();
+		
+		try {
+			for(final Thread worker : workers) {
+				while(worker.isAlive()) {
+					worker.join(this.interval);
+					
+					doWriteStatus(status, keys.sum(), System.nanoTime() - start);
+				}
+			}
+		} finally {
+			this.isStopped = true;
+			
+			for(final Thread worker : workers) {
+				worker.join();
+			}
+			
+			Files.deleteIfExists(status);
+		}
+		
+		if(failure.get() != null) {
+			throw failure.get();
+		}
+		
+		return keys.sum();
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code ScanJob} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code ScanJob} instance
+	 */
+	@Override
+	public String toString() {
+		return String.format("ScanJob[%s,%s,%s,%d]", this.directory, this.from.toString(16), this.to.toString(16), Long.valueOf(this.shardSize));
+	}
+	
+	/**
+	 * Stops all calls to {@link #run(Set, int, BiConsumer)} on this {@code ScanJob} instance.
+	 * <p>
+	 * The shards in progress are checkpointed and released, so that they can be resumed by this or another worker.
+	 */
+	public void stop() {
+		this.isStopped = true;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Creates a new job in {@code directory} and returns a {@code ScanJob} instance for it.
+	 * <p>
+	 * Calling this method is equivalent to the following:
+	 * <pre>
+	 * {@code
+	 * ScanJob.create(directory, from, to, shardSize, 10L, TimeUnit.SECONDS);
+	 * }
+	 * </pre>
+	 * 
+	 * @param directory the {@code Path} of the directory of the job
+	 * @param from the lower bound of the range of private keys, inclusive
+	 * @param to the upper bound of the range of private keys, inclusive
+	 * @param shardSize the number of private keys in a shard
+	 * @return a {@code ScanJob} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code directory} already contains a job, {@code from} is less than {@code 1}, {@code to} is less than {@code from} or greater than or equal to n, the range contains more than {@code Long.MAX_VALUE} private keys, {@code shardSize} is less than {@code 1} or there would be more than {@code Integer.MAX_VALUE} shards
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws NullPointerException thrown if, and only if, either {@code directory}, {@code from} or {@code to} are {@code null}
+	 */
+	public static ScanJob create(final Path directory, final BigInteger from, final BigInteger to, final long shardSize) throws IOException {
+		return create(directory, from, to, shardSize, 10L, TimeUnit.SECONDS);
+	}
+	
+	/**
+	 * Creates a new job in {@code directory} and returns a {@code ScanJob} instance for it.
+	 * <p>
+	 * If either {@code directory}, {@code from}, {@code to} or {@code timeUnit} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code directory} already contains a job, {@code from} is less than {@code 1}, {@code to} is less than {@code from} or greater than or equal to n, where n is the order of the generator point of secp256k1, the range contains more than {@code Long.MAX_VALUE} private keys, {@code shardSize} is less than {@code 1}, there would be more than {@code Integer.MAX_VALUE} shards or {@code checkpointInterval} is less than {@code 1} millisecond, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * <p>
+	 * The directory is created if it does not exist.
+	 * 
+	 * @param directory the {@code Path} of the directory of the job
+	 * @param from the lower bound of the range of private keys, inclusive
+	 * @param to the upper bound of the range of private keys, inclusive
+	 * @param shardSize the number of private keys in a shard
+	 * @param checkpointInterval the time between two checkpoints of a shard
+	 * @param timeUnit the {@code TimeUnit} of {@code checkpointInterval}
+	 * @return a {@code ScanJob} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code directory} already contains a job, {@code from} is less than {@code 1}, {@code to} is less than {@code from} or greater than or equal to n, the range contains more than {@code Long.MAX_VALUE} private keys, {@code shardSize} is less than {@code 1}, there would be more than {@code Integer.MAX_VALUE} shards or {@code checkpointInterval} is less than {@code 1} millisecond
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws NullPointerException thrown if, and only if, either {@code directory}, {@code from}, {@code to} or {@code timeUnit} are {@code null}
+	 */
+	public static ScanJob create(final Path directory, final BigInteger from, final BigInteger to, final long shardSize, final long checkpointInterval, final TimeUnit timeUnit) throws IOException {
+		Objects.requireNonNull(directory, "directory == null");
+		Objects.requireNonNull(from, "from == null");
+		Objects.requireNonNull(to, "to == null");
+		Objects.requireNonNull(timeUnit, "timeUnit == null");
+		
+		final long interval = timeUnit.toMillis(checkpointInterval);
+		
+		if(interval < 1L) {
+			throw new IllegalArgumentException(String.format("The checkpoint interval is less than 1 millisecond: checkpointInterval = %d %s", Long.valueOf(checkpointInterval), timeUnit));
+		}
+		
+		final ScanJob scanJob = doCreate(directory, from, to, shardSize, interval);
+		
+		Files.createDirectories(directory);
+		
+		if(Files.exists(directory.resolve(FILE_JOB))) {
+			throw new IllegalArgumentException(String.format("The directory %s already contains a job", directory));
+		}
+		
+		final Properties properties = new Properties();
+		
+		properties.setProperty(KEY_FROM, from.toString(16));
+		properties.setProperty(KEY_TO, to.toString(16));
+		properties.setProperty(KEY_SHARD_SIZE, Long.toString(shardSize));
+		properties.setProperty(KEY_INTERVAL, Long.toString(interval));
+		
+		doWrite(directory.resolve(FILE_JOB), properties);
+		
+		return scanJob;
+	}
+	
+	/**
+	 * Opens the job in {@code directory} and returns a {@code ScanJob} instance for it.
+	 * <p>
+	 * If {@code directory} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code directory} does not contain a valid job, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If an I/O error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @param directory the {@code Path} of the directory of the job
+	 * @return a {@code ScanJob} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code directory} does not contain a valid job
+	 * @throws IOException thrown if, and only if, an I/O error occurs
+	 * @throws NullPointerException thrown if, and only if, {@code directory} is {@code null}
+	 */
+	public static ScanJob open(final Path directory) throws IOException {
+		final Properties properties = doRead(Objects.requireNonNull(directory, "directory == null").resolve(FILE_JOB));
+		
+		if(properties == null) {
+			throw new IllegalArgumentException(String.format("The directory %s does not contain a job", directory));
+		}
+		
+		try {
+			final BigInteger from = new BigInteger(properties.getProperty(KEY_FROM), 16);
+			final BigInteger to = new BigInteger(properties.getProperty(KEY_TO), 16);
+			
+			final long shardSize = Long.parseLong(properties.getProperty(KEY_SHARD_SIZE));
+			final long interval = Long.parseLong(properties.getProperty(KEY_INTERVAL));
+			
+			if(interval < 1L) {
+				throw new IllegalArgumentException();
+			}
+			
+			return doCreate(directory, from, to, shardSize, interval);
+		} catch(final IllegalArgumentException | NullPointerException e) {
+			throw new IllegalArgumentException(String.format("The directory %s does not contain a valid job", directory), e);
+		}
+	}
+	
+	/**
+	 * The entry point of the command-line tool.
+	 * <p>
+	 * The following arguments are supported:
+	 * <ul>
+	 * <li>{@code --directory <path>}: the directory of the job. This argument is required.</li>
+	 * <li>{@code --create <from> <to> <shard size>}: creates the job, with {@code from} and {@code to} in hexadecimal format.</li>
+	 * <li>{@code --interval <seconds>}: the checkpoint interval of a created job. The default is {@code 10}.</li>
+	 * <li>{@code --targets <path>}: processes the job, using a file with one Base58 or Bech32 address per line as the target addresses. Each match is written to standard output.</li>
+	 * <li>{@code --threads <count>}: the number of threads to process the job with. The default is the number of available processors.</li>
+	 * <li>{@code --status}: writes the progress, the merged throughput and all matches of the job to standard output.</li>
+	 * </ul>
+	 * 
+	 * @param args the command-line arguments
+	 */
+	public static void main(final String[] args) {
+		String create = null;
+		String directory = null;
+		String targets = null;
+		
+		boolean isStatus = false;
+		
+		int threads = Runtime.getRuntime().availableProcessors();
+		
+		long interval = 10L;
+		long shardSize = 0L;
+		
+		String from = null;
+		String to = null;
+		
+		try {
+			for(int i = 0; i < args.length; i++) {
+				switch(args[i]) {
+					case "--create":
+						create = args[i];
+						from = args[++i];
+						to = args[++i];
+						shardSize = Long.parseLong(args[++i]);
+						
+						break;
+					case "--directory":
+						directory = args[++i];
+						
+						break;
+					case "--interval":
+						interval = Long.parseLong(args[++i]);
+						
+						break;
+					case "--status":
+						isStatus = true;
+						
+						break;
+					case "--targets":
+						targets = args[++i];
+						
+						break;
+					case "--threads":
+						threads = Integer.parseInt(args[++i]);
+						
+						break;
+					default:
+						throw new IllegalArgumentException("Unknown argument: " + args[i]);
+				}
+			}
+			
+			if(directory == null || create == null && targets == null && !isStatus) {
+				throw new IllegalArgumentException();
+			}
+		} catch(final ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+			System.err.println("Usage: ScanJob --directory <path> [--create <from> <to> <shard size>] [--interval <seconds>] [--targets <path>] [--threads <count>] [--status]");
+			System.exit(2);
+			
+			return;
+		}
+		
+		try {
+			final ScanJob scanJob = create != null ? create(Paths.get(directory), new BigInteger(from, 16), new BigInteger(to, 16), shardSize, interval, TimeUnit.SECONDS) : open(Paths.get(directory));
+			
+			if(targets != null) {
+				final Set<Address> addresses = new HashSet<>();
+				
+				for(final String line : Files.readAllLines(Paths.get(targets), StandardCharsets.UTF_8)) {
+					if(!line.trim().isEmpty()) {
+						addresses.add(doParseAddress(line.trim()));
+					}
+				}
+				
+				final long keys = scanJob.run(addresses, threads, (privateKey, address) -> {
+					synchronized(System.out) {
+						System.out.println(privateKey.toStringHex() + " " + address);
+					}
+				});
+				
+				System.err.println(String.format("Scanned %d keys", Long.valueOf(keys)));
+			}
+			
+			if(isStatus) {
+				System.out.println(String.format("Shards: %d / %d", Integer.valueOf(scanJob.getCompletedShardCount()), Integer.valueOf(scanJob.getShardCount())));
+				System.out.println(String.format("Keys: %d / %d", Long.valueOf(scanJob.getScannedKeyCount()), Long.valueOf(scanJob.width)));
+				System.out.println(String.format("Keys per second: %.0f", Double.valueOf(scanJob.getKeysPerSecond())));
+				
+				for(final Map.Entry<Address, PrivateKey> entry : scanJob.getMatches().entrySet()) {
+					System.out.println(entry.getValue().toStringHex() + " " + entry.getKey());
+				}
+			}
+		} catch(final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch(final IOException | IllegalArgumentException | UncheckedIOException e) {
+			System.err.println(e.getMessage());
+			System.exit(2);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private List<Path> doList(final String suffix) throws IOException {
+		final List<Path> paths = new ArrayList<>();
+		
+		try(final DirectoryStream<Path> directoryStream = Files.newDirectoryStream(this.directory, "*" + suffix)) {
+			for(final Path path : directoryStream) {
+				paths.add(path);
+			}
+		}
+		
+		return paths;
+	}
+	
+	private Path doGetPath(final int shard, final String suffix) {
+		return this.directory.resolve("shard-" + shard + suffix);
+	}
+	
+	private boolean doClaim(final int shard, final String id) throws IOException {
+		if(Files.exists(doGetPath(shard, SUFFIX_DONE))) {
+			return false;
+		}
+		
+		final Path lock = doGetPath(shard, SUFFIX_LOCK);
+		
+		try {
+			Files.write(lock, id.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		} catch(final FileAlreadyExistsException e) {
+			final FileTime lastModifiedTime;
+			
+			final byte[] owner;
+			
+			try {
+				lastModifiedTime = Files.getLastModifiedTime(lock);
+				
+				owner = Files.readAllBytes(lock);
+			} catch(final NoSuchFileException f) {
+				return false;
+			}
+			
+			if(!doIsAbandoned(lastModifiedTime)) {
+				return false;
+			}
+			
+			final Path stale = lock.resolveSibling(lock.getFileName() + "." + id);
+			
+			try {
+				Files.move(lock, stale, StandardCopyOption.ATOMIC_MOVE);
+			} catch(final NoSuchFileException f) {
+				return false;
+			}
+			
+			if(!Files.getLastModifiedTime(stale).equals(lastModifiedTime) || !Arrays.equals(Files.readAllBytes(stale), owner)) {
+				try {
+					Files.move(stale, lock);
+				} catch(final FileAlreadyExistsException f) {
+					Files.deleteIfExists(stale);
+				}
+				
+				return false;
+			}
+			
+			Files.deleteIfExists(stale);
+			
+			return doClaim(shard, id);
+		}
+		
+		if(Files.exists(doGetPath(shard, SUFFIX_DONE))) {
+			Files.deleteIfExists(lock);
+			
+			return false;
+		}
+		
+		return true;
+	}
+	
+	private boolean doIsAbandoned(final FileTime lastModifiedTime) {
+		return System.currentTimeMillis() - lastModifiedTime.toMillis() > this.interval * LEASE_INTERVALS;
+	}
+	
+	private boolean doIsOwner(final int shard, final String id) throws IOException {
+		try {
+			return new String(Files.readAllBytes(doGetPath(shard, SUFFIX_LOCK)), StandardCharsets.UTF_8).equals(id);
+		} catch(final NoSuchFileException e) {
+			return false;
+		}
+	}
+	
+	private int doGetShard(final Path path, final String suffix) {
+		final String fileName = path.getFileName().toString();
+		
+		return Integer.parseInt(fileName.substring(6, fileName.length() - suffix.length()));
+	}
+	
+	private int doNextShard(final String id) throws IOException {
+		for(int pass = 0; pass < 2; pass++) {
+			final long start = pass == 0 ? this.cursor.get() : 0L;
+			
+			for(long shard = start; shard < this.shardCount; shard++) {
+				if(pass == 0) {
+					this.cursor.compareAndSet(shard, shard + 1L);
+				}
+				
+				if(doClaim((int)(shard), id)) {
+					return (int)(shard);
+				}
+			}
+		}
+		
+		return -1;
+	}
+	
+	private long doGetShardLength(final int shard) {
+		return Math.min(this.shardSize, this.width - shard * this.shardSize);
+	}
+	
+	private long doReadCheckpoint(final int shard) throws IOException {
+		try {
+			return Long.parseLong(new String(Files.readAllBytes(doGetPath(shard, SUFFIX_CHECKPOINT)), StandardCharsets.UTF_8).trim());
+		} catch(final NoSuchFileException e) {
+			return 0L;
+		}
+	}
+	
+	private void doRelease(final int shard, final String id, final long offset) throws IOException {
+		if(doIsOwner(shard, id)) {
+			doWriteAtomically(doGetPath(shard, SUFFIX_CHECKPOINT), Long.toString(offset).getBytes(StandardCharsets.UTF_8));
+			
+			Files.deleteIfExists(doGetPath(shard, SUFFIX_LOCK));
+		}
+	}
+	
+	private void doScan(final int shard, final String id, final Scanner scanner, final BiConsumer<PrivateKey, Address> consumer, final LongAdder keys) throws IOException {
+		final long length = doGetShardLength(shard);
+		final long base = shard * this.shardSize;
+		
+		final Path lock = doGetPath(shard, SUFFIX_LOCK);
+		final Path matches = doGetPath(shard, SUFFIX_MATCHES);
+		
+		long offset = doReadCheckpoint(shard);
+		long next = System.currentTimeMillis() + this.interval;
+		
+		while(offset < length) {
+			if(this.isStopped) {
+				doRelease(shard, id, offset);
+				
+				return;
+			}
+			
+			final int count = (int)(Math.min(Scanner.SIZE, length - offset));
+			
+			for(final Match match : scanner.scan(this.from.add(BigInteger.valueOf(base + offset)), count)) {
+				Files.write(matches, (match.privateKey.toStringHex() + " " + match.address + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+				
+				consumer.accept(match.privateKey, match.address);
+			}
+			
+			offset += count;
+			
+			keys.add(count);
+			
+			if(System.currentTimeMillis() >= next) {
+				if(!doIsOwner(shard, id)) {
+					return;
+				}
+				
+				doWriteAtomically(doGetPath(shard, SUFFIX_CHECKPOINT), Long.toString(offset).getBytes(StandardCharsets.UTF_8));
+				
+				Files.setLastModifiedTime(lock, FileTime.fromMillis(System.currentTimeMillis()));
+				
+				next = System.currentTimeMillis() + this.interval;
+			}
+		}
+		
+		if(doIsOwner(shard, id)) {
+			doWriteAtomically(doGetPath(shard, SUFFIX_DONE), Long.toString(length).getBytes(StandardCharsets.UTF_8));
+			
+			Files.deleteIfExists(doGetPath(shard, SUFFIX_CHECKPOINT));
+			Files.deleteIfExists(lock);
+		}
+	}
+	
+	private void doWork(final String id, final Set<Address> targets, final BiConsumer<PrivateKey, Address> consumer, final LongAdder keys) throws IOException {
+		final Scanner scanner = new Scanner(targets);
+		
+		while(!this.isStopped) {
+			final int shard = doNextShard(id);
+			
+			if(shard < 0) {
+				return;
+			}
+			
+			doScan(shard, id, scanner, consumer, keys);
+		}
+	}
+	
+	private void doWriteStatus(final Path status, final long keys, final long nanoseconds) throws IOException {
+		final Properties properties = new Properties();
+		
+		properties.setProperty(KEY_KEYS, Long.toString(keys));
+		properties.setProperty(KEY_RATE, Double.toString(nanoseconds > 0L ? keys * 1.0e9D / nanoseconds : 0.0D));
+		properties.setProperty(KEY_TIME, Long.toString(System.currentTimeMillis()));
+		
+		doWrite(status, properties);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Address doParseAddress(final String string) {
+		if(string.startsWith("bc1") || string.startsWith("tb1")) {
+			return Address.parseStringBech32(string);
+		}
+		
+		final byte[] bytes = Utilities.base58DecodeChecked(string);
+		
+		for(final AddressType type : AddressType.values()) {
+			if(!type.isSegWit() && bytes.length == type.getLength() + 1 && type.getVersion() == (bytes[0] & 0xFF)) {
+				return Address.parseByteArray(type, bytes, 1);
+			}
+		}
+		
+		throw new IllegalArgumentException("Invalid format: " + string);
+	}
+	
+	private static Properties doRead(final Path path) throws IOException {
+		try(final InputStream inputStream = Files.newInputStream(path)) {
+			final Properties properties = new Properties();
+			
+			properties.load(inputStream);
+			
+			return properties;
+		} catch(final NoSuchFileException e) {
+			return null;
+		}
+	}
+	
+	private static ScanJob doCreate(final Path directory, final BigInteger from, final BigInteger to, final long shardSize, final long interval) {
+		if(from.signum() <= 0 || to.compareTo(from) < 0 || to.compareTo(PrivateKey.N) >= 0) {
+			throw new IllegalArgumentException(String.format("Illegal range: from = %s, to = %s", from.toString(16), to.toString(16)));
+		}
+		
+		if(to.subtract(from).bitLength() > 62) {
+			throw new IllegalArgumentException(String.format("The range contains more than %d private keys: from = %s, to = %s", Long.valueOf(Long.MAX_VALUE), from.toString(16), to.toString(16)));
+		}
+		
+		if(shardSize < 1L) {
+			throw new IllegalArgumentException(String.format("shardSize < 1: shardSize = %d", Long.valueOf(shardSize)));
+		}
+		
+		if((to.subtract(from).longValue()) / shardSize >= Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(String.format("There would be more than %d shards: shardSize = %d", Integer.valueOf(Integer.MAX_VALUE), Long.valueOf(shardSize)));
+		}
+		
+		return new ScanJob(directory, from, to, shardSize, interval);
+	}
+	
+	private static void doWrite(final Path path, final Properties properties) throws IOException {
+		final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+		
+		try(final OutputStream outputStream = Files.newOutputStream(temporary)) {
+			properties.store(outputStream, null);
+		}
+		
+		Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	private static void doWriteAtomically(final Path path, final byte[] bytes) throws IOException {
+		final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+		
+		Files.write(temporary, bytes, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+		Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Match {
+		private final Address address;
+		private final PrivateKey privateKey;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Match(final PrivateKey privateKey, final Address address) {
+			this.privateKey = privateKey;
+			this.address = address;
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Scanner {
+		public static final int SIZE = 1024;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private static final BigInteger P = PrivateKey.CURVE.getP();
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private final BigInteger[] differences;
+		private final BigInteger[] products;
+		private final BigInteger[] xs;
+		private final BigInteger[] ys;
+		private final List<Match> matches;
+		private final Set<Address> targets;
+		private final byte[] bytes;
+		private final byte[] hashes;
+		private final long[] prefixes;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Scanner(final Set<Address> targets) {
+			this.targets = targets;
+			this.differences = new BigInteger[SIZE];
+			this.products = new BigInteger[SIZE];
+			this.xs = new BigInteger[SIZE];
+			this.ys = new BigInteger[SIZE];
+			this.matches = new ArrayList<>();
+			this.bytes = new byte[65];
+			this.hashes = new byte[Addresses.LENGTH];
+			this.prefixes = doCreatePrefixes(targets);
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public List<Match> scan(final BigInteger start, final int count) {
+			final Object event = Events.beginBatch("ScanJob.scan", count);
+			
+			final Point point = GeneratorTable.multiply(start);
+			
+			final BigInteger x = point.getX();
+			final BigInteger y = point.getY();
+			
+			BigInteger product = BigInteger.ONE;
+			
+			for(int i = 1; i < count; i++) {
+				final BigInteger difference = Table.X[i].subtract(x).mod(P);
+				
+				this.differences[i] = difference.signum() != 0 ? difference : null;
+				this.products[i] = product;
+				
+				if(difference.signum() != 0) {
+					product = product.multiply(difference).mod(P);
+				}
+			}
+			
+			Metrics.incrementInversions();
+			
+			BigInteger inverse = CurveContext.SECP256K1.invert(product);
+			
+			for(int i = count - 1; i >= 1; i--) {
+				final BigInteger difference = this.differences[i];
+				
+				if(difference == null) {
+					final Point currentPoint = GeneratorTable.multiply(start.add(BigInteger.valueOf(i)));
+					
+					this.xs[i] = currentPoint.getX();
+					this.ys[i] = currentPoint.getY();
+					
+					continue;
+				}
+				
+				final BigInteger differenceInverse = inverse.multiply(this.products[i]).mod(P);
+				
+				inverse = inverse.multiply(difference).mod(P);
+				
+				final BigInteger l = Table.Y[i].subtract(y).multiply(differenceInverse).mod(P);
+				final BigInteger newX = l.multiply(l).subtract(x).subtract(Table.X[i]).mod(P);
+				final BigInteger newY = l.multiply(x.subtract(newX)).subtract(y).mod(P);
+				
+				this.xs[i] = newX;
+				this.ys[i] = newY;
+			}
+			
+			this.xs[0] = x;
+			this.ys[0] = y;
+			this.matches.clear();
+			
+			for(int i = 0; i < count; i++) {
+				this.bytes[0] = 0x04;
+				
+				Utilities.convertBigIntegerToByteArray(this.xs[i], this.bytes,  1, 32);
+				Utilities.convertBigIntegerToByteArray(this.ys[i], this.bytes, 33, 32);
+				
+				PublicKey.computeHashes(this.bytes, this.hashes, 0);
+				
+				doMatch(start, i, Addresses.OFFSET_COMPRESSED, AddressType.P2PKH);
+				doMatch(start, i, Addresses.OFFSET_COMPRESSED, AddressType.P2WPKH);
+				doMatch(start, i, Addresses.OFFSET_UNCOMPRESSED, AddressType.P2PKH);
+				doMatch(start, i, Addresses.OFFSET_SCRIPT, AddressType.P2SH);
+			}
+			
+			Arrays.fill(this.xs, 0, count, null);
+			Arrays.fill(this.ys, 0, count, null);
+			
+			Events.commit(event);
+			
+			return this.matches;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private void doMatch(final BigInteger start, final int index, final int offset, final AddressType type) {
+			if(Arrays.binarySearch(this.prefixes, Utilities.convertByteArrayToLong(this.hashes, offset)) < 0) {
+				return;
+			}
+			
+			final Address address = Address.parseByteArray(type, this.hashes, offset);
+			
+			if(this.targets.contains(address)) {
+				this.matches.add(new Match(new PrivateKey(start.add(BigInteger.valueOf(index))), address));
+			}
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private static long[] doCreatePrefixes(final Set<Address> targets) {
+			final byte[] bytes = new byte[32];
+			
+			final long[] prefixes = new long[targets.size()];
+			
+			int count = 0;
+			
+			for(final Address address : targets) {
+				if(address.getType() == AddressType.P2PKH || address.getType() == AddressType.P2SH || address.getType() == AddressType.P2WPKH) {
+					address.writeTo(bytes, 0);
+					
+					prefixes[count++] = Utilities.convertByteArrayToLong(bytes, 0);
+				}
+			}
+			
+			final long[] result = Arrays.copyOf(prefixes, count);
+			
+			Arrays.sort(result);
+			
+			return result;
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Table {
+		public static final BigInteger[] X = new BigInteger[Scanner.SIZE];
+		public static final BigInteger[] Y = new BigInteger[Scanner.SIZE];
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		static {
+			final BigInteger[] xs = new BigInteger[Scanner.SIZE - 1];
+			final BigInteger[] ys = new BigInteger[Scanner.SIZE - 1];
+			
+			final byte[] scalars = new byte[(Scanner.SIZE - 1) * 32];
+			
+			for(int i = 0; i < Scanner.SIZE - 1; i++) {
+				Utilities.convertIntToByteArray(scalars, i * 32 + 28, i + 1);
+			}
+			
+			GeneratorTable.multiply(scalars, 0, Scanner.SIZE - 1, xs, ys);
+			
+			System.arraycopy(xs, 0, X, 1, Scanner.SIZE - 1);
+			System.arraycopy(ys, 0, Y, 1, Scanner.SIZE - 1);
+		}
+	}
+}
\ No newline at end of file
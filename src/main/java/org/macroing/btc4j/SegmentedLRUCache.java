@@ -0,0 +1,204 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+final class SegmentedLRUCache<K, V> {
+	private final LongAdder evictions;
+	private final LongAdder hits;
+	private final LongAdder misses;
+	private final Segment<K, V>[] segments;
+	private final int capacity;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	@SuppressWarnings("unchecked")
+	public SegmentedLRUCache(final int capacity, final int stripes) {
+		if(capacity < 1) {
+			throw new IllegalArgumentException(String.format("capacity < 1: capacity = %d", Integer.valueOf(capacity)));
+		}
+		
+		if(stripes < 1 || Integer.bitCount(stripes) != 1) {
+			throw new IllegalArgumentException(String.format("stripes is not a positive power of two: stripes = %d", Integer.valueOf(stripes)));
+		}
+		
+		if(stripes > capacity) {
+			throw new IllegalArgumentException(String.format("stripes > capacity: capacity = %d, stripes = %d", Integer.valueOf(capacity), Integer.valueOf(stripes)));
+		}
+		
+		this.capacity = capacity;
+		this.evictions = new LongAdder();
+		this.hits = new LongAdder();
+		this.misses = new LongAdder();
+		this.segments = (Segment<K, V>[])(new Segment<?, ?>[stripes]);
+		
+		for(int i = 0; i < stripes; i++) {
+			this.segments[i] = new Segment<>(capacity / stripes + (i < capacity % stripes ? 1 : 0));
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public V get(final K key) {
+		final V value = doGetSegment(key).get(key);
+		
+		if(value != null) {
+			this.hits.increment();
+			
+			Metrics.incrementCacheHits();
+		} else {
+			this.misses.increment();
+			
+			Metrics.incrementCacheMisses();
+		}
+		
+		return value;
+	}
+	
+	public int getCapacity() {
+		return this.capacity;
+	}
+	
+	public int size() {
+		int size = 0;
+		
+		for(final Segment<K, V> segment : this.segments) {
+			size += segment.size();
+		}
+		
+		return size;
+	}
+	
+	public long getEvictionCount() {
+		return this.evictions.sum();
+	}
+	
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+	
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+	
+	public void clear() {
+		for(final Segment<K, V> segment : this.segments) {
+			segment.clear();
+		}
+	}
+	
+	public void put(final K key, final V value) {
+		final int evictions = doGetSegment(key).put(Objects.requireNonNull(key, "key == null"), Objects.requireNonNull(value, "value == null"));
+		
+		if(evictions > 0) {
+			this.evictions.add(evictions);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Segment<K, V> doGetSegment(final K key) {
+		final int hashCode = key.hashCode();
+		
+		return this.segments[(hashCode ^ (hashCode >>> 16)) & (this.segments.length - 1)];
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Segment<K, V> {
+		private final Map<K, V> probation;
+		private final Map<K, V> protection;
+		private final int capacity;
+		private final int capacityProtection;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Segment(final int capacity) {
+			this.probation = new LinkedHashMap<>(16, 0.75F, true);
+			this.protection = new LinkedHashMap<>(16, 0.75F, true);
+			this.capacity = capacity;
+			this.capacityProtection = this.capacity * 4 / 5;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public synchronized V get(final K key) {
+			final V valueProtection = this.protection.get(key);
+			
+			if(valueProtection != null) {
+				return valueProtection;
+			}
+			
+			final V valueProbation = this.probation.remove(key);
+			
+			if(valueProbation != null) {
+				this.protection.put(key, valueProbation);
+				
+				if(this.protection.size() > this.capacityProtection) {
+					final Iterator<Map.Entry<K, V>> iterator = this.protection.entrySet().iterator();
+					
+					final Map.Entry<K, V> eldest = iterator.next();
+					
+					iterator.remove();
+					
+					this.probation.put(eldest.getKey(), eldest.getValue());
+				}
+			}
+			
+			return valueProbation;
+		}
+		
+		public synchronized int put(final K key, final V value) {
+			if(this.protection.containsKey(key)) {
+				this.protection.put(key, value);
+				
+				return 0;
+			}
+			
+			this.probation.put(key, value);
+			
+			int evictions = 0;
+			
+			while(this.probation.size() + this.protection.size() > this.capacity) {
+				final Iterator<Map.Entry<K, V>> iterator = (this.probation.isEmpty() ? this.protection : this.probation).entrySet().iterator();
+				
+				iterator.next();
+				iterator.remove();
+				
+				evictions++;
+			}
+			
+			return evictions;
+		}
+		
+		public synchronized int size() {
+			return this.probation.size() + this.protection.size();
+		}
+		
+		public synchronized void clear() {
+			this.probation.clear();
+			this.protection.clear();
+		}
+	}
+}
\ No newline at end of file
@@ -18,14 +18,26 @@
  */
 package org.macroing.btc4j;
 
+import java.math.BigInteger;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.Objects;
 
 final class Utilities {
-	private static final MessageDigest MESSAGE_DIGEST_RIPEMD_160 = new RIPEMD160MessageDigest();
-	private static final MessageDigest MESSAGE_DIGEST_SHA_256 = doCreateMessageDigest("SHA-256");
+	private static final ThreadLocal<MessageDigest> MESSAGE_DIGEST_RIPEMD_160 = new ThreadLocal<MessageDigest>() {
+		@Override
+		protected MessageDigest initialValue() {
+			return new RIPEMD160MessageDigest();
+		}
+	};
+	private static final ThreadLocal<MessageDigest> MESSAGE_DIGEST_SHA_256 = new ThreadLocal<MessageDigest>() {
+		@Override
+		protected MessageDigest initialValue() {
+			return doCreateMessageDigest("SHA-256");
+		}
+	};
 	private static final char ENCODED_ZERO = '1';
 	private static final char[] ALPHABET = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz".toCharArray();
 	private static final int[] INDICES = doCreateIndices();
@@ -43,11 +55,25 @@ final class Utilities {
 			throw new IllegalArgumentException();
 		}
 		
-		final byte[] a = arrayConcatenate(array(version), payload);
-		final byte[] b = computeHashUsingSHA256(computeHashUsingSHA256(a));
-		final byte[] c = arrayConcatenate(a, array(b[0], b[1], b[2], b[3]));
+		return base58EncodeChecked(arrayConcatenate(array(version), payload));
+	}
+	
+	public static String base58EncodeChecked(final byte[] bytes) {
+		final Object event = Events.beginBase58Check(bytes.length);
+		
+		final boolean isMeasuring = Metrics.isEnabled();
+		
+		final long start = isMeasuring ? System.nanoTime() : 0L;
 		
-		return doBase58Encode(c);
+		final String string = doBase58EncodeChecked(bytes);
+		
+		if(isMeasuring) {
+			Metrics.recordBase58Encode(System.nanoTime() - start);
+		}
+		
+		Events.commit(event);
+		
+		return string;
 	}
 	
 	public static String convertByteArrayToHexString(final byte[] bytes) {
@@ -105,29 +131,74 @@ final class Utilities {
 	}
 	
 	public static byte[] base58DecodeChecked(final String input) {
-		final byte[] decoded = doBase58Decode(input);
-		
-		if(decoded.length < 4) {
-			throw new IllegalArgumentException();
+		if(!Metrics.isEnabled()) {
+			return doBase58DecodeChecked(input);
 		}
 		
-		final byte[] data = Arrays.copyOfRange(decoded, 0, decoded.length - 4);
-		final byte[] checksum = Arrays.copyOfRange(decoded, decoded.length - 4, decoded.length);
-		final byte[] actualChecksum = Arrays.copyOfRange(computeHashUsingSHA256(computeHashUsingSHA256(data)), 0, 4);
+		final long start = System.nanoTime();
 		
-		if(!Arrays.equals(checksum, actualChecksum)) {
-			throw new IllegalArgumentException();
-		}
+		final byte[] bytes = doBase58DecodeChecked(input);
 		
-		return data;
+		Metrics.recordBase58Decode(System.nanoTime() - start);
+		
+		return bytes;
+	}
+	
+	public static byte[] computeHash160(final byte[] bytes) {
+		return computeHashUsingRIPEMD160(computeHashUsingSHA256(bytes));
+	}
+	
+	public static void computeHash160(final byte[] bytes, final int offset, final int length, final byte[] result, final int resultOffset) {
+		final MessageDigest messageDigestRIPEMD160 = MESSAGE_DIGEST_RIPEMD_160.get();
+		final MessageDigest messageDigestSHA256 = MESSAGE_DIGEST_SHA_256.get();
+		
+		messageDigestSHA256.update(bytes, offset, length);
+		messageDigestRIPEMD160.update(messageDigestSHA256.digest());
+		
+		Metrics.incrementHashesSHA256();
+		Metrics.incrementHashesRIPEMD160();
+		
+		try {
+			messageDigestRIPEMD160.digest(result, resultOffset, 20);
+		} catch(final DigestException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+	
+	public static byte[] computeHMACUsingSHA512(final byte[] key, final byte[] bytes) {
+		return HMACSHA512.compute(key, bytes);
 	}
 	
 	public static byte[] computeHashUsingRIPEMD160(final byte[] bytes) {
-		return MESSAGE_DIGEST_RIPEMD_160 != null ? MESSAGE_DIGEST_RIPEMD_160.digest(Objects.requireNonNull(bytes, "bytes == null")) : new byte[0];
+		final MessageDigest messageDigest = MESSAGE_DIGEST_RIPEMD_160.get();
+		
+		Metrics.incrementHashesRIPEMD160();
+		
+		return messageDigest != null ? messageDigest.digest(Objects.requireNonNull(bytes, "bytes == null")) : new byte[0];
 	}
 	
 	public static byte[] computeHashUsingSHA256(final byte[] bytes) {
-		return MESSAGE_DIGEST_SHA_256 != null ? MESSAGE_DIGEST_SHA_256.digest(Objects.requireNonNull(bytes, "bytes == null")) : new byte[0];
+		final MessageDigest messageDigest = MESSAGE_DIGEST_SHA_256.get();
+		
+		Metrics.incrementHashesSHA256();
+		
+		return messageDigest != null ? messageDigest.digest(Objects.requireNonNull(bytes, "bytes == null")) : new byte[0];
+	}
+	
+	public static int convertByteArrayToInt(final byte[] bytes, final int offset) {
+		return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16) | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+	}
+	
+	public static long convertByteArrayToLong(final byte[] bytes, final int offset) {
+		return ((long)(convertByteArrayToInt(bytes, offset)) << 32) | (convertByteArrayToInt(bytes, offset + 4) & 0xFFFFFFFFL);
+	}
+	
+	public static byte[] convertBigIntegerToByteArray(final BigInteger value, final int length) {
+		final byte[] bytes = new byte[length];
+		
+		convertBigIntegerToByteArray(value, bytes, 0, length);
+		
+		return bytes;
 	}
 	
 	public static byte[] convertHexStringToByteArray(final String string) {
@@ -142,6 +213,39 @@ final class Utilities {
 		return bytes;
 	}
 	
+	public static void convertBigIntegerToByteArray(final BigInteger value, final byte[] bytes, final int offset, final int length) {
+		final byte[] valueBytes = value.toByteArray();
+		
+		final int valueOffset = valueBytes.length > 1 && valueBytes[0] == 0 ? 1 : 0;
+		final int valueLength = valueBytes.length - valueOffset;
+		
+		if(value.signum() < 0 || valueLength > length) {
+			throw new IllegalArgumentException(String.format("The value %s does not fit in %d bytes", value.toString(16), Integer.valueOf(length)));
+		}
+		
+		Arrays.fill(bytes, offset, offset + length - valueLength, (byte)(0));
+		
+		System.arraycopy(valueBytes, valueOffset, bytes, offset + length - valueLength, valueLength);
+	}
+	
+	public static void convertIntToByteArray(final byte[] bytes, final int offset, final int value) {
+		bytes[offset + 0] = (byte)(value >>> 24);
+		bytes[offset + 1] = (byte)(value >>> 16);
+		bytes[offset + 2] = (byte)(value >>>  8);
+		bytes[offset + 3] = (byte)(value >>>  0);
+	}
+	
+	public static void convertLongToByteArray(final byte[] bytes, final int offset, final long value) {
+		convertIntToByteArray(bytes, offset + 0, (int)(value >>> 32));
+		convertIntToByteArray(bytes, offset + 4, (int)(value >>>  0));
+	}
+	
+	public static void requireRange(final int length, final int offset, final long count) {
+		if(offset < 0 || offset > length || count < 0L || count > length - offset) {
+			throw new IndexOutOfBoundsException(String.format("Not enough room: length = %d, offset = %d, count = %d", Integer.valueOf(length), Integer.valueOf(offset), Long.valueOf(count)));
+		}
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	private static MessageDigest doCreateMessageDigest(final String algorithm) {
@@ -152,6 +256,31 @@ final class Utilities {
 		}
 	}
 	
+	private static byte[] doBase58DecodeChecked(final String input) {
+		final byte[] decoded = doBase58Decode(input);
+		
+		if(decoded.length < 4) {
+			throw new IllegalArgumentException();
+		}
+		
+		final byte[] data = Arrays.copyOfRange(decoded, 0, decoded.length - 4);
+		final byte[] checksum = Arrays.copyOfRange(decoded, decoded.length - 4, decoded.length);
+		final byte[] actualChecksum = Arrays.copyOfRange(computeHashUsingSHA256(computeHashUsingSHA256(data)), 0, 4);
+		
+		if(!Arrays.equals(checksum, actualChecksum)) {
+			throw new IllegalArgumentException();
+		}
+		
+		return data;
+	}
+	
+	private static String doBase58EncodeChecked(final byte[] bytes) {
+		final byte[] a = computeHashUsingSHA256(computeHashUsingSHA256(bytes));
+		final byte[] b = arrayConcatenate(bytes, array(a[0], a[1], a[2], a[3]));
+		
+		return doBase58Encode(b);
+	}
+	
 	private static String doBase58Encode(final byte[] input) {
 		if(input.length == 0) {
 			return "";
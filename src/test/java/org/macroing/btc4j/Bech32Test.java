@@ -0,0 +1,141 @@
+/**
+ * Copyright 2020 - 2021 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.btc4j.
+ * 
+ * org.macroing.btc4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.btc4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.btc4j. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.btc4j;
+
+/**
+ * A {@code Bech32Test} checks {@link Bech32} and {@link Address#parseStringBech32(String)} against the test vectors of BIP-173 and BIP-350.
+ * <p>
+ * The process exits with status {@code 1} if a check failed.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Bech32Test {
+	private static final String[] INVALID = {
+		"tc1qw508d6qejxtdg4y5r3zarvary0c5xw7kg3g4ty",
+		"bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kv8f3t5",
+		"BC13W508D6QEJXTDG4Y5R3ZARVARY0C5XW7KN40WF2",
+		"bc1rw5uspcuh",
+		"bc10w508d6qejxtdg4y5r3zarvary0c5xw7kw508d6qejxtdg4y5r3zarvary0c5xw7kw5rljs90",
+		"BC1QR508D6QEJXTDG4Y5R3ZARVARYV98GJ9P",
+		"tb1qrp33g0q5c5txsp9arysrx4k6zdkfs4nce4xj0gdcccefvpysxf3q0sL5k7",
+		"bc1zw508d6qejxtdg4y5r3zarvary0c5xw7kv8f3t4",
+		"tb1qrp33g0q5c5txsp9arysrx4k6zdkfs4nce4xj0gdcccefvpysxf3pjxtptv",
+		"bc1gmk9yu",
+		"tc1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vq5zuyut",
+		"bc1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vqh2y7hd",
+		"tb1z0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vqglt7rf",
+		"BC1S0XLXVLHEMJA6C4DQV22UAPCTQUPFHLXM9H8Z3K2E72Q4K9HCZ7VQ54WELL",
+		"bc1qw508d6qejxtdg4y5r3zarvary0c5xw7kemeawh",
+		"tb1q0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vq24jc47",
+		"bc1p38j9r5y49hruaue7wxjce0updqjuyyx0kh56v8s25huc6995vvpql3jow4",
+		"BC130XLXVLHEMJA6C4DQV22UAPCTQUPFHLXM9H8Z3K2E72Q4K9HCZ7VQ7ZWS8R",
+		"bc1pw5dgrnzv",
+		"bc1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7v8n0nx0muaewav253zgeav",
+		"tb1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vq47Zagq",
+		"bc1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7v07qwwzcrf",
+		"tb1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vpggkg4j",
+		"bc1qqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqq",
+		"bc1qqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqqq"
+	};
+	
+	private static final String[] VALID = {
+		"BC1QW508D6QEJXTDG4Y5R3ZARVARY0C5XW7KV8F3T4",
+		"tb1qrp33g0q5c5txsp9arysrx4k6zdkfs4nce4xj0gdcccefvpysxf3q0sl5k7",
+		"tb1pqqqqp399et2xygdj5xreqhjjvcmzhxw4aywxecjdzew6hylgvsesf3hn0c",
+		"bc1p0xlxvlhemja6c4dqv22uapctqupfhlxm9h8z3k2e72q4k9hcz7vqzk5jj0"
+	};
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Bech32Test() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * The entry point of this program.
+	 * 
+	 * @param args the parameter arguments, which are ignored
+	 */
+	public static void main(final String[] args) {
+		int failures = 0;
+		
+		for(final String string : INVALID) {
+			failures += doCheckInvalid(string) ? 0 : 1;
+		}
+		
+		for(final String string : VALID) {
+			failures += doCheckValid(string) ? 0 : 1;
+		}
+		
+		System.out.printf("Bech32Test: %d checks, %d failures%n", Integer.valueOf(INVALID.length + VALID.length), Integer.valueOf(failures));
+		
+		if(failures > 0) {
+			System.exit(1);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static boolean doCheckInvalid(final String string) {
+		final byte[] program = new byte[40];
+		
+		if(Bech32.decodeSegWit("bc", string, program, 0) >= 0 || Bech32.decodeSegWit("tb", string, program, 0) >= 0 || Bech32.isValidSegWit("bc", string) || Bech32.isValidSegWit("tb", string)) {
+			System.err.println("Accepted invalid address: " + string);
+			
+			return false;
+		}
+		
+		try {
+			Address.parseStringBech32(string);
+			
+			System.err.println("Parsed invalid address: " + string);
+			
+			return false;
+		} catch(final IllegalArgumentException e) {
+			return true;
+		} catch(final RuntimeException e) {
+			System.err.println("Unexpected " + e + " for invalid address: " + string);
+			
+			return false;
+		}
+	}
+	
+	private static boolean doCheckValid(final String string) {
+		try {
+			final Address address = Address.parseStringBech32(string);
+			
+			final boolean isTestNet = string.regionMatches(true, 0, "tb", 0, 2);
+			
+			if(!address.toStringBech32(isTestNet).equalsIgnoreCase(string)) {
+				System.err.println("Round trip failed for valid address: " + string);
+				
+				return false;
+			}
+			
+			return true;
+		} catch(final RuntimeException e) {
+			System.err.println("Unexpected " + e + " for valid address: " + string);
+			
+			return false;
+		}
+	}
+}
\ No newline at end of file